@@ -0,0 +1,50 @@
+package se233.asteroid.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se233.asteroid.model.Asteroid;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splitting a field of asteroids at once, as a big wave clear would. Each split builds
+ * two fresh fragments with their own sprites, so the GC profiler's allocation rate is
+ * the figure to watch here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsteroidSplitBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    private List<Asteroid> asteroids;
+
+    @Setup
+    public void setUp() {
+        asteroids = BenchmarkEntities.asteroids(entityCount, new Random(BenchmarkEntities.SEED));
+    }
+
+    @Benchmark
+    public void split(Blackhole blackhole) {
+        for (int i = 0, n = asteroids.size(); i < n; i++) {
+            blackhole.consume(asteroids.get(i).split());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package se233.asteroid.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints how a JMH JSON result compares with a baseline result: score and allocated
+ * bytes per operation for every benchmark/parameter pair found in both files.
+ *
+ * <pre>BaselineComparison baseline.json result.json</pre>
+ */
+public class BaselineComparison {
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    record Entry(double score, String unit, double allocatedBytes) { }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BaselineComparison <baseline.json> <result.json>");
+            System.exit(2);
+        }
+        Path baselinePath = Path.of(args[0]);
+        Path resultPath = Path.of(args[1]);
+        if (!Files.exists(baselinePath)) {
+            System.err.println("No baseline at " + baselinePath + "; copy " + resultPath + " there to create one");
+            System.exit(1);
+        }
+
+        Map<String, Entry> baseline = load(baselinePath);
+        Map<String, Entry> result = load(resultPath);
+
+        System.out.printf("%-70s %14s %14s %8s %14s %14s%n",
+                "benchmark", "baseline", "current", "change", "B/op before", "B/op now");
+        for (Map.Entry<String, Entry> entry : result.entrySet()) {
+            Entry now = entry.getValue();
+            Entry before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %8s %14s %14.0f  (new)%n",
+                        entry.getKey(), "-", now.score(), "", "-", now.allocatedBytes());
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %14.0f %14.0f  %s%n",
+                    entry.getKey(), before.score(), now.score(), change,
+                    before.allocatedBytes(), now.allocatedBytes(), now.unit());
+        }
+    }
+
+    /**
+     * Reads a JMH result file into "benchmark [param=value, ...]" keys.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Entry> load(Path file) throws IOException {
+        List<Object> runs = (List<Object>) new JsonReader(Files.readString(file)).read();
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (Object run : runs) {
+            Map<String, Object> benchmark = (Map<String, Object>) run;
+            String key = (String) benchmark.get("benchmark");
+            Object params = benchmark.get("params");
+            if (params != null) {
+                key += " " + params;
+            }
+
+            Map<String, Object> primary = (Map<String, Object>) benchmark.get("primaryMetric");
+            double allocated = Double.NaN;
+            Map<String, Object> secondary = (Map<String, Object>) benchmark.get("secondaryMetrics");
+            if (secondary != null && secondary.get(ALLOCATION_METRIC) != null) {
+                allocated = ((Number) ((Map<String, Object>) secondary.get(ALLOCATION_METRIC)).get("score")).doubleValue();
+            }
+            entries.put(key, new Entry(((Number) primary.get("score")).doubleValue(),
+                    (String) primary.get("scoreUnit"), allocated));
+        }
+        return entries;
+    }
+
+    /**
+     * Just enough JSON for JMH's result format: objects, arrays, strings, numbers,
+     * booleans and null. JMH writes "NaN" as a string, which is read as one.
+     */
+    static final class JsonReader {
+        private final String text;
+        private int pos;
+
+        JsonReader(String text) {
+            this.text = text;
+        }
+
+        Object read() {
+            skipWhitespace();
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    pos += 4;
+                    return Boolean.TRUE;
+                case 'f':
+                    pos += 5;
+                    return Boolean.FALSE;
+                case 'n':
+                    pos += 4;
+                    return null;
+                default:
+                    return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (text.charAt(pos) == '}') {
+                pos++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                object.put(key, read());
+                skipWhitespace();
+                if (text.charAt(pos++) == '}') {
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> array = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (text.charAt(pos) == ']') {
+                pos++;
+                return array;
+            }
+            while (true) {
+                array.add(read());
+                skipWhitespace();
+                if (text.charAt(pos++) == ']') {
+                    return array;
+                }
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder builder = new StringBuilder();
+            while (true) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return builder.toString();
+                }
+                if (c == '\\') {
+                    char escaped = text.charAt(pos++);
+                    switch (escaped) {
+                        case 'n' -> builder.append('\n');
+                        case 't' -> builder.append('\t');
+                        case 'u' -> {
+                            builder.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                            pos += 4;
+                        }
+                        default -> builder.append(escaped);
+                    }
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+
+        private Number readNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            return Double.parseDouble(text.substring(start, pos));
+        }
+
+        private void expect(char c) {
+            if (text.charAt(pos) != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at offset " + pos);
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package se233.asteroid.bench;
+
+import javafx.geometry.Point2D;
+import se233.asteroid.core.Simulation;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Character;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded entity populations shared by the benchmarks, so every run and every commit
+ * measures the same layout.
+ */
+final class BenchmarkEntities {
+    static final double WIDTH = 800;
+    static final double HEIGHT = 600;
+    static final double STEP = 1.0 / 60.0;
+    static final long SEED = 233L;
+
+    private static final String DRIFTER_SPRITE = "/se233/asteroid/assets/Astroides/meteor.png";
+
+    private BenchmarkEntities() {
+    }
+
+    /**
+     * Plain characters that only run {@link Character#update(double)}, with no subclass
+     * behaviour layered on top.
+     */
+    static List<Character> drifters(int count, Random random) {
+        List<Character> drifters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Character drifter = new Character(DRIFTER_SPRITE, randomPoint(random), 10) { };
+            drifter.setVelocity(random.nextDouble() * 4 - 2, random.nextDouble() * 4 - 2);
+            drifters.add(drifter);
+        }
+        return drifters;
+    }
+
+    static List<Asteroid> asteroids(int count, Random random) {
+        List<Asteroid> asteroids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Asteroid.Type type = random.nextBoolean() ? Asteroid.Type.ASTEROID : Asteroid.Type.METEOR;
+            asteroids.add(new Asteroid(randomPoint(random), type));
+        }
+        return asteroids;
+    }
+
+    static List<Bullet> bullets(int count, Random random) {
+        List<Bullet> bullets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            bullets.add(new Bullet(randomPoint(random), new Point2D(Math.cos(angle), Math.sin(angle)), false));
+        }
+        return bullets;
+    }
+
+    /**
+     * Adds pooled asteroids and player bullets to a started simulation, laid out like
+     * {@link #asteroids} and {@link #bullets}.
+     */
+    static void seedScene(Simulation simulation, int rockCount, int bulletCount, Random random) {
+        for (int i = 0; i < rockCount; i++) {
+            Asteroid.Type type = random.nextBoolean() ? Asteroid.Type.ASTEROID : Asteroid.Type.METEOR;
+            simulation.spawn(Asteroid.obtain(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT, type));
+        }
+        for (int i = 0; i < bulletCount; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            simulation.spawn(Bullet.obtain(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT,
+                    Math.cos(angle), Math.sin(angle), false));
+        }
+    }
+
+    private static Point2D randomPoint(Random random) {
+        return new Point2D(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT);
+    }
+}
@@ -0,0 +1,62 @@
+package se233.asteroid.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Character;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulation step of movement for a whole population: the base
+ * {@link Character#update(double)} and the asteroid override the game runs most.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharacterUpdateBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    private List<Character> drifters;
+    private List<Asteroid> asteroids;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkEntities.SEED);
+        drifters = BenchmarkEntities.drifters(entityCount, random);
+        asteroids = BenchmarkEntities.asteroids(entityCount, random);
+    }
+
+    @Benchmark
+    public void characterUpdate(Blackhole blackhole) {
+        for (int i = 0, n = drifters.size(); i < n; i++) {
+            drifters.get(i).update(BenchmarkEntities.STEP);
+        }
+        blackhole.consume(drifters.get(0).getX());
+    }
+
+    @Benchmark
+    public void asteroidUpdate(Blackhole blackhole) {
+        for (int i = 0, n = asteroids.size(); i < n; i++) {
+            asteroids.get(i).update(BenchmarkEntities.STEP);
+        }
+        blackhole.consume(asteroids.get(0).getX());
+    }
+}
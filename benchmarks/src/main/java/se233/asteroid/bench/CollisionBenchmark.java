@@ -0,0 +1,65 @@
+package se233.asteroid.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se233.asteroid.core.PlayerInput;
+import se233.asteroid.core.Simulation;
+import se233.asteroid.util.Broadphase;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link Simulation#step} over a crowded field: wave 1 plus seeded asteroids and player
+ * bullets. The step's collision pass rebuilds the broadphase and queries it for every
+ * bullet, and grows with the field faster than the movement pass does. Hits split rocks
+ * and spend bullets, so the scene is seeded again before every step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollisionBenchmark {
+
+    /** Number of seeded asteroids; one bullet is fired for every ten of them. */
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    @Param({"spatialhash", "bruteforce"})
+    public String broadphaseType;
+
+    private Simulation simulation;
+    private final PlayerInput input = new PlayerInput();
+
+    @Setup
+    public void setUp() {
+        // The simulation picks its broadphase when it is built
+        System.setProperty(Broadphase.PROPERTY, broadphaseType);
+        simulation = new Simulation(BenchmarkEntities.SEED);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedScene() {
+        simulation.start();
+        Random random = new Random(BenchmarkEntities.SEED);
+        BenchmarkEntities.seedScene(simulation, entityCount, Math.max(1, entityCount / 10), random);
+    }
+
+    @Benchmark
+    public int step() {
+        simulation.step(BenchmarkEntities.STEP, input);
+        return simulation.getRockCount();
+    }
+}
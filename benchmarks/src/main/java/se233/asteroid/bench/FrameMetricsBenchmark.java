@@ -0,0 +1,86 @@
+package se233.asteroid.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se233.asteroid.model.Character;
+import se233.asteroid.util.FrameMetrics;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the frame metrics around a small frame: the population is updated in four
+ * timed phases, as Simulation does with its update, collision, wave and spawn passes, then
+ * gauges are set and the frame is closed. {@code plain} runs the same work with no
+ * metrics calls at all, for the off/on figures to be compared against.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FrameMetricsBenchmark {
+
+    @Param({"100", "1000"})
+    public int entityCount;
+
+    @Param({"plain", "off", "on"})
+    public String metricsMode;
+
+    private List<Character> drifters;
+    private FrameMetrics metrics;
+    private FrameMetrics.Timer[] phases;
+    private FrameMetrics.Gauge countGauge;
+
+    @Setup
+    public void setUp() {
+        drifters = BenchmarkEntities.drifters(entityCount, new Random(BenchmarkEntities.SEED));
+        metrics = new FrameMetrics();
+        phases = new FrameMetrics.Timer[] {
+                metrics.timer("update"), metrics.timer("collisions"),
+                metrics.timer("waves"), metrics.timer("spawn")
+        };
+        countGauge = metrics.gauge("objects");
+        metrics.setEnabled("on".equals(metricsMode));
+    }
+
+    @Benchmark
+    public void frame(Blackhole blackhole) {
+        if ("plain".equals(metricsMode)) {
+            for (int phase = 0; phase < phases.length; phase++) {
+                updateQuarter(phase);
+            }
+        } else {
+            metrics.beginFrame();
+            long start = metrics.now();
+            for (int phase = 0; phase < phases.length; phase++) {
+                updateQuarter(phase);
+                start = phases[phase].stop(start);
+            }
+            if (metrics.isEnabled()) {
+                countGauge.set(drifters.size());
+                metrics.endFrame();
+            }
+        }
+        blackhole.consume(drifters.get(0).getX());
+    }
+
+    private void updateQuarter(int quarter) {
+        int n = drifters.size();
+        for (int i = quarter * n / 4, end = (quarter + 1) * n / 4; i < end; i++) {
+            drifters.get(i).update(BenchmarkEntities.STEP);
+        }
+    }
+}
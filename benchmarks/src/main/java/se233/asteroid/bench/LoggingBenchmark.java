@@ -0,0 +1,107 @@
+package se233.asteroid.bench;
+
+import javafx.geometry.Point2D;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.EnemyBullet;
+import se233.asteroid.util.LogSampler;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A frame of projectile traffic with debug logging on: every bullet moves, and a tenth of
+ * them expire and are fired again, which is where the per-bullet log lines come from.
+ * Runs once with the synchronous File appender the game used to ship and once with the
+ * async, garbage-free pipeline, each with {@link LogSampler} off and on. Both write to
+ * {@code asteroid-bench.log} in the temp directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    /** Projectiles in flight, split evenly between player and enemy bullets. */
+    @Param({"100", "1000"})
+    public int entityCount;
+
+    @Param({"sync", "async"})
+    public String pipeline;
+
+    @Param({"false", "true"})
+    public boolean sampling;
+
+    private final List<Bullet> bullets = new ArrayList<>();
+    private final List<EnemyBullet> enemyBullets = new ArrayList<>();
+    private Random random;
+    private int churnCursor;
+
+    @Setup
+    public void setUp() throws URISyntaxException {
+        Configurator.reconfigure(getClass().getResource("/log4j2-bench-" + pipeline + ".xml").toURI());
+        LogSampler.setEnabled(sampling);
+
+        random = new Random(BenchmarkEntities.SEED);
+        for (int i = 0; i < entityCount / 2; i++) {
+            bullets.add(Bullet.obtain(randomPoint(), randomDirection(), false));
+            enemyBullets.add(EnemyBullet.obtain(randomPoint(), randomDirection(), true));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogSampler.setEnabled(true);
+    }
+
+    @Benchmark
+    public int frame() {
+        for (int i = 0, n = bullets.size(); i < n; i++) {
+            bullets.get(i).update(BenchmarkEntities.STEP);
+            enemyBullets.get(i).update(BenchmarkEntities.STEP);
+        }
+
+        int churn = Math.max(1, bullets.size() / 10);
+        for (int i = 0; i < churn; i++) {
+            int slot = churnCursor;
+            churnCursor = (churnCursor + 1) % bullets.size();
+
+            Bullet bullet = bullets.get(slot);
+            bullet.deactivate();
+            bullet.release();
+            bullets.set(slot, Bullet.obtain(randomPoint(), randomDirection(), false));
+
+            EnemyBullet enemyBullet = enemyBullets.get(slot);
+            enemyBullet.deactivate();
+            enemyBullet.release();
+            enemyBullets.set(slot, EnemyBullet.obtain(randomPoint(), randomDirection(), true));
+        }
+        return bullets.size() + enemyBullets.size();
+    }
+
+    private Point2D randomPoint() {
+        return new Point2D(random.nextDouble() * BenchmarkEntities.WIDTH, random.nextDouble() * BenchmarkEntities.HEIGHT);
+    }
+
+    private Point2D randomDirection() {
+        double angle = random.nextDouble() * 2 * Math.PI;
+        return new Point2D(Math.cos(angle), Math.sin(angle));
+    }
+}
@@ -0,0 +1,57 @@
+package se233.asteroid.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Character;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Character#collidesWith(Character)} on its own: one bullet tested against every
+ * asteroid, with no broadphase in front of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NarrowPhaseBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    private List<Asteroid> asteroids;
+    private Bullet probe;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkEntities.SEED);
+        asteroids = BenchmarkEntities.asteroids(entityCount, random);
+        probe = BenchmarkEntities.bullets(1, random).get(0);
+    }
+
+    @Benchmark
+    public int collidesWith() {
+        int hits = 0;
+        for (int i = 0, n = asteroids.size(); i < n; i++) {
+            if (probe.collidesWith(asteroids.get(i))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
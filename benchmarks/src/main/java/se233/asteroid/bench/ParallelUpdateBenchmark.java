@@ -0,0 +1,76 @@
+package se233.asteroid.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import javafx.scene.layout.Pane;
+import org.openjdk.jmh.infra.Blackhole;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.util.JobSystem;
+import se233.asteroid.view.EntitySprites;
+import se233.asteroid.view.NodeSpriteRenderer;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The asteroid step as {@code Simulation} runs it, {@link Asteroid#simulate(double)} split
+ * across the job system, then the view's {@link EntitySprites#draw()} on the calling
+ * thread. {@code workers = 0} is the single-threaded baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelUpdateBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int entityCount;
+
+    @Param({"0", "3"})
+    public int workers;
+
+    private List<Asteroid> asteroids;
+    private JobSystem jobs;
+    private JobSystem.RangeJob simulate;
+    private EntitySprites sprites;
+
+    @Setup
+    public void setUp() {
+        asteroids = BenchmarkEntities.asteroids(entityCount, new Random(BenchmarkEntities.SEED));
+        jobs = new JobSystem(workers, JobSystem.DEFAULT_THRESHOLD);
+        simulate = (from, to) -> {
+            for (int i = from; i < to; i++) {
+                asteroids.get(i).simulate(BenchmarkEntities.STEP);
+            }
+        };
+        sprites = new EntitySprites(new NodeSpriteRenderer(new Pane()));
+        for (Asteroid asteroid : asteroids) {
+            sprites.show(asteroid);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        jobs.shutdown();
+    }
+
+    @Benchmark
+    public void simulateThenSync(Blackhole blackhole) {
+        jobs.parallelFor(asteroids.size(), simulate);
+        sprites.draw();
+        blackhole.consume(asteroids.get(0).getX());
+    }
+}
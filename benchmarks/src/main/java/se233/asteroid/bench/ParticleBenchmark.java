@@ -0,0 +1,65 @@
+package se233.asteroid.bench;
+
+import javafx.scene.layout.Pane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.view.ParticleSystem;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of the particle system with a meteor trail on every asteroid and an explosion
+ * burst every few frames. The buffer is the default size, so the larger counts run
+ * against the budget and measure the thinned-out steady state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParticleBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int emitterCount;
+
+    private ParticleSystem particles;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        List<Asteroid> meteors = BenchmarkEntities.asteroids(emitterCount, new Random(BenchmarkEntities.SEED));
+        particles = new ParticleSystem(new Pane(), BenchmarkEntities.WIDTH, BenchmarkEntities.HEIGHT,
+                ParticleSystem.DEFAULT_CAPACITY);
+        for (Asteroid meteor : meteors) {
+            particles.attach(meteor, ParticleSystem.Style.METEOR_TRAIL);
+        }
+        // Fill the buffer to its steady state before measuring
+        for (int i = 0; i < 120; i++) {
+            particles.update(BenchmarkEntities.STEP);
+        }
+    }
+
+    @Benchmark
+    public void frame(Blackhole blackhole) {
+        if (++frame % 10 == 0) {
+            particles.burst(ParticleSystem.Style.SPARK, BenchmarkEntities.WIDTH / 2, BenchmarkEntities.HEIGHT / 2, 16);
+        }
+        particles.update(BenchmarkEntities.STEP);
+        particles.render();
+        blackhole.consume(particles.getCount());
+    }
+}
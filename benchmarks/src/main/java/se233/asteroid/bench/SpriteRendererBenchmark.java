@@ -0,0 +1,97 @@
+package se233.asteroid.bench;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se233.asteroid.util.AssetCache;
+import se233.asteroid.view.CanvasSpriteRenderer;
+import se233.asteroid.view.NodeSpriteRenderer;
+import se233.asteroid.view.SpriteRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of sprite bookkeeping and drawing for each renderer: a tenth of the sprites
+ * leave and come back (bullets expiring and firing), everything moves, then the frame is
+ * rendered. Without a running toolkit the node renderer's layout and paint pulse is not
+ * included, so its figures are a lower bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpriteRendererBenchmark {
+    private static final String[] TEXTURES = {
+            "/se233/asteroid/assets/Astroides/Asteroid_Base.png",
+            "/se233/asteroid/assets/Astroides/meteor.png",
+            "/se233/asteroid/assets/PlayerShip/Fx_01.png",
+            "/se233/asteroid/assets/Enemy/Enemy_shoot.png"
+    };
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entityCount;
+
+    @Param({"nodes", "canvas"})
+    public String renderer;
+
+    private SpriteRenderer spriteRenderer;
+    private final List<ImageView> sprites = new ArrayList<>();
+    private int churnCursor;
+
+    @Setup
+    public void setUp() {
+        Pane layer = new Pane();
+        spriteRenderer = "canvas".equals(renderer)
+                ? new CanvasSpriteRenderer(layer, BenchmarkEntities.WIDTH, BenchmarkEntities.HEIGHT)
+                : new NodeSpriteRenderer(layer);
+
+        Random random = new Random(BenchmarkEntities.SEED);
+        Image[] images = new Image[TEXTURES.length];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = AssetCache.getImage(TEXTURES[i]);
+        }
+        for (int i = 0; i < entityCount; i++) {
+            ImageView sprite = new ImageView(images[random.nextInt(images.length)]);
+            sprite.setFitWidth(30);
+            sprite.setFitHeight(30);
+            sprite.setTranslateX(random.nextDouble() * BenchmarkEntities.WIDTH);
+            sprite.setTranslateY(random.nextDouble() * BenchmarkEntities.HEIGHT);
+            sprite.setRotate(random.nextDouble() * 360);
+            sprites.add(sprite);
+            spriteRenderer.attach(sprite);
+        }
+    }
+
+    @Benchmark
+    public int frame() {
+        int churn = Math.max(1, entityCount / 10);
+        for (int i = 0; i < churn; i++) {
+            ImageView sprite = sprites.get(churnCursor);
+            churnCursor = (churnCursor + 1) % sprites.size();
+            spriteRenderer.detach(sprite);
+            spriteRenderer.attach(sprite);
+        }
+        for (int i = 0, n = sprites.size(); i < n; i++) {
+            ImageView sprite = sprites.get(i);
+            sprite.setTranslateX((sprite.getTranslateX() + 1) % BenchmarkEntities.WIDTH);
+        }
+        spriteRenderer.render();
+        return spriteRenderer.getSpriteCount();
+    }
+}
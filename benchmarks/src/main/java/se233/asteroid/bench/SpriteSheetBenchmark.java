@@ -0,0 +1,56 @@
+package se233.asteroid.bench;
+
+import javafx.scene.image.Image;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se233.asteroid.util.AssetCache;
+import se233.asteroid.util.SpriteSheetUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slicing a sprite sheet into alpha-cleaned frames. The sheet is decoded once in setup
+ * (AssetCache keeps it), so this measures the per-pixel copy and alpha pass only.
+ * The sheets are the ones the game actually slices this way.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpriteSheetBenchmark {
+
+    @Param({
+            "/se233/asteroid/assets/Boss/Explosion_Boss.png:8",
+            "/se233/asteroid/assets/PlayerShip/Explosion.png:8",
+            "/se233/asteroid/assets/PlayerShip/Thruster_01.png:4"
+    })
+    public String sheet;
+
+    private String path;
+    private int frameCount;
+
+    @Setup
+    public void setUp() {
+        int split = sheet.lastIndexOf(':');
+        path = sheet.substring(0, split);
+        frameCount = Integer.parseInt(sheet.substring(split + 1));
+        AssetCache.getImage(path);
+    }
+
+    @Benchmark
+    public List<Image> extractFramesWithAlpha() {
+        return SpriteSheetUtils.extractFramesWithAlpha(path, frameCount, false, 10);
+    }
+}
@@ -3,10 +3,22 @@ module se233.asteroid {
     requires javafx.controls;
     requires javafx.graphics;
     requires org.apache.logging.log4j;
+    // log4j-core only requires the disruptor statically; async loggers need it resolved
+    requires com.lmax.disruptor;
+    // Per-thread allocation counters for the F3 frame metrics
+    requires jdk.management;
+    // Custom flight recorder events for the game loop
+    requires jdk.jfr;
+    // Local Prometheus endpoint for soak runs
+    requires jdk.httpserver;
+    // ImageIO, to decode the background GIF frame by frame
+    requires java.desktop;
 
     // Export the package containing your main application class
     exports se233.asteroid;
     exports se233.asteroid.view;
     exports se233.asteroid.model;
+    exports se233.asteroid.util;
+    exports se233.asteroid.core;
 
 }
\ No newline at end of file
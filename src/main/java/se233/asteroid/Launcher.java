@@ -6,18 +6,17 @@ import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
+import se233.asteroid.core.PlayerInput;
+import se233.asteroid.util.GameEvents;
 import se233.asteroid.view.GameView;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import javafx.scene.layout.StackPane;
-import java.util.HashSet;
-import java.util.Set;
 
 public class Launcher extends Application {
     private static final Logger logger = LogManager.getLogger(Launcher.class);
     private GameView gameView;
     private Scene scene;
-    private Set<KeyCode> pressedKeys;
     private StackPane rootPane;
 
     @Override
@@ -25,7 +24,6 @@ public class Launcher extends Application {
         try {
             // Initialize components
             gameView = new GameView();
-            pressedKeys = new HashSet<>();
 
             // Create root pane for centering
             rootPane = new StackPane();
@@ -65,15 +63,18 @@ public class Launcher extends Application {
         }
     }
 
+    // Keys are only latched here; GameView applies them once per simulation step
     private void setupControls() {
         scene.setOnKeyPressed(e -> {
-            pressedKeys.add(e.getCode());
+            int control = controlFor(e.getCode());
+            if (control != 0) {
+                gameView.setControl(control, true);
+            }
 
             switch (e.getCode()) {
                 case SPACE:
                     if (gameView.isGameStarted() && !gameView.isPaused()) {
-                        gameView.shoot();
-                        gameView.shooting();
+                        gameView.pressControl(PlayerInput.SHOOT);
                         logger.debug("Shoot action triggered");
                     }
                     break;
@@ -86,6 +87,9 @@ public class Launcher extends Application {
                         }
                     }
                     break;
+                case F3:
+                    gameView.toggleMetrics();
+                    break;
                 case F11:
                     Stage stage = (Stage) scene.getWindow();
                     stage.setFullScreen(!stage.isFullScreen());
@@ -93,7 +97,7 @@ public class Launcher extends Application {
 
                 case F:
                     if (gameView.isGameStarted() && !gameView.isPaused()) {
-                        gameView.Specialshoot();
+                        gameView.pressControl(PlayerInput.SPECIAL);
                         logger.debug("Spacial shoot action triggered");
                     }
                     break;
@@ -101,52 +105,40 @@ public class Launcher extends Application {
         });
 
         scene.setOnKeyReleased(e -> {
-            pressedKeys.remove(e.getCode());
+            int control = controlFor(e.getCode());
+            if (control != 0) {
+                gameView.setControl(control, false);
+            }
             if (e.getCode() == KeyCode.W) {
 //                gameView.stopThrust();
                 logger.debug("Thrust stopped");
             }
         });
-
-        // Setup continuous input handling
-        new javafx.animation.AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                handleContinuousInput();
-            }
-        }.start();
     }
 
-    private void handleContinuousInput() {
-        if (!gameView.isGameStarted() || gameView.isPaused()) return;
-
-        if (pressedKeys.contains(KeyCode.Q)) {
-            gameView.rotateLeft();
-            logger.debug("Rotating left");
-        }
-        if (pressedKeys.contains(KeyCode.E)) {
-            gameView.rotateRight();
-            logger.debug("Rotating right");
+    // Held movement keys and the control each one latches
+    private static int controlFor(KeyCode code) {
+        switch (code) {
+            case Q: return PlayerInput.ROTATE_LEFT;
+            case E: return PlayerInput.ROTATE_RIGHT;
+            case W: return PlayerInput.UP;
+            case S: return PlayerInput.DOWN;
+            case A: return PlayerInput.LEFT;
+            case D: return PlayerInput.RIGHT;
+            default: return 0;
         }
-        if (pressedKeys.contains(KeyCode.W)) {
-            gameView.thrust();
-            logger.debug("Moving up");
-        }
-        if (pressedKeys.contains(KeyCode.S)) {
-            gameView.moveDown();
-            logger.debug("Moving down");
-        }
-        if (pressedKeys.contains(KeyCode.A)) {
-            gameView.moveLeft();
-            logger.debug("Moving left");
-        }
-        if (pressedKeys.contains(KeyCode.D)) {
-            gameView.moveRight();
-            logger.debug("Moving right");
+    }
+
+    @Override
+    public void stop() {
+        if (gameView != null) {
+            gameView.shutdown();
         }
     }
 
     public static void main(String[] args) {
+        // -Dasteroid.jfr=<file> records the game's flight recorder events for this session
+        GameEvents.startRecordingFromProperties();
         launch(args);
     }
 }
\ No newline at end of file
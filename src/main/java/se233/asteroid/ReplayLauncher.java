@@ -0,0 +1,91 @@
+package se233.asteroid;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se233.asteroid.core.ReplayPlayer;
+import se233.asteroid.view.GameView;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Plays a replay file in the game window, at {@code speed} times real time. The file may
+ * come from a game recorded with {@code -Dasteroid.replayDir} or from
+ * {@code HeadlessRunner --record}; either way it runs through {@link GameView}'s own step.
+ * The left and right arrow keys seek ten seconds back or forward through the recording's
+ * keyframes.
+ *
+ * <pre>java ... se233.asteroid.ReplayLauncher file [speed]</pre>
+ */
+public class ReplayLauncher extends Application {
+    private static final Logger logger = LogManager.getLogger(ReplayLauncher.class);
+    private static final double SEEK_SECONDS = 10;
+
+    private GameView gameView;
+
+    @Override
+    public void start(Stage stage) throws IOException {
+        List<String> args = getParameters().getRaw();
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("Usage: ReplayLauncher file [speed]");
+        }
+        double speed = args.size() > 1 ? Double.parseDouble(args.get(1)) : 1.0;
+
+        gameView = new GameView();
+        ReplayPlayer player = gameView.playReplay(Path.of(args.get(0)), speed);
+
+        StackPane root = new StackPane(gameView);
+        Scene scene = new Scene(root, GameView.DEFAULT_WIDTH, GameView.DEFAULT_HEIGHT);
+        long seekTicks = Math.round(SEEK_SECONDS / player.getStepSeconds());
+        scene.setOnKeyPressed(e -> {
+            try {
+                switch (e.getCode()) {
+                    case LEFT -> gameView.seekReplay(Math.max(0, player.getTicks() - seekTicks));
+                    case RIGHT -> gameView.seekReplay(player.getTicks() + seekTicks);
+                    case F3 -> gameView.toggleMetrics();
+                    default -> {
+                    }
+                }
+            } catch (IOException ex) {
+                logger.error("Replay seek failed", ex);
+            }
+        });
+
+        String title = "Asteroid Replay (" + speed + "x)";
+        new AnimationTimer() {
+            private boolean showingEnd;
+
+            @Override
+            public void handle(long now) {
+                // Seeking back from the end starts playback again
+                if (player.isFinished() != showingEnd) {
+                    showingEnd = player.isFinished();
+                    stage.setTitle(showingEnd ? title + " - " + (player.isVerified() ? "finished" : "diverged") : title);
+                }
+            }
+        }.start();
+
+        stage.setTitle(title);
+        stage.setScene(scene);
+        stage.setResizable(false);
+        stage.show();
+        logger.info("Replay window opened at {}x speed", speed);
+    }
+
+    @Override
+    public void stop() {
+        if (gameView != null) {
+            gameView.shutdown();
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
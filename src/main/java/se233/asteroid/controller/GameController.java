@@ -5,6 +5,10 @@ import javafx.geometry.Point2D;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import se233.asteroid.model.*;
+import se233.asteroid.model.Character;
+import se233.asteroid.util.Broadphase;
+import se233.asteroid.util.FixedTimestep;
+import se233.asteroid.util.GameEvents;
 import se233.asteroid.view.GameStage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -41,9 +45,15 @@ public class GameController {
     private boolean isGameStarted;
     private long lastUpdateTime;
     private long lastBulletTime;
+    private final FixedTimestep timestep = new FixedTimestep();
+    private long simulationTime; // nanoseconds of simulated play, drives input cooldowns
     private AnimationTimer gameLoop;
     private boolean isGamePaused;
 
+    // Collision broadphase over the asteroids, rebuilt every tick
+    private final Broadphase broadphase;
+    private final List<Character> collisionCandidates;
+
     // คะแนนสำหรับการทำลายเป้าหมายต่างๆ
     private static final int ASTEROID_POINTS = 1;
     private static final int REGULAR_ENEMY_POINTS = 1;
@@ -55,6 +65,8 @@ public class GameController {
         this.gameStage = gameStage;
         this.asteroids = new CopyOnWriteArrayList<>();
         this.bullets = new CopyOnWriteArrayList<>();
+        this.broadphase = Broadphase.create(GAME_WIDTH, GAME_HEIGHT);
+        this.collisionCandidates = new ArrayList<>();
         this.activeKeys = new HashSet<>();
         this.random = new Random();
         this.lastBulletTime = 0;
@@ -118,6 +130,9 @@ public class GameController {
                 gameStage.showPauseMenu();
                 logger.info("Game paused");
             } else {
+                // The loop was stopped, so don't let the paused time count as a long frame
+                lastUpdateTime = System.nanoTime();
+                timestep.reset();
                 gameLoop.start();
                 isGamePaused = false;
                 gameStage.hidePauseMenu();
@@ -129,6 +144,8 @@ public class GameController {
     private void setupGame() {
         clearAll();
         initializeGameState();
+        Asteroid.warmUpExplosionFrames();
+        Enemy.warmUpExplosionFrames();
         spawnInitialObjects();
         if (gameLoop != null) {
             gameLoop.start();
@@ -165,20 +182,14 @@ public class GameController {
         gameLoop = new AnimationTimer() {
             @Override
             public void handle(long now) {
+                double frameSeconds = (now - lastUpdateTime) / 1_000_000_000.0;
+                lastUpdateTime = now;
+
                 if (!isGameStarted || isGamePaused) {
                     return;
                 }
 
-                double deltaTime = (now - lastUpdateTime) / 1_000_000_000.0;
-                lastUpdateTime = now;
-
-                if (!gameOver) {
-                    handleInput(now);
-                    updateGame(deltaTime);
-                    checkCollisions();
-                    spawnNewAsteroids();
-                    cleanupObjects();
-                }
+                timestep.advance(frameSeconds, GameController.this::step);
             }
         };
 
@@ -186,6 +197,32 @@ public class GameController {
         logger.info("Game loop started");
     }
 
+    // One fixed simulation step; input is sampled per step so held keys act at the same rate on any display
+    private void step(double dt) {
+        if (gameOver) return;
+
+        simulationTime += (long) (dt * 1_000_000_000L);
+        GameEvents.TickPhase phase = GameEvents.beginPhase("input");
+        handleInput(simulationTime);
+        GameEvents.endPhase(phase);
+
+        phase = GameEvents.beginPhase("update");
+        updateGame(dt);
+        GameEvents.endPhase(phase);
+
+        phase = GameEvents.beginPhase("collisions");
+        checkCollisions();
+        GameEvents.endPhase(phase);
+
+        phase = GameEvents.beginPhase("spawn");
+        spawnNewAsteroids();
+        GameEvents.endPhase(phase);
+
+        phase = GameEvents.beginPhase("cleanup");
+        cleanupObjects();
+        GameEvents.endPhase(phase);
+    }
+
     private void handleInput(long currentTime) {
         // Player movement
         if (activeKeys.contains(KeyCode.A)) player.moveLeft();
@@ -201,23 +238,24 @@ public class GameController {
             Bullet bullet = player.shoot();
             bullets.add(bullet);
             gameStage.addBullet(bullet);
+            GameEvents.spawned(bullet);
             lastBulletTime = currentTime;
         }
     }
 
     private void updateGame(double deltaTime) {
         // Update player
-        player.update();
+        player.update(deltaTime);
         wrapPosition(player);
 
         // Update bullets
         for (Bullet bullet : bullets) {
-            bullet.update();
+            bullet.update(deltaTime);
         }
 
         // Update asteroids
         for (Asteroid asteroid : asteroids) {
-            asteroid.update();
+            asteroid.update(deltaTime);
             wrapPosition(asteroid);
         }
 
@@ -231,6 +269,7 @@ public class GameController {
             for (Enemy enemy : newEnemies) {
                 // Add enemy sprite to game scene
                 gameStage.addGameObject(enemy);
+                GameEvents.spawned(enemy);
                 logger.info("Added new enemy spawned by boss at position: {}", enemy.getPosition());
             }
 
@@ -239,32 +278,42 @@ public class GameController {
                 for (Bullet bullet : bossAttack) {
                     bullets.add(bullet);
                     gameStage.addBullet(bullet);
+                    GameEvents.spawned(bullet);
                 }
             }
         }
     }
 
 
+    private void rebuildBroadphase() {
+        broadphase.clear();
+        for (Asteroid asteroid : asteroids) {
+            broadphase.insert(asteroid);
+        }
+    }
+
     private void checkCollisions() {
+        rebuildBroadphase();
+
         // Check bullet collisions with asteroids
-        Iterator<Bullet> bulletIter = bullets.iterator();
-        while (bulletIter.hasNext()) {
-            Bullet bullet = bulletIter.next();
+        for (Bullet bullet : bullets) {
             boolean bulletHit = false;
 
-            // Check asteroid collisions
-            Iterator<Asteroid> asteroidIter = asteroids.iterator();
-            while (asteroidIter.hasNext()) {
-                Asteroid asteroid = asteroidIter.next();
+            // Check asteroid collisions among the broadphase candidates only
+            List<Character> candidates = broadphase.query(bullet, collisionCandidates);
+            for (int i = 0; i < candidates.size(); i++) {
+                Asteroid asteroid = (Asteroid) candidates.get(i);
 
                 // ตรวจสอบว่าสามารถชนได้หรือไม่
-                if (!asteroid.isExploding() && !asteroid.isInvulnerable() && bullet.collidesWith(asteroid)) {
+                if (asteroid.isAlive() && !asteroid.isExploding() && !asteroid.isInvulnerable() && bullet.collidesWith(asteroid)) {
                     // แสดง explosion effect
                     gameStage.showExplosion(asteroid.getPosition());
 
                     // ทำลายกระสุน
-                    bulletIter.remove();
+                    bullets.remove(bullet);
                     gameStage.removeBullet(bullet);
+                    GameEvents.despawned(bullet);
+                    bullet.release();
                     bulletHit = true;
 
                     // ทำลายอุกาบาต
@@ -272,8 +321,9 @@ public class GameController {
 
                     // สำคัญ: ลบอุกาบาตออกทันทีเมื่อถูกทำลาย
                     if (!asteroid.isAlive()) {
-                        asteroidIter.remove();
+                        asteroids.remove(asteroid);
                         gameStage.removeGameObject(asteroid);
+                        GameEvents.despawned(asteroid);
 
                         // สร้าง fragments ที่มีการ offset ตำแหน่งและตั้งค่า invulnerable
                         List<Asteroid> fragments = asteroid.split();
@@ -281,6 +331,7 @@ public class GameController {
                             fragment.setInvulnerable(true);
                             asteroids.add(fragment);
                             gameStage.addGameObject(fragment);
+                            GameEvents.spawned(fragment);
                         }
 
                         logger.info("Asteroid destroyed! Points awarded: {}, Total score: {}",
@@ -310,12 +361,14 @@ public class GameController {
         if (player == null || !player.isAlive() || player.isInvulnerable()) return;
 
         // Check player collisions with asteroids
-        for (Asteroid asteroid : asteroids) {
+        List<Character> candidates = broadphase.query(player, collisionCandidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            Asteroid asteroid = (Asteroid) candidates.get(i);
             // ตรวจสอบการชนเฉพาะกับอุกาบาตที่:
             if (asteroid.isAlive() && // ยังมีชีวิตอยู่
                     !asteroid.isExploding() && // ไม่กำลังระเบิด
                     !asteroid.isInvulnerable() && // ไม่อยู่ในสถานะ invulnerable
-                    asteroid.getSprite().isVisible() && // sprite ยังแสดงผลอยู่
+                    asteroid.isSpriteVisible() && // sprite ยังแสดงผลอยู่
                     player.collidesWith(asteroid)) { // มีการชนเกิดขึ้น
 
                 handlePlayerHit();
@@ -355,12 +408,15 @@ public class GameController {
         // ลบ objects ทั้งหมดออกจากเกม
         for (Asteroid asteroid : asteroids) {
             gameStage.removeGameObject(asteroid);
+            GameEvents.despawned(asteroid);
             asteroid.dispose(); // ถ้ามีเมธอด dispose
         }
         asteroids.clear();
 
         for (Bullet bullet : bullets) {
             gameStage.removeBullet(bullet);
+            GameEvents.despawned(bullet);
+            bullet.release();
         }
         bullets.clear();
 
@@ -369,6 +425,7 @@ public class GameController {
             List<Enemy> remainingEnemies = boss.collectSpawnedEnemies();
             for (Enemy enemy : remainingEnemies) {
                 gameStage.removeGameObject(enemy);
+                GameEvents.despawned(enemy);
             }
             gameStage.removeGameObject(boss);
             boss = null;
@@ -386,7 +443,9 @@ public class GameController {
         boss.hit(10);
         bullets.remove(bullet);
         gameStage.removeBullet(bullet);
+        GameEvents.despawned(bullet);
         gameStage.showExplosion(bullet.getPosition());
+        bullet.release();
 
         if (!boss.isAlive()) {
             // ตัวอย่าง: boss ให้ 10 คะแนน
@@ -416,12 +475,14 @@ public class GameController {
                 Asteroid asteroid = new Asteroid(asteroidPos, Asteroid.Type.ASTEROID);
                 asteroids.add(asteroid);
                 gameStage.addGameObject(asteroid);
+                GameEvents.spawned(asteroid);
 
                 // สร้าง METEOR
                 Point2D meteorPos = getRandomSpawnPosition();
                 Asteroid meteor = new Asteroid(meteorPos, Asteroid.Type.METEOR);
                 asteroids.add(meteor);
                 gameStage.addGameObject(meteor);
+                GameEvents.spawned(meteor);
             }
             logger.info("Wave 1: Spawned 2 asteroids and 2 meteors");
         } else {
@@ -434,10 +495,12 @@ public class GameController {
                     Asteroid asteroid = new Asteroid(position, Asteroid.Type.ASTEROID);
                     asteroids.add(asteroid);
                     gameStage.addGameObject(asteroid);
+                    GameEvents.spawned(asteroid);
                 } else {
                     Asteroid meteor = new Asteroid(position, Asteroid.Type.METEOR);
                     asteroids.add(meteor);
                     gameStage.addGameObject(meteor);
+                    GameEvents.spawned(meteor);
                 }
             }
             logger.info("Wave {}: Spawned 5 random objects", currentWave);
@@ -451,6 +514,7 @@ public class GameController {
                 Asteroid meteor = new Asteroid(position, Asteroid.Type.METEOR);
                 asteroids.add(meteor);
                 gameStage.addGameObject(meteor);
+                GameEvents.spawned(meteor);
                 logger.info("Spawned new meteor");
             } else {
                 spawnAsteroids(1);
@@ -469,27 +533,28 @@ public class GameController {
     }
 
     private void wrapPosition(se233.asteroid.model.Character character) {
-        Point2D position = character.getPosition();
-        double x = position.getX();
-        double y = position.getY();
+        double x = character.getX();
+        double y = character.getY();
 
         if (x < 0) x = GAME_WIDTH;
         if (x > GAME_WIDTH) x = 0;
         if (y < 0) y = GAME_HEIGHT;
         if (y > GAME_HEIGHT) y = 0;
 
-        character.setPosition(new Point2D(x, y));
+        character.setPosition(x, y);
     }
 
-    private boolean isInBounds(Point2D position) {
-        return position.getX() >= 0 && position.getX() <= GAME_WIDTH &&
-                position.getY() >= 0 && position.getY() <= GAME_HEIGHT;
+    private boolean isInBounds(Character character) {
+        return character.getX() >= 0 && character.getX() <= GAME_WIDTH &&
+                character.getY() >= 0 && character.getY() <= GAME_HEIGHT;
     }
 
     private void cleanupObjects() {
         bullets.removeIf(bullet -> {
-            if (!isInBounds(bullet.getPosition())) {
+            if (!bullet.isAlive() || !isInBounds(bullet)) {
                 gameStage.removeBullet(bullet);
+                GameEvents.despawned(bullet);
+                bullet.release();
                 return true;
             }
             return false;
@@ -506,6 +571,7 @@ public class GameController {
         }
         for (Bullet bullet : bullets) {
             gameStage.removeBullet(bullet);
+            bullet.release();
         }
         if (boss != null) {
             gameStage.removeGameObject(boss);
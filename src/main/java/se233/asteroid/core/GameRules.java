@@ -0,0 +1,94 @@
+package se233.asteroid.core;
+
+import java.util.Random;
+
+/**
+ * Game rules that do not depend on how the game is drawn: playfield, scoring, wave
+ * plan and unlock thresholds. {@link Simulation} plays the game by them whether or not
+ * GameView is drawing it.
+ */
+public final class GameRules {
+    // Playfield
+    public static final double WIDTH = 800;
+    public static final double HEIGHT = 600;
+    public static final double WRAP_MARGIN = 50;     // ships and rocks reappear this far past the edge
+    public static final double SPAWN_MARGIN = 100;   // rocks spawn at least this far inside the edge
+    public static final double OFFSCREEN_MARGIN = 100; // projectiles are dropped this far past the edge
+
+    // Scoring
+    public static final int ASTEROID_POINTS = 2;
+    public static final int METEOR_POINTS = 1;
+    public static final int REGULAR_ENEMY_POINTS = 1;
+    public static final int SECOND_TIER_ENEMY_POINTS = 2;
+    public static final int BOSS_POINTS = 10;
+
+    // Waves
+    public static final int BOSS_WAVE = 5;
+    public static final int FIRST_WAVE_ROCKS_PER_TYPE = 2;
+    public static final int LATER_WAVE_ROCKS = 5;
+    public static final int INITIAL_ENEMIES = 2;
+    public static final int MAX_ENEMIES = 3;
+    public static final double ENEMY_SPAWN_CHANCE = 0.01; // per simulation step
+    public static final double MIN_SPAWN_DISTANCE_FROM_PLAYER = 150;
+    public static final double BOSS_SPAWN_INTERVAL = 5.0;
+    public static final int MAX_BOSS_SPAWNED_ENEMIES = 6;
+
+    // Player
+    public static final int PLAYER_LIVES = 3;
+    public static final double PLAYER_INVULNERABLE_TIME = 3.0;
+    public static final double BULLET_COOLDOWN = 0.25;
+    public static final int MAX_MISSILES = 10;
+    public static final double MISSILE_COOLDOWN = 10.0;
+    public static final int BOSS_HIT_DAMAGE = 10;
+
+    // Wingmen
+    public static final int WINGMAN_UNLOCK_SCORE_FIRST = 5;
+    public static final int WINGMAN_UNLOCK_SCORE_SECOND = 10;
+    public static final int MAX_WINGMEN = 2;
+
+    private GameRules() {
+    }
+
+    public static boolean spawnsEnemies(int wave) {
+        return wave >= 2 && wave < BOSS_WAVE;
+    }
+
+    /**
+     * Wave 2 sends regular enemies, wave 3 second-tier ones and wave 4 a mix.
+     */
+    public static boolean isSecondTierEnemy(int wave, Random random) {
+        if (wave == 3) {
+            return true;
+        }
+        return wave >= 4 && random.nextBoolean();
+    }
+
+    /**
+     * Wave 1 ends when its rocks are gone, waves 2-4 when either the rocks or the enemies
+     * are, and the boss wave once the boss and its escorts are down.
+     */
+    public static boolean isWaveComplete(int wave, boolean rocksCleared, boolean enemiesCleared, boolean bossDefeated) {
+        if (wave == 1) {
+            return rocksCleared;
+        } else if (wave < BOSS_WAVE) {
+            return rocksCleared || enemiesCleared;
+        } else if (wave == BOSS_WAVE) {
+            return bossDefeated && enemiesCleared;
+        }
+        return false;
+    }
+
+    public static boolean isVictory(int wave) {
+        return wave > BOSS_WAVE;
+    }
+
+    /**
+     * Whether the next wingman unlocks, given how many are already flying.
+     */
+    public static boolean canUnlockWingman(int currentWingmen, int score) {
+        if (currentWingmen == 0) {
+            return score >= WINGMAN_UNLOCK_SCORE_FIRST;
+        }
+        return currentWingmen == 1 && score >= WINGMAN_UNLOCK_SCORE_SECOND;
+    }
+}
@@ -0,0 +1,165 @@
+package se233.asteroid.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Boss;
+import se233.asteroid.model.Character;
+import se233.asteroid.model.Enemy;
+import se233.asteroid.model.EntityRegistry;
+import se233.asteroid.model.PlayerShip;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays the game without a window: a simple bot turns toward the nearest target and
+ * fires, and the runner reports how fast the simulation ticks. With {@code --record}
+ * the bot's session is written to a replay file; {@code --replay} plays one back as fast
+ * as possible and checks that it ends exactly as recorded.
+ *
+ * <pre>java -cp ... se233.asteroid.core.HeadlessRunner [--record file] [seed] [ticks]
+ *java -cp ... se233.asteroid.core.HeadlessRunner --replay file</pre>
+ */
+public class HeadlessRunner {
+    private static final Logger logger = LogManager.getLogger(HeadlessRunner.class);
+
+    private static final long DEFAULT_SEED = 233L;
+    private static final long DEFAULT_TICKS = 60L * 60 * 10; // ten minutes of game time
+
+    public static void main(String[] args) throws IOException {
+        Path recordPath = null;
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--replay".equals(args[i]) && i + 1 < args.length) {
+                System.exit(replay(Path.of(args[++i])) ? 0 : 1);
+                return;
+            } else if ("--record".equals(args[i]) && i + 1 < args.length) {
+                recordPath = Path.of(args[++i]);
+            } else {
+                positional.add(args[i]);
+            }
+        }
+        long seed = positional.size() > 0 ? Long.parseLong(positional.get(0)) : DEFAULT_SEED;
+        long ticks = positional.size() > 1 ? Long.parseLong(positional.get(1)) : DEFAULT_TICKS;
+
+        Simulation simulation = new Simulation(seed);
+        ReplayWriter writer = recordPath != null
+                ? new ReplayWriter(recordPath, simulation, Simulation.REFERENCE_STEP) : null;
+        simulation.start();
+        PlayerInput input = new PlayerInput();
+
+        long startTime = System.nanoTime();
+        long played = 0;
+        try {
+            while (played < ticks && !simulation.isGameOver()) {
+                steerBot(simulation, input);
+                if (writer != null) {
+                    writer.recordTick(input);
+                }
+                simulation.step(Simulation.REFERENCE_STEP, input);
+                played++;
+            }
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        logger.info("Seed {}: {} ticks in {} s ({} ticks/s), wave {}, score {}, lives {}{}",
+                seed, played, String.format("%.3f", seconds), String.format("%.0f", played / seconds),
+                simulation.getWave(), simulation.getScore(), simulation.getLives(),
+                simulation.isGameOver() ? (simulation.isVictory() ? ", victory" : ", defeated") : "");
+        System.out.printf("%d ticks in %.3f s (%.0f ticks/s), wave %d, score %d%n",
+                played, seconds, played / seconds, simulation.getWave(), simulation.getScore());
+    }
+
+    /**
+     * Replays {@code path} headless, whether the bot or a player in the game window
+     * recorded it, and prints how it compares with the recording.
+     *
+     * @return true if it matched
+     */
+    public static boolean replay(Path path) throws IOException {
+        try (ReplayPlayer player = new ReplayPlayer(path)) {
+            long startTime = System.nanoTime();
+            boolean verified = player.playToEnd();
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            double gameSeconds = player.getTicks() * player.getStepSeconds();
+            System.out.printf("Replayed %d ticks in %.3f s (%.0fx real time), wave %d, score %d: %s%n",
+                    player.getTicks(), seconds, gameSeconds / seconds,
+                    player.getSimulation().getWave(), player.getSimulation().getScore(),
+                    verified ? "matches the recording" : "DOES NOT match the recording");
+            return verified;
+        }
+    }
+
+    /**
+     * Fills {@code input} for one step: rotate toward the closest rock, enemy or boss,
+     * fire when roughly lined up and drift away from anything too close.
+     */
+    public static void steerBot(Simulation simulation, PlayerInput input) {
+        input.clear();
+        PlayerShip player = simulation.getPlayer();
+        if (player == null || !player.isAlive()) return;
+
+        EntityRegistry entities = simulation.getEntities();
+        Character target = null;
+        double best = Double.MAX_VALUE;
+        List<Asteroid> rocks = entities.getRocks();
+        for (int i = 0; i < rocks.size(); i++) {
+            Asteroid rock = rocks.get(i);
+            if (!rock.isAlive() || rock.isExploding()) continue;
+            double distance = distanceSquared(player, rock);
+            if (distance < best) {
+                best = distance;
+                target = rock;
+            }
+        }
+        List<Enemy> enemies = entities.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isAlive() || enemy.isExploding()) continue;
+            double distance = distanceSquared(player, enemy);
+            if (distance < best) {
+                best = distance;
+                target = enemy;
+            }
+        }
+        Boss boss = simulation.getBoss();
+        if (boss != null && boss.isAlive() && !boss.isExploding()) {
+            double distance = distanceSquared(player, boss);
+            if (distance < best) {
+                best = distance;
+                target = boss;
+            }
+        }
+        if (target == null) return;
+
+        double dx = target.getX() - player.getX();
+        double dy = target.getY() - player.getY();
+        // Ship rotation 0 points up, so the heading is atan2 shifted by 90 degrees
+        double wanted = (Math.toDegrees(Math.atan2(dy, dx)) + 90 + 360) % 360;
+        double diff = ((wanted - player.getRotation()) + 540) % 360 - 180;
+        input.rotateRight = diff > 1;
+        input.rotateLeft = diff < -1;
+        input.shoot = Math.abs(diff) < 10;
+        input.special = target == boss && Math.abs(diff) < 5;
+
+        if (best < 120 * 120) {
+            input.left = dx > 0;
+            input.right = dx < 0;
+            input.up = dy > 0;
+            input.down = dy < 0;
+        }
+    }
+
+    private static double distanceSquared(Character from, Character to) {
+        double dx = to.getX() - from.getX();
+        double dy = to.getY() - from.getY();
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,70 @@
+package se233.asteroid.core;
+
+/**
+ * Controls held during one simulation step. Keyboard handlers, bots and replays all
+ * drive the simulation by filling one of these.
+ */
+public class PlayerInput {
+    // One bit per control, as stored in replay files
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int ROTATE_LEFT = 1 << 4;
+    public static final int ROTATE_RIGHT = 1 << 5;
+    public static final int SHOOT = 1 << 6;
+    public static final int SPECIAL = 1 << 7;
+
+    public boolean left;
+    public boolean right;
+    public boolean up;
+    public boolean down;
+    public boolean rotateLeft;
+    public boolean rotateRight;
+    public boolean shoot;
+    public boolean special;
+
+    public void clear() {
+        left = right = up = down = false;
+        rotateLeft = rotateRight = false;
+        shoot = special = false;
+    }
+
+    public void copyFrom(PlayerInput other) {
+        left = other.left;
+        right = other.right;
+        up = other.up;
+        down = other.down;
+        rotateLeft = other.rotateLeft;
+        rotateRight = other.rotateRight;
+        shoot = other.shoot;
+        special = other.special;
+    }
+
+    /**
+     * @return the held controls as a bitmask of the constants above
+     */
+    public int toBits() {
+        int bits = 0;
+        if (left) bits |= LEFT;
+        if (right) bits |= RIGHT;
+        if (up) bits |= UP;
+        if (down) bits |= DOWN;
+        if (rotateLeft) bits |= ROTATE_LEFT;
+        if (rotateRight) bits |= ROTATE_RIGHT;
+        if (shoot) bits |= SHOOT;
+        if (special) bits |= SPECIAL;
+        return bits;
+    }
+
+    public void setBits(int bits) {
+        left = (bits & LEFT) != 0;
+        right = (bits & RIGHT) != 0;
+        up = (bits & UP) != 0;
+        down = (bits & DOWN) != 0;
+        rotateLeft = (bits & ROTATE_LEFT) != 0;
+        rotateRight = (bits & ROTATE_RIGHT) != 0;
+        shoot = (bits & SHOOT) != 0;
+        special = (bits & SPECIAL) != 0;
+    }
+}
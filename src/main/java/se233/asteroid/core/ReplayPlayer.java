@@ -0,0 +1,296 @@
+package se233.asteroid.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Plays a replay file back into a {@link Simulation} reseeded with the recorded seed and
+ * started at the recorded first wave: a fresh one, or the game view's own, which then
+ * runs each tick through its own step just as a live game does. Each {@link #step()}
+ * feeds one tick of recorded input; wave transitions, keyframe state hashes and the final
+ * tick count, score and state hash are checked against the recording as they come up, so
+ * a replay that drifts from the original session is reported rather than silently shown.
+ *
+ * Headless callers run {@link #playToEnd()} as fast as the simulation goes; a view calls
+ * {@link #step()} as many times per frame as its playback speed asks for.
+ * {@link #seek(long)} jumps to any tick by restoring the nearest keyframe at or before it
+ * and playing forward from there.
+ */
+public class ReplayPlayer implements SimulationListener, Closeable {
+    private static final Logger logger = LogManager.getLogger(ReplayPlayer.class);
+
+    private final Path path;
+    private final ReplayReader reader;
+    private final Simulation simulation;
+    private final Stepper stepper;
+    private final PlayerInput input = new PlayerInput();
+    private final int firstWave;
+
+    private long runRemaining;
+    private long ticks;
+    private int lastWave;
+    private long lastWaveTick = -1;
+    private int mismatches;
+    private boolean finished;
+    private boolean complete;
+
+    // Keyframe ticks and file offsets, found by a scan on the first seek
+    private long[] keyframeTicks;
+    private long[] keyframeOffsets;
+    private int keyframeCount;
+
+    /**
+     * Runs one tick of the simulation being replayed into with the recorded controls.
+     */
+    @FunctionalInterface
+    public interface Stepper {
+        void step(double dt, PlayerInput input);
+    }
+
+    public ReplayPlayer(Path path) throws IOException {
+        this(path, null, null);
+    }
+
+    /**
+     * Replays into {@code simulation}, which is reseeded and restarted, calling
+     * {@code stepper} for every tick instead of stepping the simulation directly.
+     * Either may be null for a fresh simulation stepped as is.
+     */
+    public ReplayPlayer(Path path, Simulation simulation, Stepper stepper) throws IOException {
+        this.path = path;
+        this.reader = new ReplayReader(path);
+        this.simulation = simulation != null ? simulation : new Simulation(reader.getSeed());
+        this.stepper = stepper != null ? stepper : this.simulation::step;
+        this.firstWave = readFirstWave();
+        this.simulation.reseed(reader.getSeed());
+        this.simulation.addListener(this);
+        this.simulation.start(firstWave);
+        logger.info("Replaying {} (seed {}, wave {})", path, reader.getSeed(), firstWave);
+    }
+
+    // The wave record at tick 0 says where the recorded game began; the reader goes back to it
+    private int readFirstWave() throws IOException {
+        int wave = 1;
+        if (reader.next() == ReplayReader.Record.WAVE && reader.getWaveTick() == 0) {
+            wave = reader.getWave();
+        }
+        reader.seek(ReplayWriter.HEADER_BYTES);
+        return wave;
+    }
+
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    public double getStepSeconds() {
+        return reader.getStepSeconds();
+    }
+
+    /**
+     * Runs the next recorded tick.
+     *
+     * @return false once the recording is over; the simulation is then left as it ended
+     */
+    public boolean step() throws IOException {
+        while (runRemaining == 0) {
+            if (finished) {
+                return false;
+            }
+            readRecord();
+        }
+        stepper.step(reader.getStepSeconds(), input);
+        runRemaining--;
+        ticks++;
+        return true;
+    }
+
+    /**
+     * Runs every remaining tick without pausing between them.
+     *
+     * @return true if the replay reproduced the recording exactly
+     */
+    public boolean playToEnd() throws IOException {
+        while (step()) {
+            // Nothing to do between ticks
+        }
+        return isVerified();
+    }
+
+    /**
+     * Moves playback to just before tick {@code targetTick}: restores the last keyframe
+     * at or before it (or restarts, if there is none or it is behind the current tick
+     * anyway) and steps forward the rest of the way. Seeking past the end stops there.
+     *
+     * @return the tick reached
+     */
+    public long seek(long targetTick) throws IOException {
+        indexKeyframes();
+        int index = Arrays.binarySearch(keyframeTicks, 0, keyframeCount, targetTick);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        long keyframeTick = index >= 0 ? keyframeTicks[index] : 0;
+
+        if (targetTick < ticks || keyframeTick > ticks) {
+            if (index >= 0) {
+                restore(keyframeOffsets[index]);
+            } else {
+                restart();
+            }
+        }
+        while (ticks < targetTick && step()) {
+            // Fast-forward from the keyframe
+        }
+        return ticks;
+    }
+
+    private void restore(long offset) throws IOException {
+        reader.seek(offset);
+        reader.next();
+        simulation.readSnapshot(reader);
+        reader.endSnapshot();
+        ticks = reader.getKeyframeTick();
+        resetPlayback();
+        if (simulation.stateHash() != reader.getKeyframeHash()) {
+            mismatch("state hash " + Long.toHexString(reader.getKeyframeHash()),
+                    "restored hash " + Long.toHexString(simulation.stateHash()));
+        }
+        logger.debug("Replay {} restored keyframe at tick {}", path, ticks);
+    }
+
+    private void restart() throws IOException {
+        reader.seek(ReplayWriter.HEADER_BYTES);
+        simulation.start(firstWave);
+        ticks = 0;
+        resetPlayback();
+    }
+
+    // Checks start over from wherever playback resumes
+    private void resetPlayback() {
+        runRemaining = 0;
+        finished = false;
+        complete = false;
+        mismatches = 0;
+    }
+
+    // One pass over the file with a second reader, skipping every payload
+    private void indexKeyframes() throws IOException {
+        if (keyframeTicks != null) {
+            return;
+        }
+        keyframeTicks = new long[16];
+        keyframeOffsets = new long[16];
+        try (ReplayReader scan = new ReplayReader(path)) {
+            long offset = scan.position();
+            ReplayReader.Record record;
+            while ((record = scan.next()) != null && record != ReplayReader.Record.END) {
+                if (record == ReplayReader.Record.KEYFRAME) {
+                    if (keyframeCount == keyframeTicks.length) {
+                        keyframeTicks = Arrays.copyOf(keyframeTicks, keyframeCount * 2);
+                        keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+                    }
+                    keyframeTicks[keyframeCount] = scan.getKeyframeTick();
+                    keyframeOffsets[keyframeCount] = offset;
+                    keyframeCount++;
+                }
+                offset = scan.position();
+            }
+        }
+        logger.debug("Replay {} has {} keyframes", path, keyframeCount);
+    }
+
+    @Override
+    public void onWaveStarted(int wave) {
+        lastWave = wave;
+        lastWaveTick = simulation.getTick();
+    }
+
+    @Override
+    public void onRestored() {
+        // Waves are checked from the restored one on
+        lastWave = simulation.getWave();
+        lastWaveTick = -1;
+    }
+
+    private void readRecord() throws IOException {
+        ReplayReader.Record record = reader.next();
+        if (record == null) {
+            finished = true;
+            logger.warn("Replay {} has no end record; played {} ticks unchecked", path, ticks);
+            return;
+        }
+        switch (record) {
+            case INPUT:
+                input.setBits(reader.getInputBits());
+                runRemaining = reader.getRunLength();
+                break;
+            case WAVE:
+                if (reader.getWave() != lastWave || reader.getWaveTick() != lastWaveTick) {
+                    mismatch("wave " + reader.getWave() + " at tick " + reader.getWaveTick(),
+                            "wave " + lastWave + " at tick " + lastWaveTick);
+                }
+                break;
+            case KEYFRAME:
+                if (reader.getKeyframeTick() != ticks || reader.getKeyframeHash() != simulation.stateHash()) {
+                    mismatch("state hash " + Long.toHexString(reader.getKeyframeHash()) + " at tick " + reader.getKeyframeTick(),
+                            "state hash " + Long.toHexString(simulation.stateHash()) + " at tick " + ticks);
+                }
+                break;
+            case END:
+                finished = true;
+                complete = true;
+                if (reader.getEndTicks() != ticks) {
+                    mismatch(reader.getEndTicks() + " ticks", ticks + " ticks");
+                }
+                if (reader.getEndScore() != simulation.getScore()) {
+                    mismatch("score " + reader.getEndScore(), "score " + simulation.getScore());
+                }
+                if (reader.getEndHash() != simulation.stateHash()) {
+                    mismatch("state hash " + Long.toHexString(reader.getEndHash()),
+                            "state hash " + Long.toHexString(simulation.stateHash()));
+                }
+                logger.info("Replay {} finished after {} ticks: {}", path, ticks,
+                        mismatches == 0 ? "matches the recording" : mismatches + " mismatches");
+                break;
+        }
+    }
+
+    private void mismatch(String recorded, String replayed) {
+        mismatches++;
+        logger.warn("Replay {} diverged at tick {}: recorded {}, replayed {}", path, ticks, recorded, replayed);
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /** Keyframes in the file; scans it on first use. */
+    public int getKeyframeCount() throws IOException {
+        indexKeyframes();
+        return keyframeCount;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** True once the end record has been reached and everything recorded matched. */
+    public boolean isVerified() {
+        return complete && mismatches == 0;
+    }
+
+    public int getMismatches() {
+        return mismatches;
+    }
+
+    @Override
+    public void close() throws IOException {
+        simulation.removeListener(this);
+        reader.close();
+    }
+}
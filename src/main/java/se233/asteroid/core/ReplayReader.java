@@ -0,0 +1,276 @@
+package se233.asteroid.core;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a replay file written by {@link ReplayWriter}, one record at a time, through a
+ * fixed direct buffer refilled from the file channel, so a replay of any length is
+ * streamed rather than loaded.
+ *
+ * <pre>
+ * header    int magic "ASRP", byte version, long seed, double step seconds
+ * INPUT     byte 1, byte input bits ({@link PlayerInput#toBits()}), varint ticks held
+ * WAVE      byte 2, varint tick, varint wave
+ * END       byte 3, varint ticks, varint score, long state hash
+ * KEYFRAME  byte 4, varint tick, long state hash, int payload length,
+ *           payload (see {@link Simulation#writeSnapshot(SnapshotOutput)})
+ * </pre>
+ *
+ * Numbers are big-endian; varints are unsigned LEB128. A file cut short (the game was
+ * killed while recording) simply has no END record. A keyframe's payload is skipped
+ * unless {@link Simulation#readSnapshot(SnapshotInput)} is called right after it is read.
+ */
+public class ReplayReader implements SnapshotInput, Closeable {
+
+    public enum Record { INPUT, WAVE, END, KEYFRAME }
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.BIG_ENDIAN);
+    private final long seed;
+    private final double stepSeconds;
+    private boolean endOfFile;
+    // File offset of the buffer's first byte
+    private long bufferStart;
+    // End of the last keyframe's payload, skipped to by the next read
+    private long payloadEnd = -1;
+
+    // Fields of the last record read
+    private int inputBits;
+    private long runLength;
+    private long waveTick;
+    private int wave;
+    private long endTicks;
+    private int endScore;
+    private long endHash;
+    private long keyframeTick;
+    private long keyframeHash;
+
+    public ReplayReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.limit(0);
+        try {
+            if (!fill(13) || buffer.getInt() != ReplayWriter.MAGIC) {
+                throw new IOException("Not a replay file: " + path);
+            }
+            byte version = buffer.get();
+            if (version != ReplayWriter.VERSION) {
+                throw new IOException("Unsupported replay version " + version + " in " + path);
+            }
+            if (!fill(16)) {
+                throw new EOFException("Replay header is truncated: " + path);
+            }
+            seed = buffer.getLong();
+            stepSeconds = buffer.getDouble();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getStepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * Reads the next record; its fields are then available from the getters for that type.
+     *
+     * @return the record type, or {@code null} at the end of the file
+     */
+    public Record next() throws IOException {
+        if (payloadEnd >= 0) {
+            skipTo(payloadEnd);
+            payloadEnd = -1;
+        }
+        if (!fill(1)) {
+            return null;
+        }
+        byte tag = buffer.get();
+        switch (tag) {
+            case ReplayWriter.TAG_INPUT:
+                require(2);
+                inputBits = buffer.get() & 0xFF;
+                runLength = getVarLong();
+                return Record.INPUT;
+            case ReplayWriter.TAG_WAVE:
+                waveTick = getVarLong();
+                wave = (int) getVarLong();
+                return Record.WAVE;
+            case ReplayWriter.TAG_END:
+                endTicks = getVarLong();
+                endScore = (int) getVarLong();
+                require(8);
+                endHash = buffer.getLong();
+                return Record.END;
+            case ReplayWriter.TAG_KEYFRAME:
+                keyframeTick = getVarLong();
+                require(12);
+                keyframeHash = buffer.getLong();
+                int length = buffer.getInt();
+                payloadEnd = position() + length;
+                return Record.KEYFRAME;
+            default:
+                throw new IOException("Corrupt replay " + path + ": unknown record " + tag);
+        }
+    }
+
+    public int getInputBits() {
+        return inputBits;
+    }
+
+    /** Number of consecutive ticks the last INPUT record's bits were held. */
+    public long getRunLength() {
+        return runLength;
+    }
+
+    public long getWaveTick() {
+        return waveTick;
+    }
+
+    public int getWave() {
+        return wave;
+    }
+
+    public long getEndTicks() {
+        return endTicks;
+    }
+
+    public int getEndScore() {
+        return endScore;
+    }
+
+    public long getEndHash() {
+        return endHash;
+    }
+
+    /** Tick the last keyframe was taken at; it holds the state before that tick's step. */
+    public long getKeyframeTick() {
+        return keyframeTick;
+    }
+
+    /** {@link Simulation#stateHash()} at the last keyframe. */
+    public long getKeyframeHash() {
+        return keyframeHash;
+    }
+
+    /**
+     * @return file offset of the next unread byte; a record read next starts here
+     */
+    long position() {
+        return bufferStart + buffer.position();
+    }
+
+    /**
+     * Moves to {@code offset}, which must be the start of a record or of the first one
+     * after the header ({@link ReplayWriter#HEADER_BYTES}).
+     */
+    void seek(long offset) throws IOException {
+        channel.position(offset);
+        bufferStart = offset;
+        buffer.clear().limit(0);
+        endOfFile = false;
+        payloadEnd = -1;
+    }
+
+    private void skipTo(long offset) throws IOException {
+        long inBuffer = offset - bufferStart;
+        if (inBuffer >= buffer.position() && inBuffer <= buffer.limit()) {
+            buffer.position((int) inBuffer);
+        } else {
+            seek(offset);
+        }
+    }
+
+    // ---- Snapshot decoding, used by Simulation.readSnapshot ------------------
+
+    @Override
+    public int readByte() throws IOException {
+        require(1);
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public long readVarLong() throws IOException {
+        return getVarLong();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        require(8);
+        return buffer.getDouble();
+    }
+
+    /**
+     * Marks the current keyframe's payload as consumed.
+     */
+    void endSnapshot() throws IOException {
+        if (position() != payloadEnd) {
+            throw new IOException("Corrupt keyframe in " + path + " at tick " + keyframeTick);
+        }
+        payloadEnd = -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long getVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            require(1);
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt replay " + path + ": varint too long");
+    }
+
+    private void require(int bytes) throws IOException {
+        if (!fill(bytes)) {
+            throw new EOFException("Replay " + path + " ends inside a record");
+        }
+    }
+
+    // Tops the buffer up from the channel until it holds at least `bytes`, or the file ends
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        if (endOfFile) {
+            return false;
+        }
+        bufferStart += buffer.position();
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+}
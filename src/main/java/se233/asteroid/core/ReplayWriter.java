@@ -0,0 +1,257 @@
+package se233.asteroid.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a {@link Simulation} session to a replay file while it is played: the seed and
+ * step length, the input bitmask of every tick and each wave transition, and at the end
+ * the tick count, score and {@link Simulation#stateHash()} a replay must reproduce. The
+ * game view records a game in the window this way, from inside its step, and
+ * {@link HeadlessRunner} the bot's; both replay anywhere.
+ * Every {@code keyframeSeconds} of game time a full snapshot of the simulation is added,
+ * so {@link ReplayPlayer#seek(long)} can start from the nearest one instead of tick 0.
+ *
+ * Ticks with the same input are run-length encoded, so a held key costs a few bytes per
+ * run rather than per tick. Records, snapshots included, are encoded straight into a
+ * fixed direct buffer that is written to the file channel whenever it fills up; nothing
+ * is kept in memory beyond that buffer, and a snapshot costs about one channel write.
+ * See {@link ReplayReader} for the format.
+ */
+public class ReplayWriter implements SimulationListener, SnapshotOutput, Closeable {
+    private static final Logger logger = LogManager.getLogger(ReplayWriter.class);
+
+    static final int MAGIC = 0x41535250; // "ASRP"
+    static final byte VERSION = 1;
+    static final byte TAG_INPUT = 1;
+    static final byte TAG_WAVE = 2;
+    static final byte TAG_END = 3;
+    static final byte TAG_KEYFRAME = 4;
+    static final int HEADER_BYTES = 4 + 1 + 8 + 8;
+
+    public static final double DEFAULT_KEYFRAME_SECONDS = 10.0;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    // Longest record: tag + 10-byte varint + 5-byte varint + 8-byte hash
+    private static final int MAX_RECORD_BYTES = 32;
+
+    private final Path path;
+    private final Simulation simulation;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.BIG_ENDIAN);
+    private final ByteBuffer patch = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN);
+    private final long keyframeInterval;
+
+    private int runBits = -1;
+    private long runLength;
+    private long ticks;
+    private long bytesWritten;
+    private int keyframeCount;
+    private boolean finished;
+
+    /**
+     * Creates (or truncates) {@code path} and starts listening to {@code simulation}.
+     * Call this before {@link Simulation#start()} so the first wave is recorded too.
+     */
+    public ReplayWriter(Path path, Simulation simulation, double stepSeconds) throws IOException {
+        this(path, simulation, stepSeconds, DEFAULT_KEYFRAME_SECONDS);
+    }
+
+    /**
+     * @param keyframeSeconds game time between snapshots; 0 records none
+     */
+    public ReplayWriter(Path path, Simulation simulation, double stepSeconds, double keyframeSeconds) throws IOException {
+        this.path = path;
+        this.simulation = simulation;
+        this.keyframeInterval = keyframeSeconds > 0 ? Math.max(1, Math.round(keyframeSeconds / stepSeconds)) : 0;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.putLong(simulation.getSeed());
+        buffer.putDouble(stepSeconds);
+        simulation.addListener(this);
+        logger.info("Recording replay to {} (seed {})", path, simulation.getSeed());
+    }
+
+    /**
+     * Records the controls for the next step; call once per tick, before
+     * {@link Simulation#step(double, PlayerInput)}.
+     */
+    public void recordTick(PlayerInput input) throws IOException {
+        if (finished) {
+            return;
+        }
+        if (keyframeInterval > 0 && ticks > 0 && ticks % keyframeInterval == 0) {
+            writeKeyframe();
+        }
+        int bits = input.toBits();
+        if (bits != runBits) {
+            flushRun();
+            runBits = bits;
+        }
+        runLength++;
+        ticks++;
+    }
+
+    @Override
+    public void onWaveStarted(int wave) {
+        // Keep the runs before the wave ahead of it in the file
+        try {
+            flushRun();
+            reserve();
+            buffer.put(TAG_WAVE);
+            putVarLong(simulation.getTick());
+            putVarLong(wave);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record wave " + wave + " to " + path, e);
+        }
+    }
+
+    /**
+     * Writes the end record with the simulation's final state and flushes the file.
+     * Further ticks are ignored.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        simulation.removeListener(this);
+        flushRun();
+        reserve();
+        buffer.put(TAG_END);
+        putVarLong(ticks);
+        putVarLong(simulation.getScore());
+        buffer.putLong(simulation.stateHash());
+        drain();
+        logger.info("Recorded {} ticks to {} ({} bytes, {} keyframes)", ticks, path, bytesWritten, keyframeCount);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten + buffer.position();
+    }
+
+    public int getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    /*
+     * Snapshot of the simulation as it stands before the next tick. The payload length is
+     * only known once it has been encoded, so a placeholder is written and patched, in the
+     * buffer if it is still there or in the file if the buffer was drained meanwhile.
+     */
+    private void writeKeyframe() throws IOException {
+        flushRun();
+        reserve();
+        buffer.put(TAG_KEYFRAME);
+        putVarLong(ticks);
+        buffer.putLong(simulation.stateHash());
+        long lengthOffset = getBytesWritten();
+        buffer.putInt(0);
+
+        simulation.writeSnapshot(this);
+
+        long length = getBytesWritten() - lengthOffset - 4;
+        if (lengthOffset >= bytesWritten) {
+            buffer.putInt((int) (lengthOffset - bytesWritten), (int) length);
+        } else {
+            patch.clear();
+            patch.putInt((int) length).flip();
+            while (patch.hasRemaining()) {
+                channel.write(patch, lengthOffset + patch.position());
+            }
+        }
+        keyframeCount++;
+    }
+
+    // ---- Snapshot encoding, used by Simulation.writeSnapshot -----------------
+
+    @Override
+    public void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    @Override
+    public void writeVarLong(long value) throws IOException {
+        ensure(10);
+        putVarLong(value);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void flushRun() throws IOException {
+        if (runLength == 0) {
+            return;
+        }
+        reserve();
+        buffer.put(TAG_INPUT);
+        buffer.put((byte) runBits);
+        putVarLong(runLength);
+        runLength = 0;
+    }
+
+    // Makes room for one record, writing the buffer out if needed
+    private void reserve() throws IOException {
+        if (buffer.remaining() < MAX_RECORD_BYTES) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on all but the last
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
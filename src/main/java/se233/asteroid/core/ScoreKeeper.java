@@ -0,0 +1,46 @@
+package se233.asteroid.core;
+
+/**
+ * Score arithmetic without any display. {@link se233.asteroid.model.Score} wraps one
+ * for the HUD; the headless simulation uses one directly.
+ */
+public class ScoreKeeper {
+    private int score;
+    private int awardCount;
+
+    /**
+     * @return the new total
+     */
+    public int add(int points) {
+        score += points;
+        awardCount++;
+        return score;
+    }
+
+    public int addAsteroid() { return add(GameRules.ASTEROID_POINTS); }
+    public int addMeteor() { return add(GameRules.METEOR_POINTS); }
+    public int addRegularEnemy() { return add(GameRules.REGULAR_ENEMY_POINTS); }
+    public int addSecondTierEnemy() { return add(GameRules.SECOND_TIER_ENEMY_POINTS); }
+    public int addBoss() { return add(GameRules.BOSS_POINTS); }
+
+    public void reset() {
+        score = 0;
+        awardCount = 0;
+    }
+
+    /**
+     * Puts back a total and award count saved from another keeper, for replay seeking.
+     */
+    public void restore(int score, int awardCount) {
+        this.score = score;
+        this.awardCount = awardCount;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getAwardCount() {
+        return awardCount;
+    }
+}
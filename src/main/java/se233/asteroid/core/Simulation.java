@@ -0,0 +1,1462 @@
+package se233.asteroid.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Boss;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Character;
+import se233.asteroid.model.Enemy;
+import se233.asteroid.model.EnemyBullet;
+import se233.asteroid.model.EntityRegistry;
+import se233.asteroid.model.EntityStore;
+import se233.asteroid.model.PlayerShip;
+import se233.asteroid.model.SpecialAttack;
+import se233.asteroid.model.Wingman;
+import se233.asteroid.util.Broadphase;
+import se233.asteroid.util.CommandBuffer;
+import se233.asteroid.util.EntityStoreBroadphase;
+import se233.asteroid.util.FrameMetrics;
+import se233.asteroid.util.GameContext;
+import se233.asteroid.util.GameEvents;
+import se233.asteroid.util.JobSystem;
+import se233.asteroid.util.LogSampler;
+import se233.asteroid.util.SpatialHashBroadphase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The game itself: the player, wingmen, boss, rocks, enemies and projectiles, moved,
+ * collided and spawned by the same rules whether anything is drawn or not. GameView
+ * drives one of these from its frame loop and draws it through {@link SimulationListener}
+ * and the view's {@code EntitySprites}; tests, the headless runner and replays drive it
+ * without starting the JavaFX toolkit. Advancing it with
+ * {@link #step(double, PlayerInput)} is deterministic for a given seed, step size and
+ * input sequence.
+ *
+ * Nothing a step touches is a scene node. Entities keep their frame, sprite size,
+ * opacity and visibility as plain fields, including the boss's animation, and the view
+ * reads them once per rendered frame. JavaFX stays on the classpath only for
+ * {@code Point2D} and the frame images.
+ *
+ * Entities only join or leave the game through the command buffer, applied at the end
+ * of each step, so the passes of a step never see a list change under them.
+ */
+public class Simulation {
+    private static final Logger logger = LogManager.getLogger(Simulation.class);
+
+    // Log lines written every step, rate limited per call site
+    private static final LogSampler ENEMY_FIRE_LOG = LogSampler.perSecond(2);
+    private static final LogSampler ENEMY_BULLET_REMOVED_LOG = LogSampler.perSecond(2);
+    private static final LogSampler BULLET_REMOVED_LOG = LogSampler.perSecond(2);
+    private static final LogSampler MISSILE_POSITION_LOG = LogSampler.perSecond(2);
+    private static final LogSampler MISSILE_REMOVED_LOG = LogSampler.perSecond(2);
+    private static final LogSampler MISSILE_FIRED_LOG = LogSampler.perSecond(2);
+    private static final LogSampler HIT_LOG = LogSampler.perSecond(4);
+
+    /** Length of the frame the per-step movement constants were tuned for. */
+    public static final double REFERENCE_STEP = Character.REFERENCE_STEP;
+
+    private static final long BULLET_COOLDOWN_NANOS = Math.round(GameRules.BULLET_COOLDOWN * 1_000_000_000L);
+    // Pooled projectiles restored from a snapshot are obtained facing up, then overwritten
+    private static final double RESTORE_DIRECTION_X = 0;
+    private static final double RESTORE_DIRECTION_Y = -1;
+
+    private long seed;
+    private final SimulationRandom random;
+    private final List<SimulationListener> listeners = new ArrayList<>();
+    private final ScoreKeeper scoreKeeper = new ScoreKeeper();
+
+    // Rocks, enemies and projectiles by kind, with live counts for the wave and spawn checks
+    private final EntityRegistry entities = new EntityRegistry();
+    private final EntityRegistry.Bucket<Asteroid> rocks = entities.getRocks();
+    private final EntityRegistry.Bucket<Enemy> enemies = entities.getEnemies();
+    private final EntityRegistry.Bucket<Bullet> bullets = entities.getBullets();
+    private final EntityRegistry.Bucket<EnemyBullet> enemyBullets = entities.getEnemyBullets();
+    private final EntityRegistry.Bucket<SpecialAttack> missiles = entities.getMissiles();
+    // Spawns and despawns made during a step, applied in order once the step is done
+    private final CommandBuffer<Character> commands;
+    private final Consumer<Enemy> spawnBossEnemy;
+    private final List<Wingman> wingmen = new ArrayList<>();
+    private final List<Wingman> wingmenView = Collections.unmodifiableList(wingmen);
+    private PlayerShip player;
+    private Boss boss;
+
+    // Collision broadphase, rebuilt every step
+    private final Broadphase broadphase;
+    private final List<Character> collisionCandidates = new ArrayList<>();
+
+    // Optional SoA storage for asteroid and bullet physics (-Dasteroid.entityStore=true)
+    private final EntityStore entityStore;
+
+    // Pure per-entity simulation, split across workers once the lists are long enough
+    private final JobSystem jobs;
+    private final JobSystem.RangeJob simulateEnemies;
+    private final JobSystem.RangeJob simulateRocks;
+    private double jobStep;
+    private boolean hasJobTarget;
+    private double jobTargetX;
+    private double jobTargetY;
+
+    // Where the last pickSpawnPosition() put the next enemy
+    private double spawnX;
+    private double spawnY;
+
+    // Phase timers for the F3 overlay
+    private final FrameMetrics metrics;
+    private final FrameMetrics.Timer updateTimer;
+    private final FrameMetrics.Timer collisionTimer;
+    private final FrameMetrics.Timer waveTimer;
+    private final FrameMetrics.Timer spawnTimer;
+    private final FrameMetrics.Timer commandTimer;
+
+    // Game state
+    private int wave;
+    private long tick;
+    private long clock; // nanoseconds of game time since start()
+    private long lastBulletTime;
+    private int missileCount;
+    private double missileTimer;
+    private boolean missileCooldown;
+    private double bossSpawnTimer;
+    private boolean gameOver;
+    private boolean victory;
+
+    /**
+     * A simulation that runs every job on the calling thread and keeps its phase timings
+     * to itself.
+     */
+    public Simulation(long seed) {
+        this(seed, new JobSystem(0, JobSystem.DEFAULT_THRESHOLD), new FrameMetrics());
+    }
+
+    /**
+     * @param jobs    runs the per-entity passes; owned by the caller, who shuts it down
+     * @param metrics receives the update, collision, wave, spawn and command phase timers
+     */
+    public Simulation(long seed, JobSystem jobs, FrameMetrics metrics) {
+        this.seed = seed;
+        this.random = new SimulationRandom(seed);
+        this.jobs = jobs;
+        this.metrics = metrics;
+        this.commands = new CommandBuffer<>(this::addEntity, this::removeEntity);
+        this.spawnBossEnemy = this::spawnBossEnemy;
+        this.simulateEnemies = this::simulateEnemies;
+        this.simulateRocks = this::simulateRocks;
+        this.entityStore = EntityStore.isEnabled() ? new EntityStore() : null;
+        this.broadphase = entityStore != null
+                ? new EntityStoreBroadphase(entityStore,
+                        EntityStore.TYPE_ASTEROID | EntityStore.TYPE_METEOR | EntityStore.TYPE_ENEMY_BULLET,
+                        GameRules.WIDTH, GameRules.HEIGHT, SpatialHashBroadphase.DEFAULT_CELL_SIZE)
+                : Broadphase.create(GameRules.WIDTH, GameRules.HEIGHT);
+
+        this.updateTimer = metrics.timer("update");
+        this.collisionTimer = metrics.timer("collisions");
+        this.waveTimer = metrics.timer("waves");
+        this.spawnTimer = metrics.timer("spawn");
+        this.commandTimer = metrics.timer("commands");
+    }
+
+    public void addListener(SimulationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SimulationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Seed for the next {@link #start()}; the game in progress is not affected.
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Clears the field, reseeds the random source and starts wave 1.
+     */
+    public void start() {
+        start(1);
+    }
+
+    /**
+     * Like {@link #start()}, but the first wave spawned is {@code firstWave}, as if the
+     * earlier ones had been cleared without scoring. A recording of such a game starts
+     * with this wave, and its replay does too.
+     */
+    public void start(int firstWave) {
+        if (firstWave < 1 || firstWave > GameRules.BOSS_WAVE) {
+            throw new IllegalArgumentException("Invalid first wave: " + firstWave);
+        }
+        clear();
+
+        // Same seed, same steps, same game; the model classes draw from this source too
+        random.setSeed(seed);
+        GameContext.reset(seed);
+        GameContext.install(random);
+
+        scoreKeeper.reset();
+        tick = 0;
+        clock = 0;
+        lastBulletTime = -BULLET_COOLDOWN_NANOS;
+        missileCount = 0;
+        missileTimer = 0;
+        missileCooldown = false;
+        bossSpawnTimer = 0;
+        gameOver = false;
+        victory = false;
+
+        player = new PlayerShip(GameRules.WIDTH / 2, GameRules.HEIGHT / 2);
+        notifySpawn(player);
+        for (int i = 0; i < listeners.size(); i++) {
+            SimulationListener listener = listeners.get(i);
+            listener.onLivesChanged(player.getLives());
+            listener.onMissilesChanged(missileCount, GameRules.MAX_MISSILES);
+        }
+
+        wave = firstWave - 1;
+        startNextWave();
+        logger.info("Simulation started at wave {} with seed {}", wave, seed);
+    }
+
+    /**
+     * Takes every entity out of the game, telling the listeners, and leaves it stopped
+     * until the next {@link #start()}.
+     */
+    public void clear() {
+        removeAll(rocks);
+        removeAll(enemies);
+        removeAll(bullets);
+        removeAll(enemyBullets);
+        removeAll(missiles);
+        for (Wingman wingman : wingmen) {
+            notifyRemove(wingman);
+        }
+        wingmen.clear();
+        if (boss != null) {
+            boss.cleanup();
+            notifyRemove(boss);
+            boss = null;
+        }
+        if (player != null) {
+            notifyRemove(player);
+            player = null;
+        }
+    }
+
+    /**
+     * Adds a rock, enemy or projectile to the game in progress, as the game's own spawns
+     * do: at once between steps, at the end of the step during one. Lets benchmarks and
+     * tests seed a scene beyond what the waves spawn.
+     */
+    public void spawn(Character entity) {
+        commands.spawn(entity);
+    }
+
+    private void removeAll(List<? extends Character> bucket) {
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            removeEntity(bucket.get(i));
+        }
+    }
+
+    /**
+     * Advances the game by {@code dt} seconds with the given controls held.
+     */
+    public void step(double dt, PlayerInput input) {
+        if (gameOver || player == null) return;
+        tick++;
+        clock += Math.round(dt * 1_000_000_000.0);
+        GameContext.advance(dt);
+        GameContext.install(random);
+
+        long start = metrics.now();
+        commands.begin();
+        try {
+            // Each phase also goes to a flight recording when one records the game's events
+            GameEvents.TickPhase phase = GameEvents.beginPhase("update");
+            applyInput(input);
+            updateGame(dt);
+            GameEvents.endPhase(phase);
+            start = updateTimer.stop(start);
+
+            phase = GameEvents.beginPhase("collisions");
+            checkCollisions();
+            GameEvents.endPhase(phase);
+            start = collisionTimer.stop(start);
+
+            if (!gameOver) {
+                phase = GameEvents.beginPhase("waves");
+                checkWaveCompletion();
+                GameEvents.endPhase(phase);
+            }
+            start = waveTimer.stop(start);
+
+            if (!gameOver) {
+                phase = GameEvents.beginPhase("spawn");
+                spawnNewEnemies();
+                GameEvents.endPhase(phase);
+            }
+            start = spawnTimer.stop(start);
+        } finally {
+            // The entity lists only change here, after every pass of the step has walked them
+            GameEvents.TickPhase phase = GameEvents.beginPhase("commands");
+            commands.apply();
+            GameEvents.endPhase(phase);
+            commandTimer.stop(start);
+        }
+    }
+
+    // ---- Update ---------------------------------------------------------------
+
+    private void applyInput(PlayerInput input) {
+        if (player == null || !player.isAlive()) return;
+
+        if (input.rotateLeft) player.rotateLeft();
+        if (input.rotateRight) player.rotateRight();
+        if (input.up) {
+            player.moveUp();
+            player.startThrust();
+        }
+        if (input.down) player.moveDown();
+        if (input.left) player.moveLeft();
+        if (input.right) player.moveRight();
+        if (input.shoot) {
+            shoot();
+            player.startShootingEffect();
+        }
+        if (input.special) specialShoot();
+    }
+
+    private void updateGame(double deltaTime) {
+        // Store-backed entities move here in one linear pass; simulate() leaves them alone
+        if (entityStore != null) {
+            entityStore.integrate(deltaTime, GameRules.WIDTH, GameRules.HEIGHT);
+            entityStore.syncOwners();
+        }
+
+        // Update player
+        if (player.isAlive()) {
+            player.updateTimers(deltaTime);
+            player.simulate(deltaTime);
+            wrapAround(player);
+        }
+
+        // อัพเดท missile cooldown
+        if (missileCooldown) {
+            missileTimer += deltaTime;
+            notifyMissileCooldown(GameRules.MISSILE_COOLDOWN - missileTimer);
+
+            if (missileTimer >= GameRules.MISSILE_COOLDOWN) {
+                // รีเซ็ตระบบเมื่อครบเวลา cooldown
+                missileCooldown = false;
+                missileCount = 0;
+                missileTimer = 0;
+                notifyMissiles();
+                logger.debug("Missile system ready - Cooldown completed");
+            }
+        }
+
+        // Wingmen follow the player's second move of the step
+        if (player.isAlive()) {
+            player.simulate(deltaTime);
+            wrapAround(player);
+
+            for (int i = 0; i < wingmen.size(); i++) {
+                Wingman wingman = wingmen.get(i);
+                if (wingman.isActive()) {
+                    wingman.simulate(deltaTime);
+                    wrapAround(wingman);
+
+                    // Automatic wingman shooting
+                    Bullet wingmanBullet = wingman.shoot();
+                    if (wingmanBullet != null) {
+                        commands.spawn(wingmanBullet);
+                    }
+                }
+            }
+
+            // Check if new wingmen can be unlocked
+            checkWingmanUnlock();
+        }
+
+        // Update boss
+        if (boss != null && boss.isAlive()) {
+            boss.update(deltaTime, player.getX(), player.getY());
+            wrapAround(boss);
+
+            // Update boss spawn timer
+            bossSpawnTimer += deltaTime;
+
+            // Regular spawning check
+            if (bossSpawnTimer >= GameRules.BOSS_SPAWN_INTERVAL) {
+                bossSpawnTimer = 0;
+
+                // Only spawn if we haven't reached the maximum
+                if (entities.getEnemyCount() < GameRules.MAX_BOSS_SPAWNED_ENEMIES) {
+                    boss.drainSpawnedEnemies(spawnBossEnemy);
+                }
+            }
+
+            // Emergency spawning when boss health is low
+            if (boss.getHealthPercentage() <= 0.5 && entities.getEnemyCount() < GameRules.MAX_BOSS_SPAWNED_ENEMIES / 2) {
+                Enemy enemySpawned = boss.spawnSingleEnemy();
+                if (enemySpawned != null) {
+                    commands.spawn(enemySpawned);
+                    logger.info("Boss spawned emergency enemy at low health. Total enemies: {}", entities.getEnemyCount());
+                }
+            }
+        }
+
+        // Update enemies: movement and AI as jobs, then shots here in list order
+        jobStep = deltaTime;
+        hasJobTarget = player.isAlive();
+        jobTargetX = player.getX();
+        jobTargetY = player.getY();
+        jobs.parallelFor(enemies.size(), simulateEnemies);
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.isAlive()) {
+                if (hasJobTarget) {
+                    EnemyBullet enemyBullet = enemy.enemyshoot();
+                    if (enemyBullet != null) {
+                        commands.spawn(enemyBullet);
+                        if (logger.isDebugEnabled() && ENEMY_FIRE_LOG.allow()) {
+                            logger.debug("Enemy fired bullet from position: ({}, {}) (+{} suppressed)",
+                                    Unbox.box(enemy.getX()), Unbox.box(enemy.getY()),
+                                    Unbox.box(ENEMY_FIRE_LOG.takeSuppressed()));
+                        }
+                    }
+                }
+                wrapAround(enemy);
+            }
+        }
+
+        // Update enemy bullets, then drop the spent ones
+        for (int i = 0; i < enemyBullets.size(); i++) {
+            EnemyBullet enemyBullet = enemyBullets.get(i);
+            if (enemyBullet.isActive()) {
+                enemyBullet.simulate(deltaTime);
+            }
+            despawnIfSpent(enemyBullet);
+        }
+
+        // Update bullets
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            if (bullet.isActive()) {
+                bullet.simulate(deltaTime);
+            }
+            despawnIfSpent(bullet);
+        }
+
+        // Update missiles
+        for (int i = 0; i < missiles.size(); i++) {
+            SpecialAttack missile = missiles.get(i);
+            if (missile.isActive()) {
+                missile.simulate(deltaTime);
+
+                if (logger.isDebugEnabled() && MISSILE_POSITION_LOG.allow()) {
+                    logger.debug("Missile position updated to: ({}, {}) (+{} suppressed)",
+                            Unbox.box(missile.getX()), Unbox.box(missile.getY()),
+                            Unbox.box(MISSILE_POSITION_LOG.takeSuppressed()));
+                }
+            }
+            despawnIfSpent(missile);
+        }
+
+        // Rocks: simulated as jobs, wrapped here
+        jobs.parallelFor(rocks.size(), simulateRocks);
+        for (int i = 0; i < rocks.size(); i++) {
+            Asteroid rock = rocks.get(i);
+            if (rock.isAlive()) {
+                wrapAround(rock);
+            } else {
+                // Rocks and enemies leave the field once their explosion has played out
+                commands.despawn(rock);
+            }
+        }
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isAlive()) {
+                commands.despawn(enemy);
+            }
+        }
+        if (missileCooldown) {
+            missileTimer += deltaTime;
+            if (missileTimer >= GameRules.MISSILE_COOLDOWN) {
+                missileTimer = 0;
+                missileCooldown = false;
+                missileCount = 0; // Reset missile count after cooldown
+                logger.debug("Missile system ready - Cooldown completed");
+            }
+        }
+    }
+
+    // Job bodies: each touches only the entities in its range
+    private void simulateEnemies(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.isAlive()) {
+                enemy.simulate(jobStep);
+                if (hasJobTarget) {
+                    enemy.updateAI(jobTargetX, jobTargetY);
+                }
+            }
+        }
+    }
+
+    private void simulateRocks(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Asteroid rock = rocks.get(i);
+            if (rock.isAlive()) {
+                rock.simulate(jobStep);
+            }
+        }
+    }
+
+    private void checkWingmanUnlock() {
+        int currentScore = scoreKeeper.getScore();
+
+        if (wingmen.isEmpty() && GameRules.canUnlockWingman(0, currentScore)) {
+            addWingman(1); // Left wing
+            logger.info("First wingman unlocked at score: {}", currentScore);
+        }
+        if (wingmen.size() == 1 && GameRules.canUnlockWingman(1, currentScore)) {
+            addWingman(2); // Right wing
+            logger.info("Second wingman unlocked at score: {}", currentScore);
+        }
+    }
+
+    private void addWingman(int position) {
+        Wingman wingman = new Wingman(player, position);
+        wingmen.add(wingman);
+        notifySpawn(wingman);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onWingmanUnlocked(position);
+        }
+    }
+
+    private void shoot() {
+        if (clock - lastBulletTime >= BULLET_COOLDOWN_NANOS) {
+            Bullet bullet = player.shoot();
+            if (bullet != null) {
+                commands.spawn(bullet);
+                lastBulletTime = clock;
+            }
+        }
+    }
+
+    private void specialShoot() {
+        // ตรวจสอบว่าอยู่ในช่วง cooldown หรือไม่
+        if (missileCooldown) {
+            notifyMissileCooldown(GameRules.MISSILE_COOLDOWN - missileTimer);
+            return;
+        }
+
+        // ตรวจสอบว่ายังไม่ถึงจำนวนสูงสุด
+        if (missileCount < GameRules.MAX_MISSILES) {
+            SpecialAttack missile = player.Specialshoot();
+            if (missile != null) {
+                commands.spawn(missile);
+                missileCount++;
+                notifyMissiles();
+                if (logger.isDebugEnabled() && MISSILE_FIRED_LOG.allow()) {
+                    logger.debug("Missile count: {}/{} (+{} suppressed)", Unbox.box(missileCount),
+                            Unbox.box(GameRules.MAX_MISSILES), Unbox.box(MISSILE_FIRED_LOG.takeSuppressed()));
+                }
+
+                // ถ้ายิงครบจำนวนแล้ว เริ่ม cooldown
+                if (missileCount >= GameRules.MAX_MISSILES) {
+                    missileCooldown = true;
+                    missileTimer = 0;
+                    logger.debug("Maximum missiles reached - Starting {} second cooldown", GameRules.MISSILE_COOLDOWN);
+                    notifyMissileCooldown(GameRules.MISSILE_COOLDOWN);
+                }
+            }
+        }
+    }
+
+    // ---- Collisions -----------------------------------------------------------
+
+    private void rebuildBroadphase() {
+        broadphase.clear();
+        for (int i = 0; i < enemies.size(); i++) {
+            broadphase.insert(enemies.get(i));
+        }
+        for (int i = 0; i < rocks.size(); i++) {
+            broadphase.insert(rocks.get(i));
+        }
+        for (int i = 0; i < enemyBullets.size(); i++) {
+            broadphase.insert(enemyBullets.get(i));
+        }
+    }
+
+    private void checkCollisions() {
+        if (!player.isAlive() || player.isInvulnerable()) return;
+
+        // Enemies, asteroids and enemy bullets go into the broadphase; projectiles,
+        // wingmen and the player only test the targets it reports as nearby
+        rebuildBroadphase();
+
+        // Check wingman collisions with enemies and bullets
+        for (int w = 0; w < wingmen.size(); w++) {
+            Wingman wingman = wingmen.get(w);
+            if (!wingman.isActive()) continue;
+
+            List<Character> candidates = broadphase.query(wingman, collisionCandidates);
+            for (int i = 0; i < candidates.size(); i++) {
+                Character target = candidates.get(i);
+                if (target instanceof EnemyBullet) {
+                    EnemyBullet enemyBullet = (EnemyBullet) target;
+                    if (enemyBullet.isActive() && wingman.collidesWith(enemyBullet)) {
+                        handleWingmanCollision(wingman);
+                        enemyBullet.setActive(false);
+                        commands.despawn(enemyBullet);
+                    }
+                } else if (target instanceof Enemy) {
+                    Enemy enemy = (Enemy) target;
+                    if (enemy.isAlive() && !enemy.isExploding() && wingman.collidesWith(enemy)) {
+                        handleWingmanCollision(wingman);
+                        handleEnemyHit(enemy);
+                    }
+                } else if (target instanceof Asteroid) {
+                    if (target.isAlive() && wingman.collidesWith(target)) {
+                        handleWingmanCollision(wingman);
+                        handleAsteroidHit((Asteroid) target);
+                    }
+                }
+            }
+        }
+
+        // Check bullet collisions; spent bullets stay listed, inactive, until the step ends
+        for (int b = 0; b < bullets.size(); b++) {
+            Bullet bullet = bullets.get(b);
+            if (!bullet.isActive()) continue;
+            boolean bulletHit = false;
+
+            if (bullet.isEnemyBullet()) {
+                // เช็คว่ากระสุนศัตรูชนผู้เล่นหรือไม่
+                if (!player.isInvulnerable() && bullet.collidesWith(player)) {
+                    handlePlayerCollision();
+                    bulletHit = true;
+                    // ลบกระสุนที่ชนแล้ว
+                    discardBullet(bullet);
+                    if (gameOver) return;
+                }
+            } else {
+                // Check boss collision first
+                if (boss != null && boss.isAlive() && bullet.collidesWith(boss)) {
+                    handleBossHit();
+                    bulletHit = true;
+                    if (gameOver) return;
+                }
+
+                // Check enemy collisions if bullet hasn't hit boss
+                Enemy enemy = findEnemyHit(bullet);
+                if (enemy != null) {
+                    if (logger.isDebugEnabled() && HIT_LOG.allow()) {
+                        logger.debug("Bullet hit enemy at position: ({}, {}) (+{} suppressed)",
+                                Unbox.box(enemy.getX()), Unbox.box(enemy.getY()), Unbox.box(HIT_LOG.takeSuppressed()));
+                    }
+                    handleEnemyHit(enemy);
+                    bullet.setActive(false);
+                    bulletHit = true;
+                }
+                if (bulletHit) {
+                    // ลบกระสุนที่ชนแล้ว
+                    discardBullet(bullet);
+                    continue;
+                }
+            }
+
+            // Check asteroid collisions if bullet hasn't hit anything yet
+            if (!bulletHit) {
+                Asteroid asteroid = findAsteroidHit(bullet);
+                if (asteroid != null) {
+                    handleAsteroidHit(asteroid);
+                    discardBullet(bullet);
+                    if (logger.isDebugEnabled() && HIT_LOG.allow()) {
+                        logger.debug("Bullet hit asteroid of type: {} (+{} suppressed)",
+                                asteroid.getType(), Unbox.box(HIT_LOG.takeSuppressed()));
+                    }
+                }
+            }
+        }
+
+        // Check missile collisions
+        for (int b = 0; b < missiles.size(); b++) {
+            SpecialAttack missile = missiles.get(b);
+            if (!missile.isActive()) continue;
+            boolean bulletHit = false;
+
+            if (missile.isEnemyBullet()) {
+                if (!player.isInvulnerable() && missile.collidesWith(player)) {
+                    handlePlayerCollision();
+                    bulletHit = true;
+                    if (gameOver) return;
+                }
+            } else {
+                // Check boss collision first
+                if (boss != null && boss.isAlive() && missile.collidesWith(boss)) {
+                    handleBossHit();
+                    bulletHit = true;
+                    if (gameOver) return;
+                }
+
+                // Check enemy collisions if missile hasn't hit boss
+                Enemy enemy = findEnemyHit(missile);
+                if (enemy != null) {
+                    if (logger.isDebugEnabled() && HIT_LOG.allow()) {
+                        logger.debug("Missile hit enemy at position: ({}, {}) (+{} suppressed)",
+                                Unbox.box(enemy.getX()), Unbox.box(enemy.getY()), Unbox.box(HIT_LOG.takeSuppressed()));
+                    }
+                    handleEnemyHit(enemy);
+                    bulletHit = true;
+                }
+            }
+            if (bulletHit) {
+                discardMissile(missile);
+                continue;
+            }
+            // Check asteroid collisions if missile hasn't hit anything yet
+            Asteroid asteroid = findAsteroidHit(missile);
+            if (asteroid != null) {
+                handleAsteroidHit(asteroid);
+                discardMissile(missile);
+                logger.debug("Missile hit asteroid of type: {}", asteroid.getType());
+            }
+        }
+
+        // Check player collisions with enemy bullets, enemies, the boss and asteroids,
+        // at most one hit per kind of target
+        EnemyBullet hitBullet = null;
+        Enemy hitEnemy = null;
+        Asteroid hitAsteroid = null;
+        List<Character> nearPlayer = broadphase.query(player, collisionCandidates);
+        for (int i = 0; i < nearPlayer.size(); i++) {
+            Character target = nearPlayer.get(i);
+            if (target instanceof EnemyBullet) {
+                if (hitBullet == null && target.isAlive() && player.collidesWith(target)) {
+                    hitBullet = (EnemyBullet) target;
+                }
+            } else if (target instanceof Enemy) {
+                Enemy enemy = (Enemy) target;
+                if (hitEnemy == null && enemy.isAlive() && !enemy.isExploding() && player.collidesWith(enemy)) {
+                    hitEnemy = enemy;
+                }
+            } else if (target instanceof Asteroid) {
+                if (hitAsteroid == null && target.isAlive() && player.collidesWith(target)) {
+                    hitAsteroid = (Asteroid) target;
+                }
+            }
+        }
+
+        if (hitBullet != null) {
+            handlePlayerCollision();
+            if (gameOver) return;
+        }
+        if (hitEnemy != null) {
+            handlePlayerCollision();
+            if (gameOver) return;
+        }
+
+        // Check player collision with boss
+        if (boss != null && boss.isAlive() && player.collidesWith(boss)) {
+            handlePlayerCollision();
+            if (gameOver) return;
+        }
+
+        if (hitAsteroid != null) {
+            handlePlayerCollision();
+        }
+    }
+
+    // First live, non-exploding enemy the projectile overlaps, using the last broadphase build
+    private Enemy findEnemyHit(Character projectile) {
+        List<Character> candidates = broadphase.query(projectile, collisionCandidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            Character target = candidates.get(i);
+            if (target instanceof Enemy) {
+                Enemy enemy = (Enemy) target;
+                if (enemy.isAlive() && !enemy.isExploding() && projectile.collidesWith(enemy)) {
+                    return enemy;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Asteroid findAsteroidHit(Character projectile) {
+        List<Character> candidates = broadphase.query(projectile, collisionCandidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            Character target = candidates.get(i);
+            if (target instanceof Asteroid) {
+                Asteroid asteroid = (Asteroid) target;
+                if (asteroid.isAlive() && !asteroid.isExploding() && projectile.collidesWith(asteroid)) {
+                    return asteroid;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void handleWingmanCollision(Wingman wingman) {
+        wingman.hit();
+        notifyHit(wingman);
+
+        if (!wingman.isActive()) {
+            logger.info("Wingman destroyed!");
+        }
+    }
+
+    private void handleAsteroidHit(Asteroid asteroid) {
+        if (!asteroid.isAlive()) {
+            return; // Skip if asteroid is already destroyed
+        }
+
+        asteroid.hit();
+        notifyHit(asteroid);
+
+        // Add points based on asteroid type before creating fragments
+        if (asteroid.getType() == Asteroid.Type.ASTEROID) {
+            award(scoreKeeper.addAsteroid(), GameRules.ASTEROID_POINTS);
+        } else {
+            award(scoreKeeper.addMeteor(), GameRules.METEOR_POINTS);
+        }
+
+        // Only create fragments and remove if asteroid is destroyed
+        if (!asteroid.isAlive()) {
+            if (asteroid.getType() == Asteroid.Type.ASTEROID) {
+                for (Asteroid fragment : asteroid.split()) {
+                    commands.spawn(fragment);
+                }
+                logger.debug("Created fragments for destroyed asteroid");
+            }
+            commands.despawn(asteroid);
+            logger.debug("Removed destroyed {} from game", asteroid.getType());
+        }
+    }
+
+    private void handleEnemyHit(Enemy enemy) {
+        if (!enemy.isAlive() || enemy.isExploding()) {
+            return; // Skip if enemy is already dead or exploding
+        }
+
+        enemy.hit();
+        notifyHit(enemy);
+
+        // Add points immediately when hit, don't wait for explosion to finish
+        if (enemy.isSecondTier()) {
+            award(scoreKeeper.addSecondTierEnemy(), GameRules.SECOND_TIER_ENEMY_POINTS);
+        } else {
+            award(scoreKeeper.addRegularEnemy(), GameRules.REGULAR_ENEMY_POINTS);
+        }
+
+        if (!enemy.isAlive()) {
+            commands.despawn(enemy);
+            logger.info("Enemy destroyed! Type: {}, Remaining enemies: {}",
+                    enemy.isSecondTier() ? "Second Tier" : "Regular",
+                    entities.getEnemyCount());
+        }
+    }
+
+    private void handleBossHit() {
+        boss.hit(GameRules.BOSS_HIT_DAMAGE);
+        notifyHit(boss);
+
+        if (!boss.isAlive()) {
+            award(scoreKeeper.addBoss(), GameRules.BOSS_POINTS);
+            startNextWave();
+        }
+    }
+
+    private void handlePlayerCollision() {
+        player.hit();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onLivesChanged(player.getLives());
+        }
+        notifyHit(player);
+
+        if (!player.isAlive()) {
+            endGame();
+        }
+    }
+
+    private void award(int total, int points) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onScore(points, total);
+        }
+    }
+
+    // A projectile that hit something stops colliding now and goes back to its pool when the step ends
+    private void discardBullet(Bullet bullet) {
+        bullet.setActive(false);
+        commands.despawn(bullet);
+    }
+
+    private void discardMissile(SpecialAttack missile) {
+        missile.deactivate();
+        commands.despawn(missile);
+    }
+
+    private void despawnIfSpent(Bullet bullet) {
+        boolean active = bullet.isActive();
+        if (active && !isOffScreen(bullet) && !bullet.isExpired()) return;
+        bullet.setActive(false);
+        commands.despawn(bullet);
+        if (active && logger.isDebugEnabled() && BULLET_REMOVED_LOG.allow()) {
+            logger.debug("Removed bullet: {} (+{} suppressed)",
+                    bullet, Unbox.box(BULLET_REMOVED_LOG.takeSuppressed()));
+        }
+    }
+
+    private void despawnIfSpent(EnemyBullet bullet) {
+        boolean active = bullet.isActive();
+        if (active && !isOffScreen(bullet) && !bullet.isExpired()) return;
+        bullet.setActive(false);
+        commands.despawn(bullet);
+        if (active && logger.isDebugEnabled() && ENEMY_BULLET_REMOVED_LOG.allow()) {
+            logger.debug("Removed bullet: {} (+{} suppressed)",
+                    bullet, Unbox.box(ENEMY_BULLET_REMOVED_LOG.takeSuppressed()));
+        }
+    }
+
+    private void despawnIfSpent(SpecialAttack missile) {
+        boolean active = missile.isActive();
+        if (active && !isOffScreen(missile) && !missile.isExpired()) return;
+        commands.despawn(missile);
+        if (logger.isDebugEnabled() && MISSILE_REMOVED_LOG.allow()) {
+            logger.debug("{} (+{} suppressed)",
+                    active ? "Removed expired/offscreen missile" : "Removing inactive missile",
+                    Unbox.box(MISSILE_REMOVED_LOG.takeSuppressed()));
+        }
+    }
+
+    private static void wrapAround(Character character) {
+        double x = character.getX();
+        double y = character.getY();
+        double margin = GameRules.WRAP_MARGIN;
+        boolean wrapped = false;
+
+        if (x < -margin) { x = GameRules.WIDTH + margin; wrapped = true; }
+        if (x > GameRules.WIDTH + margin) { x = -margin; wrapped = true; }
+        if (y < -margin) { y = GameRules.HEIGHT + margin; wrapped = true; }
+        if (y > GameRules.HEIGHT + margin) { y = -margin; wrapped = true; }
+
+        if (wrapped) {
+            character.setPosition(x, y);
+        }
+    }
+
+    private static boolean isOffScreen(Character character) {
+        double x = character.getX();
+        double y = character.getY();
+        double margin = GameRules.OFFSCREEN_MARGIN;
+        return x < -margin || x > GameRules.WIDTH + margin ||
+                y < -margin || y > GameRules.HEIGHT + margin;
+    }
+
+    // ---- Waves and spawning -----------------------------------------------------
+
+    private void checkWaveCompletion() {
+        boolean allEnemiesDestroyed = entities.getEnemyCount() == 0;
+        boolean allAsteroidsDestroyed = entities.getRockCount() == 0;
+        boolean isBossDefeated = boss == null || !boss.isAlive();
+
+        if (GameRules.isWaveComplete(wave, allAsteroidsDestroyed, allEnemiesDestroyed, isBossDefeated)) {
+            logger.info("Wave {} completed - Moving to Wave {}", wave, wave + 1);
+            startNextWave();
+        }
+    }
+
+    private void startNextWave() {
+        wave++;
+        logger.info("Starting Wave {}", wave);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onWaveStarted(wave);
+        }
+
+        clearWaveEntities();
+
+        if (wave == GameRules.BOSS_WAVE) {
+            spawnBoss();
+        } else if (GameRules.isVictory(wave)) {
+            // เมื่อชนะ boss (wave 5) ให้จบเกม
+            endGame();
+        } else {
+            spawnAsteroids();
+            spawnInitialEnemies();
+        }
+    }
+
+    // ล้างเอนทิตี้ของ wave ที่จบ รวมถึงของที่เพิ่งเกิดใน step นี้ด้วย
+    private void clearWaveEntities() {
+        despawnAll(enemies);
+        despawnAll(rocks);
+        releaseProjectiles();
+        commands.despawnPendingSpawns(entity -> true);
+    }
+
+    // Hides every projectile in play, and any fired this step, and returns it to its pool
+    private void releaseProjectiles() {
+        // Deactivated at once so the rest of the step's collision checks skip them;
+        // last to first, since outside a step each despawn shrinks the list right away
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            discardBullet(bullets.get(i));
+        }
+        for (int i = missiles.size() - 1; i >= 0; i--) {
+            discardMissile(missiles.get(i));
+        }
+        for (int i = enemyBullets.size() - 1; i >= 0; i--) {
+            EnemyBullet enemyBullet = enemyBullets.get(i);
+            enemyBullet.setActive(false);
+            commands.despawn(enemyBullet);
+        }
+        commands.despawnPendingSpawns(entity -> entity instanceof Bullet
+                || entity instanceof EnemyBullet || entity instanceof SpecialAttack);
+    }
+
+    private void despawnAll(List<? extends Character> bucket) {
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            commands.despawn(bucket.get(i));
+        }
+    }
+
+    private void spawnNewEnemies() {
+        // Only spawn new enemies in waves 2-4
+        if (GameRules.spawnsEnemies(wave)) {
+            if (entities.getEnemyCount() < GameRules.MAX_ENEMIES && random.nextDouble() < GameRules.ENEMY_SPAWN_CHANCE) {
+                spawnEnemy();
+                logger.debug("Spawned new enemy. Total enemies: {}", entities.getEnemyCount());
+            }
+        }
+    }
+
+    private void spawnEnemy() {
+        pickSpawnPosition();
+        boolean isSecondTier = GameRules.isSecondTierEnemy(wave, random);
+
+        commands.spawn(Enemy.obtain(spawnX, spawnY, isSecondTier));
+        logger.debug("Spawned {} enemy at position: ({}, {}), Wave: {}",
+                isSecondTier ? "second-tier" : "regular",
+                Unbox.box(spawnX), Unbox.box(spawnY), Unbox.box(wave));
+    }
+
+    private void spawnInitialEnemies() {
+        // Only spawn enemies if we're in wave 2 or higher
+        if (wave >= 2) {
+            for (int i = 0; i < GameRules.INITIAL_ENEMIES; i++) {
+                spawnEnemy();
+            }
+            logger.info("Spawned {} initial enemies for wave {}", GameRules.INITIAL_ENEMIES, wave);
+        }
+    }
+
+    private void spawnBossEnemy(Enemy enemy) {
+        if (enemy != null) {
+            commands.spawn(enemy);
+            logger.info("Boss spawned new enemy. Total enemies: {}", entities.getEnemyCount());
+        }
+    }
+
+    private void spawnBoss() {
+        boss = new Boss(GameRules.WIDTH / 2, -GameRules.WRAP_MARGIN, wave);
+        notifySpawn(boss);
+    }
+
+    private void spawnAsteroids() {
+        double margin = GameRules.SPAWN_MARGIN;
+        if (wave == 1) {
+            // Wave แรก: สร้าง ASTEROID 2 ก้อน และ METEOR 2 ก้อน ห่างจากขอบจอ
+            for (int i = 0; i < GameRules.FIRST_WAVE_ROCKS_PER_TYPE; i++) {
+                // สูตร: จุดเริ่มต้น(margin) + (สุ่มตำแหน่งในพื้นที่ที่เหลือ)
+                double asteroidX = margin + (random.nextDouble() * (GameRules.WIDTH - 2 * margin));
+                double asteroidY = margin + (random.nextDouble() * (GameRules.HEIGHT - 2 * margin));
+                commands.spawn(Asteroid.obtain(asteroidX, asteroidY, Asteroid.Type.ASTEROID));
+
+                double meteorX = margin + (random.nextDouble() * (GameRules.WIDTH - 2 * margin));
+                double meteorY = margin + (random.nextDouble() * (GameRules.HEIGHT - 2 * margin));
+                commands.spawn(Asteroid.obtain(meteorX, meteorY, Asteroid.Type.METEOR));
+            }
+            logger.info("Wave 1: สร้าง asteroid 2 ก้อน และ meteor 2 ก้อน ห่างจากขอบจอ");
+        } else {
+            // Wave 2-4: สร้างสิ่งกีดขวางแบบสุ่ม 5 ชิ้น (50% ASTEROID, 50% METEOR)
+            for (int i = 0; i < GameRules.LATER_WAVE_ROCKS; i++) {
+                double rockX = margin + (random.nextDouble() * (GameRules.WIDTH - 2 * margin));
+                double rockY = margin + (random.nextDouble() * (GameRules.HEIGHT - 2 * margin));
+                Asteroid.Type type = random.nextDouble() < 0.5 ? Asteroid.Type.ASTEROID : Asteroid.Type.METEOR;
+                commands.spawn(Asteroid.obtain(rockX, rockY, type));
+            }
+            logger.info("Wave {}: Spawned {} random objects", wave, GameRules.LATER_WAVE_ROCKS);
+        }
+    }
+
+    // Leaves an edge position far enough from the player in spawnX/spawnY
+    private void pickSpawnPosition() {
+        double x, y;
+        do {
+            // Spawn from edges of screen
+            if (random.nextBoolean()) {
+                x = random.nextDouble() * GameRules.WIDTH;
+                y = random.nextBoolean() ? -GameRules.WRAP_MARGIN : GameRules.HEIGHT + GameRules.WRAP_MARGIN;
+            } else {
+                x = random.nextBoolean() ? -GameRules.WRAP_MARGIN : GameRules.WIDTH + GameRules.WRAP_MARGIN;
+                y = random.nextDouble() * GameRules.HEIGHT;
+            }
+        } while (player != null &&
+                distance(x, y, player.getX(), player.getY()) < GameRules.MIN_SPAWN_DISTANCE_FROM_PLAYER);
+
+        spawnX = x;
+        spawnY = y;
+    }
+
+    private static double distance(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private void endGame() {
+        gameOver = true;
+        victory = GameRules.isVictory(wave);
+        if (victory) {
+            logger.info("Game completed! Player won with score: {}", scoreKeeper.getScore());
+        } else {
+            logger.info("Game over! Final score: {}", scoreKeeper.getScore());
+        }
+
+        // หยุดการเคลื่อนไหวทั้งหมด
+        releaseProjectiles();
+
+        // ลบ enemy และ boss ที่เหลือ
+        despawnAll(enemies);
+        commands.despawnPendingSpawns(entity -> entity instanceof Enemy);
+        if (boss != null) {
+            boss.cleanup();
+            notifyRemove(boss);
+            boss = null;
+        }
+
+        // ปิดการทำงานของ wingmen
+        for (Wingman wingman : wingmen) {
+            wingman.setActive(false);
+        }
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onGameOver(victory, scoreKeeper.getScore());
+        }
+    }
+
+    // ---- Entity bookkeeping -----------------------------------------------------
+
+    // Command buffer targets: the only places entities join or leave the registry
+    private void addEntity(Character entity) {
+        if (entity instanceof Asteroid rock) {
+            entities.add(rock);
+            track(rock);
+        } else if (entity instanceof Enemy enemy) {
+            entities.add(enemy);
+        } else if (entity instanceof Bullet bullet) {
+            entities.add(bullet);
+            track(bullet);
+        } else if (entity instanceof EnemyBullet bullet) {
+            entities.add(bullet);
+            track(bullet);
+        } else if (entity instanceof SpecialAttack missile) {
+            entities.add(missile);
+        }
+        GameEvents.spawned(entity);
+        notifySpawn(entity);
+    }
+
+    // Despawning twice in one step is harmless: the second finds nothing registered
+    private void removeEntity(Character entity) {
+        if (!entities.remove(entity)) return;
+        GameEvents.despawned(entity);
+        untrack(entity);
+        notifyRemove(entity);
+        if (entity instanceof Bullet bullet) {
+            bullet.release();
+        } else if (entity instanceof EnemyBullet bullet) {
+            bullet.release();
+        } else if (entity instanceof SpecialAttack missile) {
+            missile.release();
+        } else if (entity instanceof Asteroid rock) {
+            rock.release();
+        } else if (entity instanceof Enemy enemy) {
+            enemy.release();
+        }
+    }
+
+    // Hands asteroids and bullets to the entity store when it is enabled
+    private void track(Character character) {
+        if (entityStore != null) {
+            entityStore.attach(character);
+        }
+    }
+
+    private void untrack(Character character) {
+        if (entityStore != null) {
+            entityStore.detach(character);
+        }
+    }
+
+    private void notifySpawn(Character entity) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onSpawn(entity);
+        }
+    }
+
+    private void notifyHit(Character entity) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onHit(entity);
+        }
+    }
+
+    private void notifyRemove(Character entity) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onRemove(entity);
+        }
+    }
+
+    private void notifyMissiles() {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onMissilesChanged(missileCount, GameRules.MAX_MISSILES);
+        }
+    }
+
+    private void notifyMissileCooldown(double remaining) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onMissileCooldown(remaining);
+        }
+    }
+
+    // ---- Snapshots --------------------------------------------------------------
+
+    /**
+     * Writes everything {@link #step(double, PlayerInput)} depends on: the counters and
+     * timers here, then each entity's own state in list order, and last the position of
+     * the random sequence. {@link #readSnapshot(SnapshotInput)} on another simulation
+     * then continues exactly as this one would. Only called between steps, when the
+     * command buffer is empty.
+     */
+    void writeSnapshot(SnapshotOutput out) throws IOException {
+        out.writeVarLong(tick);
+        out.writeLong(clock);
+        out.writeLong(lastBulletTime);
+        out.writeVarLong(wave);
+        out.writeByte((gameOver ? 1 : 0) | (victory ? 2 : 0) | (missileCooldown ? 4 : 0));
+        out.writeVarLong(missileCount);
+        out.writeDouble(missileTimer);
+        out.writeDouble(bossSpawnTimer);
+        out.writeVarLong(scoreKeeper.getScore());
+        out.writeVarLong(scoreKeeper.getAwardCount());
+
+        player.writeState(out);
+        out.writeVarLong(wingmen.size());
+        for (Wingman wingman : wingmen) {
+            out.writeByte(wingman.getFormationPosition());
+            wingman.writeState(out);
+        }
+        out.writeBoolean(boss != null);
+        if (boss != null) {
+            out.writeVarLong(boss.getWave());
+            boss.writeState(out);
+        }
+
+        out.writeVarLong(rocks.size());
+        for (int i = 0; i < rocks.size(); i++) {
+            Asteroid rock = rocks.get(i);
+            out.writeByte(rock.getType().ordinal());
+            rock.writeState(out);
+        }
+        out.writeVarLong(enemies.size());
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            out.writeBoolean(enemy.isSecondTier());
+            enemy.writeState(out);
+        }
+        out.writeVarLong(bullets.size());
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            out.writeBoolean(bullet.isEnemyBullet());
+            bullet.writeState(out);
+        }
+        out.writeVarLong(enemyBullets.size());
+        for (int i = 0; i < enemyBullets.size(); i++) {
+            EnemyBullet bullet = enemyBullets.get(i);
+            out.writeBoolean(bullet.isEnemyBullet());
+            bullet.writeState(out);
+        }
+        out.writeVarLong(missiles.size());
+        for (int i = 0; i < missiles.size(); i++) {
+            SpecialAttack missile = missiles.get(i);
+            out.writeBoolean(missile.isEnemyBullet());
+            missile.writeState(out);
+        }
+
+        out.writeLong(random.getState());
+    }
+
+    /**
+     * Replaces the whole game with a snapshot. Listeners see every current entity removed
+     * and every restored one spawned, then the score, lives, missiles and cooldown, and
+     * finally {@link SimulationListener#onRestored()}, so a view rebuilds itself the way
+     * it follows a live game.
+     */
+    void readSnapshot(SnapshotInput in) throws IOException {
+        clear();
+        // Restored entities draw from this source; its position is put back last
+        GameContext.install(random);
+
+        tick = in.readVarLong();
+        clock = in.readLong();
+        lastBulletTime = in.readLong();
+        wave = (int) in.readVarLong();
+        int flags = in.readByte();
+        gameOver = (flags & 1) != 0;
+        victory = (flags & 2) != 0;
+        missileCooldown = (flags & 4) != 0;
+        missileCount = (int) in.readVarLong();
+        missileTimer = in.readDouble();
+        bossSpawnTimer = in.readDouble();
+        int score = (int) in.readVarLong();
+        scoreKeeper.restore(score, (int) in.readVarLong());
+
+        player = new PlayerShip(GameRules.WIDTH / 2, GameRules.HEIGHT / 2);
+        player.readState(in);
+        notifySpawn(player);
+        for (long i = in.readVarLong(); i > 0; i--) {
+            Wingman wingman = new Wingman(player, in.readByte());
+            wingman.readState(in);
+            wingmen.add(wingman);
+            notifySpawn(wingman);
+        }
+        if (in.readBoolean()) {
+            boss = new Boss(GameRules.WIDTH / 2, -GameRules.WRAP_MARGIN, (int) in.readVarLong());
+            boss.readState(in);
+            notifySpawn(boss);
+        }
+
+        for (long i = in.readVarLong(); i > 0; i--) {
+            Asteroid rock = Asteroid.obtain(0, 0, Asteroid.Type.values()[in.readByte()]);
+            rock.readState(in);
+            addEntity(rock);
+        }
+        for (long i = in.readVarLong(); i > 0; i--) {
+            Enemy enemy = Enemy.obtain(0, 0, in.readBoolean());
+            enemy.readState(in);
+            addEntity(enemy);
+        }
+        for (long i = in.readVarLong(); i > 0; i--) {
+            Bullet bullet = Bullet.obtain(0, 0, RESTORE_DIRECTION_X, RESTORE_DIRECTION_Y, in.readBoolean());
+            bullet.readState(in);
+            addEntity(bullet);
+        }
+        for (long i = in.readVarLong(); i > 0; i--) {
+            EnemyBullet bullet = EnemyBullet.obtain(0, 0, RESTORE_DIRECTION_X, RESTORE_DIRECTION_Y, in.readBoolean());
+            bullet.readState(in);
+            addEntity(bullet);
+        }
+        for (long i = in.readVarLong(); i > 0; i--) {
+            SpecialAttack missile = SpecialAttack.obtain(0, 0, RESTORE_DIRECTION_X, RESTORE_DIRECTION_Y, in.readBoolean());
+            missile.readState(in);
+            addEntity(missile);
+        }
+
+        random.setState(in.readLong());
+
+        for (int i = 0; i < listeners.size(); i++) {
+            SimulationListener listener = listeners.get(i);
+            listener.onScore(0, score);
+            listener.onLivesChanged(player.getLives());
+            listener.onMissilesChanged(missileCount, GameRules.MAX_MISSILES);
+            listener.onMissileCooldown(missileCooldown ? GameRules.MISSILE_COOLDOWN - missileTimer : 0);
+            listener.onRestored();
+        }
+    }
+
+    // ---- Getters ------------------------------------------------------------------
+
+    /**
+     * Rocks, enemies and projectiles by kind. Read-only views that change as the game steps.
+     */
+    public EntityRegistry getEntities() {
+        return entities;
+    }
+
+    public PlayerShip getPlayer() { return player; }
+    public Boss getBoss() { return boss; }
+    public List<Wingman> getWingmen() { return wingmenView; }
+    public int getScore() { return scoreKeeper.getScore(); }
+    public int getLives() { return player != null ? player.getLives() : 0; }
+    public int getWave() { return wave; }
+    public int getMissilesLeft() { return GameRules.MAX_MISSILES - missileCount; }
+    public int getRockCount() { return entities.getRockCount(); }
+    public int getEnemyCount() { return entities.getEnemyCount(); }
+    public boolean isStarted() { return player != null; }
+    public boolean isGameOver() { return gameOver; }
+    public boolean isVictory() { return victory; }
+    public long getTick() { return tick; }
+    public double getTime() { return clock / 1_000_000_000.0; }
+    public long getSeed() { return seed; }
+    public Broadphase getBroadphase() { return broadphase; }
+    public EntityStore getEntityStore() { return entityStore; }
+
+    public boolean isBossEnraged() {
+        return boss != null && boss.isEnraged();
+    }
+
+    /**
+     * Order-sensitive hash of the score, wave, random sequence and every entity's
+     * kinematic state. Two runs with the same seed and inputs produce the same value at
+     * every tick.
+     */
+    public long stateHash() {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + tick;
+        hash = 31 * hash + clock;
+        hash = 31 * hash + scoreKeeper.getScore();
+        hash = 31 * hash + wave;
+        hash = 31 * hash + random.getState();
+        if (player != null) {
+            hash = hash(hash, player);
+            hash = 31 * hash + player.getLives();
+        }
+        for (int i = 0; i < wingmen.size(); i++) {
+            hash = hash(hash, wingmen.get(i));
+        }
+        if (boss != null) {
+            hash = hash(hash, boss);
+            hash = 31 * hash + boss.getHealth();
+        }
+        hash = hash(hash, rocks);
+        hash = hash(hash, enemies);
+        hash = hash(hash, bullets);
+        hash = hash(hash, enemyBullets);
+        hash = hash(hash, missiles);
+        return hash;
+    }
+
+    private static long hash(long hash, List<? extends Character> bucket) {
+        hash = 31 * hash + bucket.size();
+        for (int i = 0; i < bucket.size(); i++) {
+            hash = hash(hash, bucket.get(i));
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, Character character) {
+        hash = 31 * hash + Double.doubleToLongBits(character.getX());
+        hash = 31 * hash + Double.doubleToLongBits(character.getY());
+        hash = 31 * hash + Double.doubleToLongBits(character.getVelocityX());
+        hash = 31 * hash + Double.doubleToLongBits(character.getVelocityY());
+        hash = 31 * hash + (character.isAlive() ? 1 : 0);
+        return hash;
+    }
+}
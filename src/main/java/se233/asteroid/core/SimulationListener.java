@@ -0,0 +1,67 @@
+package se233.asteroid.core;
+
+import se233.asteroid.model.Character;
+
+/**
+ * Observer for a {@link Simulation}. The game view implements this to add and drop
+ * sprites, play explosions and refresh the HUD; everything has a no-op default.
+ */
+public interface SimulationListener {
+
+    /**
+     * The entity joined the game: the player, a wingman, the boss, or anything the
+     * simulation keeps in its {@link se233.asteroid.model.EntityRegistry}.
+     */
+    default void onSpawn(Character entity) {
+    }
+
+    /**
+     * The entity took a hit; it may keep going (boss, wingman, player) or start exploding.
+     */
+    default void onHit(Character entity) {
+    }
+
+    /**
+     * The entity left the game and will not be stepped again.
+     */
+    default void onRemove(Character entity) {
+    }
+
+    default void onScore(int points, int total) {
+    }
+
+    default void onLivesChanged(int lives) {
+    }
+
+    default void onWaveStarted(int wave) {
+    }
+
+    /**
+     * Missiles fired since the last cooldown ended, out of {@code max}.
+     */
+    default void onMissilesChanged(int fired, int max) {
+    }
+
+    /**
+     * Seconds until missiles can be fired again; sent every step while they cool down.
+     */
+    default void onMissileCooldown(double remaining) {
+    }
+
+    /**
+     * @param position formation slot of the new wingman: 1 left, 2 right
+     */
+    default void onWingmanUnlocked(int position) {
+    }
+
+    default void onGameOver(boolean victory, int score) {
+    }
+
+    /**
+     * The game was replaced by a snapshot, such as a replay keyframe. The entities, score,
+     * lives and missiles have been sent again by then; the wave has not been announced,
+     * so anything else on show is read back from the simulation.
+     */
+    default void onRestored() {
+    }
+}
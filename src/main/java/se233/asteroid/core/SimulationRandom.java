@@ -0,0 +1,41 @@
+package se233.asteroid.core;
+
+import java.util.Random;
+
+/**
+ * {@link Random} whose generator state can be read and put back, so a snapshot of the
+ * {@link Simulation} also captures where its random sequence is. Uses the same linear
+ * congruential generator as {@code java.util.Random}, so a given seed produces exactly
+ * the sequence it always did.
+ */
+class SimulationRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Assigned by Random's constructor through setSeed, so no initializer here
+    private long state;
+
+    SimulationRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    long getState() {
+        return state;
+    }
+
+    void setState(long state) {
+        this.state = state & MASK;
+    }
+}
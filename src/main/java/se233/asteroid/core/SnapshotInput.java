@@ -0,0 +1,26 @@
+package se233.asteroid.core;
+
+import java.io.IOException;
+
+/**
+ * Reads back what was written through {@link SnapshotOutput}, value for value.
+ */
+public interface SnapshotInput {
+
+    int readByte() throws IOException;
+
+    long readVarLong() throws IOException;
+
+    default long readSignedVarLong() throws IOException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readLong() throws IOException;
+
+    double readDouble() throws IOException;
+
+    default boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+}
@@ -0,0 +1,29 @@
+package se233.asteroid.core;
+
+import java.io.IOException;
+
+/**
+ * Compact binary encoding for a game snapshot, as written into replay keyframes by
+ * {@link ReplayWriter}. The simulation and each model entity write their own state
+ * through this, and read it back in the same order through {@link SnapshotInput}.
+ */
+public interface SnapshotOutput {
+
+    void writeByte(int value) throws IOException;
+
+    /** Unsigned LEB128, so small counts and ids take one byte. */
+    void writeVarLong(long value) throws IOException;
+
+    /** Zigzag-encoded so small negative values stay short too. */
+    default void writeSignedVarLong(long value) throws IOException {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeLong(long value) throws IOException;
+
+    void writeDouble(double value) throws IOException;
+
+    default void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+}
@@ -1,26 +1,32 @@
 package se233.asteroid.model;
 
 import javafx.geometry.Point2D;
-import javafx.scene.image.Image;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.paint.Color;
-import javafx.animation.Timeline;
-import javafx.animation.KeyFrame;
-import javafx.util.Duration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import se233.asteroid.core.SnapshotInput;
+import se233.asteroid.core.SnapshotOutput;
+import se233.asteroid.util.FrameSetRegistry;
+import se233.asteroid.util.GameContext;
+import se233.asteroid.util.GameEvents;
+import se233.asteroid.util.LogSampler;
+import se233.asteroid.util.SpriteFrame;
+import se233.asteroid.util.SpriteSheet;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Asteroid extends Character {
     private static final Logger logger = LogManager.getLogger(Asteroid.class);
+    private static final LogSampler CREATE_LOG = LogSampler.perSecond(2);
+    private static final LogSampler HIT_LOG = LogSampler.perSecond(2);
 
     // Asset paths
     private static final String ASTEROID_BASE_PATH = "/se233/asteroid/assets/Astroides/Asteroid_Base.png";
     private static final String ASTEROID_EXPLODE_PATH = "/se233/asteroid/assets/Astroides/Asteroid_Explode.png";
     private static final String METEOR_BASE_PATH = "/se233/asteroid/assets/Astroides/meteor.png";
+    public static final List<String> ASSET_PATHS = List.of(ASTEROID_BASE_PATH, ASTEROID_EXPLODE_PATH, METEOR_BASE_PATH);
 
     // Constants - simplified for small asteroids only
     private static final double ASTEROID_SPEED = 1.0;
@@ -29,8 +35,16 @@ public class Asteroid extends Character {
     private static final double ASTEROID_RADIUS = 30;
     private static final double METEOR_RADIUS = 25;
     private static final int EXPLOSION_FRAMES = 5;
-    private static final Duration FRAME_DURATION = Duration.millis(100);
+    private static final double FRAME_DURATION = 0.1; // seconds per explosion frame
     private static final double EXPLOSION_SCALE = 1.5; // Scale factor for explosion
+    private static final SpriteSheet EXPLOSION_SHEET = SpriteSheet.row(ASTEROID_EXPLODE_PATH, EXPLOSION_FRAMES);
+    public static final List<SpriteSheet> SPRITE_SHEETS = List.of(EXPLOSION_SHEET);
+
+    // One pool per type
+    private static final EntityPool<Asteroid> ASTEROID_POOL =
+            new EntityPool<>("Asteroid", () -> new Asteroid(Type.ASTEROID), 0);
+    private static final EntityPool<Asteroid> METEOR_POOL =
+            new EntityPool<>("Meteor", () -> new Asteroid(Type.METEOR), 0);
 
     // Type enumeration
     public enum Type {
@@ -42,68 +56,119 @@ public class Asteroid extends Character {
     private final int points;
     private int size;
     private boolean isExploding;
-    private List<Image> explosionFrames;
-    private int currentExplosionFrame;
-    private Timeline explosionAnimation;
+    private List<SpriteFrame> explosionFrames;
+    private double explosionTime; // seconds since the hit, advanced by simulate()
     private double currentSpeed;
     private double directionAngle;
     private boolean isInvulnerable;
-    private long invulnerableStartTime;
-    private static final long INVULNERABLE_DURATION = 500;
-    private double baseWidth;
-    private double baseHeight;
-    private Color trailColor;  // For meteor trail effect
+    private double invulnerableTimer;
+    private static final double INVULNERABLE_DURATION = 0.5; // seconds
+    // The rock's own frame and size, which the explosion frames are scaled from
+    private final SpriteFrame baseFrame;
+    private final double baseWidth;
+    private final double baseHeight;
 
     public Asteroid(Point2D position, Type type) {
+        this(type);
+        reset(position.getX(), position.getY());
+    }
+
+    // Builds the sprite only; reset() places the rock and draws its heading and spin
+    private Asteroid(Type type) {
         super(type == Type.ASTEROID ? ASTEROID_BASE_PATH : METEOR_BASE_PATH,
-                position,
+                Point2D.ZERO,
                 type == Type.ASTEROID ? ASTEROID_RADIUS : METEOR_RADIUS);
 
         this.type = type;
-        this.isInvulnerable = false;
         this.points = 100; // Fixed points for destroying asteroid
-        this.isExploding = false;
-        this.currentSpeed = type == Type.ASTEROID ? ASTEROID_SPEED : METEOR_SPEED;
+        this.baseFrame = frame;
 
-        // Set random direction angle in radians
-        this.directionAngle = Math.random() * 2 * Math.PI;
-
-        // Store original asteroid dimensions
-        this.baseWidth = sprite.getFitWidth();
-        this.baseHeight = sprite.getFitHeight();
-
-        // Set trail color for meteors
-        this.trailColor = type == Type.METEOR ?
-                Color.rgb(255, 100, 0, 0.6) :  // Orange for meteors
-                Color.TRANSPARENT;              // No trail for asteroids
+        // Store original asteroid dimensions; the rock draws at its frame's own size
+        this.baseWidth = getDisplayWidth();
+        this.baseHeight = getDisplayHeight();
 
         // Initialize explosion frames
         this.explosionFrames = loadExplosionFrames();
-        setupExplosionAnimation();
+    }
+
+    /**
+     * Takes a rock of the given type from the shared pool and places it at {@code position},
+     * drawing the same random heading and spin a new one would. Removing it from play
+     * hands it back through {@link #release()}.
+     */
+    public static Asteroid obtain(Point2D position, Type type) {
+        return obtain(position.getX(), position.getY(), type);
+    }
+
+    /**
+     * Same as {@link #obtain(Point2D, Type)}, taking coordinates.
+     */
+    public static Asteroid obtain(double x, double y, Type type) {
+        Asteroid rock = poolFor(type).acquire();
+        rock.reset(x, y);
+        return rock;
+    }
+
+    public static EntityPool<Asteroid> getPool(Type type) {
+        return poolFor(type);
+    }
+
+    private static EntityPool<Asteroid> poolFor(Type type) {
+        return type == Type.ASTEROID ? ASTEROID_POOL : METEOR_POOL;
+    }
+
+    /**
+     * Hides the rock and returns it to its pool.
+     */
+    public void release() {
+        leaveStore();
+        isAlive = false;
+        spriteVisible = false;
+        poolFor(type).release(this);
+    }
+
+    private void reset(double x, double y) {
+        this.x = x;
+        this.y = y;
+        this.isAlive = true;
+        this.isInvulnerable = false;
+        this.invulnerableTimer = 0;
+        this.isExploding = false;
+        this.explosionTime = 0;
+        this.currentSpeed = type == Type.ASTEROID ? ASTEROID_SPEED : METEOR_SPEED;
+
+        // An exploded rock was left on its last explosion frame
+        this.frame = baseFrame;
+        this.spriteVisible = true;
+
+        // Set random direction angle in radians
+        this.directionAngle = GameContext.random().nextDouble() * 2 * Math.PI;
 
         // Set random initial rotation
-        this.rotation = Math.random() * 360;
+        this.rotation = GameContext.random().nextDouble() * 360;
 
         // Initialize velocity for continuous movement
         initializeVelocity();
 
-        logger.info("Created asteroid at position: {} with speed: {} and angle: {}°",
-                position, currentSpeed, Math.toDegrees(directionAngle));
+        if (logger.isInfoEnabled() && CREATE_LOG.allow()) {
+            logger.info("Created asteroid at position: ({}, {}) with speed: {} and angle: {}° (+{} suppressed)",
+                    Unbox.box(x), Unbox.box(y), Unbox.box(currentSpeed), Unbox.box(Math.toDegrees(directionAngle)),
+                    Unbox.box(CREATE_LOG.takeSuppressed()));
+        }
     }
 
 
 
     private void initializeVelocity() {
         // Calculate velocity components based on direction and speed
-        double vx = Math.cos(directionAngle) * currentSpeed;
-        double vy = Math.sin(directionAngle) * currentSpeed;
-        this.velocity = new Point2D(vx, vy);
+        this.vx = Math.cos(directionAngle) * currentSpeed;
+        this.vy = Math.sin(directionAngle) * currentSpeed;
     }
 
     public void setInvulnerable(boolean invulnerable) {
         this.isInvulnerable = invulnerable;
         if (invulnerable) {
-            this.invulnerableStartTime = System.currentTimeMillis();
+            this.invulnerableTimer = INVULNERABLE_DURATION;
         }
     }
 
@@ -111,63 +176,44 @@ public class Asteroid extends Character {
         return isInvulnerable;
     }
 
+    // Timers, drift and spin only touch this rock's fields, so they may run on a worker
     @Override
-    public void update() {
+    public void simulate(double dt) {
         // Check invulnerability timeout
-        if (isInvulnerable && System.currentTimeMillis() - invulnerableStartTime >= INVULNERABLE_DURATION) {
-            isInvulnerable = false;
+        if (isInvulnerable) {
+            invulnerableTimer -= dt;
+            if (invulnerableTimer <= 0) {
+                isInvulnerable = false;
+            }
         }
 
-        if (!isExploding) {
-            // Update position based on current velocity
-            position = position.add(velocity);
-
-            // Update rotation
-            rotation += ROTATION_SPEED;
-            if (rotation >= 360) rotation -= 360;
-
-
-            // Update sprite position and rotation
-            updateSpritePosition();
-            sprite.setRotate(rotation);
-
-            // Add meteor trail effect if it's a meteor
-            if (type == Type.METEOR && sprite.isVisible()) {
-                createMeteorTrail();
+        if (isExploding) {
+            // Frame i shows from (i + 1) frame durations in; the rock is gone after the last
+            explosionTime += dt;
+            if (isAlive && explosionTime >= explosionFrames.size() * FRAME_DURATION) {
+                isAlive = false;
             }
+        } else {
+            double steps = dt / REFERENCE_STEP;
 
-            logger.trace("Asteroid updated - Position: {}, Velocity: {}, Rotation: {}",
-                    position, velocity, rotation);
-        }
-    }
+            // Update position based on current velocity, unless an EntityStore already did
+            if (!isStoreBacked()) {
+                x += vx * steps;
+                y += vy * steps;
+            }
 
-    private void createMeteorTrail() {
-        // Create a trail effect behind the meteor
-        Canvas trailCanvas = new Canvas(baseWidth * 1.5, baseHeight * 1.5);
-        GraphicsContext gc = trailCanvas.getGraphicsContext2D();
-
-        // Calculate trail start position (behind the meteor)
-        double trailLength = 30.0;
-        double trailAngle = Math.atan2(velocity.getY(), velocity.getX());
-        double trailStartX = position.getX() - Math.cos(trailAngle) * trailLength;
-        double trailStartY = position.getY() - Math.sin(trailAngle) * trailLength;
-
-        // Draw gradient trail
-        gc.setFill(trailColor);
-        for (int i = 0; i < 5; i++) {
-            double alpha = 0.8 - (i * 0.2);
-            gc.setFill(Color.rgb(255, 100, 0, alpha));
-            gc.fillOval(
-                    trailStartX + (i * Math.cos(trailAngle) * 5),
-                    trailStartY + (i * Math.sin(trailAngle) * 5),
-                    10 - i, 10 - i
-            );
+            // Update rotation
+            rotation += ROTATION_SPEED * steps;
+            if (rotation >= 360) rotation -= 360;
         }
     }
 
     public void hit() {
         if (isAlive && !isExploding) {
-            logger.debug("{} hit at position: {}", type, position);
+            if (logger.isDebugEnabled() && HIT_LOG.allow()) {
+                logger.debug("{} hit at position: {} (+{} suppressed)",
+                        type, getPosition(), Unbox.box(HIT_LOG.takeSuppressed()));
+            }
             explode();
         }
     }
@@ -177,24 +223,25 @@ public class Asteroid extends Character {
         List<Asteroid> fragments = new ArrayList<>();
         if (type == Type.ASTEROID) {
             double[] angles = {-45, 45}; // กำหนดทิศทางการกระจาย
-        double spreadDistance = 30.0; // ระยะห่างจากจุดเดิม
-
-        for (double angle : angles) {
-            // คำนวณตำแหน่งใหม่ให้ห่างจากจุดเดิม
-            double radians = Math.toRadians(angle);
-            Point2D offset = new Point2D(
-                    Math.cos(radians) * spreadDistance,
-                    Math.sin(radians) * spreadDistance
-            );
-            Point2D newPos = position.add(offset);
-
-            // สร้าง fragment ในตำแหน่งใหม่
-            Asteroid fragment = new Asteroid(newPos, Type.ASTEROID);
-            fragment.setInvulnerable(true);
-            fragments.add(fragment);
-        }
+            double spreadDistance = 30.0; // ระยะห่างจากจุดเดิม
+
+            for (double angle : angles) {
+                // คำนวณตำแหน่งใหม่ให้ห่างจากจุดเดิม
+                double radians = Math.toRadians(angle);
+                Point2D newPos = new Point2D(
+                        x + Math.cos(radians) * spreadDistance,
+                        y + Math.sin(radians) * spreadDistance
+                );
+
+                // สร้าง fragment ในตำแหน่งใหม่
+                Asteroid fragment = obtain(newPos, Type.ASTEROID);
+                fragment.setInvulnerable(true);
+                fragments.add(fragment);
+            }
 
-        logger.info("Asteroid split into {} fragments", fragments.size());}
+            logger.info("Asteroid split into {} fragments", fragments.size());
+            GameEvents.asteroidSplit(x, y, fragments.size());
+        }
 
         return fragments;
     }
@@ -202,120 +249,67 @@ public class Asteroid extends Character {
     private void explode() {
         if (!isExploding) {
             isExploding = true;
-            currentExplosionFrame = 0;
-
-            // Calculate centered position for explosion
-            double explosionX = position.getX() - (baseWidth * EXPLOSION_SCALE / 2);
-            double explosionY = position.getY() - (baseHeight * EXPLOSION_SCALE / 2);
-
-            // Set initial explosion position
-            sprite.setTranslateX(explosionX);
-            sprite.setTranslateY(explosionY);
-
-            // Reset any rotation for the explosion
-            sprite.setRotate(0);
-
-            // Start explosion animation
-            setupExplosionAnimation();
-            explosionAnimation.play();
+            explosionTime = 0;
         }
     }
 
+    // Frame i of the explosion shows from (i + 1) frame durations in; -1 until then
+    private int explosionFrameIndex() {
+        return Math.min((int) (explosionTime / FRAME_DURATION), explosionFrames.size()) - 1;
+    }
+
+    // Scale of explosion frame i, growing to EXPLOSION_SCALE by the last one
+    private double explosionScale(int frameIndex) {
+        double progress = frameIndex / (double) (explosionFrames.size() - 1);
+        return 1.0 + (progress * (EXPLOSION_SCALE - 1.0));
+    }
 
+    // Until the first explosion frame the rock keeps its own frame, unrotated
     @Override
-    protected void updateSpritePosition() {
-        if (!isExploding) {
-            sprite.setTranslateX(position.getX() - sprite.getFitWidth() / 2);
-            sprite.setTranslateY(position.getY() - sprite.getFitHeight() / 2);
+    public SpriteFrame getFrame() {
+        if (isExploding) {
+            int frameIndex = explosionFrameIndex();
+            if (frameIndex >= 0) {
+                return explosionFrames.get(frameIndex);
+            }
         }
+        return frame;
     }
 
-    private List<Image> loadExplosionFrames() {
-        List<Image> frames = new ArrayList<>();
-        try {
-            String explodePath = (type == Type.ASTEROID) ? ASTEROID_EXPLODE_PATH : ASTEROID_EXPLODE_PATH;
-            Image explodeSheet = new Image(getClass().getResourceAsStream(explodePath));
-
-            // Calculate dimensions for each frame
-            double frameWidth = explodeSheet.getWidth() / EXPLOSION_FRAMES;
-            double frameHeight = explodeSheet.getHeight();
-
-            // Scale explosion to be slightly larger than the original asteroid
-            double scaledWidth = baseWidth * EXPLOSION_SCALE;
-            double scaledHeight = baseHeight * EXPLOSION_SCALE;
-
-            for (int i = 0; i < EXPLOSION_FRAMES; i++) {
-                Canvas canvas = new Canvas(scaledWidth, scaledHeight);
-                GraphicsContext gc = canvas.getGraphicsContext2D();
-
-                // Enable better quality rendering
-                gc.setImageSmoothing(true);
-
-                // Calculate source rectangle from sprite sheet
-                double srcX = i * frameWidth;
-                double srcY = 0;
-
-                // Draw the frame centered on the canvas with scaling
-                gc.drawImage(explodeSheet,
-                        srcX, srcY, frameWidth, frameHeight,  // source rectangle
-                        0, 0, scaledWidth, scaledHeight       // destination rectangle
-                );
+    @Override
+    public double getSpriteWidth() {
+        int frameIndex = isExploding ? explosionFrameIndex() : -1;
+        return frameIndex >= 0 ? baseWidth * explosionScale(frameIndex) : spriteWidth;
+    }
 
-                // Create snapshot with transparency
-                SnapshotParameters params = new SnapshotParameters();
-                params.setFill(Color.TRANSPARENT);
-                Image frame = canvas.snapshot(params, null);
-                frames.add(frame);
-            }
+    @Override
+    public double getSpriteHeight() {
+        int frameIndex = isExploding ? explosionFrameIndex() : -1;
+        return frameIndex >= 0 ? baseHeight * explosionScale(frameIndex) : spriteHeight;
+    }
 
-        } catch (Exception e) {
-            logger.error("Failed to load explosion frames", e);
-        }
-        return frames;
+    @Override
+    public double getSpriteRotation() {
+        return isExploding ? 0 : rotation;
     }
 
-    private void setupExplosionAnimation() {
-        explosionAnimation = new Timeline();
-
-        // Create frames with scaling effect
-        for (int i = 0; i < explosionFrames.size(); i++) {
-            final int frameIndex = i;
-
-            KeyFrame keyFrame = new KeyFrame(
-                    FRAME_DURATION.multiply(i + 1),
-                    e -> {
-                        sprite.setImage(explosionFrames.get(frameIndex));
-
-                        // Scale the sprite based on frame index
-                        double progress = frameIndex / (double)(explosionFrames.size() - 1);
-                        double currentScale = 1.0 + (progress * (EXPLOSION_SCALE - 1.0));
-
-                        sprite.setFitWidth(baseWidth * currentScale);
-                        sprite.setFitHeight(baseHeight * currentScale);
-
-                        // Adjust position to keep explosion centered
-                        double offsetX = (sprite.getFitWidth() - baseWidth) / 2;
-                        double offsetY = (sprite.getFitHeight() - baseHeight) / 2;
-                        sprite.setTranslateX(position.getX() - (baseWidth / 2) - offsetX);
-                        sprite.setTranslateY(position.getY() - (baseHeight / 2) - offsetY);
-                    }
-            );
-            explosionAnimation.getKeyFrames().add(keyFrame);
-        }
+    private void finishExplosion() {
+        spriteVisible = false;
+        isAlive = false;
+    }
 
-        explosionAnimation.setOnFinished(e -> {
-            sprite.setVisible(false);
-            sprite.setImage(null);
-            isAlive = false;
-        });
+    // Frames are shared by every asteroid and fragment; the sprite size scales them
+    private List<SpriteFrame> loadExplosionFrames() {
+        return FrameSetRegistry.getSprites(EXPLOSION_SHEET);
     }
 
-    @Override
-    public void setPosition(Point2D newPosition) {
-        this.position = newPosition;
-        if (!isExploding) {
-            updateSpritePosition();
-        }
+    /**
+     * Resolves the shared explosion frames ahead of the first split. Pixel reads only, so
+     * it may run off the FX thread.
+     */
+    public static void warmUpExplosionFrames() {
+        FrameSetRegistry.getSprites(EXPLOSION_SHEET);
+        logger.debug("Asteroid explosion frames warmed up");
     }
 
     // Getters
@@ -324,30 +318,53 @@ public class Asteroid extends Character {
     public boolean isExploding() { return isExploding; }
     public double getRadius() { return type == Type.ASTEROID ? ASTEROID_RADIUS : METEOR_RADIUS; }
 
-    // Resource cleanup
+    // Resource cleanup: an explosion still playing ends at once
     public void dispose() {
-        if (explosionAnimation != null) {
-            explosionAnimation.stop();
+        if (isExploding) {
+            finishExplosion();
         }
     }
+
+    @Override
+    public void writeState(SnapshotOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(directionAngle);
+        out.writeDouble(currentSpeed);
+        out.writeBoolean(isInvulnerable);
+        out.writeDouble(invulnerableTimer);
+        out.writeBoolean(isExploding);
+        out.writeDouble(explosionTime);
+    }
+
+    @Override
+    public void readState(SnapshotInput in) throws IOException {
+        super.readState(in);
+        directionAngle = in.readDouble();
+        currentSpeed = in.readDouble();
+        isInvulnerable = in.readBoolean();
+        invulnerableTimer = in.readDouble();
+        isExploding = in.readBoolean();
+        explosionTime = in.readDouble();
+    }
     @Override
     public boolean collidesWith(Character other) {
         // ตรวจสอบเงื่อนไขทั้งหมดที่ไม่ควรเกิดการชน
         if (!isAlive || // ถ้าอุกาบาตถูกทำลายแล้ว
                 isExploding || // กำลังระเบิด
                 isInvulnerable || // อยู่ในสถานะไม่สามารถชนได้
-                !sprite.isVisible() || // sprite ไม่แสดงผล
+                !spriteVisible || // sprite ไม่แสดงผล
                 other == null || // ไม่มีวัตถุที่จะชน
                 !other.isAlive()) { // วัตถุที่จะชนถูกทำลายแล้ว
             return false;
         }
 
         // คำนวณระยะห่างระหว่างศูนย์กลางของวัตถุทั้งสอง
-        double distance = position.distance(other.getPosition());
+        double dx = x - other.getX();
+        double dy = y - other.getY();
         double minDistance = getHitRadius() + other.getHitRadius(); // ใช้ hitRadius จาก Character class
 
-        // จะชนกันก็ต่อเมื่อระยะห่างน้อยกว่าผลรวมของรัศมีทั้งสอง
-        return distance < minDistance;
+        // จะชนกันก็ต่อเมื่อระยะห่างน้อยกว่าผลรวมของรัศมีทั้งสอง (เทียบกำลังสองเพื่อไม่ต้องถอดรูท)
+        return dx * dx + dy * dy < minDistance * minDistance;
     }
 
 }
\ No newline at end of file
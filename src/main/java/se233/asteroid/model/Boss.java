@@ -1,24 +1,27 @@
 package se233.asteroid.model;
 
 import javafx.geometry.Point2D;
-import javafx.scene.image.Image;
-import javafx.scene.layout.Pane;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
+import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
-
-import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Text;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
-import se233.asteroid.util.SpriteSheetUtils;
+import java.util.function.Consumer;
+
+import se233.asteroid.core.SnapshotInput;
+import se233.asteroid.core.SnapshotOutput;
+import se233.asteroid.util.FrameSetRegistry;
+import se233.asteroid.util.GameContext;
+import se233.asteroid.util.GameEvents;
+import se233.asteroid.util.LogSampler;
+import se233.asteroid.util.MutableVector2D;
+import se233.asteroid.util.SpriteFrame;
+import se233.asteroid.util.SpriteSheet;
 
 public class Boss extends Character {
     private static final Logger logger = LogManager.getLogger(Boss.class);
+    private static final LogSampler DAMAGE_LOG = LogSampler.perSecond(2);
 
 
     // Screen dimensions
@@ -56,13 +59,17 @@ public class Boss extends Character {
     private static final String BOSS_SPRITE = "/se233/asteroid/assets/Boss/Boss.png";
     private static final String BOSS_SHOOT_SPRITE = "/se233/asteroid/assets/Boss/Boss_shot.png";
     private static final String BOSS_EXPLOSION_SPRITE = "/se233/asteroid/assets/Boss/Explosion_Boss.png";
+    public static final List<String> ASSET_PATHS = List.of(BOSS_SPRITE, BOSS_SHOOT_SPRITE, BOSS_EXPLOSION_SPRITE);
 
     // เพิ่มการตั้งค่าสำหรับ sprite sheet
     private static final boolean EXPLOSION_SHEET_VERTICAL = false; // แนวนอน
     private static final int ALPHA_THRESHOLD = 10; // ค่าความโปร่งใส
+    private static final SpriteSheet EXPLOSION_SHEET = new SpriteSheet(BOSS_EXPLOSION_SPRITE, EXPLOSION_FRAME_COUNT,
+            EXPLOSION_SHEET_VERTICAL, ALPHA_THRESHOLD);
+    public static final List<SpriteSheet> SPRITE_SHEETS = List.of(EXPLOSION_SHEET);
 
     // Animation properties
-    private Map<String, Image[]> spriteAnimations;
+    private Map<String, SpriteFrame[]> spriteAnimations;
     private int currentFrame = 0;
     private double frameTime = 0;
     private static final double FRAME_DURATION = 0.1;
@@ -82,7 +89,9 @@ public class Boss extends Character {
     private final List<Bullet> activeBullets;
     private List<Enemy> spawnedEnemies;
     private final Random random;
-    private Point2D playerPosition;
+    // Where the player was at the last update; kept in place so a moving player costs no garbage
+    private final MutableVector2D playerPosition = new MutableVector2D();
+    private boolean hasPlayerPosition;
     private boolean isEnraged;
     private Point2D initialPosition;
     private double timeSinceLastPatternChange;
@@ -94,15 +103,6 @@ public class Boss extends Character {
     private double timeSinceLastSpawn; // Changed from timeSinceLastShot
 
 
-
-    // Health bar components
-    private StackPane healthBarGroup;
-    private Rectangle healthBarFill;
-    private Text healthText;
-    private Text enragedText;
-    private static final double HEALTH_BAR_WIDTH = 100;
-    private static final double HEALTH_BAR_HEIGHT = 10;
-
     // Attack patterns enum
     private enum AttackPattern {
         CIRCLE,      // Boss moves in a circle while shooting
@@ -124,17 +124,16 @@ public class Boss extends Character {
         this.wave = wave;
         this.maxHealth = BASE_HEALTH * wave;
         this.health = maxHealth;
-        this.activeBullets = new CopyOnWriteArrayList<>();
+        this.activeBullets = new ArrayList<>();
         this.spawnedEnemies = new ArrayList<>();  // Initialize spawnedEnemies list
-        this.random = new Random();
+        this.random = GameContext.random();
         this.initialPosition = startPosition;
         this.currentPattern = AttackPattern.CIRCLE;
         this.horizontalSpeed = BASE_SPEED;
-        this.lastUpdateTime = System.nanoTime();
+        this.lastUpdateTime = GameContext.nanoTime();
         this.timeSinceLastSpawn = SPAWN_COOLDOWN; // Set to SPAWN_COOLDOWN to spawn immediately
 
         initializeSpriteAnimations();
-        initializeHealthBar();
 
         // Spawn initial enemies immediately
         spawnInitialEnemies();
@@ -142,6 +141,10 @@ public class Boss extends Character {
         logger.info("Boss created at wave {} with {} health", wave, health);
     }
 
+    public Boss(double x, double y, int wave) {
+        this(new Point2D(x, y), wave);
+    }
+
     private void spawnInitialEnemies() {
         // Don't spawn any initial enemies
         logger.info("Boss initialized without initial enemies");
@@ -154,23 +157,18 @@ public class Boss extends Character {
             spriteAnimations = new HashMap<>();
 
             // โหลดเฟรมปกติ
-            Image[] normalFrames = new Image[1];
-            normalFrames[0] = new Image(getClass().getResourceAsStream(BOSS_SPRITE));
+            SpriteFrame[] normalFrames = new SpriteFrame[1];
+            normalFrames[0] = FrameSetRegistry.getSprite(BOSS_SPRITE);
             spriteAnimations.put("normal", normalFrames);
 
             // โหลดเฟรมยิง
-            Image[] shootingFrames = new Image[1];
-            shootingFrames[0] = new Image(getClass().getResourceAsStream(BOSS_SHOOT_SPRITE));
+            SpriteFrame[] shootingFrames = new SpriteFrame[1];
+            shootingFrames[0] = FrameSetRegistry.getSprite(BOSS_SHOOT_SPRITE);
             spriteAnimations.put("shooting", shootingFrames);
 
             // โหลดเฟรม explosion จาก sprite sheet
-            List<Image> explosionFrames = SpriteSheetUtils.extractFramesWithAlpha(
-                    BOSS_EXPLOSION_SPRITE,
-                    EXPLOSION_FRAME_COUNT,
-                    EXPLOSION_SHEET_VERTICAL,
-                    ALPHA_THRESHOLD
-            );
-            spriteAnimations.put("explosion", explosionFrames.toArray(new Image[0]));
+            List<SpriteFrame> explosionFrames = FrameSetRegistry.getSprites(EXPLOSION_SHEET);
+            spriteAnimations.put("explosion", explosionFrames.toArray(new SpriteFrame[0]));
 
             logger.info("โหลดแอนิเมชันทั้งหมดสำเร็จ รวมถึง explosion sheet ที่มี {} เฟรม",
                     explosionFrames.size());
@@ -179,6 +177,14 @@ public class Boss extends Character {
         }
     }
 
+    /**
+     * Resolves the boss explosion frames ahead of the first boss; without the atlas this
+     * is the slowest spawn to bake.
+     */
+    public static void warmUpExplosionFrames() {
+        FrameSetRegistry.getSprites(EXPLOSION_SHEET);
+    }
+
     // เพิ่มเมธอดสำหรับตรวจสอบว่ามีแอนิเมชั่นพร้อมใช้งานหรือไม่
     private boolean hasAnimation(String state) {
         return spriteAnimations != null &&
@@ -188,42 +194,30 @@ public class Boss extends Character {
     }
 
 
-    private void initializeHealthBar() {
-        healthBarGroup = new StackPane();
-
-        // Background rectangle
-        Rectangle healthBarBg = new Rectangle(HEALTH_BAR_WIDTH, HEALTH_BAR_HEIGHT);
-        healthBarBg.setFill(Color.RED);
-
-        // Health fill rectangle
-        healthBarFill = new Rectangle(HEALTH_BAR_WIDTH, HEALTH_BAR_HEIGHT);
-        healthBarFill.setFill(Color.GREEN);
-
-        // Health text
-        healthText = new Text();
-        healthText.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        healthText.setFill(Color.WHITE);
-
-        // Enraged text
-        enragedText = new Text("ENRAGED!");
-        enragedText.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        enragedText.setFill(Color.RED);
-        enragedText.setVisible(false);
-
-        healthBarGroup.getChildren().addAll(healthBarBg, healthBarFill, healthText, enragedText);
-        updateHealthBar();
+    public void update(double deltaTime, Point2D playerPosition) {
+        if (playerPosition != null) {
+            update(deltaTime, playerPosition.getX(), playerPosition.getY());
+        } else {
+            hasPlayerPosition = false;
+            step(deltaTime);
+        }
     }
 
+    /**
+     * Same as {@link #update(double, Point2D)}, taking the player's coordinates.
+     */
+    public void update(double deltaTime, double playerX, double playerY) {
+        playerPosition.set(playerX, playerY);
+        hasPlayerPosition = true;
+        step(deltaTime);
+    }
 
-    public void update(double deltaTime, Point2D playerPosition) {
-        this.playerPosition = playerPosition;
-
+    private void step(double deltaTime) {
         if (!isAlive()) return;
 
         updateTimers(deltaTime);
         updateMovementPattern();
         tryToSpawnEnemies(); // Changed from tryToShoot
-        updateHealthBar();
         updateAnimation(deltaTime);
     }
 
@@ -257,8 +251,8 @@ public class Boss extends Character {
                 break;
 
             case LINE:
-                if (playerPosition != null) {
-                    Point2D direction = playerPosition.subtract(getPosition()).normalize();
+                if (hasPlayerPosition) {
+                    Point2D direction = new Point2D(playerPosition.x - x, playerPosition.y - y).normalize();
                     double spacing = MIN_SPAWN_DISTANCE + random.nextDouble() * (MAX_SPAWN_DISTANCE - MIN_SPAWN_DISTANCE);
                     spawnPos = getPosition().add(direction.multiply(spacing));
                 } else {
@@ -272,7 +266,7 @@ public class Boss extends Character {
         }
         // Make sure spawn position is valid
         spawnPos = validateSpawnPosition(spawnPos);
-        return new Enemy(spawnPos, isSecondTierEnemy);
+        return Enemy.obtain(spawnPos, isSecondTierEnemy);
     }
 
     // Helper method to validate spawn position
@@ -290,6 +284,16 @@ public class Boss extends Character {
         return enemies;
     }
 
+    // Same as collectSpawnedEnemies, but hands each enemy to the sink instead of copying the list
+    public int drainSpawnedEnemies(Consumer<? super Enemy> sink) {
+        int count = spawnedEnemies.size();
+        for (int i = 0; i < count; i++) {
+            sink.accept(spawnedEnemies.get(i));
+        }
+        spawnedEnemies.clear();
+        return count;
+    }
+
     private List<Enemy> spawnNormalFormation() {
         List<Enemy> enemies = new ArrayList<>();
         Enemy enemy = spawnSingleEnemy();
@@ -320,7 +324,7 @@ public class Boss extends Character {
                     getPosition().getY() + Math.sin(angle) * distance
             );
 
-            enemies.add(new Enemy(spawnPos, false));
+            enemies.add(Enemy.obtain(spawnPos, false));
         }
         return enemies;
     }
@@ -329,14 +333,14 @@ public class Boss extends Character {
         List<Enemy> enemies = new ArrayList<>();
         double spacing = 50; // Space between enemies
 
-        Point2D direction = playerPosition != null ?
-                playerPosition.subtract(getPosition()).normalize() :
+        Point2D direction = hasPlayerPosition ?
+                new Point2D(playerPosition.x - x, playerPosition.y - y).normalize() :
                 new Point2D(1, 0);
 
         for (int i = 0; i < count; i++) {
             Point2D offset = direction.multiply(spacing * i);
             Point2D spawnPos = getPosition().add(offset);
-            enemies.add(new Enemy(spawnPos, false));
+            enemies.add(Enemy.obtain(spawnPos, false));
         }
         return enemies;
     }
@@ -352,7 +356,7 @@ public class Boss extends Character {
                     getPosition().getX() + Math.cos(angle) * radius,
                     getPosition().getY() + Math.sin(angle) * radius
             );
-            enemies.add(new Enemy(spawnPos, false));
+            enemies.add(Enemy.obtain(spawnPos, false));
         }
         return enemies;
     }
@@ -366,7 +370,7 @@ public class Boss extends Character {
                     getPosition().getX() + Math.cos(angle) * distance,
                     getPosition().getY() + Math.sin(angle) * distance
             );
-            enemies.add(new Enemy(spawnPos, false));
+            enemies.add(Enemy.obtain(spawnPos, false));
         }
         return enemies;
     }
@@ -382,14 +386,14 @@ public class Boss extends Character {
                             getPosition().getX() + Math.cos(angle) * MAX_SPAWN_DISTANCE,
                             getPosition().getY() + Math.sin(angle) * MAX_SPAWN_DISTANCE
                     );
-                    enemies.add(new Enemy(spawnPos, true)); // Second-tier enemies
+                    enemies.add(Enemy.obtain(spawnPos, true)); // Second-tier enemies
                 }
                 break;
             default:
                 // For other patterns, just spawn random second-tier enemies
                 for (int i = 0; i < count; i++) {
                     Point2D spawnPos = getRandomSpawnPosition();
-                    enemies.add(new Enemy(spawnPos, true));
+                    enemies.add(Enemy.obtain(spawnPos, true));
                 }
                 break;
         }
@@ -442,18 +446,18 @@ public class Boss extends Character {
         double speed = isEnraged ? BASE_SPEED * 1.5 : BASE_SPEED;
         double angle = patternTimer * speed;
 
-        setPosition(new Point2D(
+        setPosition(
                 initialPosition.getX() + Math.cos(angle) * radius,
                 initialPosition.getY() + Math.sin(angle) * radius
-        ));
+        );
     }
 
     private void chasePlayer() {
-        if (playerPosition == null) return;
+        if (!hasPlayerPosition) return;
 
-        Point2D direction = playerPosition.subtract(getPosition()).normalize();
         double speed = isEnraged ? BASE_SPEED * 1.5 : BASE_SPEED;
-        setPosition(getPosition().add(direction.multiply(speed)));
+        scratch.set(playerPosition.x, playerPosition.y).subtract(x, y).normalize().scale(speed);
+        setPosition(x + scratch.x, y + scratch.y);
     }
 
 
@@ -461,12 +465,12 @@ public class Boss extends Character {
         double amplitude = 100;
         double frequency = isEnraged ? 3.0 : 2.0;
 
-        setPosition(new Point2D(
-                getPosition().getX() + horizontalSpeed,
+        setPosition(
+                x + horizontalSpeed,
                 initialPosition.getY() + amplitude * Math.sin(patternTimer * frequency)
-        ));
+        );
 
-        if (getPosition().getX() < 0 || getPosition().getX() > SCREEN_WIDTH) {
+        if (x < 0 || x > SCREEN_WIDTH) {
             horizontalSpeed = -horizontalSpeed;
         }
     }
@@ -492,19 +496,8 @@ public class Boss extends Character {
         }
     }
 
-    private void updateHealthBar() {
-        if (healthBarGroup == null) return;
-
-        double healthPercent = getHealthPercentage();
-        healthBarFill.setWidth(HEALTH_BAR_WIDTH * healthPercent);
-
-
-        healthBarGroup.setTranslateX(getPosition().getX() - HEALTH_BAR_WIDTH / 2);
-        healthBarGroup.setTranslateY(getPosition().getY() - 40);
-
-        enragedText.setVisible(isEnraged);
-    }
-
+    // Animation is model state too: the final explosion ends the boss. It only picks the
+    // frame, size and opacity the view draws
     private void updateAnimation(double deltaTime) {
         frameTime += deltaTime;
 
@@ -514,22 +507,21 @@ public class Boss extends Character {
                 explosionTimer = 0;
                 explosionFrame++;
 
-                Image[] explosionFrames = spriteAnimations.get("explosion");
+                SpriteFrame[] explosionFrames = spriteAnimations.get("explosion");
                 if (explosionFrames != null && explosionFrame < explosionFrames.length) {
-                    setImage(explosionFrames[explosionFrame]);
+                    setFrame(explosionFrames[explosionFrame]);
 
                     // ขยายขนาดตามความคืบหน้าของ explosion
                     double baseScale = 1.0;
                     double explosionProgress = (double) explosionFrame / EXPLOSION_FRAME_COUNT;
                     double scale = baseScale + (explosionProgress * 0.5); // ใหญ่ขึ้น 50% ตอนจบ
-                    sprite.setFitWidth(100 * scale);
-                    sprite.setFitHeight(100 * scale);
+                    setSpriteSize(100 * scale, 100 * scale);
 
                     // เพิ่มเอฟเฟกต์จางหายตอนท้าย
                     if (explosionFrame >= EXPLOSION_FRAME_COUNT * 0.7) {
                         double opacity = 1.0 - ((explosionFrame - (EXPLOSION_FRAME_COUNT * 0.7))
                                 / (EXPLOSION_FRAME_COUNT * 0.3));
-                        sprite.setOpacity(Math.max(0, opacity));
+                        spriteOpacity = Math.max(0, opacity);
                     }
 
                 } else if (explosionFrame >= EXPLOSION_FRAME_COUNT) {
@@ -548,18 +540,17 @@ public class Boss extends Character {
             if (!currentAnimationState.equals(newState)) {
                 currentAnimationState = newState;
                 currentFrame = 0;
-                sprite.setOpacity(1.0); // รีเซ็ตความโปร่งใสสำหรับแอนิเมชันปกติ
+                spriteOpacity = 1.0; // รีเซ็ตความโปร่งใสสำหรับแอนิเมชันปกติ
             }
 
-            Image[] frames = spriteAnimations.get(currentAnimationState);
+            SpriteFrame[] frames = spriteAnimations.get(currentAnimationState);
             if (frames != null) {
                 currentFrame = (currentFrame + 1) % frames.length;
-                setImage(frames[currentFrame]);
+                setFrame(frames[currentFrame]);
 
                 // ขนาดปกติสำหรับแอนิเมชันที่ไม่ใช่ explosion
                 if (!isExplodingFinal) {
-                    sprite.setFitWidth(100);
-                    sprite.setFitHeight(100);
+                    setSpriteSize(100, 100);
                 }
             }
 
@@ -567,16 +558,16 @@ public class Boss extends Character {
 
             // จัดการแอนิเมชัน explosion ชั่วคราวตอนโดนโจมตี
             if (isExploding && !isExplodingFinal) {
-                Image[] explosionFrames = spriteAnimations.get("explosion");
+                SpriteFrame[] explosionFrames = spriteAnimations.get("explosion");
                 if (explosionFrames != null) {
                     int hitFrame = currentFrame % 3; // ใช้แค่ 3 เฟรมแรกสำหรับเอฟเฟกต์โดนโจมตี
-                    setImage(explosionFrames[hitFrame]);
-                    sprite.setOpacity(0.8);
+                    setFrame(explosionFrames[hitFrame]);
+                    spriteOpacity = 0.8;
                 }
 
                 if (currentFrame >= 2) {
                     isExploding = false;
-                    sprite.setOpacity(1.0);
+                    spriteOpacity = 1.0;
                 }
             }
         }
@@ -603,6 +594,7 @@ public class Boss extends Character {
             newPattern = patterns[random.nextInt(patterns.length)];
         } while (newPattern == currentPattern);
 
+        GameEvents.bossPatternChanged(currentPattern, newPattern, isEnraged, getHealthPercentage());
         currentPattern = newPattern;
         logger.info("Boss changing to attack pattern: {}", currentPattern);
 
@@ -655,9 +647,11 @@ public class Boss extends Character {
             die();
         }
 
-        updateHealthBar();
-        logger.info("Boss took {} damage. Current health: {}/{}. Hits until spawn: {}",
-                damage, health, maxHealth, HITS_REQUIRED_TO_SPAWN - hitCount);
+        if (logger.isInfoEnabled() && DAMAGE_LOG.allow()) {
+            logger.info("Boss took {} damage. Current health: {}/{}. Hits until spawn: {} (+{} suppressed)",
+                    Unbox.box(damage), Unbox.box(health), Unbox.box(maxHealth),
+                    Unbox.box(HITS_REQUIRED_TO_SPAWN - hitCount), Unbox.box(DAMAGE_LOG.takeSuppressed()));
+        }
     }
 
     private void spawnEnemiesOnHit() {
@@ -683,11 +677,6 @@ public class Boss extends Character {
 
         // Apply enraged state effects
         horizontalSpeed *= 1.5;
-
-        // Visual feedback
-        if (enragedText != null) {
-            enragedText.setVisible(true);
-        }
     }
 
     private void die() {
@@ -696,18 +685,10 @@ public class Boss extends Character {
         explosionTimer = 0;
         isExploding = false; // Stop regular explosion animation
 
-        // Hide health bar immediately
-        if (healthBarGroup != null) {
-            healthBarGroup.setVisible(false);
-        }
-
         logger.info("Boss starting death animation at wave {}", wave);
     }
 
     public void cleanup() {
-        if (healthBarGroup != null && healthBarGroup.getParent() instanceof Pane) {
-            ((Pane) healthBarGroup.getParent()).getChildren().remove(healthBarGroup);
-        }
         activeBullets.clear();
     }
 
@@ -728,9 +709,8 @@ public class Boss extends Character {
             double angle = Math.toRadians(i * angleStep + currentRotation);
             Point2D direction = new Point2D(Math.cos(angle), Math.sin(angle));
 
-            // Use the available Bullet constructor
             // Note: true parameter indicates this is an enemy bullet
-            bullets[i] = new Bullet(getPosition(), direction, true);
+            bullets[i] = Bullet.obtain(getPosition(), direction, true);
         }
 
         // Rotate the pattern for next time
@@ -743,9 +723,80 @@ public class Boss extends Character {
         return bullets;
     }
 
-    public void addToPane(Pane pane) {
-        if (healthBarGroup != null && !pane.getChildren().contains(healthBarGroup)) {
-            pane.getChildren().add(healthBarGroup);
+    /**
+     * Adds the pattern, spawn and animation timers and the enemies waiting to be drained.
+     */
+    @Override
+    public void writeState(SnapshotOutput out) throws IOException {
+        super.writeState(out);
+        out.writeVarLong(health);
+        out.writeVarLong(hitCount);
+        out.writeByte(currentPattern.ordinal());
+        out.writeBoolean(isEnraged);
+        out.writeDouble(initialPosition.getX());
+        out.writeDouble(initialPosition.getY());
+        out.writeBoolean(hasPlayerPosition);
+        if (hasPlayerPosition) {
+            out.writeDouble(playerPosition.x);
+            out.writeDouble(playerPosition.y);
+        }
+        out.writeDouble(timeSinceLastPatternChange);
+        out.writeDouble(timeSinceLastShot);
+        out.writeDouble(timeSinceLastSpawn);
+        out.writeDouble(patternTimer);
+        out.writeDouble(horizontalSpeed);
+        out.writeDouble(currentRotation);
+
+        out.writeByte(currentAnimationState.equals("shooting") ? 1 : currentAnimationState.equals("explosion") ? 2 : 0);
+        out.writeVarLong(currentFrame);
+        out.writeDouble(frameTime);
+        out.writeBoolean(isShooting);
+        out.writeBoolean(isExploding);
+        out.writeBoolean(isExplodingFinal);
+        out.writeVarLong(explosionFrame);
+        out.writeDouble(explosionTimer);
+
+        out.writeVarLong(spawnedEnemies.size());
+        for (Enemy enemy : spawnedEnemies) {
+            out.writeBoolean(enemy.isSecondTier());
+            enemy.writeState(out);
+        }
+    }
+
+    @Override
+    public void readState(SnapshotInput in) throws IOException {
+        super.readState(in);
+        health = (int) in.readVarLong();
+        hitCount = (int) in.readVarLong();
+        currentPattern = AttackPattern.values()[in.readByte()];
+        isEnraged = in.readBoolean();
+        initialPosition = new Point2D(in.readDouble(), in.readDouble());
+        hasPlayerPosition = in.readBoolean();
+        if (hasPlayerPosition) {
+            playerPosition.set(in.readDouble(), in.readDouble());
+        }
+        timeSinceLastPatternChange = in.readDouble();
+        timeSinceLastShot = in.readDouble();
+        timeSinceLastSpawn = in.readDouble();
+        patternTimer = in.readDouble();
+        horizontalSpeed = in.readDouble();
+        currentRotation = in.readDouble();
+
+        int animation = in.readByte();
+        currentAnimationState = animation == 1 ? "shooting" : animation == 2 ? "explosion" : "normal";
+        currentFrame = (int) in.readVarLong();
+        frameTime = in.readDouble();
+        isShooting = in.readBoolean();
+        isExploding = in.readBoolean();
+        isExplodingFinal = in.readBoolean();
+        explosionFrame = (int) in.readVarLong();
+        explosionTimer = in.readDouble();
+
+        spawnedEnemies.clear();
+        for (long i = in.readVarLong(); i > 0; i--) {
+            Enemy enemy = Enemy.obtain(Point2D.ZERO, in.readBoolean());
+            enemy.readState(in);
+            spawnedEnemies.add(enemy);
         }
     }
 
@@ -788,6 +839,20 @@ public class Boss extends Character {
         return currentPattern;
     }
 
+    /**
+     * Seconds into the current attack pattern.
+     */
+    public double getPatternTimer() {
+        return patternTimer;
+    }
+
+    /**
+     * Seconds since the boss last called in enemies.
+     */
+    public double getTimeSinceLastSpawn() {
+        return timeSinceLastSpawn;
+    }
+
     public boolean isExploding() {
         return isExploding;
     }
@@ -1,41 +1,96 @@
 package se233.asteroid.model;
 
 import javafx.geometry.Point2D;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import se233.asteroid.core.SnapshotInput;
+import se233.asteroid.core.SnapshotOutput;
+import se233.asteroid.util.LogSampler;
+
+import java.io.IOException;
+import java.util.List;
 
 public class Bullet extends Character {
     private static final Logger logger = LogManager.getLogger(Bullet.class);
+    private static final LogSampler DEACTIVATE_LOG = LogSampler.perSecond(2);
 
     // Constants
     private static final double BULLET_SPEED = 10.0;
     private static final String BULLET_SPRITE_PATH = "/se233/asteroid/assets/PlayerShip/Fx_01.png";
+    public static final List<String> ASSET_PATHS = List.of(BULLET_SPRITE_PATH);
     private static final double BULLET_SIZE = 15.0;
     private static final double BULLET_RADIUS = 2.0;
     private static final double BULLET_LIFETIME = 2.0; // seconds
     private static final int BULLET_DAMAGE = 10;
 
+    private static final EntityPool<Bullet> POOL = new EntityPool<>("Bullet", () -> {
+        Bullet bullet = new Bullet(Point2D.ZERO, new Point2D(0, -1), false);
+        bullet.setActive(false);
+        return bullet;
+    }, 0);
+
     // State
     private boolean active;
     private double lifetime;
     private boolean isEnemyBullet;
+    private int damage;
 
 
 
     public Bullet(Point2D position, Point2D direction, boolean isEnemyBullet) {
         super(BULLET_SPRITE_PATH, position, BULLET_SIZE);
-        initializeBullet(direction, isEnemyBullet);
+        initializeBullet(direction.getX(), direction.getY(), isEnemyBullet);
+    }
+
+    /**
+     * Takes a bullet from the shared pool and fires it from {@code position}. Hand it back
+     * with {@link #release()} once it leaves play.
+     */
+    public static Bullet obtain(Point2D position, Point2D direction, boolean isEnemyBullet) {
+        return obtain(position.getX(), position.getY(), direction.getX(), direction.getY(), isEnemyBullet);
+    }
+
+    /**
+     * Same as {@link #obtain(Point2D, Point2D, boolean)}, taking coordinates.
+     */
+    public static Bullet obtain(double x, double y, double directionX, double directionY, boolean isEnemyBullet) {
+        Bullet bullet = POOL.acquire();
+        bullet.x = x;
+        bullet.y = y;
+        bullet.rotation = 0;
+        bullet.isAlive = true;
+        bullet.initializeBullet(directionX, directionY, isEnemyBullet);
+        return bullet;
+    }
+
+    public static void prewarmPool() {
+        POOL.prefill(EntityPool.DEFAULT_SIZE);
+    }
+
+    public static EntityPool<Bullet> getPool() {
+        return POOL;
     }
 
-    private void initializeBullet(Point2D direction, boolean isEnemyBullet) {
+    /**
+     * Hides the bullet and returns it to the pool.
+     */
+    public void release() {
+        leaveStore();
+        active = false;
+        POOL.release(this);
+    }
+
+    private void initializeBullet(double directionX, double directionY, boolean isEnemyBullet) {
         try {
             // Initialize state
             this.active = true;
             this.lifetime = BULLET_LIFETIME;
             this.isEnemyBullet = isEnemyBullet;
-            this.velocity = direction.normalize().multiply(BULLET_SPEED);
+            this.damage = BULLET_DAMAGE;
+            scratch.set(directionX, directionY).normalize().scale(BULLET_SPEED);
+            this.vx = scratch.x;
+            this.vy = scratch.y;
 
             // Configure sprite
             configureSprite();
@@ -47,53 +102,60 @@ public class Bullet extends Character {
     }
 
     private void configureSprite() {
-        // Set size
-        sprite.setFitWidth(BULLET_SIZE * 2);
-        sprite.setFitHeight(BULLET_SIZE * 2);
-        sprite.setPreserveRatio(true);
-
-        // If it's an enemy bullet, tint it red
-        if (isEnemyBullet) {
-            sprite.setStyle("-fx-effect: dropshadow(gaussian, greenyellow, 10, 0.5, 0, 0);");
-        }
-
-        // Set rotation based on velocity direction
-        double angle = Math.toDegrees(Math.atan2(velocity.getY(), velocity.getX()));
-        sprite.setRotate(angle + 90); // +90 because sprite points upward by default
+        setSpriteSize(BULLET_SIZE * 2, BULLET_SIZE * 2);
     }
 
     @Override
-    public void update() {
+    public void simulate(double dt) {
         if (active) {
             // Update position
-            super.update();
+            super.simulate(dt);
 
             // Update lifetime
-            lifetime -= 1.0 / 60.0; // Assuming 60 FPS
+            lifetime -= dt;
             if (lifetime <= 0) {
                 deactivate();
             }
-
-            // Update sprite rotation if needed
-            updateSpriteRotation();
         }
     }
 
     @Override
-    protected void updateSpriteRotation() {
-        if (velocity.magnitude() > 0) {
-            double angle = Math.toDegrees(Math.atan2(velocity.getY(), velocity.getX()));
-            sprite.setRotate(angle + 90);
-        }
+    public void writeState(SnapshotOutput out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(active);
+        out.writeDouble(lifetime);
+        out.writeVarLong(damage);
+    }
+
+    @Override
+    public void readState(SnapshotInput in) throws IOException {
+        super.readState(in);
+        active = in.readBoolean();
+        lifetime = in.readDouble();
+        damage = (int) in.readVarLong();
+    }
+
+    // Along the velocity; +90 because the sprite points upward by default
+    @Override
+    public double getSpriteRotation() {
+        return Math.toDegrees(Math.atan2(vy, vx)) + 90;
+    }
+
+    // Only an active bullet is drawn
+    @Override
+    public boolean isSpriteVisible() {
+        return active;
     }
 
     /**
-     * Deactivates the bullet, making it ready for removal.
+     * Deactivates the bullet, making it ready for removal. It is no longer drawn.
      */
     public void deactivate() {
         active = false;
-        sprite.setVisible(false);
-        logger.debug("Bullet deactivated at position: {}", position);
+        if (logger.isDebugEnabled() && DEACTIVATE_LOG.allow()) {
+            logger.debug("Bullet deactivated at position: ({}, {}) (+{} suppressed)",
+                    Unbox.box(x), Unbox.box(y), Unbox.box(DEACTIVATE_LOG.takeSuppressed()));
+        }
     }
 
     public boolean canDamage(Character character) {
@@ -112,7 +174,6 @@ public class Bullet extends Character {
 
     public void setActive(boolean active) {
         this.active = active;
-        sprite.setVisible(active);
     }
 
     public boolean isExpired() {
@@ -124,12 +185,11 @@ public class Bullet extends Character {
     }
 
     public int getDamage() {
-        return BULLET_DAMAGE;
+        return damage;
     }
 
-    @Override
-    public ImageView getSprite() {
-        return sprite;
+    public void setDamage(int damage) {
+        this.damage = damage;
     }
 
     public double getRadius() {
@@ -139,8 +199,8 @@ public class Bullet extends Character {
     @Override
     public String toString() {
         return String.format("Bullet[position=(%f,%f), velocity=(%f,%f), active=%b, isEnemy=%b]",
-                position.getX(), position.getY(),
-                velocity.getX(), velocity.getY(),
+                x, y,
+                vx, vy,
                 active, isEnemyBullet);
     }
 
@@ -148,7 +208,7 @@ public class Bullet extends Character {
      * Disposes of any resources used by this bullet.
      */
     public void dispose() {
-        sprite.setImage(null);
+        frame = null;
         active = false;
         logger.debug("Bullet disposed");
     }
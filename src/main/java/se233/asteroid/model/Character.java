@@ -1,12 +1,16 @@
 package se233.asteroid.model;
 
-import javafx.application.Platform;
-import javafx.scene.control.Alert;
 import javafx.geometry.Point2D;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import se233.asteroid.core.SnapshotInput;
+import se233.asteroid.core.SnapshotOutput;
+import se233.asteroid.util.FrameSetRegistry;
+import se233.asteroid.util.MutableVector2D;
+import se233.asteroid.util.SpriteFrame;
+
+import java.io.IOException;
 
 public abstract class Character {
     private static final Logger logger = LogManager.getLogger(Character.class);
@@ -15,180 +19,392 @@ public abstract class Character {
     protected static final double SCREEN_WIDTH = 800.0;
     protected static final double SCREEN_HEIGHT = 600.0;
 
-    // Movement constants
+    // Simulation step the per-frame movement constants below are tuned for
+    public static final double REFERENCE_STEP = 1.0 / 60.0;
+
+    // Movement constants, per reference step
     protected static final double MOVEMENT_SPEED = 5.0;
     protected static final double ROTATION_SPEED = 5.0;
     protected static final double FRICTION = 0.98;
     protected static final double MAX_SPEED = 10.0;
 
-    // Core properties
-    protected Point2D position;
-    protected Point2D velocity;
+    // Core properties, kept as primitives so movement does not allocate
+    protected double x;
+    protected double y;
+    protected double vx;
+    protected double vy;
     protected double rotation;
-    public ImageView sprite;
     protected double hitRadius;
     protected boolean isAlive;
     protected boolean debugMode;
 
+    // What the view draws, as plain state; the view's EntitySprites puts it on a node
+    protected SpriteFrame frame;
+    protected double spriteWidth;  // 0 leaves the frame at its own size
+    protected double spriteHeight;
+    protected double spriteOpacity = 1;
+    protected boolean spriteVisible = true;
+
+    // Scratch vector for subclasses' per-frame math
+    protected final MutableVector2D scratch = new MutableVector2D();
+
+    // Point2D views handed out by getPosition()/getVelocity(), rebuilt only after a change
+    private Point2D positionView;
+    private Point2D velocityView;
+
+    // Set while an EntityStore owns this character's position and velocity
+    private EntityStore store;
+    private int storeHandle = EntityStore.NO_HANDLE;
+
     public Character(String spritePath, Point2D position, double hitRadius) {
         try {
-            // Initialize sprite
-            Image image = new Image(getClass().getResourceAsStream(spritePath));
-            this.sprite = new ImageView(image);
-            this.sprite.setPreserveRatio(true);
+            // Initialize the frame from its atlas region (or the shared asset cache)
+            this.frame = FrameSetRegistry.getSprite(spritePath);
 
             // Initialize properties
-            this.position = position;
-            this.velocity = new Point2D(0, 0);
+            this.x = position.getX();
+            this.y = position.getY();
+            this.vx = 0;
+            this.vy = 0;
             this.rotation = 0;
             this.hitRadius = hitRadius;
             this.isAlive = true;
             this.debugMode = false;
 
-            // Set initial sprite position
-            updateSpritePosition();
-            updateSpriteRotation();
-
         } catch (Exception e) {
             logger.error("Failed to load sprite: " + spritePath, e);
         }
     }
 
+    /**
+     * Advances one reference step; see {@link #update(double)}.
+     */
     public void update() {
-        if (!isAlive) return;
+        update(REFERENCE_STEP);
+    }
+
+    /**
+     * Advances the character by {@code dt} seconds of simulation time; same as
+     * {@link #simulate(double)}.
+     */
+    public void update(double dt) {
+        simulate(dt);
+    }
+
+    /**
+     * Moves the character using only its own fields. Nothing shared is touched, so a job
+     * system may run it for many characters on worker threads at once. Characters own no
+     * scene nodes: the view reads the position, rotation and sprite state once per rendered
+     * frame and draws them.
+     */
+    public void simulate(double dt) {
+        if (!isAlive || store != null) return; // a store-backed character was moved by EntityStore.integrate()
+
+        double steps = dt / REFERENCE_STEP;
 
         // Apply friction to velocity
-        velocity = velocity.multiply(FRICTION);
+        applyFriction(FRICTION, steps);
 
         // Limit maximum speed
-        if (velocity.magnitude() > MAX_SPEED) {
-            velocity = velocity.normalize().multiply(MAX_SPEED);
-        }
+        limitSpeed(MAX_SPEED);
 
         // Update position with velocity
-        position = position.add(velocity);
+        x += vx * steps;
+        y += vy * steps;
 
         // Handle screen wrapping
         wrapPosition();
+    }
+
+    /**
+     * Writes everything the simulation reads from this character, for a replay keyframe.
+     * Subclasses add their own state after calling this; {@link #readState(SnapshotInput)}
+     * reads it back in the same order. The sprite state is not part of it; it follows from
+     * the state that is.
+     */
+    public void writeState(SnapshotOutput out) throws IOException {
+        out.writeDouble(x);
+        out.writeDouble(y);
+        out.writeDouble(vx);
+        out.writeDouble(vy);
+        out.writeDouble(rotation);
+        out.writeBoolean(isAlive);
+    }
 
-        // Update visual elements
-        updateSpritePosition();
-        updateSpriteRotation();
+    public void readState(SnapshotInput in) throws IOException {
+        x = in.readDouble();
+        y = in.readDouble();
+        vx = in.readDouble();
+        vy = in.readDouble();
+        rotation = in.readDouble();
+        isAlive = in.readBoolean();
+        if (store != null) {
+            store.setPosition(storeHandle, x, y);
+            store.setVelocity(storeHandle, vx, vy);
+        }
     }
 
-    protected void wrapPosition() {
-        double newX = position.getX();
-        double newY = position.getY();
+    /**
+     * Applies a per-reference-step friction factor over {@code steps} reference steps.
+     */
+    protected void applyFriction(double friction, double steps) {
+        double factor = steps == 1.0 ? friction : Math.pow(friction, steps);
+        vx *= factor;
+        vy *= factor;
+    }
+
+    protected void limitSpeed(double maxSpeed) {
+        double speedSquared = vx * vx + vy * vy;
+        if (speedSquared > maxSpeed * maxSpeed) {
+            double factor = maxSpeed / Math.sqrt(speedSquared);
+            vx *= factor;
+            vy *= factor;
+        }
+    }
 
+    protected void wrapPosition() {
         // Wrap horizontally
-        if (newX < 0) newX = SCREEN_WIDTH;
-        else if (newX > SCREEN_WIDTH) newX = 0;
+        if (x < 0) x = SCREEN_WIDTH;
+        else if (x > SCREEN_WIDTH) x = 0;
 
         // Wrap vertically
-        if (newY < 0) newY = SCREEN_HEIGHT;
-        else if (newY > SCREEN_HEIGHT) newY = 0;
-
-        // Only update if position changed
-        if (newX != position.getX() || newY != position.getY()) {
-            position = new Point2D(newX, newY);
-        }
+        if (y < 0) y = SCREEN_HEIGHT;
+        else if (y > SCREEN_HEIGHT) y = 0;
     }
 
     public boolean collidesWith(Character other) {
         if (!isAlive || !other.isAlive) return false;
 
-        double distance = position.distance(other.getPosition());
-        boolean collision = distance < (this.hitRadius + other.hitRadius);
+        double dx = x - other.x;
+        double dy = y - other.y;
+        double reach = this.hitRadius + other.hitRadius;
+        boolean collision = dx * dx + dy * dy < reach * reach;
 
         if (collision && debugMode) {
-            logger.debug("Collision detected between characters at {} and {}", position, other.getPosition());
+            logger.debug("Collision detected between characters at ({}, {}) and ({}, {})",
+                    Unbox.box(x), Unbox.box(y), Unbox.box(other.x), Unbox.box(other.y));
         }
 
         return collision;
     }
 
-    /**
-     * Updates the sprite's position to match the character's position.
-     */
-    protected void updateSpritePosition() {
-        if (sprite != null) {
-            double width = sprite.getBoundsInLocal().getWidth();
-            double height = sprite.getBoundsInLocal().getHeight();
-            sprite.setTranslateX(position.getX() - width/2);
-            sprite.setTranslateY(position.getY() - height/2);
-        }
-    }
-
-    protected void updateSpriteRotation() {
-        if (sprite != null) {
-            sprite.setRotate(rotation);
+    protected void setFrame(SpriteFrame frame) {
+        if (frame != null && frame.image() != null) {
+            this.frame = frame;
+        } else {
+            logger.warn("Attempted to set a null frame");
         }
     }
 
-    protected void setImage(Image image) {
-        if (sprite != null && image != null) {
-            sprite.setImage(image);
-        } else {
-            logger.warn("Attempted to set null image or sprite is null");
-        }
+    protected void setSpriteSize(double width, double height) {
+        this.spriteWidth = width;
+        this.spriteHeight = height;
     }
 
     // Movement methods
     public void moveLeft() {
-        velocity = velocity.add(new Point2D(-MOVEMENT_SPEED, 0));
+        vx -= MOVEMENT_SPEED;
     }
 
     public void moveRight() {
-        velocity = velocity.add(new Point2D(MOVEMENT_SPEED, 0));
+        vx += MOVEMENT_SPEED;
     }
 
     public void moveUp() {
-        velocity = velocity.add(new Point2D(0, -MOVEMENT_SPEED));
+        vy -= MOVEMENT_SPEED;
     }
 
     public void moveDown() {
-        velocity = velocity.add(new Point2D(0, MOVEMENT_SPEED));
+        vy += MOVEMENT_SPEED;
     }
 
     public void rotateLeft() {
         rotation = (rotation - ROTATION_SPEED + 360) % 360;
-        updateSpriteRotation();
     }
 
     public void rotateRight() {
         rotation = (rotation + ROTATION_SPEED) % 360;
-        updateSpriteRotation();
     }
 
     // Getters and setters
+
+    /**
+     * Compatibility view of the position. The same instance is returned until the
+     * entity moves, so callers may hold on to it but should not expect it to update.
+     */
     public Point2D getPosition() {
-        return position;
+        Point2D view = positionView;
+        if (view == null || view.getX() != x || view.getY() != y) {
+            view = new Point2D(x, y);
+            positionView = view;
+        }
+        return view;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
     }
 
     public void setPosition(Point2D position) {
-        this.position = position;
-        updateSpritePosition();
+        setPosition(position.getX(), position.getY());
+    }
+
+    /**
+     * Moves the character. The sprite follows when the view next draws it.
+     */
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+        if (store != null) {
+            store.setPosition(storeHandle, x, y);
+        }
     }
 
+    /**
+     * Compatibility view of the velocity, cached the same way as {@link #getPosition()}.
+     */
     public Point2D getVelocity() {
-        return velocity;
+        Point2D view = velocityView;
+        if (view == null || view.getX() != vx || view.getY() != vy) {
+            view = new Point2D(vx, vy);
+            velocityView = view;
+        }
+        return view;
+    }
+
+    public double getVelocityX() {
+        return vx;
+    }
+
+    public double getVelocityY() {
+        return vy;
     }
 
     public void setVelocity(Point2D velocity) {
-        this.velocity = velocity;
+        setVelocity(velocity.getX(), velocity.getY());
+    }
+
+    public void setVelocity(double vx, double vy) {
+        this.vx = vx;
+        this.vy = vy;
+        if (store != null) {
+            store.setVelocity(storeHandle, vx, vy);
+        }
+    }
+
+    void attachStore(EntityStore store, int handle) {
+        this.store = store;
+        this.storeHandle = handle;
+    }
+
+    void detachStore() {
+        this.store = null;
+        this.storeHandle = EntityStore.NO_HANDLE;
+    }
+
+    /**
+     * Takes this character out of its EntityStore, if any, keeping its current state.
+     */
+    protected void leaveStore() {
+        if (store != null) {
+            store.detach(this);
+        }
+    }
+
+    public EntityStore getStore() {
+        return store;
+    }
+
+    public int getStoreHandle() {
+        return storeHandle;
+    }
+
+    public boolean isStoreBacked() {
+        return store != null;
     }
 
     public double getRotation() {
         return rotation;
     }
 
+    /**
+     * Turns the character. The sprite follows when the view next draws it.
+     */
     public void setRotation(double rotation) {
         this.rotation = rotation;
-        updateSpriteRotation();
     }
 
-    public ImageView getSprite() {
-        return sprite;
+    // Sprite state, read by the view once per rendered frame
+
+    /**
+     * The frame to draw, or null for nothing.
+     */
+    public SpriteFrame getFrame() {
+        return frame;
+    }
+
+    /**
+     * Size of the box the frame is fitted into, keeping its aspect ratio; 0 leaves that
+     * side at the frame's own size.
+     */
+    public double getSpriteWidth() {
+        return spriteWidth;
+    }
+
+    public double getSpriteHeight() {
+        return spriteHeight;
+    }
+
+    /**
+     * Width the frame is drawn at, after fitting it into the sprite size.
+     */
+    public double getDisplayWidth() {
+        return displaySize(true);
+    }
+
+    public double getDisplayHeight() {
+        return displaySize(false);
+    }
+
+    // Same sizing rules as ImageView's fitWidth/fitHeight with preserveRatio
+    private double displaySize(boolean horizontal) {
+        SpriteFrame shown = getFrame();
+        if (shown == null) return 0;
+        double sourceWidth = shown.getWidth();
+        double sourceHeight = shown.getHeight();
+        double width = getSpriteWidth();
+        double height = getSpriteHeight();
+        if (sourceWidth <= 0 || sourceHeight <= 0 || (width <= 0 && height <= 0)) {
+            return horizontal ? sourceWidth : sourceHeight;
+        }
+        double fit;
+        if (width <= 0) {
+            fit = height / sourceHeight;
+        } else if (height <= 0) {
+            fit = width / sourceWidth;
+        } else {
+            fit = Math.min(width / sourceWidth, height / sourceHeight);
+        }
+        return (horizontal ? sourceWidth : sourceHeight) * fit;
+    }
+
+    /**
+     * Angle the frame is drawn at, in degrees.
+     */
+    public double getSpriteRotation() {
+        return rotation;
+    }
+
+    public double getSpriteOpacity() {
+        return spriteOpacity;
+    }
+
+    public boolean isSpriteVisible() {
+        return spriteVisible;
     }
 
     public double getHitRadius() {
@@ -1,19 +1,28 @@
 package se233.asteroid.model;
 
 import javafx.geometry.Point2D;
-import javafx.geometry.Rectangle2D;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-
+import org.apache.logging.log4j.util.Unbox;
+import se233.asteroid.core.SnapshotInput;
+import se233.asteroid.core.SnapshotOutput;
+import se233.asteroid.util.FrameSetRegistry;
+import se233.asteroid.util.GameContext;
+import se233.asteroid.util.LogSampler;
+import se233.asteroid.util.MutableVector2D;
+import se233.asteroid.util.SpriteFrame;
+import se233.asteroid.util.SpriteSheet;
+
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
 public class Enemy extends Character {
     private static final Logger logger = LogManager.getLogger(Enemy.class);
+    private static final LogSampler SHOOT_LOG = LogSampler.perSecond(2);
+    private static final LogSampler EXPLOSION_LOG = LogSampler.perSecond(2);
 
     // Movement constants
     // Update movement constants for regular enemy
@@ -40,10 +49,18 @@ public class Enemy extends Character {
     private static final String SECOND_TIER_ENEMY_SPRITE = "/se233/asteroid/assets/Enemy/Second-tier_enemy.png";
     private static final String REGULAR_EXPLOSION_SPRITE = "/se233/asteroid/assets/Enemy/Enemy_Explosion.png";
     private static final String SECOND_TIER_EXPLOSION_SPRITE = "/se233/asteroid/assets/Enemy/Explosion_second.png";
+    public static final List<String> ASSET_PATHS = List.of(REGULAR_ENEMY_SPRITE, SECOND_TIER_ENEMY_SPRITE, REGULAR_EXPLOSION_SPRITE, SECOND_TIER_EXPLOSION_SPRITE, BULLET_SPRITE_PATH);
 
     // Animation constants
     private static final double EXPLOSION_FRAME_DURATION = 0.06; // Faster explosion (60ms per frame)
     private static final int EXPLOSION_FRAME_COUNT = 9; // Match the sprite sheet frame count
+    private static final SpriteSheet REGULAR_EXPLOSION_SHEET = SpriteSheet.row(REGULAR_EXPLOSION_SPRITE, EXPLOSION_FRAME_COUNT);
+    private static final SpriteSheet SECOND_TIER_EXPLOSION_SHEET = SpriteSheet.row(SECOND_TIER_EXPLOSION_SPRITE, EXPLOSION_FRAME_COUNT);
+    public static final List<SpriteSheet> SPRITE_SHEETS = List.of(REGULAR_EXPLOSION_SHEET, SECOND_TIER_EXPLOSION_SHEET);
+
+    // One pool per tier
+    private static final EntityPool<Enemy> REGULAR_POOL = new EntityPool<>("Enemy", () -> new Enemy(false), 0);
+    private static final EntityPool<Enemy> SECOND_TIER_POOL = new EntityPool<>("SecondTierEnemy", () -> new Enemy(true), 0);
 
     private double shootTimer;
     private final double shootInterval;
@@ -52,9 +69,11 @@ public class Enemy extends Character {
     private final boolean isSecondTier;
     private final double speed;
 
-    private final Random random;
-    private Point2D targetPosition;
-    private Map<String, Image> sprites;
+    private Random random;
+    // Player position from the last updateAI, kept in place so a moving player costs no garbage
+    private final MutableVector2D targetPosition = new MutableVector2D();
+    private boolean hasTarget;
+    private Map<String, SpriteFrame> sprites;
 
 
     private double movementTimer;
@@ -68,32 +87,86 @@ public class Enemy extends Character {
     }
 
     // Explosion properties
-    private Image[] explosionFrames;
+    private List<SpriteFrame> explosionFrames;
     private int currentExplosionFrame;
     private double explosionTimer;
     private boolean isExploding;
     private double explosionRotation;
-    private double explosionScale;
-    private Point2D explosionOffset;
 
     public Enemy(Point2D position, boolean isSecondTier) {
+        this(isSecondTier);
+        reset(position.getX(), position.getY());
+    }
+
+    // Builds the sprites only; reset() places the enemy and draws its heading
+    private Enemy(boolean isSecondTier) {
         super(
                 isSecondTier ? SECOND_TIER_ENEMY_SPRITE : REGULAR_ENEMY_SPRITE,
-                position,
+                Point2D.ZERO,
                 isSecondTier ? SECOND_TIER_HITBOX : DEFAULT_HITBOX
         );
         this.isSecondTier = isSecondTier;
         this.speed = isSecondTier ? SECOND_TIER_SPEED : DEFAULT_SPEED;
         this.shootInterval = isSecondTier ? SECOND_TIER_SHOOT_INTERVAL : DEFAULT_SHOOT_INTERVAL;
+
+        initializeSprites();
+        initializeExplosionFrames();
+    }
+
+    /**
+     * Takes an enemy of the given tier from the shared pool and places it at {@code position},
+     * drawing the same random heading a new one would. Removing it from play hands it back
+     * through {@link #release()}.
+     */
+    public static Enemy obtain(Point2D position, boolean isSecondTier) {
+        return obtain(position.getX(), position.getY(), isSecondTier);
+    }
+
+    /**
+     * Same as {@link #obtain(Point2D, boolean)}, taking coordinates.
+     */
+    public static Enemy obtain(double x, double y, boolean isSecondTier) {
+        Enemy enemy = poolFor(isSecondTier).acquire();
+        enemy.reset(x, y);
+        return enemy;
+    }
+
+    public static EntityPool<Enemy> getPool(boolean isSecondTier) {
+        return poolFor(isSecondTier);
+    }
+
+    private static EntityPool<Enemy> poolFor(boolean isSecondTier) {
+        return isSecondTier ? SECOND_TIER_POOL : REGULAR_POOL;
+    }
+
+    /**
+     * Hides the enemy and returns it to its pool.
+     */
+    public void release() {
+        isAlive = false;
+        spriteVisible = false;
+        poolFor(isSecondTier).release(this);
+    }
+
+    private void reset(double x, double y) {
+        this.x = x;
+        this.y = y;
+        this.rotation = 0;
+        this.isAlive = true;
         this.shootTimer = 0;
-        this.random = new Random();
+        this.random = GameContext.random();
         this.isExploding = false;
+        this.currentExplosionFrame = 0;
+        this.explosionTimer = 0;
         this.movementTimer = 0;
         this.currentState = MovementState.RANDOM_MOVE;
+        this.hasTarget = false;
         this.moveDirection = getRandomDirection();
 
-        initializeSprites();
-        initializeExplosionFrames();
+        // An exploded enemy was hidden past its last explosion frame
+        this.frame = sprites.get("normal");
+        this.spriteVisible = true;
+
         initializeVelocity();
     }
 
@@ -107,23 +180,14 @@ public class Enemy extends Character {
         sprites = new HashMap<>();
         try {
             // Load normal state sprite
-            Image normalSprite = new Image(getClass().getResourceAsStream(
+            SpriteFrame normalSprite = FrameSetRegistry.getSprite(
                     isSecondTier ? SECOND_TIER_ENEMY_SPRITE : REGULAR_ENEMY_SPRITE
-            ));
+            );
             sprites.put("normal", normalSprite);
 
             // Set initial sprite
-            sprite.setImage(sprites.get("normal"));
-
-            // Center the sprite properly
-            sprite.setFitWidth(30);  // ปรับขนาดให้เหมาะสม
-            sprite.setFitHeight(30); // ปรับขนาดให้เหมาะสม
-            sprite.setPreserveRatio(true);
-
-            // Center the sprite
-            sprite.setRotate(0);
-            sprite.setTranslateX(-normalSprite.getWidth() / 2);
-            sprite.setTranslateY(-normalSprite.getHeight() / 2);
+            setFrame(normalSprite);
+            setSpriteSize(30, 30); // ปรับขนาดให้เหมาะสม
 
         } catch (Exception e) {
             logger.error("Failed to load enemy sprites: {}", e.getMessage());
@@ -131,65 +195,58 @@ public class Enemy extends Character {
     }
 
     private void initializeExplosionFrames() {
-        explosionFrames = new Image[EXPLOSION_FRAME_COUNT];
-        try {
-            // Load explosion sprite sheet
-            String explosionPath = isSecondTier ? SECOND_TIER_EXPLOSION_SPRITE : REGULAR_EXPLOSION_SPRITE;
-            Image explosionSheet = new Image(getClass().getResourceAsStream(explosionPath));
-
-            double frameWidth = explosionSheet.getWidth() / EXPLOSION_FRAME_COUNT;
-            double frameHeight = explosionSheet.getHeight();
-
-            // Extract each frame with proper transparency
-            for (int i = 0; i < EXPLOSION_FRAME_COUNT; i++) {
-                SnapshotParameters params = new SnapshotParameters();
-                params.setFill(javafx.scene.paint.Color.TRANSPARENT);
-                params.setViewport(new Rectangle2D(i * frameWidth, 0, frameWidth, frameHeight));
-
-                ImageView frameView = new ImageView(explosionSheet);
-                frameView.setViewport(new Rectangle2D(i * frameWidth, 0, frameWidth, frameHeight));
+        // Shared atlas regions or pre-cropped frames; an unreadable sheet gives an empty set
+        explosionFrames = FrameSetRegistry.getSprites(isSecondTier ? SECOND_TIER_EXPLOSION_SHEET : REGULAR_EXPLOSION_SHEET);
+    }
 
-                // Center the frame
-                frameView.setTranslateX(-frameWidth / 2);
-                frameView.setTranslateY(-frameHeight / 2);
+    /**
+     * Resolves both explosion sheets in the shared frame registry ahead of the first enemy.
+     */
+    public static void warmUpExplosionFrames() {
+        FrameSetRegistry.getSprites(REGULAR_EXPLOSION_SHEET);
+        FrameSetRegistry.getSprites(SECOND_TIER_EXPLOSION_SHEET);
+    }
 
-                explosionFrames[i] = frameView.snapshot(params, null);
-            }
-        } catch (Exception e) {
-            logger.error("Failed to load explosion sprites: {}", e.getMessage());
+    // While exploding, the explosion frame for its progress, or nothing past the end of the sheet
+    @Override
+    public SpriteFrame getFrame() {
+        if (isExploding) {
+            return currentExplosionFrame < explosionFrames.size() ? explosionFrames.get(currentExplosionFrame) : null;
         }
+        return frame;
     }
 
     private void initializeVelocity() {
         double angle = random.nextDouble() * 2 * Math.PI;
-        double vx = Math.cos(angle) * speed;
-        double vy = Math.sin(angle) * speed;
-        this.velocity = new Point2D(vx, vy);
+        this.vx = Math.cos(angle) * speed;
+        this.vy = Math.sin(angle) * speed;
     }
 
+    // Movement, AI, timers and the explosion's progress only touch this enemy's fields,
+    // so they may run on a worker
     @Override
-    public void update() {
+    public void simulate(double dt) {
+        if (!isAlive) return;
         if (isExploding) {
-            updateExplosion();
+            updateExplosion(dt);
             return;
         }
 
-        if (!isAlive ) return;
-
-
         updateMovement();
-        updateShootTimer();
-        super.update();
+        updateShootTimer(dt);
+        super.simulate(dt);
     }
-    private void updateShootTimer() {
+
+
+    private void updateShootTimer(double dt) {
         if (shootTimer > 0) {
-            shootTimer -= 0.016; // Assuming 60 FPS (1/60 ≈ 0.016)
+            shootTimer -= dt;
         }
     }
 
 
     public EnemyBullet enemyshoot() {
-        if (!isAlive || isExploding || shootTimer > 0 || targetPosition == null) {
+        if (!isAlive || isExploding || shootTimer > 0 || !hasTarget) {
             return null;
         }
 
@@ -197,77 +254,91 @@ public class Enemy extends Character {
         shootTimer = shootInterval;
 
         // Calculate direction to target with some randomness
-        Point2D directionToTarget = targetPosition.subtract(position);
+        double angle = Math.atan2(targetPosition.y - y, targetPosition.x - x);
 
         // Add random deviation based on accuracy
-        double angle = Math.atan2(directionToTarget.getY(), directionToTarget.getX());
         double randomDeviation = (1.0 - SHOOT_ACCURACY) * (random.nextDouble() - 0.5) * Math.PI;
         angle += randomDeviation;
 
-        Point2D shootDirection = new Point2D(Math.cos(angle), Math.sin(angle)).normalize();
+        double directionX = Math.cos(angle);
+        double directionY = Math.sin(angle);
 
         // Create bullet position slightly in front of the enemy
-        Point2D bulletPosition = position.add(shootDirection.multiply(getHitRadius() + 5));
-
-        logger.debug("Enemy shooting bullet from position: {} towards direction: {}", bulletPosition, shootDirection);
-        return new EnemyBullet(bulletPosition, shootDirection, true);
+        double muzzleDistance = getHitRadius() + 5;
+        double bulletX = x + directionX * muzzleDistance;
+        double bulletY = y + directionY * muzzleDistance;
+
+        if (logger.isDebugEnabled() && SHOOT_LOG.allow()) {
+            logger.debug("Enemy shooting bullet from position: ({}, {}) towards direction: ({}, {}) (+{} suppressed)",
+                    Unbox.box(bulletX), Unbox.box(bulletY), Unbox.box(directionX), Unbox.box(directionY),
+                    Unbox.box(SHOOT_LOG.takeSuppressed()));
+        }
+        return EnemyBullet.obtain(bulletX, bulletY, directionX, directionY, true);
     }
 
 
-    private void updateExplosion() {
+    private void updateExplosion(double dt) {
         if (!isExploding) return;
 
-        explosionTimer += 0.016;
+        explosionTimer += dt;
         if (explosionTimer >= EXPLOSION_FRAME_DURATION) {
             explosionTimer = 0;
             currentExplosionFrame++;
 
-            if (currentExplosionFrame < EXPLOSION_FRAME_COUNT) {
-                sprite.setImage(explosionFrames[currentExplosionFrame]);
-            } else {
+            if (currentExplosionFrame >= EXPLOSION_FRAME_COUNT) {
                 completeExplosion();
             }
         }
     }
 
+    // The enemy is despawned once this has run
     private void completeExplosion() {
         isExploding = false;
         isAlive = false;
-        sprite.setScaleX(1.0);
-        sprite.setScaleY(1.0);
-        sprite.setRotate(0);
-        logger.info("Enemy explosion completed at position: {}", position);
+        if (logger.isInfoEnabled() && EXPLOSION_LOG.allow()) {
+            logger.info("Enemy explosion completed at position: ({}, {}) (+{} suppressed)",
+                    Unbox.box(x), Unbox.box(y), Unbox.box(EXPLOSION_LOG.takeSuppressed()));
+        }
     }
 
     private void updateMovement() {
-        if (targetPosition == null) return;
+        if (!hasTarget) return;
 
-        double distanceToPlayer = position.distance(targetPosition);
+        // scratch = player -> enemy
+        scratch.set(x, y).subtract(targetPosition.x, targetPosition.y);
+        double distanceToPlayer = scratch.length();
 
         if (distanceToPlayer < MIN_DISTANCE_FROM_PLAYER) {
             // ถ้าอยู่ใกล้เกินไป ให้เคลื่อนที่ออกห่าง
-            Point2D awayFromPlayer = position.subtract(targetPosition).normalize();
-            velocity = awayFromPlayer.multiply(speed);
+            scratch.normalize().scale(speed);
         } else if (distanceToPlayer > MAX_DISTANCE_FROM_PLAYER) {
             // ถ้าอยู่ไกลเกินไป ให้เคลื่อนที่เข้าใกล้
-            Point2D towardsPlayer = targetPosition.subtract(position).normalize();
-            velocity = towardsPlayer.multiply(speed);
+            scratch.normalize().scale(-speed);
         } else {
             // ถ้าอยู่ในระยะที่เหมาะสม ให้เคลื่อนที่แบบสุ่ม
-            velocity = moveDirection.multiply(speed);
+            scratch.set(moveDirection).scale(speed);
         }
+        vx = scratch.x;
+        vy = scratch.y;
 
-        // หมุนยานให้หันไปทางที่กำลังเคลื่อนที่
-        rotation = Math.toDegrees(Math.atan2(velocity.getY(), velocity.getX()));
-        sprite.setRotate(rotation);
+        // หมุนยานให้หันไปทางที่กำลังเคลื่อนที่ (the sprite follows when it is next drawn)
+        rotation = Math.toDegrees(Math.atan2(vy, vx));
     }
 
 
     public void updateAI(Point2D playerPosition) {
+        updateAI(playerPosition.getX(), playerPosition.getY());
+    }
+
+    /**
+     * Same as {@link #updateAI(Point2D)}, taking the player's coordinates.
+     */
+    public void updateAI(double playerX, double playerY) {
         if (isExploding || !isAlive) return;
 
         // เก็บตำแหน่งผู้เล่นไว้สำหรับการอัพเดทพฤติกรรม
-        this.targetPosition = playerPosition;
+        targetPosition.set(playerX, playerY);
+        hasTarget = true;
 
         // อัพเดทการเคลื่อนที่
         updateMovement();
@@ -280,17 +351,54 @@ public class Enemy extends Character {
             isExploding = true;
             currentExplosionFrame = 0;
             explosionTimer = 0;
-            explosionRotation = Math.random() * 360; // Random initial rotation
-            explosionScale = 1.0;
-            explosionOffset = new Point2D(0, 0);
-            velocity = new Point2D(0, 0); // Stop movement
-            sprite.setImage(explosionFrames[0]);
-            logger.info("Enemy hit and starting enhanced explosion animation at position: {}", position);
+            explosionRotation = random.nextDouble() * 360; // Random initial rotation
+            vx = 0; // Stop movement
+            vy = 0;
+            if (logger.isInfoEnabled() && EXPLOSION_LOG.allow()) {
+                logger.info("Enemy hit and starting enhanced explosion animation at position: ({}, {}) (+{} suppressed)",
+                        Unbox.box(x), Unbox.box(y), Unbox.box(EXPLOSION_LOG.takeSuppressed()));
+            }
         }
     }
 
 
 
+    @Override
+    public void writeState(SnapshotOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(shootTimer);
+        out.writeDouble(movementTimer);
+        out.writeByte(currentState.ordinal());
+        out.writeDouble(moveDirection.getX());
+        out.writeDouble(moveDirection.getY());
+        out.writeBoolean(hasTarget);
+        if (hasTarget) {
+            out.writeDouble(targetPosition.x);
+            out.writeDouble(targetPosition.y);
+        }
+        out.writeBoolean(isExploding);
+        out.writeVarLong(currentExplosionFrame);
+        out.writeDouble(explosionTimer);
+        out.writeDouble(explosionRotation);
+    }
+
+    @Override
+    public void readState(SnapshotInput in) throws IOException {
+        super.readState(in);
+        shootTimer = in.readDouble();
+        movementTimer = in.readDouble();
+        currentState = MovementState.values()[in.readByte()];
+        moveDirection = new Point2D(in.readDouble(), in.readDouble());
+        hasTarget = in.readBoolean();
+        if (hasTarget) {
+            targetPosition.set(in.readDouble(), in.readDouble());
+        }
+        isExploding = in.readBoolean();
+        currentExplosionFrame = (int) in.readVarLong();
+        explosionTimer = in.readDouble();
+        explosionRotation = in.readDouble();
+    }
+
     // Additional getters for explosion state
     public boolean isExploding() {
         return isExploding;
@@ -311,12 +419,15 @@ public class Enemy extends Character {
     }
 
 
-    public void setVelocity(Point2D velocity) {
-        this.velocity = velocity.normalize().multiply(speed);
+    @Override
+    public void setVelocity(double vx, double vy) {
+        scratch.set(vx, vy).normalize().scale(speed);
+        super.setVelocity(scratch.x, scratch.y);
     }
 
     public void moveTowards(Point2D target) {
-        Point2D direction = target.subtract(position).normalize();
-        this.velocity = direction.multiply(speed);
+        scratch.set(target).subtract(x, y).normalize().scale(speed);
+        this.vx = scratch.x;
+        this.vy = scratch.y;
     }
 }
\ No newline at end of file
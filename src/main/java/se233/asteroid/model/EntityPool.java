@@ -0,0 +1,98 @@
+package se233.asteroid.model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Free list of reusable entities: projectiles, and the rocks and enemies that every
+ * wave spawns and clears. {@link #acquire()} hands out a pooled instance, creating a
+ * new one only when the pool is empty, and {@link #release} puts it back. Callers are
+ * expected to reset the entity after acquiring it.
+ *
+ * The pool only holds idle entities; one that is never released is simply
+ * garbage collected. Releasing the same instance twice is ignored, so every removal
+ * path may release without coordinating with the others.
+ */
+public class EntityPool<T extends Character> {
+    private static final Logger logger = LogManager.getLogger(EntityPool.class);
+
+    // Prefill size for the projectile pools; rocks and enemies start empty
+    public static final int DEFAULT_SIZE = Integer.getInteger("asteroid.projectilePool.size", 32);
+
+    private final String name;
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> free;
+    // Identity-based so membership checks never call equals/hashCode on entities
+    private final Set<T> freeSet;
+
+    // Statistics
+    private long createdCount;
+    private long acquiredCount;
+    private long releasedCount;
+
+    public EntityPool(String name, Supplier<T> factory, int initialSize) {
+        this.name = name;
+        this.factory = factory;
+        this.free = new ArrayDeque<>(Math.max(initialSize, 16));
+        this.freeSet = Collections.newSetFromMap(new IdentityHashMap<>(Math.max(initialSize, 16)));
+        prefill(initialSize);
+    }
+
+    /**
+     * Creates entities until at least {@code size} are idle.
+     */
+    public void prefill(int size) {
+        while (free.size() < size) {
+            T entity = factory.get();
+            createdCount++;
+            free.push(entity);
+            freeSet.add(entity);
+        }
+    }
+
+    public T acquire() {
+        acquiredCount++;
+        T entity = free.poll();
+        if (entity == null) {
+            createdCount++;
+            logger.debug("{} pool empty, growing to {} entities", name, createdCount);
+            return factory.get();
+        }
+        freeSet.remove(entity);
+        return entity;
+    }
+
+    /**
+     * Returns an entity to the pool. Releasing an instance that is already idle does nothing.
+     */
+    public void release(T entity) {
+        if (entity == null || !freeSet.add(entity)) {
+            return;
+        }
+        free.push(entity);
+        releasedCount++;
+    }
+
+    public boolean isIdle(T entity) {
+        return freeSet.contains(entity);
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public int getIdleCount() { return free.size(); }
+    public long getCreatedCount() { return createdCount; }
+    public long getAcquiredCount() { return acquiredCount; }
+    public long getReleasedCount() { return releasedCount; }
+
+    @Override
+    public String toString() {
+        return String.format("EntityPool[%s, idle=%d, created=%d, acquired=%d, released=%d]",
+                name, free.size(), createdCount, acquiredCount, releasedCount);
+    }
+}
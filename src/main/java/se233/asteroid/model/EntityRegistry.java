@@ -0,0 +1,179 @@
+package se233.asteroid.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * The entities of a running game, kept in one bucket per kind so each pass walks only
+ * the kind it needs: rocks, enemies, player bullets, enemy bullets and missiles. A count
+ * per {@link Type} is updated on every add and removal, so wave completion and spawn
+ * caps read a counter instead of scanning the field.
+ *
+ * Asteroids and meteors share the rock bucket, and regular and second-tier enemies the
+ * enemy bucket, because the update jobs index one list per kind; their counts are kept
+ * apart. Buckets are read-only views, and everything that changes them goes through the
+ * registry so the counts cannot drift. Not thread-safe: jobs may read the buckets while
+ * nothing changes them.
+ */
+public class EntityRegistry {
+
+    public enum Type {
+        ASTEROID, METEOR, ENEMY, SECOND_TIER_ENEMY, BULLET, ENEMY_BULLET, MISSILE;
+
+        public static Type of(Character entity) {
+            if (entity instanceof Asteroid rock) {
+                return rock.getType() == Asteroid.Type.METEOR ? METEOR : ASTEROID;
+            } else if (entity instanceof Enemy enemy) {
+                return enemy.isSecondTier() ? SECOND_TIER_ENEMY : ENEMY;
+            } else if (entity instanceof Bullet) {
+                return BULLET;
+            } else if (entity instanceof EnemyBullet) {
+                return ENEMY_BULLET;
+            } else if (entity instanceof SpecialAttack) {
+                return MISSILE;
+            }
+            throw new IllegalArgumentException("Not a registry entity: " + entity);
+        }
+    }
+
+    /**
+     * A read-only, randomly accessible view of one kind's entities, in the order they
+     * were added.
+     */
+    public static final class Bucket<T extends Character> extends AbstractList<T> implements RandomAccess {
+        private final ArrayList<T> entries = new ArrayList<>();
+
+        private Bucket() {
+        }
+
+        @Override
+        public T get(int index) {
+            return entries.get(index);
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+    }
+
+    private final Bucket<Asteroid> rocks = new Bucket<>();
+    private final Bucket<Enemy> enemies = new Bucket<>();
+    private final Bucket<Bullet> bullets = new Bucket<>();
+    private final Bucket<EnemyBullet> enemyBullets = new Bucket<>();
+    private final Bucket<SpecialAttack> missiles = new Bucket<>();
+    private final int[] counts = new int[Type.values().length];
+
+    public void add(Asteroid rock) {
+        add(rocks, rock);
+    }
+
+    public void add(Enemy enemy) {
+        add(enemies, enemy);
+    }
+
+    public void add(Bullet bullet) {
+        add(bullets, bullet);
+    }
+
+    public void add(EnemyBullet bullet) {
+        add(enemyBullets, bullet);
+    }
+
+    public void add(SpecialAttack missile) {
+        add(missiles, missile);
+    }
+
+    private <T extends Character> void add(Bucket<T> bucket, T entity) {
+        bucket.entries.add(entity);
+        counts[Type.of(entity).ordinal()]++;
+    }
+
+    /**
+     * @return false if the entity was not registered
+     */
+    public boolean remove(Character entity) {
+        Type type = Type.of(entity);
+        if (!bucketOf(type).entries.remove(entity)) {
+            return false;
+        }
+        counts[type.ordinal()]--;
+        return true;
+    }
+
+    /**
+     * Removes every entity of the bucket that {@code filter} accepts, keeping the order
+     * of the rest. The filter may do the removal's side effects (hiding the sprite,
+     * releasing to a pool) but must not change the registry.
+     *
+     * @return how many were removed
+     */
+    public <T extends Character> int removeIf(Bucket<T> bucket, Predicate<? super T> filter) {
+        ArrayList<T> entries = bucket.entries;
+        int write = 0;
+        int size = entries.size();
+        for (int read = 0; read < size; read++) {
+            T entity = entries.get(read);
+            if (filter.test(entity)) {
+                counts[Type.of(entity).ordinal()]--;
+            } else {
+                entries.set(write++, entity);
+            }
+        }
+        for (int i = size - 1; i >= write; i--) {
+            entries.remove(i);
+        }
+        return size - write;
+    }
+
+    public void clear(Bucket<?> bucket) {
+        for (int i = 0; i < bucket.entries.size(); i++) {
+            counts[Type.of(bucket.entries.get(i)).ordinal()]--;
+        }
+        bucket.entries.clear();
+    }
+
+    public void clear() {
+        rocks.entries.clear();
+        enemies.entries.clear();
+        bullets.entries.clear();
+        enemyBullets.entries.clear();
+        missiles.entries.clear();
+        Arrays.fill(counts, 0);
+    }
+
+    private Bucket<? extends Character> bucketOf(Type type) {
+        return switch (type) {
+            case ASTEROID, METEOR -> rocks;
+            case ENEMY, SECOND_TIER_ENEMY -> enemies;
+            case BULLET -> bullets;
+            case ENEMY_BULLET -> enemyBullets;
+            case MISSILE -> missiles;
+        };
+    }
+
+    public int count(Type type) {
+        return counts[type.ordinal()];
+    }
+
+    public int getRockCount() {
+        return counts[Type.ASTEROID.ordinal()] + counts[Type.METEOR.ordinal()];
+    }
+
+    public int getEnemyCount() {
+        return counts[Type.ENEMY.ordinal()] + counts[Type.SECOND_TIER_ENEMY.ordinal()];
+    }
+
+    public int size() {
+        return rocks.size() + enemies.size() + bullets.size() + enemyBullets.size() + missiles.size();
+    }
+
+    public Bucket<Asteroid> getRocks() { return rocks; }
+    public Bucket<Enemy> getEnemies() { return enemies; }
+    public Bucket<Bullet> getBullets() { return bullets; }
+    public Bucket<EnemyBullet> getEnemyBullets() { return enemyBullets; }
+    public Bucket<SpecialAttack> getMissiles() { return missiles; }
+}
@@ -0,0 +1,538 @@
+package se233.asteroid.model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Structure-of-arrays storage for simple moving entities (asteroids, meteors, bullets).
+ * Position, velocity, radius, flags and type id live in parallel primitive arrays so the
+ * per-tick physics and the collision grid walk contiguous memory instead of chasing
+ * {@link Character} objects.
+ *
+ * Entries are addressed by stable handles. Removing an entry moves the last entry into
+ * its place (swap-remove), so the dense arrays never have holes; a handle stays valid
+ * until its own entry is removed, and a stale handle is recognised by its generation.
+ *
+ * An entry may have an owning {@link Character}. While attached, the owner's position
+ * and velocity writes go to the store, {@link #integrate} advances it, and
+ * {@link #syncOwners()} copies the result back so the owner's update() only has to
+ * place its sprite. Entries without an owner are plain data, e.g. for stress scenes.
+ */
+public class EntityStore {
+    private static final Logger logger = LogManager.getLogger(EntityStore.class);
+
+    public static final String PROPERTY = "asteroid.entityStore";
+    public static final int NO_HANDLE = -1;
+
+    // Type ids, usable as bits in a query type mask
+    public static final int TYPE_ASTEROID = 1;
+    public static final int TYPE_METEOR = 1 << 1;
+    public static final int TYPE_BULLET = 1 << 2;
+    public static final int TYPE_ENEMY_BULLET = 1 << 3;
+    public static final int TYPE_ANY = -1;
+
+    // Flags
+    public static final int FLAG_INTEGRATE = 1;      // advanced by integrate()
+    public static final int FLAG_WRAP = 1 << 1;      // wraps at the playfield edges like Character
+    public static final int FLAG_COLLIDABLE = 1 << 2; // indexed by buildGrid()
+
+    private static final int SLOT_BITS = 24;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+    private static final int EMPTY = -1;
+
+    // Dense component arrays, valid for [0, size)
+    private double[] x;
+    private double[] y;
+    private double[] vx;
+    private double[] vy;
+    private double[] radius;
+    private double[] damping;
+    private double[] maxSpeed;
+    private int[] flags;
+    private int[] types;
+    private Character[] owners;
+    private int[] denseToSlot;
+    private int size;
+
+    // Handle slots: slotToDense[slot] is the dense index, or the next free slot while unused
+    private int[] slotToDense;
+    private int[] generations;
+    private int freeSlot = EMPTY;
+    private int slotCount;
+
+    // Collision grid, rebuilt by buildGrid(); gridOrder lists dense indices sorted by cell
+    private double cellSize;
+    private int columns;
+    private int rows;
+    private int[] cellStart = new int[0];
+    private int[] gridOrder = new int[0];
+    private int gridCount;
+    private double gridMaxRadius;
+    private double gridWidth;
+    private double gridHeight;
+    private boolean gridDirty;
+
+    public EntityStore() {
+        this(256);
+    }
+
+    public EntityStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        radius = new double[capacity];
+        damping = new double[capacity];
+        maxSpeed = new double[capacity];
+        flags = new int[capacity];
+        types = new int[capacity];
+        owners = new Character[capacity];
+        denseToSlot = new int[capacity];
+        slotToDense = new int[capacity];
+        generations = new int[capacity];
+    }
+
+    /**
+     * Whether games should keep their entities in a store, set with {@code -Dasteroid.entityStore=true}.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * Adds a data-only entry.
+     *
+     * @param damping  velocity multiplier applied every step (1 for none)
+     * @param maxSpeed speed cap applied after damping (0 for none)
+     * @return the new entry's handle
+     */
+    public int add(int type, int flags, double x, double y, double vx, double vy,
+                   double radius, double damping, double maxSpeed) {
+        ensureCapacity(size + 1);
+        int slot = allocateSlot();
+        int index = size++;
+
+        this.x[index] = x;
+        this.y[index] = y;
+        this.vx[index] = vx;
+        this.vy[index] = vy;
+        this.radius[index] = radius;
+        this.damping[index] = damping;
+        this.maxSpeed[index] = maxSpeed;
+        this.flags[index] = flags;
+        this.types[index] = type;
+        this.owners[index] = null;
+        this.denseToSlot[index] = slot;
+        slotToDense[slot] = index;
+        gridDirty = true;
+        return (generations[slot] << SLOT_BITS) | slot;
+    }
+
+    /**
+     * Moves a character's kinematic state into the store and attaches it, so its
+     * position and velocity are owned by the store until {@link #detach} or {@link #remove}.
+     * A character that is already attached to a store is returned unchanged.
+     */
+    public int attach(Character owner, int type, int flags, double damping, double maxSpeed) {
+        if (owner.getStoreHandle() != NO_HANDLE) {
+            return owner.getStoreHandle();
+        }
+        int handle = add(type, flags, owner.x, owner.y, owner.vx, owner.vy,
+                owner.getHitRadius(), damping, maxSpeed);
+        owners[slotToDense[handle & SLOT_MASK]] = owner;
+        owner.attachStore(this, handle);
+        return handle;
+    }
+
+    /**
+     * Attaches a character with the layout its own update() would use: asteroids and
+     * meteors drift without friction (GameView wraps them), bullets keep Character's
+     * friction, speed cap and edge wrap. Other characters are not stored.
+     *
+     * @return the handle, or {@link #NO_HANDLE} if the character type is not stored
+     */
+    public int attach(Character owner) {
+        if (owner instanceof Asteroid) {
+            int type = ((Asteroid) owner).getType() == Asteroid.Type.METEOR ? TYPE_METEOR : TYPE_ASTEROID;
+            return attach(owner, type, FLAG_INTEGRATE | FLAG_COLLIDABLE, 1.0, 0);
+        } else if (owner instanceof EnemyBullet) {
+            return attach(owner, TYPE_ENEMY_BULLET, FLAG_INTEGRATE | FLAG_WRAP | FLAG_COLLIDABLE,
+                    Character.FRICTION, Character.MAX_SPEED);
+        } else if (owner instanceof Bullet) {
+            return attach(owner, TYPE_BULLET, FLAG_INTEGRATE | FLAG_WRAP,
+                    Character.FRICTION, Character.MAX_SPEED);
+        }
+        return NO_HANDLE;
+    }
+
+    /**
+     * Removes the owner's entry, leaving the character with its last synced state.
+     */
+    public void detach(Character owner) {
+        if (owner.getStore() == this) {
+            remove(owner.getStoreHandle());
+        }
+    }
+
+    /**
+     * Removes an entry by swapping the last entry into its place.
+     *
+     * @return false if the handle was stale or already removed
+     */
+    public boolean remove(int handle) {
+        int index = indexOf(handle);
+        if (index == EMPTY) {
+            return false;
+        }
+
+        Character owner = owners[index];
+        if (owner != null) {
+            owner.x = x[index];
+            owner.y = y[index];
+            owner.vx = vx[index];
+            owner.vy = vy[index];
+            owner.detachStore();
+        }
+
+        int last = --size;
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            vx[index] = vx[last];
+            vy[index] = vy[last];
+            radius[index] = radius[last];
+            damping[index] = damping[last];
+            maxSpeed[index] = maxSpeed[last];
+            flags[index] = flags[last];
+            types[index] = types[last];
+            owners[index] = owners[last];
+            denseToSlot[index] = denseToSlot[last];
+            slotToDense[denseToSlot[index]] = index;
+        }
+        owners[last] = null;
+
+        int slot = handle & SLOT_MASK;
+        generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+        slotToDense[slot] = freeSlot;
+        freeSlot = slot;
+        gridDirty = true;
+        return true;
+    }
+
+    /**
+     * Detaches every owner and drops all entries. Outstanding handles become stale.
+     */
+    public void clear() {
+        while (size > 0) {
+            remove((generations[denseToSlot[size - 1]] << SLOT_BITS) | denseToSlot[size - 1]);
+        }
+        gridCount = 0;
+    }
+
+    /**
+     * @return the dense index of a live handle, or -1 if it is stale
+     */
+    public int indexOf(int handle) {
+        if (handle < 0) {
+            return EMPTY;
+        }
+        int slot = handle & SLOT_MASK;
+        if (slot >= slotCount || generations[slot] != handle >>> SLOT_BITS) {
+            return EMPTY;
+        }
+        int index = slotToDense[slot];
+        return index >= 0 && index < size && denseToSlot[index] == slot ? index : EMPTY;
+    }
+
+    public boolean contains(int handle) {
+        return indexOf(handle) != EMPTY;
+    }
+
+    /**
+     * Advances every entry by one reference step; see {@link #integrate(double, double, double)}.
+     */
+    public void integrate(double width, double height) {
+        integrate(Character.REFERENCE_STEP, width, height);
+    }
+
+    /**
+     * Advances every {@link #FLAG_INTEGRATE} entry by {@code dt} seconds: damping, speed cap,
+     * position update and, for {@link #FLAG_WRAP} entries, the same edge wrap as
+     * {@link Character#update(double)}. Damping and velocities are per reference step.
+     */
+    public void integrate(double dt, double width, double height) {
+        final double steps = dt / Character.REFERENCE_STEP;
+        final boolean wholeStep = steps == 1.0;
+        final double[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        final double[] damping = this.damping, maxSpeed = this.maxSpeed;
+        final int[] flags = this.flags;
+
+        for (int i = 0; i < size; i++) {
+            int f = flags[i];
+            if ((f & FLAG_INTEGRATE) == 0) continue;
+
+            double factor = wholeStep || damping[i] == 1.0 ? damping[i] : Math.pow(damping[i], steps);
+            double velocityX = vx[i] * factor;
+            double velocityY = vy[i] * factor;
+            double cap = maxSpeed[i];
+            if (cap > 0) {
+                double speedSquared = velocityX * velocityX + velocityY * velocityY;
+                if (speedSquared > cap * cap) {
+                    double scale = cap / Math.sqrt(speedSquared);
+                    velocityX *= scale;
+                    velocityY *= scale;
+                }
+            }
+            vx[i] = velocityX;
+            vy[i] = velocityY;
+
+            double px = x[i] + velocityX * steps;
+            double py = y[i] + velocityY * steps;
+            if ((f & FLAG_WRAP) != 0) {
+                if (px < 0) px = width;
+                else if (px > width) px = 0;
+                if (py < 0) py = height;
+                else if (py > height) py = 0;
+            }
+            x[i] = px;
+            y[i] = py;
+        }
+    }
+
+    /**
+     * Copies positions and velocities back into the owning characters.
+     */
+    public void syncOwners() {
+        for (int i = 0; i < size; i++) {
+            Character owner = owners[i];
+            if (owner != null) {
+                owner.x = x[i];
+                owner.y = y[i];
+                owner.vx = vx[i];
+                owner.vy = vy[i];
+            }
+        }
+    }
+
+    /**
+     * Buckets every {@link #FLAG_COLLIDABLE} entry into a uniform grid over the playfield
+     * with a counting sort, so each cell's entries are contiguous in {@code gridOrder}.
+     * Cell coordinates wrap like {@link Character#wrapPosition()}, so an entry just past
+     * one edge lands in the cells along the opposite edge. Adding or removing
+     * entries afterwards rebuilds the grid on the next query, since removal reorders entries.
+     */
+    public void buildGrid(double width, double height, double cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("Invalid grid dimensions: " + width + "x" + height + " / " + cellSize);
+        }
+        gridWidth = width;
+        gridHeight = height;
+        gridDirty = false;
+        if (this.cellSize != cellSize || columns != (int) Math.ceil(width / cellSize)
+                || rows != (int) Math.ceil(height / cellSize)) {
+            this.cellSize = cellSize;
+            this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+            this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+            this.cellStart = new int[columns * rows + 1];
+        }
+        if (gridOrder.length < size) {
+            gridOrder = new int[x.length];
+        }
+
+        int[] cellStart = this.cellStart;
+        Arrays.fill(cellStart, 0);
+        gridMaxRadius = 0;
+
+        // Count entries per cell (shifted by one so the prefix sum yields start offsets)
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & FLAG_COLLIDABLE) == 0) continue;
+            cellStart[cellIndex(x[i], y[i]) + 1]++;
+            gridMaxRadius = Math.max(gridMaxRadius, radius[i]);
+        }
+        for (int c = 1; c < cellStart.length; c++) {
+            cellStart[c] += cellStart[c - 1];
+        }
+        gridCount = cellStart[cellStart.length - 1];
+
+        // Scatter, using the start offsets as write cursors, then shift them back
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & FLAG_COLLIDABLE) == 0) continue;
+            gridOrder[cellStart[cellIndex(x[i], y[i])]++] = i;
+        }
+        for (int c = cellStart.length - 1; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    /**
+     * Collects the owners of gridded entries of the given types whose hit circle overlaps
+     * the circle at (px, py). Uses the grid from the last {@link #buildGrid} call.
+     *
+     * @param exclude dense index to skip (the probe's own entry), or -1
+     * @return the number of entries added to {@code out}
+     */
+    public int query(double px, double py, double probeRadius, int typeMask, int exclude, List<Character> out) {
+        return scan(px, py, probeRadius, typeMask, exclude, out);
+    }
+
+    /**
+     * Counts gridded entries of the given types overlapping a circle, for data-only entries.
+     */
+    public int countOverlaps(double px, double py, double probeRadius, int typeMask) {
+        return scan(px, py, probeRadius, typeMask, -1, null);
+    }
+
+    // Visits the cells the probe's reach covers, wrapping across the edges. With out null
+    // it only counts, data-only entries included.
+    private int scan(double px, double py, double probeRadius, int typeMask, int exclude, List<Character> out) {
+        if (gridDirty && cellSize > 0) {
+            buildGrid(gridWidth, gridHeight, cellSize);
+        }
+        if (gridCount == 0) {
+            return 0;
+        }
+        int found = 0;
+        double reach = probeRadius + gridMaxRadius;
+        int firstColumn = (int) Math.floor((px - reach) / cellSize);
+        int firstRow = (int) Math.floor((py - reach) / cellSize);
+        int columnSpan = Math.min((int) Math.floor((px + reach) / cellSize) - firstColumn, columns - 1);
+        int rowSpan = Math.min((int) Math.floor((py + reach) / cellSize) - firstRow, rows - 1);
+        int startColumn = Math.floorMod(firstColumn, columns);
+        int endColumn = startColumn + columnSpan;
+
+        for (int r = 0; r <= rowSpan; r++) {
+            int rowOffset = Math.floorMod(firstRow + r, rows) * columns;
+            found += scanCells(rowOffset + startColumn, rowOffset + Math.min(endColumn, columns - 1),
+                    px, py, probeRadius, typeMask, exclude, out);
+            // A range running off the right edge continues from the first column
+            if (endColumn >= columns) {
+                found += scanCells(rowOffset, rowOffset + endColumn - columns,
+                        px, py, probeRadius, typeMask, exclude, out);
+            }
+        }
+        return found;
+    }
+
+    // Cells firstCell..lastCell of one row are contiguous in gridOrder
+    private int scanCells(int firstCell, int lastCell, double px, double py, double probeRadius,
+                          int typeMask, int exclude, List<Character> out) {
+        int found = 0;
+        int end = cellStart[lastCell + 1];
+        for (int k = cellStart[firstCell]; k < end; k++) {
+            int i = gridOrder[k];
+            if (i == exclude || (types[i] & typeMask) == 0) continue;
+            if (out != null && owners[i] == null) continue;
+            double dx = x[i] - px;
+            double dy = y[i] - py;
+            double limit = probeRadius + radius[i];
+            if (dx * dx + dy * dy <= limit * limit) {
+                if (out != null) {
+                    out.add(owners[i]);
+                }
+                found++;
+            }
+        }
+        return found;
+    }
+
+    // Writes from an attached Character
+    void setPosition(int handle, double px, double py) {
+        int index = indexOf(handle);
+        if (index != EMPTY) {
+            x[index] = px;
+            y[index] = py;
+        }
+    }
+
+    void setVelocity(int handle, double velocityX, double velocityY) {
+        int index = indexOf(handle);
+        if (index != EMPTY) {
+            vx[index] = velocityX;
+            vy[index] = velocityY;
+        }
+    }
+
+    private int cellIndex(double px, double py) {
+        int column = Math.floorMod((int) Math.floor(px / cellSize), columns);
+        int row = Math.floorMod((int) Math.floor(py / cellSize), rows);
+        return row * columns + column;
+    }
+
+    private int allocateSlot() {
+        if (freeSlot != EMPTY) {
+            int slot = freeSlot;
+            freeSlot = slotToDense[slot];
+            return slot;
+        }
+        if (slotCount == slotToDense.length) {
+            slotToDense = Arrays.copyOf(slotToDense, slotCount * 2);
+            generations = Arrays.copyOf(generations, slotCount * 2);
+        }
+        if (slotCount > SLOT_MASK) {
+            throw new IllegalStateException("EntityStore is limited to " + SLOT_MASK + " handles");
+        }
+        return slotCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= x.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, x.length * 2);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        vx = Arrays.copyOf(vx, newCapacity);
+        vy = Arrays.copyOf(vy, newCapacity);
+        radius = Arrays.copyOf(radius, newCapacity);
+        damping = Arrays.copyOf(damping, newCapacity);
+        maxSpeed = Arrays.copyOf(maxSpeed, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        types = Arrays.copyOf(types, newCapacity);
+        owners = Arrays.copyOf(owners, newCapacity);
+        denseToSlot = Arrays.copyOf(denseToSlot, newCapacity);
+        logger.debug("EntityStore grown to {} entries", newCapacity);
+    }
+
+    // Getters by dense index, valid for [0, size())
+    public int size() { return size; }
+    public double getX(int index) { return x[index]; }
+    public double getY(int index) { return y[index]; }
+    public double getVelocityX(int index) { return vx[index]; }
+    public double getVelocityY(int index) { return vy[index]; }
+    public double getRadius(int index) { return radius[index]; }
+    public int getFlags(int index) { return flags[index]; }
+    public int getType(int index) { return types[index]; }
+    public Character getOwner(int index) { return owners[index]; }
+    public int getHandle(int index) { return (generations[denseToSlot[index]] << SLOT_BITS) | denseToSlot[index]; }
+
+    // Grid statistics from the last buildGrid()
+    public int getGridEntryCount() { return gridCount; }
+    public int getGridCellCount() { return columns * rows; }
+
+    public int getOccupiedCellCount() {
+        int occupied = 0;
+        for (int c = 0; c < columns * rows; c++) {
+            if (cellStart[c + 1] > cellStart[c]) occupied++;
+        }
+        return occupied;
+    }
+
+    public int getMaxCellOccupancy() {
+        int max = 0;
+        for (int c = 0; c < columns * rows; c++) {
+            max = Math.max(max, cellStart[c + 1] - cellStart[c]);
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntityStore[size=%d, capacity=%d, gridded=%d]", size, x.length, gridCount);
+    }
+}
@@ -1,16 +1,18 @@
 package se233.asteroid.model;
 
 import javafx.geometry.Point2D;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.animation.Timeline;
-import javafx.animation.KeyFrame;
-import javafx.scene.image.WritableImage;
-import javafx.util.Duration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import java.io.IOException;
 import java.util.List;
-import se233.asteroid.util.SpriteSheetUtils;
+import se233.asteroid.core.GameRules;
+import se233.asteroid.core.SnapshotInput;
+import se233.asteroid.core.SnapshotOutput;
+import se233.asteroid.util.FrameSetRegistry;
+import se233.asteroid.util.LogSampler;
+import se233.asteroid.util.SpriteFrame;
+import se233.asteroid.util.SpriteSheet;
 
 import static se233.asteroid.model.Character.FRICTION;
 import static se233.asteroid.model.Character.MAX_SPEED;
@@ -18,12 +20,27 @@ import static se233.asteroid.model.Character.MAX_SPEED;
 public class PlayerShip extends Character {
     private static final Logger logger = LogManager.getLogger(PlayerShip.class);
 
+    // Input handlers run every frame a key is held; keep their log lines to a trickle
+    private static final LogSampler MOVE_LOG = LogSampler.perSecond(2);
+    private static final LogSampler ROTATE_LOG = LogSampler.perSecond(2);
+    private static final LogSampler SHOOT_LOG = LogSampler.perSecond(2);
+
     // Movement constants
     private static final double ACCELERATION = 0.5; //ความเร่ง
     private static final double ROTATION_SPEED = 2.0;
     private static final double FRICTION = 0.98; //ความหน่วง
     private static final double MAX_SPEED = 1.0;
 
+    // Effect timings, in seconds of simulation time
+    private static final double THRUSTER_FRAME_TIME = 0.05;
+    private static final double SHOOTING_FRAME_TIME = 0.05;
+    private static final double BLINK_INTERVAL = 0.1;
+
+    // Thruster and muzzle flash: their size, and how far along the heading they sit
+    public static final double EFFECT_SIZE = 20;
+    private static final double THRUSTER_OFFSET = -20;
+    private static final double SHOOT_EFFECT_OFFSET = 20;
+
     // Ship states
     private int lives;
     private boolean isThrusting;
@@ -34,65 +51,53 @@ public class PlayerShip extends Character {
 
 
     // Sprite management
-    private ImageView thrusterSprite;
-    private ImageView ShootingEffect;
-    private List<Image> explosionFrames;
-    private List<Image> thrusterFrames;
-    private List<Image> ShootingFrames;
-    private int currentExplosionFrame;
-    private int currentThrusterFrame;
-    private int currentShootingFrame;
-
-    // Animations
-    private Timeline explosionAnimation;
-    private Timeline thrusterAnimation;
-    private Timeline invulnerabilityAnimation;
-    private Timeline ShootingAnimation;
+    private List<SpriteFrame> explosionFrames;
+    private List<SpriteFrame> thrusterFrames;
+    private List<SpriteFrame> ShootingFrames;
+
+    // Animation clocks, advanced by updateTimers() once per step
+    private double thrusterTime;
+    private double shootingTime;
+    private double invulnerableTime;
 
     // Asset paths
     private static final String SHIP_SPRITE_PATH = "/se233/asteroid/assets/PlayerShip/Spaceships.png";
     private static final String THRUSTER_SPRITE_PATH = "/se233/asteroid/assets/PlayerShip/Thruster_01.png";
     private static final String EXPLOSION_SPRITE_PATH = "/se233/asteroid/assets/PlayerShip/Explosion.png";
     private static final String SHOOTING_EFFECT_PATH = "/se233/asteroid/assets/PlayerShip/ShootEffect.png";
+    public static final List<String> ASSET_PATHS = List.of(SHIP_SPRITE_PATH, THRUSTER_SPRITE_PATH, EXPLOSION_SPRITE_PATH, SHOOTING_EFFECT_PATH);
+    private static final int EXPLOSION_FRAME_COUNT = 8;
+    private static final int THRUSTER_FRAME_COUNT = 4;
+    private static final int SHOOTING_FRAME_COUNT = 4;
+    private static final SpriteSheet EXPLOSION_SHEET = SpriteSheet.row(EXPLOSION_SPRITE_PATH, EXPLOSION_FRAME_COUNT);
+    private static final SpriteSheet THRUSTER_SHEET = SpriteSheet.row(THRUSTER_SPRITE_PATH, THRUSTER_FRAME_COUNT);
+    private static final SpriteSheet SHOOTING_SHEET = SpriteSheet.row(SHOOTING_EFFECT_PATH, SHOOTING_FRAME_COUNT);
+    public static final List<SpriteSheet> SPRITE_SHEETS = List.of(EXPLOSION_SHEET, THRUSTER_SHEET, SHOOTING_SHEET);
 
     public PlayerShip(Point2D startPosition) {
         super(SHIP_SPRITE_PATH, startPosition, 5);
         initializeShip();
-        initializeSprites();  // Move this before setupAnimations
-        setupAnimations();
+        initializeSprites();
+    }
+
+    public PlayerShip(double x, double y) {
+        this(new Point2D(x, y));
+    }
+
+    /**
+     * Resolves the ship's frames in the shared frame registry. Pixel reads only, so it
+     * may run off the FX thread.
+     */
+    public static void warmUpFrames() {
+        for (SpriteSheet sheet : SPRITE_SHEETS) {
+            FrameSetRegistry.getSprites(sheet);
+        }
     }
 
     public void startThrust() {
         if (!isThrusting && !isExploding && isAlive) {
             isThrusting = true;
-            currentThrusterFrame = 0;
-
-            // Show thruster sprite
-            thrusterSprite.setVisible(true);
-
-            // Stop any existing animation
-            if (thrusterAnimation != null) {
-                thrusterAnimation.stop();
-            }
-
-            // Create new thruster animation
-            thrusterAnimation = new Timeline(
-                    new KeyFrame(Duration.millis(50), e -> {
-                        // Calculate the next frame index (0-3 cycling)
-                        int frameIndex = (currentThrusterFrame++) % thrusterFrames.size();
-
-                        // Update thruster sprite with current frame
-                        thrusterSprite.setImage(thrusterFrames.get(frameIndex));
-
-                        // Update thruster position relative to ship
-                        updateThrusterPosition();
-                    })
-            );
-
-            // Set animation to repeat indefinitely
-            thrusterAnimation.setCycleCount(Timeline.INDEFINITE);
-            thrusterAnimation.play();
-
+            thrusterTime = 0;
             logger.debug("Thruster animation started");
         }
     }
@@ -100,35 +105,10 @@ public class PlayerShip extends Character {
     public void startShootingEffect(){
         if (!isShootingEffect && !isExploding && isAlive) {
             isShootingEffect = true;
-            currentShootingFrame = 0;
-
-            ShootingEffect.setVisible(true);
-            updateShootEffectPosition();
-
-            if(ShootingAnimation !=null){
-                ShootingAnimation.stop();
-            }
-
-            ShootingAnimation = new Timeline(
-                    new KeyFrame(Duration.millis(50), e -> {
-                      int frameIndex = (currentShootingFrame++) % ShootingFrames.size();
-
-                      ShootingEffect.setImage(ShootingFrames.get(frameIndex));
-
-                      updateShootEffectPosition();
-                    })
-            );
-            // Set to play once
-            ShootingAnimation.setCycleCount(ShootingFrames.size());
-            ShootingAnimation.setOnFinished(e -> {
-                ShootingEffect.setVisible(false);
-                isShootingEffect = false;
-            });
-
-            ShootingAnimation.play();
-
+            shootingTime = 0;
         }
     }
+
     private void initializeShip() {
         this.lives = 3;
         this.isThrusting = false;
@@ -142,27 +122,7 @@ public class PlayerShip extends Character {
     private void initializeSprites() {
         try {
             // Setup main ship sprite size
-            sprite.setFitWidth(30);
-            sprite.setFitHeight(30);
-            sprite.setPreserveRatio(true);
-
-            // Initialize thruster sprite with error checking
-            var thrusterStream = getClass().getResourceAsStream(THRUSTER_SPRITE_PATH);
-            if (thrusterStream == null) {
-                throw new RuntimeException("Could not find thruster sprite: " + THRUSTER_SPRITE_PATH);
-            }
-
-            thrusterSprite = new ImageView();
-            thrusterSprite.setFitWidth(20);
-            thrusterSprite.setFitHeight(20);
-            thrusterSprite.setPreserveRatio(true);
-            thrusterSprite.setVisible(false);
-
-            ShootingEffect = new ImageView();
-            ShootingEffect.setFitWidth(20);
-            ShootingEffect.setFitHeight(20);
-            ShootingEffect.setPreserveRatio(true);
-            ShootingEffect.setVisible(false);
+            setSpriteSize(30, 30);
 
             // Load all sprite sheets
             loadExplosionFrames();
@@ -176,266 +136,195 @@ public class PlayerShip extends Character {
     }
 
         private void loadExplosionFrames() {
-            var explosionStream = getClass().getResourceAsStream(EXPLOSION_SPRITE_PATH);
-            if (explosionStream == null) {
+            if (getClass().getResource(EXPLOSION_SPRITE_PATH) == null) {
                 throw new RuntimeException("Could not find explosion sprite: " + EXPLOSION_SPRITE_PATH);
             }
-            explosionFrames = SpriteSheetUtils.extractFrames(EXPLOSION_SPRITE_PATH, 8, false);
+            explosionFrames = FrameSetRegistry.getSprites(EXPLOSION_SHEET);
             if (explosionFrames == null || explosionFrames.isEmpty()) {
                 throw new RuntimeException("Failed to extract explosion frames");
             }
         }
 
         private void loadThrusterFrames() {
-            var thrusterStream = getClass().getResourceAsStream(THRUSTER_SPRITE_PATH);
-            if (thrusterStream == null) {
+            if (getClass().getResource(THRUSTER_SPRITE_PATH) == null) {
                 throw new RuntimeException("Could not find thruster sprite: " + THRUSTER_SPRITE_PATH);
             }
-            thrusterFrames = SpriteSheetUtils.extractFrames(THRUSTER_SPRITE_PATH, 4, false);
+            thrusterFrames = FrameSetRegistry.getSprites(THRUSTER_SHEET);
             if (thrusterFrames == null || thrusterFrames.isEmpty()) {
                 throw new RuntimeException("Failed to extract thruster frames");
             }
         }
 
         private void loadShootingFrames() {
-            var shootingStream = getClass().getResourceAsStream(SHOOTING_EFFECT_PATH);
-            if (shootingStream == null) {
+            if (getClass().getResource(SHOOTING_EFFECT_PATH) == null) {
                 throw new RuntimeException("Could not find shooting effect sprite: " + SHOOTING_EFFECT_PATH);
             }
-            ShootingFrames = SpriteSheetUtils.extractFrames(SHOOTING_EFFECT_PATH, 4, false);
+            ShootingFrames = FrameSetRegistry.getSprites(SHOOTING_SHEET);
             if (ShootingFrames == null || ShootingFrames.isEmpty()) {
                 throw new RuntimeException("Failed to extract shooting frames");
             }
         }
 
-    private Image createEmptyImage(int width, int height) {
-        return new WritableImage(width, height);
-    }
-
-    private void setupAnimations() {
-        if (explosionFrames == null || explosionFrames.isEmpty()) {
-            throw new RuntimeException("Explosion frames not initialized");
-        }
-        if (thrusterFrames == null || thrusterFrames.isEmpty()) {
-            throw new RuntimeException("Thruster frames not initialized");
-        }
-        if (ShootingFrames == null || ShootingFrames.isEmpty()){
-            throw new RuntimeException("Shooting frames not initialized");
-            }
-
-        // Explosion animation
-        explosionAnimation = new Timeline(
-                new KeyFrame(Duration.millis(100), e -> {
-                    if (currentExplosionFrame < explosionFrames.size()) {
-                        sprite.setImage(explosionFrames.get(currentExplosionFrame++));
-                    } else {
-                        explosionAnimation.stop();
-                        respawn();
-                    }
-                })
-        );
-        explosionAnimation.setCycleCount(explosionFrames.size());
-
-        // Thruster animation
-        thrusterAnimation = new Timeline(
-                new KeyFrame(Duration.millis(100), e -> {
-                    if (currentThrusterFrame < thrusterFrames.size()) {
-                        int frame = (int) (System.currentTimeMillis() / 100 % thrusterFrames.size());
-                        sprite.setImage(thrusterFrames.get(currentThrusterFrame++));
-                    }
-                })
-        );
-        thrusterAnimation.setCycleCount(thrusterFrames.size());
-
-        ShootingAnimation = new Timeline(
-                new KeyFrame(Duration.millis(100), e -> {
-                    if (currentShootingFrame < ShootingFrames.size()){
-                        int frame = (int) (System.currentTimeMillis()/100 % ShootingFrames.size());
-                        sprite.setImage(ShootingFrames.get(currentShootingFrame++));
-                    }
-                })
-        );
-        ShootingAnimation.setCycleCount(ShootingFrames.size());
-
-        // Invulnerability animation
-        invulnerabilityAnimation = new Timeline(
-                new KeyFrame(Duration.millis(100), e -> {
-                    sprite.setVisible(!sprite.isVisible());
-                })
-        );
-        invulnerabilityAnimation.setCycleCount(30);
-    }
-
     @Override
-    public void update() {
+    public void simulate(double dt) {
         if (!isExploding && isAlive) {
             // Apply friction
-            velocity = velocity.multiply(FRICTION);
+            applyFriction(FRICTION, dt / REFERENCE_STEP);
 
             // Limit speed
-            if (velocity.magnitude() > MAX_SPEED) {
-                velocity = velocity.normalize().multiply(MAX_SPEED);
-            }
+            limitSpeed(MAX_SPEED);
 
             // Update position
-            super.update();
+            super.simulate(dt);
+        }
+    }
 
-            // Update auxiliary sprites
-            if (isThrusting) {
-                updateThrusterPosition();
+    /**
+     * Advances the thruster and muzzle flash animations and the invulnerability window by
+     * {@code dt} seconds. Called once per simulation step, however often the ship moves.
+     */
+    public void updateTimers(double dt) {
+        if (isThrusting) {
+            thrusterTime += dt;
+        }
+        if (isShootingEffect) {
+            shootingTime += dt;
+            if (shootingTime >= ShootingFrames.size() * SHOOTING_FRAME_TIME) {
+                isShootingEffect = false;
+            }
+        }
+        if (isInvulnerable) {
+            invulnerableTime += dt;
+            if (invulnerableTime >= GameRules.PLAYER_INVULNERABLE_TIME) {
+                isInvulnerable = false;
             }
         }
     }
 
-    private void updateThrusterPosition() {
-        if (thrusterSprite != null && isThrusting) {
-            // Calculate position behind the ship based on current rotation
-            double radians = Math.toRadians(rotation - 90); // Adjust angle to match ship's direction
-
-            // Position thruster behind the ship
-            Point2D thrusterOffset = new Point2D(
-                    Math.cos(radians) * -20, // Move thruster back by 20 pixels
-                    Math.sin(radians) * -20
-            );
+    private boolean isFlying() {
+        return !isExploding && isAlive;
+    }
 
-            // Update thruster sprite position
-            thrusterSprite.setTranslateX(position.getX() + thrusterOffset.getX() - thrusterSprite.getFitWidth() / 2);
-            thrusterSprite.setTranslateY(position.getY() + thrusterOffset.getY() - thrusterSprite.getFitHeight() / 2);
+    // Blinks while invulnerable, starting visible
+    @Override
+    public boolean isSpriteVisible() {
+        return isFlying() && (!isInvulnerable || (int) (invulnerableTime / BLINK_INTERVAL) % 2 == 0);
+    }
 
-            // Match ship's rotation
-            thrusterSprite.setRotate(rotation);
-        }
+    /**
+     * The thruster frame to draw behind the ship, or null while it is off.
+     */
+    public SpriteFrame getThrusterFrame() {
+        if (!isFlying() || !isThrusting) return null;
+        return thrusterFrames.get((int) (thrusterTime / THRUSTER_FRAME_TIME) % thrusterFrames.size());
     }
 
+    /**
+     * The muzzle flash frame to draw at the gun, or null when the ship has not just fired.
+     */
+    public SpriteFrame getShootEffectFrame() {
+        if (!isFlying() || !isShootingEffect) return null;
+        return ShootingFrames.get(Math.min((int) (shootingTime / SHOOTING_FRAME_TIME), ShootingFrames.size() - 1));
+    }
 
-    private void updateShootEffectPosition(){
-        if (ShootingEffect != null) {
-            double radians = Math.toRadians(rotation - 90);
+    // Centres of the thruster and muzzle flash, along the heading (rotation 0 faces up)
+    public double getThrusterX() {
+        return x + Math.cos(Math.toRadians(rotation - 90)) * THRUSTER_OFFSET;
+    }
 
-            // คำนวณตำแหน่งปลายกระบอกปืน
-            Point2D gunOffset = new Point2D(
-                    Math.cos(radians) *  20 ,
-                    Math.sin(radians) *  20
-            );
+    public double getThrusterY() {
+        return y + Math.sin(Math.toRadians(rotation - 90)) * THRUSTER_OFFSET;
+    }
 
-            // ปรับตำแหน่ง effect ให้อยู่ที่ปลายกระบอกปืน
-            ShootingEffect.setTranslateX(position.getX() + gunOffset.getX() - ShootingEffect.getFitWidth() / 2);
-            ShootingEffect.setTranslateY(position.getY() + gunOffset.getY() - ShootingEffect.getFitHeight() / 2);
-            ShootingEffect.setRotate(rotation);
-        }
+    public double getShootEffectX() {
+        return x + Math.cos(Math.toRadians(rotation - 90)) * SHOOT_EFFECT_OFFSET;
     }
 
-    public ImageView getShootEffectSprite() {
-        return ShootingEffect;
+    public double getShootEffectY() {
+        return y + Math.sin(Math.toRadians(rotation - 90)) * SHOOT_EFFECT_OFFSET;
     }
 
     public void moveUp() {
         if (!isExploding && isAlive) {
-            velocity = velocity.add(new Point2D(0, -ACCELERATION));
-            logger.debug("Moving up with velocity: {}", velocity);
+            vy -= ACCELERATION;
+            if (logger.isDebugEnabled() && MOVE_LOG.allow()) {
+                logger.debug("Moving up with velocity: ({}, {}) (+{} suppressed)",
+                        Unbox.box(vx), Unbox.box(vy), Unbox.box(MOVE_LOG.takeSuppressed()));
+            }
         }
     }
 
     public void moveDown() {
         if (!isExploding && isAlive) {
-            velocity = velocity.add(new Point2D(0, ACCELERATION));
-            logger.debug("Moving down with velocity: {}", velocity);
+            vy += ACCELERATION;
+            if (logger.isDebugEnabled() && MOVE_LOG.allow()) {
+                logger.debug("Moving down with velocity: ({}, {}) (+{} suppressed)",
+                        Unbox.box(vx), Unbox.box(vy), Unbox.box(MOVE_LOG.takeSuppressed()));
+            }
         }
     }
 
     public void moveLeft() {
         if (!isExploding && isAlive) {
-            velocity = velocity.add(new Point2D(-ACCELERATION, 0));
-            logger.debug("Moving left with velocity: {}", velocity);
+            vx -= ACCELERATION;
+            if (logger.isDebugEnabled() && MOVE_LOG.allow()) {
+                logger.debug("Moving left with velocity: ({}, {}) (+{} suppressed)",
+                        Unbox.box(vx), Unbox.box(vy), Unbox.box(MOVE_LOG.takeSuppressed()));
+            }
         }
     }
 
     public void moveRight() {
         if (!isExploding && isAlive) {
-            velocity = velocity.add(new Point2D(ACCELERATION, 0));
-            logger.debug("Moving right with velocity: {}", velocity);
+            vx += ACCELERATION;
+            if (logger.isDebugEnabled() && MOVE_LOG.allow()) {
+                logger.debug("Moving right with velocity: ({}, {}) (+{} suppressed)",
+                        Unbox.box(vx), Unbox.box(vy), Unbox.box(MOVE_LOG.takeSuppressed()));
+            }
         }
     }
 
 
     public void stopThrust() {
         isThrusting = false;
-        if (thrusterAnimation != null) {
-            thrusterAnimation.stop();
-        }
-        thrusterSprite.setVisible(false);
         logger.debug("Thruster animation stopped");
     }
 
     public void rotateLeft() {
         if (!isExploding && isAlive) {
             rotation = (rotation - ROTATION_SPEED + 360) % 360;
-            logger.debug("Rotating left to {} degrees", rotation);
+            if (logger.isDebugEnabled() && ROTATE_LOG.allow()) {
+                logger.debug("Rotating left to {} degrees (+{} suppressed)",
+                        Unbox.box(rotation), Unbox.box(ROTATE_LOG.takeSuppressed()));
+            }
         }
     }
 
     public void rotateRight() {
         if (!isExploding && isAlive) {
             rotation = (rotation + ROTATION_SPEED) % 360;
-            logger.debug("Rotating right to {} degrees", rotation);
-        }
-    }
-    private Timeline createShootingAnimation() {
-        Timeline timeline = new Timeline(
-                new KeyFrame(Duration.millis(50), e -> {
-                    if (currentShootingFrame < ShootingFrames.size()) {
-                        ShootingEffect.setImage(ShootingFrames.get(currentShootingFrame++));
-                        updateShootEffectPosition();
-                    }
-                })
-        );
-
-        timeline.setCycleCount(ShootingFrames.size());
-        timeline.setOnFinished(e -> {
-            ShootingEffect.setVisible(false);
-            isShootingEffect = false;
-        });
-
-        return timeline;
-    }
-
-    private void startShootEffect() {
-        if (!isShootingEffect && !isExploding && isAlive) {
-            isShootingEffect = true;
-            currentShootingFrame = 0;
-
-            if (ShootingEffect != null) {
-                ShootingEffect.setVisible(true);
-                updateShootEffectPosition();
-
-                if (ShootingAnimation != null) {
-                    ShootingAnimation.stop();
-                }
-
-                // Only start animation if we have frames
-                if (ShootingFrames != null && !ShootingFrames.isEmpty()) {
-                    ShootingAnimation = createShootingAnimation();
-                    ShootingAnimation.play();
-                } else {
-                    // Handle case where no frames are available
-                    ShootingEffect.setVisible(false);
-                    isShootingEffect = false;
-                }
+            if (logger.isDebugEnabled() && ROTATE_LOG.allow()) {
+                logger.debug("Rotating right to {} degrees (+{} suppressed)",
+                        Unbox.box(rotation), Unbox.box(ROTATE_LOG.takeSuppressed()));
             }
         }
     }
-
     public se233.asteroid.model.Bullet shoot() {
         if (!isExploding && isAlive) {
             double radians = Math.toRadians(rotation - 90);
             Point2D direction = new Point2D(Math.cos(radians), Math.sin(radians));
-            Point2D bulletPosition = position.add(direction.multiply(sprite.getBoundsInLocal().getWidth() / 2));
+            double muzzleDistance = getDisplayWidth() / 2;
+            Point2D bulletPosition = new Point2D(x + direction.getX() * muzzleDistance, y + direction.getY() * muzzleDistance);
 
             // เริ่มแสดง shoot effect
-            startShootEffect();
-            logger.info("Shooting bullet from position: {}", bulletPosition);
+            startShootingEffect();
+            if (logger.isInfoEnabled() && SHOOT_LOG.allow()) {
+                logger.info("Shooting bullet from position: ({}, {}) (+{} suppressed)",
+                        Unbox.box(bulletPosition.getX()), Unbox.box(bulletPosition.getY()),
+                        Unbox.box(SHOOT_LOG.takeSuppressed()));
+            }
             // Use the fully qualified class name to avoid confusion
-            return new se233.asteroid.model.Bullet(bulletPosition, direction, false);
+            return se233.asteroid.model.Bullet.obtain(bulletPosition, direction, false);
         }
         return null;
     }
@@ -444,9 +333,14 @@ public class PlayerShip extends Character {
         if (!isExploding && isAlive) {
             double radians = Math.toRadians(rotation - 90);
             Point2D direction = new Point2D(Math.cos(radians), Math.sin(radians));
-            Point2D bulletPosition = position.add(direction.multiply(sprite.getBoundsInLocal().getWidth() / 2));
-            logger.info("Shooting SpecialBullet from position: {}", bulletPosition);
-            return new se233.asteroid.model.SpecialAttack(bulletPosition, direction, false);
+            double muzzleDistance = getDisplayWidth() / 2;
+            Point2D bulletPosition = new Point2D(x + direction.getX() * muzzleDistance, y + direction.getY() * muzzleDistance);
+            if (logger.isInfoEnabled() && SHOOT_LOG.allow()) {
+                logger.info("Shooting SpecialBullet from position: ({}, {}) (+{} suppressed)",
+                        Unbox.box(bulletPosition.getX()), Unbox.box(bulletPosition.getY()),
+                        Unbox.box(SHOOT_LOG.takeSuppressed()));
+            }
+            return se233.asteroid.model.SpecialAttack.obtain(bulletPosition, direction, false);
         }
         return null;
     }
@@ -467,65 +361,49 @@ public class PlayerShip extends Character {
 
     public void explode() {
         isExploding = true;
-        currentExplosionFrame = 0;
 
         // หยุดการเคลื่อนที่
-        velocity = new Point2D(0, 0);
-
-        // ปรับขนาด sprite สำหรับการระเบิด
-        sprite.setFitWidth(hitRadius * 4);
-        sprite.setFitHeight(hitRadius * 4);
-
-        // ปรับตำแหน่งให้ centered
-        sprite.setTranslateX(position.getX() - sprite.getFitWidth() / 2);
-        sprite.setTranslateY(position.getY() - sprite.getFitHeight() / 2);
+        vx = 0;
+        vy = 0;
 
-//        explosionAnimation.play();
-//        explosionAnimation.setOnFinished(e -> {
-        sprite.setVisible(false);  // ซ่อน sprite
-        sprite.setImage(null);     // ลบรูปภาพ
-        isAlive = false;           // ตั้งค่าว่าตายแล้ว
-//        });
+        isAlive = false;           // ตั้งค่าว่าตายแล้ว; sprite จะไม่ถูกวาดอีก
 
         stopThrust(); // หยุด thruster
         logger.info("Ship explosion started");
     }
 
 
-    private void respawn() {
-        if (lives > 0) {
-            isExploding = false;
-            position = new Point2D(SCREEN_WIDTH / 2, SCREEN_HEIGHT / 2);
-            velocity = new Point2D(0, 0);
-            rotation = 0;
-            startInvulnerability();
-            logger.info("Ship respawned at center position");
-        } else {
-            isAlive = false;
-            sprite.setVisible(false);
-            sprite.setImage(null);
-            // หยุดทุก animation
-            stopAllAnimations();
-            logger.info("Game over - no lives remaining");
-        }
+    @Override
+    public void writeState(SnapshotOutput out) throws IOException {
+        super.writeState(out);
+        out.writeVarLong(lives);
+        out.writeBoolean(isAlive);
+        out.writeBoolean(isExploding);
+        out.writeBoolean(isThrusting);
+        out.writeDouble(thrusterTime);
+        out.writeBoolean(isShootingEffect);
+        out.writeDouble(shootingTime);
+        out.writeBoolean(isInvulnerable);
+        out.writeDouble(invulnerableTime);
     }
 
-    private void stopAllAnimations() {
-        if (explosionAnimation != null) explosionAnimation.stop();
-        if (thrusterAnimation != null) thrusterAnimation.stop();
-        if (invulnerabilityAnimation != null) invulnerabilityAnimation.stop();
+    @Override
+    public void readState(SnapshotInput in) throws IOException {
+        super.readState(in);
+        lives = (int) in.readVarLong();
+        isAlive = in.readBoolean();
+        isExploding = in.readBoolean();
+        isThrusting = in.readBoolean();
+        thrusterTime = in.readDouble();
+        isShootingEffect = in.readBoolean();
+        shootingTime = in.readDouble();
+        isInvulnerable = in.readBoolean();
+        invulnerableTime = in.readDouble();
     }
 
     private void startInvulnerability() {
         isInvulnerable = true;
-        invulnerabilityAnimation.play();
-        Timeline invulnerabilityTimer = new Timeline(
-                new KeyFrame(Duration.seconds(3), e -> {
-                    isInvulnerable = false;
-                    sprite.setVisible(true);
-                })
-        );
-        invulnerabilityTimer.play();
+        invulnerableTime = 0;
         logger.debug("Invulnerability started");
     }
 
@@ -542,9 +420,5 @@ public class PlayerShip extends Character {
         return isAlive;
     }
 
-
-    public ImageView getThrusterSprite() {
-        return thrusterSprite;
-    }
 }
 
@@ -9,27 +9,31 @@ import javafx.animation.FadeTransition;
 import javafx.animation.TranslateTransition;
 import javafx.animation.ParallelTransition;
 import javafx.util.Duration;
+import se233.asteroid.core.GameRules;
+import se233.asteroid.core.ScoreKeeper;
+import se233.asteroid.util.LogSampler;
 import se233.asteroid.view.GameStage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 import javafx.scene.effect.DropShadow;
 
 public class Score {
     private static final Logger logger = LogManager.getLogger(Score.class);
+    private static final LogSampler POINTS_LOG = LogSampler.perSecond(4);
 
     // Score constants
-    public static final int ASTEROID_POINTS = 2;
-    public static final int METEOR_POINTS = 1;
-    public static final int REGULAR_ENEMY_POINTS = 1;
-    public static final int SECOND_TIER_ENEMY_POINTS = 2;
-    public static final int BOSS_POINTS = 10;
+    public static final int ASTEROID_POINTS = GameRules.ASTEROID_POINTS;
+    public static final int METEOR_POINTS = GameRules.METEOR_POINTS;
+    public static final int REGULAR_ENEMY_POINTS = GameRules.REGULAR_ENEMY_POINTS;
+    public static final int SECOND_TIER_ENEMY_POINTS = GameRules.SECOND_TIER_ENEMY_POINTS;
+    public static final int BOSS_POINTS = GameRules.BOSS_POINTS;
 
-    private int currentScore;
+    private final ScoreKeeper keeper = new ScoreKeeper();
     private Text scoreText;
     private final GameStage gameStage;
 
     public Score(GameStage gameStage) {
-        this.currentScore = 0;
         this.gameStage = gameStage;
         initializeScoreDisplay();
         logger.info("Score system initialized");
@@ -56,10 +60,13 @@ public class Score {
     }
 
     public void addPoints(int points) {
-        this.currentScore += points;
+        keeper.add(points);
         updateDisplay();
         showScorePopup(points);
-        logger.info("Added {} points. New score: {}", points, currentScore);
+        if (logger.isInfoEnabled() && POINTS_LOG.allow()) {
+            logger.info("Added {} points. New score: {} (+{} suppressed)",
+                    Unbox.box(points), Unbox.box(keeper.getScore()), Unbox.box(POINTS_LOG.takeSuppressed()));
+        }
     }
 
     public void addAsteroidPoints() {
@@ -114,7 +121,7 @@ public class Score {
 
     public void updateDisplay() {
         if (scoreText != null) {
-            scoreText.setText("Score: " + currentScore);
+            scoreText.setText("Score: " + keeper.getScore());
 
             ScaleTransition st = new ScaleTransition(Duration.millis(100), scoreText);
             st.setFromX(1.2);
@@ -123,18 +130,26 @@ public class Score {
             st.setToY(1.0);
             st.play();
 
-            logger.debug("Score display updated: {}", currentScore);
+            logger.debug("Score display updated: {}", keeper.getScore());
         }
     }
 
+    /**
+     * Shows a total restored from elsewhere, e.g. a replay keyframe, without a popup.
+     */
+    public void setScore(int score) {
+        keeper.restore(score, keeper.getAwardCount());
+        updateDisplay();
+    }
+
     public void reset() {
-        currentScore = 0;
+        keeper.reset();
         updateDisplay();
         logger.info("Score reset to 0");
     }
 
     public int getCurrentScore() {
-        return currentScore;
+        return keeper.getScore();
     }
 
     public Text getScoreText() {
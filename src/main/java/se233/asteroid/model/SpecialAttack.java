@@ -1,15 +1,24 @@
 package se233.asteroid.model;
 
 import javafx.geometry.Point2D;
-import javafx.scene.image.ImageView;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import se233.asteroid.core.SnapshotInput;
+import se233.asteroid.core.SnapshotOutput;
+import se233.asteroid.util.LogSampler;
+
+import java.io.IOException;
+import java.util.List;
 
 public class SpecialAttack extends Character {
     private static final Logger logger = LogManager.getLogger(Character.class);
+    private static final LogSampler CONFIGURE_LOG = LogSampler.perSecond(2);
+    private static final LogSampler DEACTIVATE_LOG = LogSampler.perSecond(2);
 
     // ปรับ path ให้ชี้ไปที่ sprite sheet ของ missile
     private static final String MISSILE_SPRITE_PATH = "/se233/asteroid/assets/PlayerShip/missile.png";
+    public static final List<String> ASSET_PATHS = List.of(MISSILE_SPRITE_PATH);
     private static final double MISSILE_SIZE = 25.0; // ขนาดใหญ่กว่ากระสุนปกติ
     private static final double MISSILE_LIFETIME = 3.0; // อายุการใช้งานสั้นกว่า beam
     private static final int MISSILE_DAMAGE = 30; // ความเสียหายมากกว่ากระสุนปกติ
@@ -17,6 +26,12 @@ public class SpecialAttack extends Character {
     private static final double MISSILE_SPEED = 1.0; // ความเร็วช้ากว่ากระสุนปกตินิดหน่อย
     private static final double MISSILE_MAX = 10;
 
+    private static final EntityPool<SpecialAttack> POOL = new EntityPool<>("SpecialAttack", () -> {
+        SpecialAttack missile = new SpecialAttack(Point2D.ZERO, new Point2D(0, -1), false);
+        missile.active = false;
+        return missile;
+    }, 0);
+
     private boolean active;
     private double lifetime;
     private boolean isEnemyBullet;
@@ -26,20 +41,58 @@ public class SpecialAttack extends Character {
 
     public SpecialAttack(Point2D position, Point2D direction, boolean isEnemyBullet) {
         super(MISSILE_SPRITE_PATH, position, MISSILE_SIZE);
-        initializeMissile(direction, isEnemyBullet);
+        initializeMissile(direction.getX(), direction.getY(), isEnemyBullet);
     }
 
-    private void initializeMissile(Point2D direction, boolean isEnemyBullet) {
+    /**
+     * Takes a missile from the shared pool and fires it from {@code position}. Hand it back
+     * with {@link #release()} once it leaves play.
+     */
+    public static SpecialAttack obtain(Point2D position, Point2D direction, boolean isEnemyBullet) {
+        return obtain(position.getX(), position.getY(), direction.getX(), direction.getY(), isEnemyBullet);
+    }
+
+    /**
+     * Same as {@link #obtain(Point2D, Point2D, boolean)}, taking coordinates.
+     */
+    public static SpecialAttack obtain(double x, double y, double directionX, double directionY, boolean isEnemyBullet) {
+        SpecialAttack missile = POOL.acquire();
+        missile.x = x;
+        missile.y = y;
+        missile.rotation = 0;
+        missile.isAlive = true;
+        missile.initializeMissile(directionX, directionY, isEnemyBullet);
+        return missile;
+    }
+
+    public static void prewarmPool() {
+        POOL.prefill(EntityPool.DEFAULT_SIZE / 4);
+    }
+
+    public static EntityPool<SpecialAttack> getPool() {
+        return POOL;
+    }
+
+    /**
+     * Hides the missile and returns it to the pool.
+     */
+    public void release() {
+        active = false;
+        POOL.release(this);
+    }
+
+    private void initializeMissile(double directionX, double directionY, boolean isEnemyBullet) {
         try {
             this.active = true;
             this.lifetime = MISSILE_LIFETIME;
             this.isEnemyBullet = isEnemyBullet;
-            this.velocity = direction.normalize().multiply(MISSILE_SPEED);
+            scratch.set(directionX, directionY).normalize().scale(MISSILE_SPEED);
+            this.vx = scratch.x;
+            this.vy = scratch.y;
 
             // ตั้งค่า sprite
             configureSprite();
 
-            logger.debug("Missile initialized successfully");
         } catch (Exception e) {
             logger.error("Failed to initialize missile", e);
             throw new RuntimeException("Failed to initialize missile", e);
@@ -48,92 +101,75 @@ public class SpecialAttack extends Character {
 
 
     private void configureSprite() {
-        try {
-            // Ensure sprite is properly loaded
-            if (sprite == null) {
-                throw new RuntimeException("Sprite not initialized");
-            }
-
-            // ตั้งค่าขนาดของ missile
-            sprite.setFitWidth(MISSILE_SIZE * 2);
-            sprite.setFitHeight(MISSILE_SIZE * 2);
-            sprite.setPreserveRatio(true);
-            sprite.setVisible(true); // Explicitly set visibility
-
-            // เพิ่ม effect สำหรับ missile
-            if (isEnemyBullet) {
-                sprite.setStyle("-fx-effect: dropshadow(gaussian, red, 15, 0.7, 0, 0);");
-            } else {
-                sprite.setStyle("-fx-effect: dropshadow(gaussian, blue, 15, 0.7, 0, 0);");
-            }
-
-            // ตั้งค่าการหมุนตามทิศทางการเคลื่อนที่
-            double angle = Math.toDegrees(Math.atan2(velocity.getY(), velocity.getX()));
-            sprite.setRotate(angle + 90);
-            // Debug logging
-            logger.debug("Missile sprite configured: size={}, position={}, rotation={}",
-                    MISSILE_SIZE, position, angle);
-        } catch (Exception e) {
-            logger.error("Failed to configure missile sprite", e);
-            throw new RuntimeException("Failed to configure missile sprite", e);
+        // ตั้งค่าขนาดของ missile
+        setSpriteSize(MISSILE_SIZE * 2, MISSILE_SIZE * 2);
+        if (logger.isDebugEnabled() && CONFIGURE_LOG.allow()) {
+            logger.debug("Missile sprite configured: size={}, position=({}, {}), rotation={} (+{} suppressed)",
+                    Unbox.box(MISSILE_SIZE), Unbox.box(x), Unbox.box(y), Unbox.box(getSpriteRotation()),
+                    Unbox.box(CONFIGURE_LOG.takeSuppressed()));
         }
-
     }
 
 
     @Override
-    public void update() {
+    public void simulate(double dt) {
         if (active) {
             // เพิ่มความเร็วตามเวลา
-            if (velocity.magnitude() < maxSpeed) {
-                velocity = velocity.add(velocity.normalize().multiply(acceleration));
+            if (scratch.set(vx, vy).length() < maxSpeed) {
+                scratch.normalize().scale(acceleration * dt / REFERENCE_STEP);
+                vx += scratch.x;
+                vy += scratch.y;
             }
 
             // อัพเดตตำแหน่ง
-            super.update();
+            super.simulate(dt);
 
             // อัพเดตเวลาที่เหลือ
-            lifetime -= 1.0 / 60.0;
+            lifetime -= dt;
             if (lifetime <= 0) {
                 deactivate();
             }
+        }
+    }
 
-            // อัพเดตการหมุนของ sprite
-            updateSpriteRotation();
+    @Override
+    public void writeState(SnapshotOutput out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(active);
+        out.writeDouble(lifetime);
+    }
 
-            // เพิ่ม particle effect หรือ trail ได้ตรงนี้
-            createTrailEffect();
-        }
+    @Override
+    public void readState(SnapshotInput in) throws IOException {
+        super.readState(in);
+        active = in.readBoolean();
+        lifetime = in.readDouble();
     }
 
-    private void createTrailEffect() {
-        // TODO: เพิ่ม particle effect หรือ trail effect
-        // สามารถสร้าง particle system หรือใช้ JavaFX effect เพื่อสร้าง trail
+    // ตั้งค่าการหมุนตามทิศทางการเคลื่อนที่
+    @Override
+    public double getSpriteRotation() {
+        return Math.toDegrees(Math.atan2(vy, vx)) + 90;
     }
 
+    // Only an active missile is drawn; its trail comes from the stage's particle system
     @Override
-    protected void updateSpriteRotation() {
-        if (velocity.magnitude() > 0) {
-            double angle = Math.toDegrees(Math.atan2(velocity.getY(), velocity.getX()));
-            sprite.setRotate(angle + 90);
-        }
+    public boolean isSpriteVisible() {
+        return active;
     }
 
     public void deactivate() {
         active = false;
-        sprite.setVisible(false);
-        logger.debug("Missile deactivated at position: {}", position);
+        if (logger.isDebugEnabled() && DEACTIVATE_LOG.allow()) {
+            logger.debug("Missile deactivated at position: ({}, {}) (+{} suppressed)",
+                    Unbox.box(x), Unbox.box(y), Unbox.box(DEACTIVATE_LOG.takeSuppressed()));
+        }
     }
 
     public boolean isActive() {
         return active;
     }
 
-    @Override
-    public ImageView getSprite() {
-        return sprite;
-    }
-
     public boolean isEnemyBullet() {
         return isEnemyBullet;
     }
@@ -141,8 +177,8 @@ public class SpecialAttack extends Character {
     @Override
     public String toString() {
         return String.format("Missile [position=(%f,%f), velocity=(%f,%f), active=%b, isEnemy=%b]",
-                position.getX(), position.getY(),
-                velocity.getX(), velocity.getY(),
+                x, y,
+                vx, vy,
                 active, isEnemyBullet);
     }
     public boolean isExpired() {
@@ -4,19 +4,26 @@ import javafx.geometry.Point2D;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Polygon;
+import se233.asteroid.core.GameRules;
+import se233.asteroid.core.SnapshotInput;
+import se233.asteroid.core.SnapshotOutput;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Wingman extends Character {
     private static final double SHOOT_COOLDOWN = 0.5; // 0.5 seconds cooldown
-    private static final double UNLOCK_SCORE_FIRST = 5; // Score needed for first wingman
-    private static final double UNLOCK_SCORE_SECOND = 10; // Score needed for second wingman
+    private static final double UNLOCK_SCORE_FIRST = GameRules.WINGMAN_UNLOCK_SCORE_FIRST; // Score needed for first wingman
+    private static final double UNLOCK_SCORE_SECOND = GameRules.WINGMAN_UNLOCK_SCORE_SECOND; // Score needed for second wingman
     private static final double FORMATION_OFFSET = 30.0; // Distance from main ship
     private static final double ROTATION_OFFSET = 45.0; // Degrees offset from main ship
     private static final String WINGMAN_SPRITE_PATH = "/se233/asteroid/assets/Wingman/wingman.png"; // Assuming this path exists
+    public static final List<String> ASSET_PATHS = List.of(WINGMAN_SPRITE_PATH);
     private static final double WINGMAN_SIZE = 15.0;
+    private static final int BULLET_DAMAGE = 15;
 
-    private double lastShootTime = 0;
+    private double shootTimer = 0; // seconds until the next shot is allowed
     private int position; // 1 for left wing, 2 for right wing
     private PlayerShip leader;
     private double health;
@@ -34,8 +41,7 @@ public class Wingman extends Character {
     }
 
     public void setActive(boolean active) {
-        this.isActive = active;
-        sprite.setVisible(active); // Update sprite visibility
+        this.isActive = active; // the view stops drawing it once inactive
         if (!active) {
             // Additional cleanup when deactivating
             health = 0;
@@ -43,12 +49,20 @@ public class Wingman extends Character {
     }
 
     @Override
-    public void update() {
+    public void simulate(double dt) {
         if (isActive) {
+            if (shootTimer > 0) {
+                shootTimer -= dt;
+            }
             updatePosition();
         }
     }
 
+    @Override
+    public boolean isSpriteVisible() {
+        return isActive;
+    }
+
     private void updatePosition() {
         if (leader != null) {
             // Calculate offset based on position (left or right wing)
@@ -59,38 +73,30 @@ public class Wingman extends Character {
             double offsetX = FORMATION_OFFSET * Math.sin(angle);
             double offsetY = FORMATION_OFFSET * Math.cos(angle);
 
-            Point2D leaderPos = leader.getPosition();
-            setPosition(new Point2D(
-                    leaderPos.getX() + offsetX,
-                    leaderPos.getY() - offsetY
-            ));
+            x = leader.getX() + offsetX;
+            y = leader.getY() - offsetY;
 
             // Match leader's rotation
-            sprite.setRotate(leader.getRotation());
+            rotation = leader.getRotation();
         }
     }
 
     public Bullet shoot() {
         if (!isActive) return null;
 
-        double currentTime = System.nanoTime() / 1_000_000_000.0; // Convert to seconds
-        if (currentTime - lastShootTime < SHOOT_COOLDOWN) {
+        if (shootTimer > 0) {
             return null;
         }
 
-        lastShootTime = currentTime;
+        shootTimer = SHOOT_COOLDOWN;
 
         // Calculate direction based on rotation
-        double angle = Math.toRadians(sprite.getRotate() - 90); // -90 because sprite points upward by default
+        double angle = Math.toRadians(rotation - 90); // -90 because sprite points upward by default
         Point2D direction = new Point2D(Math.cos(angle), Math.sin(angle));
 
         // Create bullet
-        Bullet bullet = new Bullet(getPosition(), direction, false) {
-            @Override
-            public int getDamage() {
-                return 15; // Higher damage than regular bullets
-            }
-        };
+        Bullet bullet = Bullet.obtain(getPosition(), direction, false);
+        bullet.setDamage(BULLET_DAMAGE); // Higher damage than regular bullets
 
         return bullet;
     }
@@ -102,19 +108,31 @@ public class Wingman extends Character {
         }
     }
 
+    @Override
+    public void writeState(SnapshotOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(shootTimer);
+        out.writeDouble(health);
+        out.writeBoolean(isActive);
+    }
+
+    @Override
+    public void readState(SnapshotInput in) throws IOException {
+        super.readState(in);
+        shootTimer = in.readDouble();
+        health = in.readDouble();
+        isActive = in.readBoolean();
+    }
+
     public static boolean canUnlockWingman(int currentWingmen, int score) {
-        if (currentWingmen == 0 && score >= UNLOCK_SCORE_FIRST) {
-            return true;
-        }
-        return currentWingmen == 1 && score >= UNLOCK_SCORE_SECOND;
+        return GameRules.canUnlockWingman(currentWingmen, score);
     }
 
 
     public void reset() {
         health = 50;
         isActive = true;
-        lastShootTime = 0;
-        sprite.setVisible(true);
+        shootTimer = 0;
     }
 
 
@@ -123,5 +141,6 @@ public class Wingman extends Character {
     public static double getUnlockScoreFirst() { return UNLOCK_SCORE_FIRST; }
     public static double getUnlockScoreSecond() { return UNLOCK_SCORE_SECOND; }
     public double getHealth() { return health; }
+    public int getFormationPosition() { return position; }
     public boolean isActive() {return isActive;}
 }
@@ -0,0 +1,164 @@
+package se233.asteroid.util;
+
+import javafx.scene.image.Image;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Central cache for decoded sprite images, keyed by classpath resource path.
+ * Every caller asking for the same path gets the same {@link Image} instance,
+ * so a PNG is decoded once and then shared by all sprites that use it.
+ *
+ * The cache holds at most {@link #getBudgetBytes()} of decoded pixel data
+ * (width * height * 4) and evicts the least recently used images beyond that.
+ * Evicting an image never breaks sprites that still show it; the next request
+ * for that path simply decodes it again and counts as a miss.
+ */
+public class AssetCache {
+    private static final Logger logger = LogManager.getLogger(AssetCache.class);
+
+    private static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024; // 64 MB of decoded pixels
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static final AssetCache INSTANCE = new AssetCache(
+            Long.getLong("asteroid.assetCache.budgetBytes", DEFAULT_BUDGET_BYTES));
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(32, 0.75f, true);
+    private long budgetBytes;
+    private long usedBytes;
+
+    // Statistics
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public AssetCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static AssetCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Shortcut for {@code AssetCache.getInstance().get(resourcePath)}.
+     */
+    public static Image getImage(String resourcePath) {
+        return INSTANCE.get(resourcePath);
+    }
+
+    /**
+     * Returns the shared decoded image for a classpath resource, decoding it on first use.
+     *
+     * @param resourcePath absolute classpath path, e.g. "/se233/asteroid/assets/Boss/Boss.png"
+     * @return the cached image, or null if the resource does not exist or cannot be decoded
+     */
+    public Image get(String resourcePath) {
+        if (resourcePath == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            Image cached = images.get(resourcePath);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            missCount++;
+        }
+
+        // Decode outside the lock so parallel loads of different assets do not serialize
+        Image decoded = decode(resourcePath);
+        if (decoded == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            Image raced = images.get(resourcePath);
+            if (raced != null) {
+                return raced; // Another thread finished first, keep a single instance
+            }
+            images.put(resourcePath, decoded);
+            usedBytes += sizeOf(decoded);
+            evictToBudget();
+        }
+        return decoded;
+    }
+
+    public synchronized boolean contains(String resourcePath) {
+        return images.containsKey(resourcePath);
+    }
+
+    private Image decode(String resourcePath) {
+        try (InputStream stream = AssetCache.class.getResourceAsStream(resourcePath)) {
+            if (stream == null) {
+                logger.error("Asset not found: {}", resourcePath);
+                return null;
+            }
+
+            Image image = new Image(stream);
+            if (image.isError()) {
+                logger.error("Failed to decode asset: {}", resourcePath, image.getException());
+                return null;
+            }
+
+            logger.debug("Decoded asset {} ({}x{})", resourcePath, image.getWidth(), image.getHeight());
+            return image;
+        } catch (Exception e) {
+            logger.error("Failed to load asset: {}", resourcePath, e);
+            return null;
+        }
+    }
+
+    // Always keeps the most recently used entry, even if it alone exceeds the budget
+    private void evictToBudget() {
+        Iterator<Map.Entry<String, Image>> iterator = images.entrySet().iterator();
+        while (usedBytes > budgetBytes && images.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Image> eldest = iterator.next();
+            usedBytes -= sizeOf(eldest.getValue());
+            iterator.remove();
+            evictionCount++;
+            logger.debug("Evicted asset {} from cache", eldest.getKey());
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evictToBudget();
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized void resetStats() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    // Getters
+    public synchronized long getBudgetBytes() { return budgetBytes; }
+    public synchronized long getUsedBytes() { return usedBytes; }
+    public synchronized int size() { return images.size(); }
+    public synchronized long getHitCount() { return hitCount; }
+    public synchronized long getMissCount() { return missCount; }
+    public synchronized long getEvictionCount() { return evictionCount; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("AssetCache[entries=%d, used=%d/%d bytes, hits=%d, misses=%d, evictions=%d]",
+                images.size(), usedBytes, budgetBytes, hitCount, missCount, evictionCount);
+    }
+}
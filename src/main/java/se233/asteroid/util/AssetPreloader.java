@@ -0,0 +1,148 @@
+package se233.asteroid.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms every asset before the first game, so no spawn has to decode or bake on the FX
+ * thread. Work is registered up front and runs in three rounds:
+ * <ol>
+ *   <li>image decodes into the {@link AssetCache}, all at once on virtual threads</li>
+ *   <li>bakes that only read pixels (sprite sheet slicing, the background ring), in
+ *   parallel once every image is decoded</li>
+ *   <li>bakes that need the FX thread (canvas snapshots, node pools), one after another
+ *   on the FX executor</li>
+ * </ol>
+ * Progress is reported on the FX executor after every finished task. A failing task is
+ * logged and counted but does not stop the rest; the game falls back to loading that
+ * asset lazily, as it did before.
+ */
+public class AssetPreloader {
+    private static final Logger logger = LogManager.getLogger(AssetPreloader.class);
+
+    /**
+     * Called on the FX executor each time a task finishes.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int done, int total);
+    }
+
+    private final AssetCache cache;
+    private final Set<String> imagePaths = new LinkedHashSet<>();
+    private final Map<String, Runnable> bakes = new LinkedHashMap<>();
+    private final Map<String, Runnable> fxBakes = new LinkedHashMap<>();
+
+    private final AtomicInteger doneCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+
+    public AssetPreloader(AssetCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Queues classpath images for decoding; paths already queued are skipped.
+     */
+    public AssetPreloader images(Collection<String> paths) {
+        imagePaths.addAll(paths);
+        return this;
+    }
+
+    /**
+     * Queues work that is safe off the FX thread and may rely on the decoded images.
+     */
+    public AssetPreloader bake(String name, Runnable task) {
+        bakes.put(name, task);
+        return this;
+    }
+
+    /**
+     * Queues work that must run on the FX thread, after every other task.
+     */
+    public AssetPreloader bakeOnFxThread(String name, Runnable task) {
+        fxBakes.put(name, task);
+        return this;
+    }
+
+    public int getTaskCount() {
+        return imagePaths.size() + bakes.size() + fxBakes.size();
+    }
+
+    public int getDoneCount() {
+        return doneCount.get();
+    }
+
+    public int getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Starts the preload and returns at once.
+     *
+     * @param fxExecutor runs FX-thread bakes and progress callbacks, e.g. {@code Platform::runLater}
+     * @return completes on the FX executor once every task has run
+     */
+    public CompletableFuture<Void> start(Executor fxExecutor, ProgressListener listener) {
+        long start = System.nanoTime();
+        int total = getTaskCount();
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        logger.info("Preloading {} images and {} bakes", imagePaths.size(), bakes.size() + fxBakes.size());
+
+        List<CompletableFuture<Void>> decodes = new ArrayList<>(imagePaths.size());
+        for (String path : imagePaths) {
+            decodes.add(CompletableFuture.runAsync(
+                    task(path, () -> requireDecoded(path), total, fxExecutor, listener), workers));
+        }
+
+        CompletableFuture<Void> chain = CompletableFuture.allOf(decodes.toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> {
+                    List<CompletableFuture<Void>> running = new ArrayList<>(bakes.size());
+                    bakes.forEach((name, bake) -> running.add(
+                            CompletableFuture.runAsync(task(name, bake, total, fxExecutor, listener), workers)));
+                    return CompletableFuture.allOf(running.toArray(new CompletableFuture[0]));
+                });
+        for (Map.Entry<String, Runnable> fxBake : fxBakes.entrySet()) {
+            Runnable task = task(fxBake.getKey(), fxBake.getValue(), total, fxExecutor, listener);
+            chain = chain.thenRunAsync(task, fxExecutor);
+        }
+
+        return chain.whenCompleteAsync((ignored, error) -> {
+            workers.shutdown();
+            logger.info("Preload finished in {} ms: {}/{} tasks, {} failed, {}",
+                    (System.nanoTime() - start) / 1_000_000, doneCount.get(), total, failedCount.get(), cache);
+        }, fxExecutor);
+    }
+
+    private void requireDecoded(String path) {
+        if (cache.get(path) == null) {
+            throw new IllegalStateException("Could not decode " + path);
+        }
+    }
+
+    // Runs one task, never letting it fail the chain, then reports progress
+    private Runnable task(String name, Runnable work, int total, Executor fxExecutor, ProgressListener listener) {
+        return () -> {
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                failedCount.incrementAndGet();
+                logger.warn("Preload of {} failed, it will load on first use", name, e);
+            }
+            int done = doneCount.incrementAndGet();
+            fxExecutor.execute(() -> listener.onProgress(done, total));
+        };
+    }
+}
@@ -0,0 +1,261 @@
+package se233.asteroid.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Boss;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Enemy;
+import se233.asteroid.model.EnemyBullet;
+import se233.asteroid.model.PlayerShip;
+import se233.asteroid.model.SpecialAttack;
+import se233.asteroid.model.Wingman;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Build step that packs every sprite and sprite sheet frame into a few atlas pages and
+ * writes the binary index {@link SpriteAtlas} reads. The Maven build runs it after
+ * compiling, over the resources already copied to target/classes:
+ * <pre>
+ *   java -cp target/classes:... se233.asteroid.util.AtlasPacker target/classes
+ * </pre>
+ * Frames are cut and alpha-cleared here exactly as {@link SpriteSheetUtils} would at
+ * runtime, then shelf-packed tallest first with a transparent gutter so smoothing never
+ * pulls in a neighbour. Sheets whose image is missing are left out and keep their
+ * runtime fallback.
+ */
+public final class AtlasPacker {
+    private static final Logger logger = LogManager.getLogger(AtlasPacker.class);
+
+    public static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 2;
+
+    private AtlasPacker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resources = Path.of(args.length > 0 ? args[0] : "target/classes");
+        Path output = resources.resolve(SpriteAtlas.ATLAS_DIR.substring(1));
+        try {
+            Summary summary = pack(resources, gameSheets(), output);
+            System.out.printf("Sprite atlas: %d sheets, %d frames on %d pages (%d%% filled), %d skipped -> %s%n",
+                    summary.sheets(), summary.frames(), summary.pages(), Math.round(summary.fill() * 100),
+                    summary.skipped(), output);
+        } finally {
+            // Runs inside the Maven JVM; flush and stop the async logger before the plugin reaps its threads
+            LogManager.shutdown();
+        }
+    }
+
+    public record Summary(int sheets, int frames, int pages, double fill, int skipped) {
+    }
+
+    /**
+     * Every sheet the game slices, plus each of its other sprites as a single frame.
+     */
+    public static List<SpriteSheet> gameSheets() {
+        List<SpriteSheet> sheets = new ArrayList<>();
+        sheets.addAll(PlayerShip.SPRITE_SHEETS);
+        sheets.addAll(Asteroid.SPRITE_SHEETS);
+        sheets.addAll(Enemy.SPRITE_SHEETS);
+        sheets.addAll(Boss.SPRITE_SHEETS);
+
+        Set<String> sliced = new HashSet<>();
+        for (SpriteSheet sheet : sheets) {
+            sliced.add(sheet.path());
+        }
+        for (List<String> paths : List.of(PlayerShip.ASSET_PATHS, Wingman.ASSET_PATHS, Asteroid.ASSET_PATHS,
+                Enemy.ASSET_PATHS, Boss.ASSET_PATHS, Bullet.ASSET_PATHS, EnemyBullet.ASSET_PATHS,
+                SpecialAttack.ASSET_PATHS)) {
+            for (String path : paths) {
+                if (sliced.add(path)) {
+                    sheets.add(SpriteSheet.single(path));
+                }
+            }
+        }
+        return sheets;
+    }
+
+    /**
+     * Packs the sheets, read from below {@code resourceRoot}, into pages and an index in
+     * {@code outputDir}.
+     */
+    public static Summary pack(Path resourceRoot, List<SpriteSheet> sheets, Path outputDir) throws IOException {
+        // Cut every sheet into frames; sheets are deduplicated by key
+        Map<String, SpriteSheet> unique = new LinkedHashMap<>();
+        for (SpriteSheet sheet : sheets) {
+            unique.putIfAbsent(sheet.key(), sheet);
+        }
+        List<Cell> cells = new ArrayList<>();
+        List<SpriteSheet> packed = new ArrayList<>();
+        int skipped = 0;
+        for (SpriteSheet sheet : unique.values()) {
+            List<BufferedImage> frames = cut(resourceRoot, sheet);
+            if (frames == null) {
+                skipped++;
+                continue;
+            }
+            for (int i = 0; i < frames.size(); i++) {
+                cells.add(new Cell(packed.size(), i, frames.get(i)));
+            }
+            packed.add(sheet);
+        }
+
+        // Shelf packing, tallest first; the sort is stable so the output is reproducible
+        cells.sort(Comparator.comparingInt((Cell c) -> -c.image.getHeight())
+                .thenComparingInt(c -> -c.image.getWidth()));
+        List<Integer> pageHeights = new ArrayList<>();
+        int page = 0, x = 0, y = 0, shelfHeight = 0;
+        long usedArea = 0;
+        for (Cell cell : cells) {
+            int w = cell.image.getWidth() + PADDING;
+            int h = cell.image.getHeight() + PADDING;
+            if (x + w > PAGE_SIZE) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            if (y + h > PAGE_SIZE) {
+                pageHeights.add(y);
+                page++;
+                x = 0;
+                y = 0;
+                shelfHeight = 0;
+            }
+            cell.page = page;
+            cell.x = x;
+            cell.y = y;
+            x += w;
+            shelfHeight = Math.max(shelfHeight, h);
+            usedArea += (long) cell.image.getWidth() * cell.image.getHeight();
+        }
+        pageHeights.add(y + shelfHeight);
+
+        // Pages are cropped to their last shelf
+        Files.createDirectories(outputDir);
+        List<String> pageNames = new ArrayList<>();
+        long pageArea = 0;
+        for (int p = 0; p < pageHeights.size(); p++) {
+            int height = Math.max(1, pageHeights.get(p));
+            BufferedImage image = new BufferedImage(PAGE_SIZE, height, BufferedImage.TYPE_INT_ARGB);
+            for (Cell cell : cells) {
+                if (cell.page != p) continue;
+                int w = cell.image.getWidth();
+                int h = cell.image.getHeight();
+                image.setRGB(cell.x, cell.y, w, h, cell.image.getRGB(0, 0, w, h, null, 0, w), 0, w);
+            }
+            String name = "atlas-" + p + ".png";
+            ImageIO.write(image, "png", outputDir.resolve(name).toFile());
+            pageNames.add(name);
+            pageArea += (long) PAGE_SIZE * height;
+        }
+
+        writeIndex(outputDir.resolve(SpriteAtlas.INDEX_NAME), pageNames, packed, cells);
+        return new Summary(packed.size(), cells.size(), pageNames.size(),
+                pageArea > 0 ? usedArea / (double) pageArea : 0, skipped);
+    }
+
+    // The sheet's frames, cut the way SpriteSheetUtils does; null if it cannot be packed
+    private static List<BufferedImage> cut(Path resourceRoot, SpriteSheet sheet) throws IOException {
+        Path file = resourceRoot.resolve(sheet.path().substring(1));
+        if (!Files.isRegularFile(file)) {
+            logger.warn("Atlas: {} not found, it will be sliced at runtime", sheet.path());
+            return null;
+        }
+        BufferedImage source = ImageIO.read(file.toFile());
+        if (source == null) {
+            logger.warn("Atlas: {} is not a readable image, it will be sliced at runtime", sheet.path());
+            return null;
+        }
+
+        int n = sheet.frameCount();
+        int frameWidth = sheet.vertical() ? source.getWidth() : source.getWidth() / n;
+        int frameHeight = sheet.vertical() ? source.getHeight() / n : source.getHeight();
+        if (frameWidth <= 0 || frameHeight <= 0
+                || frameWidth + PADDING > PAGE_SIZE || frameHeight + PADDING > PAGE_SIZE) {
+            logger.warn("Atlas: {} frames of {}x{} do not fit a page, it will be sliced at runtime",
+                    sheet.key(), frameWidth, frameHeight);
+            return null;
+        }
+
+        List<BufferedImage> frames = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int[] pixels = source.getRGB(sheet.vertical() ? 0 : i * frameWidth, sheet.vertical() ? i * frameHeight : 0,
+                    frameWidth, frameHeight, null, 0, frameWidth);
+            if (sheet.alphaThreshold() > 0) {
+                for (int p = 0; p < pixels.length; p++) {
+                    if (pixels[p] >>> 24 < sheet.alphaThreshold()) {
+                        pixels[p] = 0;
+                    }
+                }
+            }
+            BufferedImage frame = new BufferedImage(frameWidth, frameHeight, BufferedImage.TYPE_INT_ARGB);
+            frame.setRGB(0, 0, frameWidth, frameHeight, pixels, 0, frameWidth);
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    private static void writeIndex(Path file, List<String> pageNames, List<SpriteSheet> sheets, List<Cell> cells)
+            throws IOException {
+        // Frames back in sheet order
+        Cell[][] bySheet = new Cell[sheets.size()][];
+        for (int s = 0; s < sheets.size(); s++) {
+            bySheet[s] = new Cell[sheets.get(s).frameCount()];
+        }
+        for (Cell cell : cells) {
+            bySheet[cell.sheet][cell.frame] = cell;
+        }
+
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(stream)) {
+            out.writeInt(SpriteAtlas.MAGIC);
+            out.writeInt(SpriteAtlas.VERSION);
+            out.writeInt(pageNames.size());
+            for (String name : pageNames) {
+                out.writeUTF(name);
+            }
+            out.writeInt(sheets.size());
+            for (int s = 0; s < sheets.size(); s++) {
+                out.writeUTF(sheets.get(s).key());
+                out.writeInt(bySheet[s].length);
+                for (Cell cell : bySheet[s]) {
+                    out.writeInt(cell.page);
+                    out.writeInt(cell.x);
+                    out.writeInt(cell.y);
+                    out.writeInt(cell.image.getWidth());
+                    out.writeInt(cell.image.getHeight());
+                }
+            }
+        }
+    }
+
+    private static final class Cell {
+        final int sheet;
+        final int frame;
+        final BufferedImage image;
+        int page;
+        int x;
+        int y;
+
+        Cell(int sheet, int frame, BufferedImage image) {
+            this.sheet = sheet;
+            this.frame = frame;
+            this.image = image;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package se233.asteroid.util;
+
+import se233.asteroid.model.Character;
+
+import java.util.List;
+
+/**
+ * Collision broadphase: narrows "everything against everything" down to candidate pairs
+ * that are close enough to be worth an exact {@link Character#collidesWith} test.
+ *
+ * Typical use per tick is {@link #clear()}, {@link #insert} every collidable target,
+ * then {@link #query} once per probe (bullet, player, wingman).
+ */
+public interface Broadphase {
+
+    String PROPERTY = "asteroid.broadphase";
+
+    void clear();
+
+    void insert(Character entity);
+
+    /**
+     * Fills {@code out} with every inserted entity that may overlap the probe's hit circle.
+     * The list is cleared first and the probe itself is never reported.
+     *
+     * @return {@code out}, for convenience
+     */
+    List<Character> query(Character probe, List<Character> out);
+
+    // Statistics since the last clear()
+    int getEntityCount();
+    int getCellCount();
+    int getOccupiedCellCount();
+    int getMaxCellOccupancy();
+    long getQueryCount();
+    long getCandidatePairCount();
+
+    default double getAverageCellOccupancy() {
+        int occupied = getOccupiedCellCount();
+        return occupied == 0 ? 0 : getEntityCount() / (double) occupied;
+    }
+
+    /**
+     * Creates the broadphase selected by the {@code asteroid.broadphase} system property
+     * ({@code spatialhash} by default, {@code bruteforce} for the plain all-pairs scan)
+     * over a wrapped playfield of the given size.
+     */
+    static Broadphase create(double width, double height) {
+        String type = System.getProperty(PROPERTY, "spatialhash");
+        if ("bruteforce".equalsIgnoreCase(type)) {
+            return new BruteForceBroadphase();
+        }
+        return new SpatialHashBroadphase(width, height, SpatialHashBroadphase.DEFAULT_CELL_SIZE);
+    }
+}
@@ -0,0 +1,51 @@
+package se233.asteroid.util;
+
+import se233.asteroid.model.Character;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports every inserted entity as a candidate. Kept as a reference implementation
+ * for comparing results and cost against {@link SpatialHashBroadphase}.
+ */
+public class BruteForceBroadphase implements Broadphase {
+    private final List<Character> entities = new ArrayList<>();
+
+    private long queryCount;
+    private long candidatePairCount;
+
+    @Override
+    public void clear() {
+        entities.clear();
+        queryCount = 0;
+        candidatePairCount = 0;
+    }
+
+    @Override
+    public void insert(Character entity) {
+        entities.add(entity);
+    }
+
+    @Override
+    public List<Character> query(Character probe, List<Character> out) {
+        out.clear();
+        for (int i = 0; i < entities.size(); i++) {
+            Character entity = entities.get(i);
+            if (entity != probe) {
+                out.add(entity);
+            }
+        }
+        queryCount++;
+        candidatePairCount += out.size();
+        return out;
+    }
+
+    // Getters
+    @Override public int getEntityCount() { return entities.size(); }
+    @Override public int getCellCount() { return 1; }
+    @Override public int getOccupiedCellCount() { return entities.isEmpty() ? 0 : 1; }
+    @Override public int getMaxCellOccupancy() { return entities.size(); }
+    @Override public long getQueryCount() { return queryCount; }
+    @Override public long getCandidatePairCount() { return candidatePairCount; }
+}
@@ -0,0 +1,119 @@
+package se233.asteroid.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Structural changes (spawns and despawns) made while a game step runs, held back and
+ * carried out together at the end of the step in the order they were made. No entity
+ * list or scene node changes under a loop that is walking it, so the loops need neither
+ * defensive copies nor copy-on-write lists, and the outcome of a step does not depend on
+ * which loop reached an entity first.
+ *
+ * Between {@link #begin()} and {@link #apply()} commands are recorded; outside that they
+ * run at once, so input handlers called between steps behave as before. Commands issued
+ * by the handlers while the buffer is being applied are appended and run in the same
+ * pass. Recording stores the command in two flat arrays and allocates nothing once they
+ * have grown to a step's worth.
+ */
+public final class CommandBuffer<T> {
+    private static final byte SPAWN = 0;
+    private static final byte DESPAWN = 1;
+
+    private final Consumer<? super T> spawner;
+    private final Consumer<? super T> despawner;
+
+    private byte[] ops = new byte[64];
+    private Object[] targets = new Object[64];
+    private int size;
+    private boolean deferring;
+    private long appliedCount;
+
+    /**
+     * @param spawner   adds an entity to the game; called once per spawn
+     * @param despawner takes an entity out of the game; must tolerate one already gone,
+     *                  since the same entity may be despawned twice in one step
+     */
+    public CommandBuffer(Consumer<? super T> spawner, Consumer<? super T> despawner) {
+        this.spawner = spawner;
+        this.despawner = despawner;
+    }
+
+    /**
+     * Starts recording instead of running commands.
+     */
+    public void begin() {
+        deferring = true;
+    }
+
+    public void spawn(T entity) {
+        if (deferring) {
+            record(SPAWN, entity);
+        } else {
+            spawner.accept(entity);
+        }
+    }
+
+    public void despawn(T entity) {
+        if (deferring) {
+            record(DESPAWN, entity);
+        } else {
+            despawner.accept(entity);
+        }
+    }
+
+    /**
+     * Despawns everything spawned so far in this step that {@code filter} accepts, so
+     * clearing a bucket also catches what has not joined it yet. Does nothing outside a
+     * step, where spawns have already happened.
+     */
+    @SuppressWarnings("unchecked")
+    public void despawnPendingSpawns(Predicate<? super T> filter) {
+        for (int i = 0, n = size; i < n; i++) {
+            if (ops[i] == SPAWN && filter.test((T) targets[i])) {
+                record(DESPAWN, (T) targets[i]);
+            }
+        }
+    }
+
+    /**
+     * Runs every recorded command in order and stops recording.
+     *
+     * @return how many commands ran
+     */
+    @SuppressWarnings("unchecked")
+    public int apply() {
+        int count = 0;
+        try {
+            for (; count < size; count++) {
+                T target = (T) targets[count];
+                if (ops[count] == SPAWN) {
+                    spawner.accept(target);
+                } else {
+                    despawner.accept(target);
+                }
+            }
+        } finally {
+            Arrays.fill(targets, 0, size, null);
+            size = 0;
+            deferring = false;
+            appliedCount += count;
+        }
+        return count;
+    }
+
+    private void record(byte op, T entity) {
+        if (size == ops.length) {
+            ops = Arrays.copyOf(ops, size * 2);
+            targets = Arrays.copyOf(targets, size * 2);
+        }
+        ops[size] = op;
+        targets[size] = entity;
+        size++;
+    }
+
+    public boolean isDeferring() { return deferring; }
+    public int getPendingCount() { return size; }
+    public long getAppliedCount() { return appliedCount; }
+}
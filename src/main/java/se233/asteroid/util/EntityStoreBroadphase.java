@@ -0,0 +1,92 @@
+package se233.asteroid.util;
+
+import se233.asteroid.model.Character;
+import se233.asteroid.model.EntityStore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broadphase backed by an {@link EntityStore}'s collision grid. Entities that live in the
+ * store are already indexed there, so inserting them only counts them; queries scan the
+ * grid's contiguous cell ranges over the store's primitive arrays and report the owners
+ * whose hit circles actually overlap the probe.
+ *
+ * Anything inserted that is not in the store (enemies, the boss) falls back to a small
+ * list that every query checks directly.
+ */
+public class EntityStoreBroadphase implements Broadphase {
+    private final EntityStore store;
+    private final int typeMask;
+    private final double width;
+    private final double height;
+    private final double cellSize;
+    private final List<Character> overflow = new ArrayList<>();
+
+    // Statistics
+    private int storedCount;
+    private long queryCount;
+    private long candidatePairCount;
+
+    /**
+     * @param typeMask store types that count as collision targets, e.g. asteroids and enemy bullets
+     */
+    public EntityStoreBroadphase(EntityStore store, int typeMask, double width, double height, double cellSize) {
+        this.store = store;
+        this.typeMask = typeMask;
+        this.width = width;
+        this.height = height;
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public void clear() {
+        overflow.clear();
+        storedCount = 0;
+        queryCount = 0;
+        candidatePairCount = 0;
+        store.buildGrid(width, height, cellSize);
+    }
+
+    @Override
+    public void insert(Character entity) {
+        if (entity.getStore() == store) {
+            storedCount++;
+        } else {
+            overflow.add(entity);
+        }
+    }
+
+    @Override
+    public List<Character> query(Character probe, List<Character> out) {
+        out.clear();
+        queryCount++;
+
+        int exclude = probe.getStore() == store ? store.indexOf(probe.getStoreHandle()) : -1;
+        store.query(probe.getX(), probe.getY(), probe.getHitRadius(), typeMask, exclude, out);
+
+        for (int i = 0; i < overflow.size(); i++) {
+            Character entity = overflow.get(i);
+            if (entity != probe) {
+                out.add(entity);
+            }
+        }
+
+        candidatePairCount += out.size();
+        return out;
+    }
+
+    public EntityStore getStore() { return store; }
+    @Override public int getEntityCount() { return storedCount + overflow.size(); }
+    @Override public int getCellCount() { return store.getGridCellCount(); }
+    @Override public int getOccupiedCellCount() { return store.getOccupiedCellCount(); }
+    @Override public int getMaxCellOccupancy() { return store.getMaxCellOccupancy(); }
+    @Override public long getQueryCount() { return queryCount; }
+    @Override public long getCandidatePairCount() { return candidatePairCount; }
+
+    @Override
+    public String toString() {
+        return String.format("EntityStoreBroadphase[stored=%d, overflow=%d, queries=%d, pairs=%d]",
+                storedCount, overflow.size(), queryCount, candidatePairCount);
+    }
+}
@@ -0,0 +1,105 @@
+package se233.asteroid.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Fixed-timestep scheduler for the simulation. Each rendered frame adds its real
+ * duration to an accumulator, and the simulation runs as many whole steps of
+ * {@link #getStepSeconds()} as fit, so game speed no longer depends on the display's
+ * refresh rate: a 144 Hz screen runs fewer steps per frame, a dropped frame runs more.
+ *
+ * After a long stall (debugger, window drag) at most {@code maxStepsPerFrame} steps
+ * run and the rest of the backlog is discarded instead of spiralling. The leftover
+ * fraction of a step is exposed as {@link #getAlpha()} for render interpolation.
+ */
+public class FixedTimestep {
+    private static final Logger logger = LogManager.getLogger(FixedTimestep.class);
+
+    public static final double DEFAULT_STEP = 1.0 / 60.0;
+    public static final int DEFAULT_MAX_STEPS = 5;
+
+    private final double stepSeconds;
+    private final int maxStepsPerFrame;
+    private double accumulator;
+    private double alpha;
+
+    // Statistics
+    private long frameCount;
+    private long stepCount;
+    private int lastFrameSteps;
+    private double droppedSeconds;
+
+    public FixedTimestep() {
+        this(DEFAULT_STEP, DEFAULT_MAX_STEPS);
+    }
+
+    public FixedTimestep(double stepSeconds, int maxStepsPerFrame) {
+        if (stepSeconds <= 0 || maxStepsPerFrame < 1) {
+            throw new IllegalArgumentException("Invalid timestep: " + stepSeconds + "s x " + maxStepsPerFrame);
+        }
+        this.stepSeconds = stepSeconds;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Adds a frame's real duration and runs the simulation steps now due.
+     *
+     * @param frameSeconds time since the previous frame; negative values count as zero
+     * @param step         called once per step with the fixed step length
+     * @return the number of steps run
+     */
+    public int advance(double frameSeconds, DoubleConsumer step) {
+        frameCount++;
+        accumulator += Math.max(0, frameSeconds);
+
+        int steps = 0;
+        while (accumulator >= stepSeconds && steps < maxStepsPerFrame) {
+            step.accept(stepSeconds);
+            accumulator -= stepSeconds;
+            steps++;
+        }
+
+        // Too far behind to catch up: keep only the partial step
+        if (accumulator >= stepSeconds) {
+            double dropped = accumulator - accumulator % stepSeconds;
+            droppedSeconds += dropped;
+            accumulator -= dropped;
+            logger.debug("Simulation fell behind, dropped {} ms", dropped * 1000);
+        }
+
+        stepCount += steps;
+        lastFrameSteps = steps;
+        alpha = accumulator / stepSeconds;
+        return steps;
+    }
+
+    /**
+     * Forgets any accumulated time, e.g. when resuming from pause.
+     */
+    public void reset() {
+        accumulator = 0;
+        alpha = 0;
+    }
+
+    // Getters
+    public double getStepSeconds() { return stepSeconds; }
+    public int getMaxStepsPerFrame() { return maxStepsPerFrame; }
+
+    /**
+     * How far (0..1) real time is between the last simulated step and the next one.
+     */
+    public double getAlpha() { return alpha; }
+    public long getFrameCount() { return frameCount; }
+    public long getStepCount() { return stepCount; }
+    public int getLastFrameSteps() { return lastFrameSteps; }
+    public double getDroppedSeconds() { return droppedSeconds; }
+
+    @Override
+    public String toString() {
+        return String.format("FixedTimestep[step=%.4fs, frames=%d, steps=%d, dropped=%.3fs]",
+                stepSeconds, frameCount, stepCount, droppedSeconds);
+    }
+}
@@ -0,0 +1,108 @@
+package se233.asteroid.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of non-negative long values (nanoseconds, bytes) for per-frame
+ * metrics. Buckets are log-linear: values below 16 get a bucket each, and every power of
+ * two above that is split into 16 equal buckets, so a percentile read back from it is
+ * within about 6% of the true value. All buckets are allocated up front; recording and
+ * reading percentiles never allocate.
+ */
+public class FrameHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private final long[] counts;
+    private final long highestTrackable;
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+    private long sum;
+
+    /**
+     * @param highestTrackable larger values are recorded as this value
+     */
+    public FrameHistogram(long highestTrackable) {
+        if (highestTrackable < 1) {
+            throw new IllegalArgumentException("Invalid histogram range: " + highestTrackable);
+        }
+        this.highestTrackable = highestTrackable;
+        this.counts = new long[bucketIndex(highestTrackable) + 1];
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int top = (int) (value >>> shift);
+        return SUB_COUNT * (shift + 1) + top - SUB_COUNT;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long top = SUB_COUNT + index % SUB_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, Math.min(value, highestTrackable));
+        counts[bucketIndex(clamped)]++;
+        totalCount++;
+        sum += clamped;
+        if (clamped < minValue) minValue = clamped;
+        if (clamped > maxValue) maxValue = clamped;
+    }
+
+    /**
+     * Value below which {@code percentile} percent of the recordings fall, reported as the
+     * upper edge of its bucket (never above the largest value recorded).
+     *
+     * @param percentile 0 to 100
+     * @return the value, or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100.0 * totalCount);
+        rank = Math.max(1, rank);
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMinValue() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+        sum = 0;
+    }
+}
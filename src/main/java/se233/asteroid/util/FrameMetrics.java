@@ -0,0 +1,337 @@
+package se233.asteroid.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame timing for the game loop. Callers register named {@link Timer}s for the
+ * phases of a frame and {@link Gauge}s for live counts, then bracket each frame with
+ * {@link #beginFrame()} and {@link #endFrame()}. Every phase's total for the frame, the
+ * whole frame and the bytes the game thread allocated during it go into
+ * {@link FrameHistogram}s; every {@code windowFrames} frames the histograms are read
+ * into p50/p99/max figures, together with the GC activity over the window, and reset.
+ *
+ * While disabled, {@link #now()} returns 0 without reading the clock and every other call
+ * returns on its first branch, so the instrumented loop costs a few predictable
+ * branches. Nothing here allocates after construction. Meant for the JavaFX thread only.
+ */
+public class FrameMetrics {
+    private static final Logger logger = LogManager.getLogger(FrameMetrics.class);
+
+    public static final String PROPERTY = "asteroid.metrics";
+    public static final int DEFAULT_WINDOW_FRAMES = 60;
+
+    private static final long MAX_TRACKED_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long MAX_TRACKED_BYTES = 1L << 40;
+
+    /**
+     * One phase of the frame. A phase may run several times per frame (once per
+     * simulation step); its runs are summed and recorded once at the end of the frame.
+     */
+    public final class Timer {
+        private final String name;
+        private final FrameHistogram histogram = new FrameHistogram(MAX_TRACKED_NANOS);
+        private long frameNanos;
+        private boolean ranThisFrame;
+        private long p50;
+        private long p99;
+        private long max;
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Adds the time since {@code start} to this frame's total for the phase.
+         *
+         * @param start a reading from {@link FrameMetrics#now()} or a previous stop
+         * @return the current time, to start the next phase with; 0 while disabled
+         */
+        public long stop(long start) {
+            if (start == 0) {
+                return 0;
+            }
+            long now = System.nanoTime();
+            frameNanos += now - start;
+            ranThisFrame = true;
+            return now;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Median time per frame spent in this phase over the last window, in ns. */
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        private void endFrame() {
+            if (ranThisFrame) {
+                histogram.record(frameNanos);
+            }
+            frameNanos = 0;
+            ranThisFrame = false;
+        }
+
+        private void publish() {
+            p50 = histogram.getValueAtPercentile(50);
+            p99 = histogram.getValueAtPercentile(99);
+            max = histogram.getMaxValue();
+            histogram.reset();
+        }
+    }
+
+    /**
+     * A live count (entities in a list, sprites attached), shown as last set.
+     */
+    public static final class Gauge {
+        private final String name;
+        private long value;
+
+        private Gauge(String name) {
+            this.name = name;
+        }
+
+        public void set(long value) {
+            this.value = value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getValue() {
+            return value;
+        }
+    }
+
+    private final int windowFrames;
+    private final List<Timer> timers = new ArrayList<>();
+    private final List<Gauge> gauges = new ArrayList<>();
+    private final List<Timer> timersView = Collections.unmodifiableList(timers);
+    private final List<Gauge> gaugesView = Collections.unmodifiableList(gauges);
+    private final Timer frameTimer;
+
+    // Allocation by the game thread, if the JVM can measure it
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final FrameHistogram allocationHistogram = new FrameHistogram(MAX_TRACKED_BYTES);
+    private long allocationP50 = -1;
+    private long allocationP99 = -1;
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private long gcCountAtWindowStart;
+    private long gcMillisAtWindowStart;
+    private long windowGcCount;
+    private long windowGcMillis;
+    private long windowStartNanos;
+    private double windowSeconds;
+
+    private boolean enabled;
+    private long frameStart;
+    private long frameStartBytes;
+    private int framesInWindow;
+    private long windowCount;
+
+    public FrameMetrics() {
+        this(DEFAULT_WINDOW_FRAMES);
+    }
+
+    public FrameMetrics(int windowFrames) {
+        if (windowFrames < 1) {
+            throw new IllegalArgumentException("Invalid metrics window: " + windowFrames);
+        }
+        this.windowFrames = windowFrames;
+        this.frameTimer = new Timer("frame");
+        this.threadBean = allocationBean();
+        setEnabled(Boolean.getBoolean(PROPERTY));
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return sunBean;
+        }
+        logger.info("Per-thread allocation counters are not available; frame allocation will not be shown");
+        return null;
+    }
+
+    public Timer timer(String name) {
+        Timer timer = new Timer(name);
+        timers.add(timer);
+        return timer;
+    }
+
+    public Gauge gauge(String name) {
+        Gauge gauge = new Gauge(name);
+        gauges.add(gauge);
+        return gauge;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts or stops collecting. Turning it on starts a fresh window.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            startWindow();
+        }
+        this.enabled = enabled;
+        frameStart = 0;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} while enabled, otherwise 0 (which every timer ignores)
+     */
+    public long now() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void beginFrame() {
+        if (!enabled) {
+            return;
+        }
+        frameStart = System.nanoTime();
+        frameStartBytes = threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    public void endFrame() {
+        if (!enabled || frameStart == 0) {
+            return;
+        }
+        frameTimer.stop(frameStart);
+        frameTimer.endFrame();
+        for (int i = 0, n = timers.size(); i < n; i++) {
+            timers.get(i).endFrame();
+        }
+        if (threadBean != null) {
+            allocationHistogram.record(threadBean.getCurrentThreadAllocatedBytes() - frameStartBytes);
+        }
+        frameStart = 0;
+
+        if (++framesInWindow >= windowFrames) {
+            publishWindow();
+        }
+    }
+
+    private void publishWindow() {
+        frameTimer.publish();
+        for (int i = 0, n = timers.size(); i < n; i++) {
+            timers.get(i).publish();
+        }
+        if (threadBean != null) {
+            allocationP50 = allocationHistogram.getValueAtPercentile(50);
+            allocationP99 = allocationHistogram.getValueAtPercentile(99);
+            allocationHistogram.reset();
+        }
+
+        long gcCount = totalGcCount();
+        long gcMillis = totalGcMillis();
+        windowGcCount = gcCount - gcCountAtWindowStart;
+        windowGcMillis = gcMillis - gcMillisAtWindowStart;
+
+        long now = System.nanoTime();
+        windowSeconds = (now - windowStartNanos) / 1e9;
+        windowCount++;
+        startWindow(now, gcCount, gcMillis);
+    }
+
+    private void startWindow() {
+        frameTimer.histogram.reset();
+        for (int i = 0, n = timers.size(); i < n; i++) {
+            timers.get(i).histogram.reset();
+        }
+        allocationHistogram.reset();
+        startWindow(System.nanoTime(), totalGcCount(), totalGcMillis());
+    }
+
+    private void startWindow(long now, long gcCount, long gcMillis) {
+        framesInWindow = 0;
+        windowStartNanos = now;
+        gcCountAtWindowStart = gcCount;
+        gcMillisAtWindowStart = gcMillis;
+    }
+
+    private long totalGcCount() {
+        long total = 0;
+        for (int i = 0, n = collectors.size(); i < n; i++) {
+            total += Math.max(0, collectors.get(i).getCollectionCount());
+        }
+        return total;
+    }
+
+    private long totalGcMillis() {
+        long total = 0;
+        for (int i = 0, n = collectors.size(); i < n; i++) {
+            total += Math.max(0, collectors.get(i).getCollectionTime());
+        }
+        return total;
+    }
+
+    /** Whole-frame timing; not part of {@link #getTimers()}. */
+    public Timer getFrameTimer() {
+        return frameTimer;
+    }
+
+    public List<Timer> getTimers() {
+        return timersView;
+    }
+
+    public List<Gauge> getGauges() {
+        return gaugesView;
+    }
+
+    /** Median bytes allocated by the game thread per frame, or -1 if not measurable. */
+    public long getAllocationP50() {
+        return allocationP50;
+    }
+
+    public long getAllocationP99() {
+        return allocationP99;
+    }
+
+    /** Collections that ran during the last window. */
+    public long getWindowGcCount() {
+        return windowGcCount;
+    }
+
+    /** Time the collectors reported for the last window, in ms. */
+    public long getWindowGcMillis() {
+        return windowGcMillis;
+    }
+
+    public double getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public int getWindowFrames() {
+        return windowFrames;
+    }
+
+    /** Number of windows published so far; changes whenever the figures do. */
+    public long getWindowCount() {
+        return windowCount;
+    }
+}
@@ -0,0 +1,111 @@
+package se233.asteroid.util;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of animation frame sets, shared by every entity that plays them. Each
+ * {@link SpriteSheet} is looked up once and handed out as an unmodifiable list, so
+ * spawning ten asteroid fragments costs ten map lookups.
+ *
+ * Frames are regions of the build-time {@link SpriteAtlas}, so nothing is sliced at
+ * runtime and all sprites draw from a few shared textures. Sheets missing from the atlas
+ * are sliced on first use.
+ */
+public final class FrameSetRegistry {
+    private static final Logger logger = LogManager.getLogger(FrameSetRegistry.class);
+
+    private static final Map<String, List<SpriteFrame>> spriteSets = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong bakeCount = new AtomicLong();
+
+    private FrameSetRegistry() {
+    }
+
+    /**
+     * Returns the sheet's frames as atlas regions, or sliced at runtime when the build did
+     * not pack it: alpha-cleared if the sheet has a threshold, otherwise cropped (an empty
+     * list for a missing sheet). Safe off the FX thread.
+     */
+    public static List<SpriteFrame> getSprites(SpriteSheet sheet) {
+        String key = sheet.key();
+        List<SpriteFrame> frames = spriteSets.get(key);
+        if (frames != null) {
+            hitCount.incrementAndGet();
+            return frames;
+        }
+
+        frames = SpriteAtlas.getInstance().find(sheet);
+        if (frames == null) {
+            frames = sliceSprites(sheet);
+            bakeCount.incrementAndGet();
+        }
+        List<SpriteFrame> shared = Collections.unmodifiableList(frames);
+        List<SpriteFrame> existing = spriteSets.putIfAbsent(key, shared);
+        return existing != null ? existing : shared;
+    }
+
+    /**
+     * Returns a whole image as one frame: its atlas region, or the cached image itself.
+     * The frame's image is null if the sprite cannot be loaded.
+     */
+    public static SpriteFrame getSprite(String path) {
+        return getSprites(SpriteSheet.single(path)).get(0);
+    }
+
+    private static List<SpriteFrame> sliceSprites(SpriteSheet sheet) {
+        List<Image> images;
+        if (sheet.frameCount() == 1 && sheet.alphaThreshold() == 0) {
+            images = Collections.singletonList(AssetCache.getImage(sheet.path()));
+        } else if (sheet.alphaThreshold() > 0) {
+            images = SpriteSheetUtils.extractFramesWithAlpha(sheet.path(), sheet.frameCount(), sheet.vertical(),
+                    sheet.alphaThreshold());
+        } else if (sheet.vertical()) {
+            images = SpriteSheetUtils.extractFrames(sheet.path(), sheet.frameCount(), true);
+        } else {
+            images = cropFrames(sheet.path(), sheet.frameCount());
+        }
+        List<SpriteFrame> frames = new ArrayList<>(images.size());
+        for (Image image : images) {
+            frames.add(SpriteFrame.of(image));
+        }
+        logger.debug("Sliced {} at runtime into {} frames", sheet.key(), frames.size());
+        return frames;
+    }
+
+    private static List<Image> cropFrames(String sheetPath, int frameCount) {
+        List<Image> frames = new ArrayList<>();
+        try {
+            Image sheet = AssetCache.getImage(sheetPath);
+            if (sheet == null) {
+                return frames;
+            }
+
+            PixelReader reader = sheet.getPixelReader();
+            int frameWidth = (int) (sheet.getWidth() / frameCount);
+            int frameHeight = (int) sheet.getHeight();
+            for (int i = 0; i < frameCount; i++) {
+                frames.add(new WritableImage(reader, i * frameWidth, 0, frameWidth, frameHeight));
+            }
+        } catch (Exception e) {
+            logger.error("Failed to crop frames from {}: {}", sheetPath, e.getMessage());
+            frames.clear();
+        }
+        return frames;
+    }
+
+    public static long getHitCount() { return hitCount.get(); }
+    public static long getBakeCount() { return bakeCount.get(); }
+    public static int size() { return spriteSets.size(); }
+}
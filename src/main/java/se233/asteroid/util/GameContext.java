@@ -0,0 +1,84 @@
+package se233.asteroid.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Random;
+
+/**
+ * Random source and game clock shared by the model classes. Enemies, the boss, rocks and
+ * the wave spawner draw from {@link #random()} instead of creating their own
+ * {@code new Random()} or calling {@code Math.random()}, and timers read
+ * {@link #nanoTime()}, which only moves when the game loop calls {@link #advance(double)}
+ * once per fixed step. Reseeding with the same value and feeding the same steps therefore
+ * produces the same game, which is what recording and replaying a session relies on.
+ *
+ * Tests can {@link #install(Random)} a stubbed source. Meant for the JavaFX thread only.
+ */
+public final class GameContext {
+    private static final Logger logger = LogManager.getLogger(GameContext.class);
+
+    /** {@code -Dasteroid.seed=...} fixes the seed of every new game. */
+    public static final String SEED_PROPERTY = "asteroid.seed";
+
+    private static Random random = new Random();
+    private static long seed;
+    private static long nanoTime;
+
+    private GameContext() {
+    }
+
+    /**
+     * Reseeds the random source and rewinds the clock to zero for a new game.
+     */
+    public static void reset(long newSeed) {
+        seed = newSeed;
+        random = new Random(newSeed);
+        nanoTime = 0;
+        logger.info("Game context reset with seed {}", newSeed);
+    }
+
+    /**
+     * Seed for a new game: the {@value #SEED_PROPERTY} property if set, otherwise a fresh one.
+     */
+    public static long nextSeed() {
+        Long fixed = Long.getLong(SEED_PROPERTY);
+        return fixed != null ? fixed : System.nanoTime() ^ Double.doubleToLongBits(Math.random());
+    }
+
+    /**
+     * Replaces the random source without touching the clock.
+     */
+    public static void install(Random source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Random source must not be null");
+        }
+        random = source;
+    }
+
+    public static Random random() {
+        return random;
+    }
+
+    public static long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Moves the game clock forward by one step of {@code seconds}.
+     */
+    public static void advance(double seconds) {
+        nanoTime += Math.round(seconds * 1_000_000_000.0);
+    }
+
+    /**
+     * Game time in nanoseconds since the last {@link #reset(long)}; stands still while paused.
+     */
+    public static long nanoTime() {
+        return nanoTime;
+    }
+
+    public static double seconds() {
+        return nanoTime / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,259 @@
+package se233.asteroid.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se233.asteroid.model.Character;
+import se233.asteroid.model.EntityRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Java Flight Recorder events for what the game is doing: the phases of each tick,
+ * entities joining and leaving the field, asteroid splits, boss pattern changes and
+ * explosions. They show up in JDK Mission Control under "Asteroid", next to the JVM's
+ * own GC, allocation and JavaFX events.
+ *
+ * Every event is disabled by default; the {@link #PROFILE} settings shipped with the game
+ * turn them on. Each helper checks its event type first and returns before allocating
+ * anything, so with no recording, or a recording with the stock settings, the hooks cost
+ * a field read. Start a recording with the profile by running with
+ * {@code -Dasteroid.jfr=game.jfr} (see {@link #startRecordingFromProperties()}), or pass
+ * an extracted copy of the .jfc to {@code -XX:StartFlightRecording:settings=}.
+ */
+public final class GameEvents {
+    private static final Logger logger = LogManager.getLogger(GameEvents.class);
+
+    public static final String PROPERTY = "asteroid.jfr";
+    public static final String PROFILE = "/se233/asteroid/jfr/asteroid.jfc";
+
+    @Name("se233.asteroid.TickPhase")
+    @Label("Tick Phase")
+    @Category({"Asteroid", "Game Loop"})
+    @Description("One phase of a fixed simulation step, or the render sync of a frame")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class TickPhase extends Event {
+        @Label("Phase")
+        public String phase;
+    }
+
+    @Name("se233.asteroid.EntitySpawn")
+    @Label("Entity Spawn")
+    @Category({"Asteroid", "Entities"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class EntitySpawn extends Event {
+        @Label("Entity Type")
+        public String entityType;
+        @Label("X")
+        public double x;
+        @Label("Y")
+        public double y;
+    }
+
+    @Name("se233.asteroid.EntityDespawn")
+    @Label("Entity Despawn")
+    @Category({"Asteroid", "Entities"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class EntityDespawn extends Event {
+        @Label("Entity Type")
+        public String entityType;
+        @Label("X")
+        public double x;
+        @Label("Y")
+        public double y;
+    }
+
+    @Name("se233.asteroid.AsteroidSplit")
+    @Label("Asteroid Split")
+    @Category({"Asteroid", "Entities"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class AsteroidSplit extends Event {
+        @Label("Fragments")
+        public int fragments;
+        @Label("X")
+        public double x;
+        @Label("Y")
+        public double y;
+    }
+
+    @Name("se233.asteroid.BossPatternChange")
+    @Label("Boss Pattern Change")
+    @Category({"Asteroid", "Boss"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class BossPatternChange extends Event {
+        @Label("From")
+        public String from;
+        @Label("To")
+        public String to;
+        @Label("Enraged")
+        public boolean enraged;
+        @Label("Health")
+        @Description("Remaining health, 0 to 1")
+        public double health;
+    }
+
+    @Name("se233.asteroid.Explosion")
+    @Label("Explosion")
+    @Category({"Asteroid", "Effects"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Explosion extends Event {
+        @Label("X")
+        public double x;
+        @Label("Y")
+        public double y;
+    }
+
+    private static final EventType TICK_PHASE = EventType.getEventType(TickPhase.class);
+    private static final EventType ENTITY_SPAWN = EventType.getEventType(EntitySpawn.class);
+    private static final EventType ENTITY_DESPAWN = EventType.getEventType(EntityDespawn.class);
+    private static final EventType ASTEROID_SPLIT = EventType.getEventType(AsteroidSplit.class);
+    private static final EventType BOSS_PATTERN_CHANGE = EventType.getEventType(BossPatternChange.class);
+    private static final EventType EXPLOSION = EventType.getEventType(Explosion.class);
+
+    private GameEvents() {
+    }
+
+    /**
+     * Starts timing a tick phase.
+     *
+     * @return the event to pass to {@link #endPhase}, or null if the event is not recorded
+     */
+    public static TickPhase beginPhase(String phase) {
+        if (!TICK_PHASE.isEnabled()) {
+            return null;
+        }
+        TickPhase event = new TickPhase();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    public static void endPhase(TickPhase event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    public static void spawned(Character entity) {
+        if (ENTITY_SPAWN.isEnabled()) {
+            EntitySpawn event = new EntitySpawn();
+            event.entityType = EntityRegistry.Type.of(entity).name();
+            event.x = entity.getX();
+            event.y = entity.getY();
+            event.commit();
+        }
+    }
+
+    public static void despawned(Character entity) {
+        if (ENTITY_DESPAWN.isEnabled()) {
+            EntityDespawn event = new EntityDespawn();
+            event.entityType = EntityRegistry.Type.of(entity).name();
+            event.x = entity.getX();
+            event.y = entity.getY();
+            event.commit();
+        }
+    }
+
+    public static void asteroidSplit(double x, double y, int fragments) {
+        if (ASTEROID_SPLIT.isEnabled()) {
+            AsteroidSplit event = new AsteroidSplit();
+            event.fragments = fragments;
+            event.x = x;
+            event.y = y;
+            event.commit();
+        }
+    }
+
+    public static void bossPatternChanged(Enum<?> from, Enum<?> to, boolean enraged, double health) {
+        if (BOSS_PATTERN_CHANGE.isEnabled()) {
+            BossPatternChange event = new BossPatternChange();
+            event.from = from == null ? null : from.name();
+            event.to = to.name();
+            event.enraged = enraged;
+            event.health = health;
+            event.commit();
+        }
+    }
+
+    public static void explosion(double x, double y) {
+        if (EXPLOSION.isEnabled()) {
+            Explosion event = new Explosion();
+            event.x = x;
+            event.y = y;
+            event.commit();
+        }
+    }
+
+    /**
+     * The stock "default" JFR settings with the game's profile applied on top.
+     */
+    public static Map<String, String> recordingSettings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStream in = GameEvents.class.getResourceAsStream(PROFILE)) {
+            if (in == null) {
+                throw new IOException("Missing JFR profile " + PROFILE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Starts a recording to {@code destination} with {@link #recordingSettings()}, written
+     * out when the JVM exits.
+     */
+    public static Recording startRecording(Path destination) throws IOException, ParseException {
+        Recording recording = new Recording(recordingSettings());
+        recording.setName("Asteroid");
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * Starts a recording if {@code -Dasteroid.jfr=<file>} is set. A recording that cannot
+     * be started is logged and the game runs without it.
+     *
+     * @return the recording, or null
+     */
+    public static Recording startRecordingFromProperties() {
+        String file = System.getProperty(PROPERTY);
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        try {
+            Recording recording = startRecording(Path.of(file));
+            logger.info("Flight recording started, writing to {} on exit", file);
+            return recording;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            logger.error("Could not start the flight recording", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package se233.asteroid.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join job system for the pure simulation half of a frame. {@link #parallelFor(int, RangeJob)}
+ * splits an index range into chunks run on a private {@link ForkJoinPool} and returns once
+ * every chunk has finished, so the caller (the FX thread) can then apply the results to the
+ * scene graph in one sequential sync phase.
+ *
+ * Below {@code threshold} items, or with no workers, the job runs as a single range on the
+ * calling thread: no task objects, no hand-off, and the same order as a plain loop. Jobs
+ * must only write state owned by the items in their range.
+ *
+ * {@code -Dasteroid.jobs.workers=N} sets the worker count (0 turns the pool off) and
+ * {@code -Dasteroid.jobs.threshold=N} the smallest range worth splitting.
+ */
+public class JobSystem {
+    private static final Logger logger = LogManager.getLogger(JobSystem.class);
+
+    public static final String WORKERS_PROPERTY = "asteroid.jobs.workers";
+    public static final String THRESHOLD_PROPERTY = "asteroid.jobs.threshold";
+    public static final int DEFAULT_THRESHOLD = 512;
+
+    // Chunks per worker, so a slow chunk does not leave the others idle
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /**
+     * Work over items {@code [from, to)} of whatever the caller is iterating.
+     */
+    @FunctionalInterface
+    public interface RangeJob {
+        void run(int from, int to);
+    }
+
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final int threshold;
+
+    // Statistics
+    private long parallelRuns;
+    private long inlineRuns;
+
+    /**
+     * @param workers   worker threads; 0 runs everything on the calling thread
+     * @param threshold smallest item count split across the workers
+     */
+    public JobSystem(int workers, int threshold) {
+        if (workers < 0 || threshold < 1) {
+            throw new IllegalArgumentException("Invalid job system: " + workers + " workers, threshold " + threshold);
+        }
+        this.workers = workers;
+        this.threshold = threshold;
+        this.pool = workers > 0 ? new ForkJoinPool(workers, JobSystem::newWorker, null, false) : null;
+        logger.info("Job system: {} workers, parallel from {} items", workers, threshold);
+    }
+
+    /**
+     * A job system sized by the system properties: one worker per core but one (the FX
+     * thread keeps its own) unless overridden.
+     */
+    public static JobSystem fromProperties() {
+        int defaultWorkers = Math.max(0, Runtime.getRuntime().availableProcessors() - 1);
+        return new JobSystem(Integer.getInteger(WORKERS_PROPERTY, defaultWorkers),
+                Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD));
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("asteroid-job-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Runs {@code job} over {@code [0, count)} and waits for it. An exception thrown by any
+     * chunk is rethrown here.
+     */
+    public void parallelFor(int count, RangeJob job) {
+        if (count <= 0) {
+            return;
+        }
+        if (!isParallel(count)) {
+            inlineRuns++;
+            job.run(0, count);
+            return;
+        }
+        parallelRuns++;
+        int grain = Math.max(threshold / CHUNKS_PER_WORKER, count / (workers * CHUNKS_PER_WORKER) + 1);
+        pool.invoke(new RangeTask(job, 0, count, grain));
+    }
+
+    /**
+     * @return true if {@code count} items would be split across the workers
+     */
+    public boolean isParallel(int count) {
+        return pool != null && !pool.isShutdown() && count >= threshold;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public long getParallelRuns() {
+        return parallelRuns;
+    }
+
+    public long getInlineRuns() {
+        return inlineRuns;
+    }
+
+    /**
+     * Stops the workers; later jobs run on the calling thread.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    // Halves its range until it is no bigger than the grain, then runs it
+    private static final class RangeTask extends RecursiveAction {
+        private final RangeJob job;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RangeTask(RangeJob job, int from, int to, int grain) {
+            this.job = job;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                job.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(job, from, middle, grain), new RangeTask(job, middle, to, grain));
+        }
+    }
+}
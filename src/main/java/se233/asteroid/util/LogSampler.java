@@ -0,0 +1,97 @@
+package se233.asteroid.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter for one logging call site inside the game loop. Each site keeps its own
+ * sampler in a static field and asks it before building the message, so a line that
+ * would otherwise be written every frame is written at most once per interval and the
+ * skipped calls cost a clock read and a counter increment:
+ *
+ * <pre>{@code
+ * private static final LogSampler MISSILE_LOG = LogSampler.perSecond(2);
+ * ...
+ * if (logger.isDebugEnabled() && MISSILE_LOG.allow()) {
+ *     logger.debug("Missile position updated to: {} (+{} suppressed)",
+ *             missile.getPosition(), Unbox.box(MISSILE_LOG.takeSuppressed()));
+ * }
+ * }</pre>
+ *
+ * Sampling is on by default. Start with {@code -Dasteroid.log.sampling=false} to get
+ * every line again while chasing a bug.
+ */
+public final class LogSampler {
+    public static final String PROPERTY = "asteroid.log.sampling";
+
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty(PROPERTY));
+
+    private final long intervalNanos;
+    private final AtomicLong nextAllowed = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger suppressed = new AtomicInteger();
+
+    public LogSampler(long interval, TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Invalid sampling interval: " + interval + " " + unit);
+        }
+        this.intervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * A sampler that lets through at most {@code messages} lines per second.
+     */
+    public static LogSampler perSecond(int messages) {
+        if (messages <= 0) {
+            throw new IllegalArgumentException("Invalid message rate: " + messages);
+        }
+        return new LogSampler(TimeUnit.SECONDS.toNanos(1) / messages, TimeUnit.NANOSECONDS);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns sampling on or off for every call site, e.g. from a benchmark or test.
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * @return true if this call should be logged; false counts it as suppressed
+     */
+    public boolean allow() {
+        return !enabled || allow(System.nanoTime());
+    }
+
+    /**
+     * Same as {@link #allow()} against the given {@link System#nanoTime()} reading.
+     */
+    public boolean allow(long nowNanos) {
+        long next = nextAllowed.get();
+        if (next != Long.MIN_VALUE && nowNanos - next < 0) {
+            suppressed.incrementAndGet();
+            return false;
+        }
+        // Another thread may win the same slot; only one of them logs
+        if (nextAllowed.compareAndSet(next, nowNanos + intervalNanos)) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Returns how many calls were suppressed since the last time this was called, and
+     * resets the count. Meant to be appended to the line that does get logged.
+     */
+    public int takeSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+}
@@ -0,0 +1,357 @@
+package se233.asteroid.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prometheus text endpoint for unattended soak runs, opt-in with
+ * {@code -Dasteroid.metricsPort=9233} and bound to the loopback address only. Scrape
+ * {@code http://localhost:9233/metrics}.
+ *
+ * The game thread registers its series up front, sets their values as it runs and calls
+ * {@link #publish()} once per tick, which copies the values into a new immutable snapshot
+ * and hands it over with a single volatile write. Requests are answered on the exporter's
+ * own thread from the latest snapshot, so a scrape never waits on the game loop or holds
+ * up the next tick. Heap and GC figures are read from the JVM's MXBeans at scrape time
+ * instead, since those are the JVM's, not the loop's.
+ *
+ * Registration must be finished before {@link #start()}; setting values, recording into
+ * histograms and publishing belong to one thread.
+ */
+public final class MetricsExporter {
+    private static final Logger logger = LogManager.getLogger(MetricsExporter.class);
+
+    public static final String PROPERTY = "asteroid.metricsPort";
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** Upper bounds, in seconds, for frame and step time histograms; 1/60 s sits between buckets. */
+    public static final double[] FRAME_BUCKETS = {0.002, 0.004, 0.008, 0.012, 0.0167, 0.025, 0.033, 0.05, 0.1, 0.25, 1};
+
+    private enum Kind {
+        GAUGE("gauge"), COUNTER("counter"), HISTOGRAM("histogram");
+
+        private final String text;
+
+        Kind(String text) {
+            this.text = text;
+        }
+    }
+
+    // One metric name with its HELP and TYPE lines and the samples under it
+    private static final class Family {
+        private final String name;
+        private final String help;
+        private final Kind kind;
+        private final List<Series> series = new ArrayList<>();
+        private Histogram histogram;
+
+        private Family(String name, String help, Kind kind) {
+            this.name = name;
+            this.help = help;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * A single gauge or counter sample, optionally with one label.
+     */
+    public final class Series {
+        private final int index;
+        private final String labels;
+
+        private Series(int index, String labels) {
+            this.index = index;
+            this.labels = labels;
+        }
+
+        public void set(double value) {
+            pending[index] = value;
+        }
+    }
+
+    /**
+     * A cumulative histogram: counts only grow, so Prometheus can rate() over any window.
+     */
+    public final class Histogram {
+        private final double[] bounds;
+        private final int first; // bucket counts, then +Inf, sum and count
+
+        private Histogram(double[] bounds, int first) {
+            this.bounds = bounds;
+            this.first = first;
+        }
+
+        public void record(double value) {
+            for (int i = 0; i < bounds.length; i++) {
+                if (value <= bounds[i]) {
+                    pending[first + i]++;
+                }
+            }
+            pending[first + bounds.length]++;
+            pending[first + bounds.length + 1] += value;
+            pending[first + bounds.length + 2]++;
+        }
+    }
+
+    /**
+     * Values as of one {@link #publish()}.
+     */
+    public record Snapshot(long sequence, long publishedAtMillis, double[] values) {
+    }
+
+    private final int port;
+    private final List<Family> families = new ArrayList<>();
+    private double[] pending = new double[0];
+    private volatile Snapshot snapshot = new Snapshot(0, 0, new double[0]);
+    private long sequence;
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param port local port to serve on; 0 picks a free one
+     */
+    public MetricsExporter(int port) {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Invalid metrics port: " + port);
+        }
+        this.port = port;
+    }
+
+    /**
+     * @return an exporter for {@code -Dasteroid.metricsPort}, not yet started, or null if
+     *         the property is not set
+     */
+    public static MetricsExporter fromProperties() {
+        Integer port = Integer.getInteger(PROPERTY);
+        return port == null ? null : new MetricsExporter(port);
+    }
+
+    public Series gauge(String name, String help) {
+        return gauge(name, help, null, null);
+    }
+
+    public Series gauge(String name, String help, String label, String labelValue) {
+        return series(name, help, Kind.GAUGE, label, labelValue);
+    }
+
+    public Series counter(String name, String help) {
+        return counter(name, help, null, null);
+    }
+
+    public Series counter(String name, String help, String label, String labelValue) {
+        return series(name, help, Kind.COUNTER, label, labelValue);
+    }
+
+    public Histogram histogram(String name, String help, double[] bounds) {
+        checkOpen();
+        if (family(name) != null) {
+            throw new IllegalArgumentException("Metric already registered: " + name);
+        }
+        Family family = new Family(name, help, Kind.HISTOGRAM);
+        family.histogram = new Histogram(bounds.clone(), grow(bounds.length + 3));
+        families.add(family);
+        return family.histogram;
+    }
+
+    private Series series(String name, String help, Kind kind, String label, String labelValue) {
+        checkOpen();
+        Family family = family(name);
+        if (family == null) {
+            family = new Family(name, help, kind);
+            families.add(family);
+        } else if (family.kind != kind) {
+            throw new IllegalArgumentException("Metric " + name + " is already a " + family.kind.text);
+        }
+        String labels = label == null ? "" : "{" + label + "=\"" + escape(labelValue) + "\"}";
+        Series series = new Series(grow(1), labels);
+        family.series.add(series);
+        return series;
+    }
+
+    private Family family(String name) {
+        for (Family family : families) {
+            if (family.name.equals(name)) {
+                return family;
+            }
+        }
+        return null;
+    }
+
+    // Reserves slots at the end of the value array
+    private int grow(int slots) {
+        int first = pending.length;
+        double[] grown = new double[first + slots];
+        System.arraycopy(pending, 0, grown, 0, first);
+        pending = grown;
+        return first;
+    }
+
+    private void checkOpen() {
+        if (server != null || sequence > 0) {
+            throw new IllegalStateException("Metrics must be registered before the exporter starts");
+        }
+    }
+
+    /**
+     * Makes the values set so far visible to scrapes.
+     */
+    public void publish() {
+        snapshot = new Snapshot(++sequence, System.currentTimeMillis(), pending.clone());
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Renders the latest snapshot, plus heap and GC, in the Prometheus text format. Safe
+     * to call from any thread.
+     */
+    public String render() {
+        Snapshot current = snapshot;
+        double[] values = current.values();
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : families) {
+            header(out, family.name, family.help, family.kind.text);
+            if (family.histogram != null) {
+                Histogram histogram = family.histogram;
+                int n = histogram.bounds.length;
+                for (int i = 0; i < n; i++) {
+                    sample(out, family.name + "_bucket", "{le=\"" + histogram.bounds[i] + "\"}",
+                            value(values, histogram.first + i));
+                }
+                sample(out, family.name + "_bucket", "{le=\"+Inf\"}", value(values, histogram.first + n));
+                sample(out, family.name + "_sum", "", value(values, histogram.first + n + 1));
+                sample(out, family.name + "_count", "", value(values, histogram.first + n + 2));
+            } else {
+                for (Series series : family.series) {
+                    sample(out, family.name, series.labels, value(values, series.index));
+                }
+            }
+        }
+
+        header(out, "asteroid_snapshot_age_seconds", "Time since the game loop last published", "gauge");
+        sample(out, "asteroid_snapshot_age_seconds", "", current.sequence() == 0 ? Double.NaN
+                : (System.currentTimeMillis() - current.publishedAtMillis()) / 1000.0);
+
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+        header(out, "jvm_memory_heap_bytes", "Heap memory by area", "gauge");
+        sample(out, "jvm_memory_heap_bytes", "{area=\"used\"}", heap.getUsed());
+        sample(out, "jvm_memory_heap_bytes", "{area=\"committed\"}", heap.getCommitted());
+        sample(out, "jvm_memory_heap_bytes", "{area=\"max\"}", heap.getMax());
+
+        header(out, "jvm_gc_collections_total", "Collections per collector", "counter");
+        for (GarbageCollectorMXBean collector : collectors) {
+            sample(out, "jvm_gc_collections_total", "{gc=\"" + escape(collector.getName()) + "\"}",
+                    Math.max(0, collector.getCollectionCount()));
+        }
+        header(out, "jvm_gc_collection_seconds_total", "Time spent collecting per collector", "counter");
+        for (GarbageCollectorMXBean collector : collectors) {
+            sample(out, "jvm_gc_collection_seconds_total", "{gc=\"" + escape(collector.getName()) + "\"}",
+                    Math.max(0, collector.getCollectionTime()) / 1000.0);
+        }
+        return out.toString();
+    }
+
+    // Series registered after the snapshot was taken read as 0
+    private static double value(double[] values, int index) {
+        return index < values.length ? values[index] : 0;
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ');
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Starts serving on the loopback address.
+     */
+    public void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext(PATH, this::handle);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        http.setExecutor(executor);
+        http.start();
+        server = http;
+        logger.info("Metrics endpoint listening on http://localhost:{}{}", getPort(), PATH);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("Metrics endpoint stopped");
+        }
+    }
+
+    /**
+     * @return the port being served, which differs from the requested one if that was 0
+     */
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    public boolean isRunning() {
+        return server != null;
+    }
+}
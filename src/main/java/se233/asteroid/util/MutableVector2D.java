@@ -0,0 +1,104 @@
+package se233.asteroid.util;
+
+import javafx.geometry.Point2D;
+
+/**
+ * Mutable 2D vector for per-frame math. Unlike {@link Point2D}, every operation
+ * updates this instance in place and returns it, so movement code can chain
+ * normalize/scale/add on a reused scratch vector without creating garbage.
+ */
+public final class MutableVector2D {
+    public double x;
+    public double y;
+
+    public MutableVector2D() {
+    }
+
+    public MutableVector2D(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public MutableVector2D set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public MutableVector2D set(Point2D point) {
+        return set(point.getX(), point.getY());
+    }
+
+    public MutableVector2D add(double dx, double dy) {
+        x += dx;
+        y += dy;
+        return this;
+    }
+
+    public MutableVector2D subtract(double dx, double dy) {
+        x -= dx;
+        y -= dy;
+        return this;
+    }
+
+    public MutableVector2D scale(double factor) {
+        x *= factor;
+        y *= factor;
+        return this;
+    }
+
+    public double length() {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    public double lengthSquared() {
+        return x * x + y * y;
+    }
+
+    /**
+     * Scales to unit length; a zero vector stays zero, like {@link Point2D#normalize()}.
+     */
+    public MutableVector2D normalize() {
+        double length = length();
+        if (length != 0) {
+            x /= length;
+            y /= length;
+        }
+        return this;
+    }
+
+    /**
+     * Shrinks the vector to {@code maxLength} if it is longer, keeping its direction.
+     */
+    public MutableVector2D limit(double maxLength) {
+        double lengthSquared = lengthSquared();
+        if (lengthSquared > maxLength * maxLength) {
+            double factor = maxLength / Math.sqrt(lengthSquared);
+            x *= factor;
+            y *= factor;
+        }
+        return this;
+    }
+
+    public double distance(double otherX, double otherY) {
+        double dx = otherX - x;
+        double dy = otherY - y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Direction of the vector in degrees, as used for sprite rotation.
+     */
+    public double angleDegrees() {
+        return Math.toDegrees(Math.atan2(y, x));
+    }
+
+    public Point2D toPoint2D() {
+        return new Point2D(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "MutableVector2D[x=" + x + ", y=" + y + "]";
+    }
+}
@@ -0,0 +1,150 @@
+package se233.asteroid.util;
+
+import se233.asteroid.model.Character;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the wrapped playfield. Each entity is bucketed by its centre,
+ * and a query visits the cells within (probe radius + largest inserted radius),
+ * wrapping across the screen edges the same way entities do.
+ *
+ * Buckets are intrusive linked lists in plain int arrays, so clearing and
+ * rebuilding the grid every tick does not allocate once the arrays have grown.
+ */
+public class SpatialHashBroadphase implements Broadphase {
+    public static final double DEFAULT_CELL_SIZE = 64;
+
+    private static final int EMPTY = -1;
+
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellHeads;
+    private final int[] cellCounts;
+
+    // Entity slots; next[i] links slot i to the next slot in the same cell
+    private Character[] entities = new Character[64];
+    private int[] next = new int[64];
+    private int entityCount;
+    private double maxRadius;
+
+    // Statistics
+    private int occupiedCells;
+    private int maxCellOccupancy;
+    private long queryCount;
+    private long candidatePairCount;
+
+    public SpatialHashBroadphase(double width, double height, double cellSize) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException("Invalid grid dimensions: " + width + "x" + height + " / " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.columns = (int) Math.ceil(width / cellSize);
+        this.rows = (int) Math.ceil(height / cellSize);
+        this.cellHeads = new int[columns * rows];
+        this.cellCounts = new int[columns * rows];
+        Arrays.fill(cellHeads, EMPTY);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(cellHeads, EMPTY);
+        Arrays.fill(cellCounts, 0);
+        Arrays.fill(entities, 0, entityCount, null);
+        entityCount = 0;
+        maxRadius = 0;
+        occupiedCells = 0;
+        maxCellOccupancy = 0;
+        queryCount = 0;
+        candidatePairCount = 0;
+    }
+
+    @Override
+    public void insert(Character entity) {
+        if (entityCount == entities.length) {
+            entities = Arrays.copyOf(entities, entityCount * 2);
+            next = Arrays.copyOf(next, entityCount * 2);
+        }
+
+        int cell = wrapRow(cellOf(entity.getY())) * columns + wrapColumn(cellOf(entity.getX()));
+
+        int slot = entityCount++;
+        entities[slot] = entity;
+        next[slot] = cellHeads[cell];
+        cellHeads[cell] = slot;
+
+        int count = ++cellCounts[cell];
+        if (count == 1) {
+            occupiedCells++;
+        }
+        maxCellOccupancy = Math.max(maxCellOccupancy, count);
+        maxRadius = Math.max(maxRadius, entity.getHitRadius());
+    }
+
+    @Override
+    public List<Character> query(Character probe, List<Character> out) {
+        out.clear();
+        queryCount++;
+        if (entityCount == 0) {
+            return out;
+        }
+
+        int reach = (int) Math.ceil((probe.getHitRadius() + maxRadius) / cellSize);
+        int centerColumn = cellOf(probe.getX());
+        int centerRow = cellOf(probe.getY());
+
+        // Clamp the span so a huge reach visits each cell exactly once
+        int columnSpan = Math.min(2 * reach + 1, columns);
+        int rowSpan = Math.min(2 * reach + 1, rows);
+        int firstColumn = centerColumn - Math.min(reach, columns / 2);
+        int firstRow = centerRow - Math.min(reach, rows / 2);
+
+        for (int r = 0; r < rowSpan; r++) {
+            int rowOffset = wrapRow(firstRow + r) * columns;
+            for (int c = 0; c < columnSpan; c++) {
+                int slot = cellHeads[rowOffset + wrapColumn(firstColumn + c)];
+                while (slot != EMPTY) {
+                    Character entity = entities[slot];
+                    if (entity != probe) {
+                        out.add(entity);
+                    }
+                    slot = next[slot];
+                }
+            }
+        }
+
+        candidatePairCount += out.size();
+        return out;
+    }
+
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private int wrapColumn(int column) {
+        return Math.floorMod(column, columns);
+    }
+
+    private int wrapRow(int row) {
+        return Math.floorMod(row, rows);
+    }
+
+    // Getters
+    public double getCellSize() { return cellSize; }
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+    @Override public int getEntityCount() { return entityCount; }
+    @Override public int getCellCount() { return cellHeads.length; }
+    @Override public int getOccupiedCellCount() { return occupiedCells; }
+    @Override public int getMaxCellOccupancy() { return maxCellOccupancy; }
+    @Override public long getQueryCount() { return queryCount; }
+    @Override public long getCandidatePairCount() { return candidatePairCount; }
+
+    @Override
+    public String toString() {
+        return String.format("SpatialHashBroadphase[%dx%d cells, entities=%d, occupied=%d, maxPerCell=%d, queries=%d, pairs=%d]",
+                columns, rows, entityCount, occupiedCells, maxCellOccupancy, queryCount, candidatePairCount);
+    }
+}
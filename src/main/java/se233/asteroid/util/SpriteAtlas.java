@@ -0,0 +1,159 @@
+package se233.asteroid.util;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read side of the sprite atlas that {@link AtlasPacker} writes at build time: a few page
+ * textures holding every sprite and sheet frame, and a binary index from
+ * {@link SpriteSheet#key()} to each frame's page and rectangle.
+ *
+ * Index layout (big-endian, as written by {@link java.io.DataOutputStream}):
+ * <pre>
+ *   int magic "ATLS", int version
+ *   int pageCount,  pageCount x UTF file name, relative to the index
+ *   int sheetCount, sheetCount x (UTF key, int frameCount, frameCount x (int page, x, y, width, height))
+ * </pre>
+ * Page textures are decoded through the {@link AssetCache} on first use. A classpath
+ * without an index (an IDE run that skipped the build step) gets an empty atlas, and
+ * {@link FrameSetRegistry} slices the sheets at runtime instead.
+ */
+public final class SpriteAtlas {
+    private static final Logger logger = LogManager.getLogger(SpriteAtlas.class);
+
+    public static final String ATLAS_DIR = "/se233/asteroid/atlas/";
+    public static final String INDEX_NAME = "atlas.idx";
+    static final int MAGIC = 0x41544C53; // "ATLS"
+    static final int VERSION = 1;
+
+    private static volatile SpriteAtlas instance;
+
+    private final List<String> pagePaths;
+    private final Map<String, int[]> regions; // key -> page, x, y, width, height per frame
+    private final Set<String> sourcePaths;
+    private final Function<String, Image> pageLoader;
+
+    private SpriteAtlas(List<String> pagePaths, Map<String, int[]> regions, Function<String, Image> pageLoader) {
+        this.pagePaths = Collections.unmodifiableList(pagePaths);
+        this.regions = regions;
+        this.pageLoader = pageLoader;
+        this.sourcePaths = new HashSet<>();
+        for (String key : regions.keySet()) {
+            sourcePaths.add(key.substring(0, key.lastIndexOf('#')));
+        }
+    }
+
+    /**
+     * The atlas packed into the game's classpath, or an empty one if there is none.
+     */
+    public static SpriteAtlas getInstance() {
+        SpriteAtlas atlas = instance;
+        if (atlas == null) {
+            synchronized (SpriteAtlas.class) {
+                atlas = instance;
+                if (atlas == null) {
+                    atlas = loadFromClasspath();
+                    instance = atlas;
+                }
+            }
+        }
+        return atlas;
+    }
+
+    private static SpriteAtlas loadFromClasspath() {
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(ATLAS_DIR + INDEX_NAME)) {
+            if (in == null) {
+                logger.info("No sprite atlas on the classpath, sprite sheets will be sliced at runtime");
+                return empty();
+            }
+            SpriteAtlas atlas = read(in, ATLAS_DIR, AssetCache::getImage);
+            logger.info("Sprite atlas: {} sheets on {} pages", atlas.regions.size(), atlas.pagePaths.size());
+            return atlas;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to read the sprite atlas index, sprite sheets will be sliced at runtime", e);
+            return empty();
+        }
+    }
+
+    public static SpriteAtlas empty() {
+        return new SpriteAtlas(new ArrayList<>(), new HashMap<>(), path -> null);
+    }
+
+    /**
+     * Reads an index whose pages live in {@code pageDir} and are loaded by {@code pageLoader}.
+     */
+    public static SpriteAtlas read(InputStream index, String pageDir, Function<String, Image> pageLoader) throws IOException {
+        DataInputStream in = new DataInputStream(index);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a sprite atlas index");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported sprite atlas version " + version);
+        }
+
+        int pageCount = in.readInt();
+        List<String> pagePaths = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pagePaths.add(pageDir + in.readUTF());
+        }
+
+        int sheetCount = in.readInt();
+        Map<String, int[]> regions = new HashMap<>(sheetCount * 2);
+        for (int s = 0; s < sheetCount; s++) {
+            String key = in.readUTF();
+            int[] rects = new int[in.readInt() * 5];
+            for (int i = 0; i < rects.length; i++) {
+                rects[i] = in.readInt();
+            }
+            regions.put(key, rects);
+        }
+        return new SpriteAtlas(pagePaths, regions, pageLoader);
+    }
+
+    /**
+     * The sheet's frames as regions of the page textures, or null when the sheet was not
+     * packed or its page cannot be loaded.
+     */
+    public List<SpriteFrame> find(SpriteSheet sheet) {
+        int[] rects = regions.get(sheet.key());
+        if (rects == null) {
+            return null;
+        }
+        List<SpriteFrame> frames = new ArrayList<>(rects.length / 5);
+        for (int i = 0; i < rects.length; i += 5) {
+            Image page = pageLoader.apply(pagePaths.get(rects[i]));
+            if (page == null || page.isError()) {
+                logger.error("Sprite atlas page {} could not be loaded", pagePaths.get(rects[i]));
+                return null;
+            }
+            frames.add(new SpriteFrame(page, new Rectangle2D(rects[i + 1], rects[i + 2], rects[i + 3], rects[i + 4])));
+        }
+        return frames;
+    }
+
+    /**
+     * Whether any sheet or sprite was packed from this image.
+     */
+    public boolean covers(String path) {
+        return sourcePaths.contains(path);
+    }
+
+    public List<String> getPagePaths() { return pagePaths; }
+    public int getSheetCount() { return regions.size(); }
+    public boolean isEmpty() { return regions.isEmpty(); }
+}
@@ -0,0 +1,35 @@
+package se233.asteroid.util;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * One drawable frame: a texture and the part of it to show. Frames from the sprite atlas
+ * share their page texture and differ only in viewport; frames sliced at runtime are whole
+ * images with no viewport.
+ */
+public record SpriteFrame(Image image, Rectangle2D viewport) {
+
+    public static SpriteFrame of(Image image) {
+        return new SpriteFrame(image, null);
+    }
+
+    /**
+     * Shows this frame in the view, replacing both its image and its viewport.
+     */
+    public void applyTo(ImageView view) {
+        view.setImage(image);
+        view.setViewport(viewport);
+    }
+
+    public double getWidth() {
+        if (viewport != null) return viewport.getWidth();
+        return image != null ? image.getWidth() : 0;
+    }
+
+    public double getHeight() {
+        if (viewport != null) return viewport.getHeight();
+        return image != null ? image.getHeight() : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package se233.asteroid.util;
+
+/**
+ * How one image is cut into animation frames: {@code frameCount} equal cells side by side
+ * (stacked when {@code vertical}), with pixels less opaque than {@code alphaThreshold}
+ * cleared. A plain sprite is a sheet of one frame.
+ *
+ * The same description drives {@link AtlasPacker} at build time and the frame lookups in
+ * {@link FrameSetRegistry} at runtime, which find each other through {@link #key()}.
+ */
+public record SpriteSheet(String path, int frameCount, boolean vertical, int alphaThreshold) {
+
+    public SpriteSheet {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive: " + frameCount);
+        }
+    }
+
+    public static SpriteSheet single(String path) {
+        return new SpriteSheet(path, 1, false, 0);
+    }
+
+    public static SpriteSheet row(String path, int frameCount) {
+        return new SpriteSheet(path, frameCount, false, 0);
+    }
+
+    /**
+     * Identifies the sliced frames, e.g. {@code /se233/asteroid/assets/Boss/Explosion_Boss.png#8ha10}.
+     */
+    public String key() {
+        return path + "#" + frameCount + (vertical ? "v" : "h") + (alphaThreshold > 0 ? "a" + alphaThreshold : "");
+    }
+}
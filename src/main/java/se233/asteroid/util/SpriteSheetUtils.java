@@ -15,16 +15,13 @@ public class SpriteSheetUtils {
 
     public static List<Image> extractFrames(String resourcePath, int frameCount, boolean isVertical) {
         try {
-            // Check resource path
-            var resourceStream = SpriteSheetUtils.class.getResourceAsStream(resourcePath);
-            if (resourceStream == null) {
+            // Sheets come from the shared cache, so slicing never re-decodes the PNG
+            Image spriteSheet = AssetCache.getImage(resourcePath);
+            if (spriteSheet == null) {
                 logger.error("Sprite sheet not found: {}", resourcePath);
                 return createFallbackFrames(frameCount);
             }
 
-            // Load and verify sprite sheet
-            Image spriteSheet = new Image(resourceStream);
-
             // Check if image loaded successfully
             if (spriteSheet.isError()) {
                 logger.error("Error loading sprite sheet: {}", resourcePath);
@@ -71,15 +68,13 @@ public class SpriteSheetUtils {
 
     public static List<Image> extractFramesWithAlpha(String resourcePath, int frameCount, boolean isVertical, int alphaThreshold) {
         try {
-            // Check resource path
-            var resourceStream = SpriteSheetUtils.class.getResourceAsStream(resourcePath);
-            if (resourceStream == null) {
+            // Sheets come from the shared cache, so slicing never re-decodes the PNG
+            Image spriteSheet = AssetCache.getImage(resourcePath);
+            if (spriteSheet == null) {
                 logger.error("Sprite sheet not found: {}", resourcePath);
                 return createFallbackFrames(frameCount);
             }
 
-            Image spriteSheet = new Image(resourceStream);
-
             // Verify image loading
             if (spriteSheet.isError()) {
                 logger.error("Error loading sprite sheet: {}", resourcePath);
@@ -0,0 +1,333 @@
+package se233.asteroid.view;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Node;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+/**
+ * Draws the space background and the parallax star layers onto one canvas at the bottom
+ * of the game layer, advanced by {@link #update(double)} with the frame time the game
+ * hands out (zero while paused, which skips the redraw entirely).
+ *
+ * Stars are generated from a fixed seed into primitive position arrays and painted once
+ * into a transparent tile per layer; a frame then only scrolls each tile, one drawImage
+ * per layer (two while a tile wraps past the bottom edge).
+ *
+ * {@code -Dasteroid.background} picks what is behind the stars:
+ * <ul>
+ *   <li>{@code ring} (default): SpaceBG.gif decoded once into a ring of frames, downscaled
+ *   by {@code -Dasteroid.background.downscale} (default 4) while decoding, and stepped
+ *   with the game clock</li>
+ *   <li>{@code gif}: the animated GIF in an ImageView, playing on its own as before</li>
+ *   <li>{@code stars}: a plain gradient</li>
+ * </ul>
+ * The ring and gif modes fall back to the gradient if the image cannot be loaded. The
+ * ring is decoded by {@link #loadRing()}, which is safe to call from a loader thread; the
+ * gradient is drawn until it is done.
+ */
+public class BackgroundRenderer {
+    private static final Logger logger = LogManager.getLogger(BackgroundRenderer.class);
+
+    public static final String MODE_PROPERTY = "asteroid.background";
+    public static final String DOWNSCALE_PROPERTY = "asteroid.background.downscale";
+    public static final int DEFAULT_DOWNSCALE = 4;
+
+    static final String BACKGROUND_PATH = "/se233/asteroid/assets/Backgrounds/SpaceBG.gif";
+    private static final double DEFAULT_FRAME_DELAY = 0.1; // GIFs with no delay play at 10 fps
+    private static final long STAR_SEED = 0x57A75L;
+
+    // Per star layer, back to front: star count, seconds to cross the screen, opacity, arm length
+    private static final int[] STAR_COUNTS = {20, 15, 10};
+    private static final double[] CROSSING_SECONDS = {2, 4, 6};
+    private static final double[] STAR_ALPHA = {0.5, 0.7, 0.9};
+    private static final int[] STAR_ARMS = {3, 4, 5};
+
+    private static final LinearGradient GRADIENT = new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+            new Stop(0, Color.web("#000022")), new Stop(1, Color.web("#000066")));
+
+    public enum Mode {
+        RING, GIF, STARS;
+
+        public static Mode fromProperties() {
+            String value = System.getProperty(MODE_PROPERTY, "ring");
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown background mode '{}', using ring", value);
+                return RING;
+            }
+        }
+    }
+
+    private final Pane layer;
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final double width;
+    private final double height;
+    private final Mode mode;
+
+    // Stars, one array pair per layer, and each layer's pre-painted tile and scroll offset
+    private final double[][] starX;
+    private final double[][] starY;
+    private final WritableImage[] starTiles;
+    private final double[] offsets;
+
+    // Background frames for the ring mode, published whole by the loading thread; null
+    // while the gradient is drawn instead
+    private volatile Ring ring;
+    private boolean ringLoaded;
+    private double ringTime;
+    private int frameIndex;
+
+    private ImageView gifView;
+    private volatile boolean dirty = true;
+
+    private record Ring(Image[] frames, double[] frameEnds) { // frameEnds: cumulative end time of each frame
+    }
+
+    public BackgroundRenderer(Pane layer, double width, double height, Mode mode) {
+        this.layer = layer;
+        this.width = width;
+        this.height = height;
+        this.mode = mode;
+        this.canvas = new Canvas(width, height);
+        this.graphics = canvas.getGraphicsContext2D();
+        canvas.setMouseTransparent(true);
+
+        int layers = STAR_COUNTS.length;
+        starX = new double[layers][];
+        starY = new double[layers][];
+        starTiles = new WritableImage[layers];
+        offsets = new double[layers];
+        createStars();
+
+        if (mode == Mode.GIF) {
+            loadGifView();
+        }
+        attach();
+        logger.info("Background: {} mode, {} star layers", mode, layers);
+    }
+
+    private void createStars() {
+        Random random = new Random(STAR_SEED);
+        for (int l = 0; l < STAR_COUNTS.length; l++) {
+            starX[l] = new double[STAR_COUNTS[l]];
+            starY[l] = new double[STAR_COUNTS[l]];
+            for (int i = 0; i < STAR_COUNTS[l]; i++) {
+                starX[l][i] = random.nextDouble() * width;
+                starY[l][i] = random.nextDouble() * height;
+            }
+            starTiles[l] = paintTile(starX[l], starY[l], STAR_ARMS[l], STAR_ALPHA[l]);
+        }
+    }
+
+    // Four-armed sparkles fading out along each arm, wrapping top to bottom so the tile scrolls seamlessly
+    private WritableImage paintTile(double[] xs, double[] ys, int arm, double alpha) {
+        int w = (int) Math.ceil(width);
+        int h = (int) Math.ceil(height);
+        int[] pixels = new int[w * h];
+        for (int i = 0; i < xs.length; i++) {
+            int cx = (int) xs[i];
+            int cy = (int) ys[i];
+            for (int d = -arm; d <= arm; d++) {
+                int a = (int) (255 * alpha * (1 - Math.abs(d) / (arm + 1.0)));
+                plot(pixels, w, h, cx + d, cy, a);
+                if (d != 0) {
+                    plot(pixels, w, h, cx, cy + d, a);
+                }
+            }
+        }
+        WritableImage tile = new WritableImage(w, h);
+        tile.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+        return tile;
+    }
+
+    private static void plot(int[] pixels, int w, int h, int px, int py, int alpha) {
+        if (px < 0 || px >= w) return;
+        int index = Math.floorMod(py, h) * w + px;
+        if (alpha > pixels[index] >>> 24) {
+            pixels[index] = alpha << 24 | 0xFFFFFF;
+        }
+    }
+
+    /**
+     * Decodes the background ring in ring mode; does nothing in the other modes or once the
+     * ring has been loaded (or has failed to). Only touches pixel data, so it may run off
+     * the FX thread.
+     */
+    public synchronized void loadRing() {
+        if (mode != Mode.RING || ringLoaded) return;
+        ringLoaded = true;
+        try {
+            ring = loadFrames(Math.max(1, Integer.getInteger(DOWNSCALE_PROPERTY, DEFAULT_DOWNSCALE)));
+            dirty = true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to decode background frames, using the gradient", e);
+        }
+    }
+
+    /**
+     * Decodes every frame of the background GIF, keeping one pixel in {@code downscale}
+     * each way. Frames are taken whole, as SpaceBG.gif stores them.
+     */
+    private static Ring loadFrames(int downscale) throws IOException {
+        long start = System.nanoTime();
+        ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+        try (InputStream in = BackgroundRenderer.class.getResourceAsStream(BACKGROUND_PATH)) {
+            if (in == null) {
+                throw new IOException("Background not found: " + BACKGROUND_PATH);
+            }
+            ImageInputStream stream = ImageIO.createImageInputStream(in);
+            reader.setInput(stream, false);
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(downscale, downscale, 0, 0);
+
+            int count = reader.getNumImages(true);
+            Image[] frames = new Image[count];
+            double[] frameEnds = new double[count];
+            double end = 0;
+            for (int i = 0; i < count; i++) {
+                frames[i] = toImage(reader.read(i, param));
+                end += frameDelay(reader.getImageMetadata(i));
+                frameEnds[i] = end;
+            }
+            logger.info("Background ring: {} frames of {}x{} in {} ms", count,
+                    (int) frames[0].getWidth(), (int) frames[0].getHeight(), (System.nanoTime() - start) / 1_000_000);
+            return new Ring(frames, frameEnds);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static Image toImage(BufferedImage frame) {
+        int w = frame.getWidth();
+        int h = frame.getHeight();
+        int[] pixels = frame.getRGB(0, 0, w, h, null, 0, w);
+        WritableImage image = new WritableImage(w, h);
+        image.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+        return image;
+    }
+
+    // The frame's delay in seconds, from the GIF's graphic control extension
+    private static double frameDelay(IIOMetadata metadata) {
+        Node root = metadata.getAsTree("javax_imageio_gif_image_1.0");
+        for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if ("GraphicControlExtension".equals(node.getNodeName())) {
+                Node delay = node.getAttributes().getNamedItem("delayTime");
+                int hundredths = delay != null ? Integer.parseInt(delay.getNodeValue()) : 0;
+                return hundredths > 0 ? hundredths / 100.0 : DEFAULT_FRAME_DELAY;
+            }
+        }
+        return DEFAULT_FRAME_DELAY;
+    }
+
+    private void loadGifView() {
+        try (InputStream in = BackgroundRenderer.class.getResourceAsStream(BACKGROUND_PATH)) {
+            Image image = in != null ? new Image(in) : null;
+            if (image == null || image.isError()) {
+                logger.error("Failed to load background image, using the gradient");
+                return;
+            }
+            gifView = new ImageView(image);
+            gifView.setFitWidth(width);
+            gifView.setFitHeight(height);
+            gifView.setPreserveRatio(false);
+            gifView.setMouseTransparent(true);
+        } catch (IOException e) {
+            logger.error("Failed to load background image, using the gradient", e);
+        }
+    }
+
+    /**
+     * Puts the background at the bottom of the layer again, e.g. after the layer was
+     * cleared on game reset. Nothing is decoded twice.
+     */
+    public void attach() {
+        if (canvas.getParent() != layer) {
+            layer.getChildren().add(0, canvas);
+        }
+        if (gifView != null && gifView.getParent() != layer) {
+            layer.getChildren().add(0, gifView);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Scrolls the stars and steps the background ring by {@code dt} seconds.
+     */
+    public void update(double dt) {
+        if (dt <= 0) return;
+        for (int l = 0; l < offsets.length; l++) {
+            offsets[l] = (offsets[l] + dt * height / CROSSING_SECONDS[l]) % height;
+        }
+        Ring ring = this.ring;
+        if (ring != null) {
+            double[] frameEnds = ring.frameEnds();
+            double cycle = frameEnds[frameEnds.length - 1];
+            ringTime = (ringTime + dt) % cycle;
+            frameIndex = 0;
+            while (ringTime >= frameEnds[frameIndex]) {
+                frameIndex++;
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Redraws the canvas if anything moved since the last call.
+     */
+    public void render() {
+        if (!dirty) return;
+        dirty = false;
+
+        Ring ring = this.ring;
+        if (ring != null) {
+            graphics.clearRect(0, 0, width, height);
+            graphics.drawImage(ring.frames()[frameIndex], 0, 0, width, height);
+        } else if (gifView != null) {
+            graphics.clearRect(0, 0, width, height);
+        } else {
+            graphics.setFill(GRADIENT);
+            graphics.fillRect(0, 0, width, height);
+        }
+
+        // Stars fall down the screen; the part of a tile pushed past the bottom reappears at the top
+        for (int l = 0; l < starTiles.length; l++) {
+            double offset = offsets[l];
+            graphics.drawImage(starTiles[l], 0, offset);
+            if (offset > 0) {
+                graphics.drawImage(starTiles[l], 0, offset - height);
+            }
+        }
+    }
+
+    // Getters
+    public Canvas getCanvas() { return canvas; }
+    public Mode getMode() { return mode; }
+    public int getFrameCount() { Ring ring = this.ring; return ring != null ? ring.frames().length : 0; }
+    public int getFrameIndex() { return frameIndex; }
+    public Image getFrame(int index) { return ring.frames()[index]; }
+    public int getStarLayerCount() { return starTiles.length; }
+    public double getStarOffset(int layer) { return offsets[layer]; }
+}
@@ -0,0 +1,203 @@
+package se233.asteroid.view;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paints every attached sprite into one Canvas on the game layer. The ImageViews never
+ * join the scene graph: attaching and detaching are O(1) on a plain array, and each frame
+ * is a single pass that reads the views back and draws them grouped by texture so that
+ * consecutive drawImage calls share the same source image.
+ *
+ * Only the ImageView state the entities use is honoured: image, viewport, fit size,
+ * position, rotation, scale, opacity and visibility. Node effects are not drawn.
+ */
+public class CanvasSpriteRenderer implements SpriteRenderer {
+    private static final Logger logger = LogManager.getLogger(CanvasSpriteRenderer.class);
+
+    private final Pane layer;
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+
+    // Attached sprites, with each one's index for swap-removal
+    private final List<ImageView> sprites = new ArrayList<>();
+    private final Map<ImageView, Integer> indices = new IdentityHashMap<>();
+
+    // Per-texture draw lists, reused from frame to frame
+    private final Map<Image, List<ImageView>> batches = new IdentityHashMap<>();
+    private final List<List<ImageView>> activeBatches = new ArrayList<>();
+    private int lastBatchCount;
+    private int lastDrawCount;
+
+    public CanvasSpriteRenderer(Pane layer, double width, double height) {
+        this.layer = layer;
+        this.canvas = new Canvas(width, height);
+        this.graphics = canvas.getGraphicsContext2D();
+        canvas.setMouseTransparent(true);
+        layer.getChildren().add(canvas);
+        logger.info("Canvas sprite renderer created ({}x{})", width, height);
+    }
+
+    @Override
+    public void attach(ImageView sprite) {
+        if (indices.containsKey(sprite)) return;
+        indices.put(sprite, sprites.size());
+        sprites.add(sprite);
+    }
+
+    @Override
+    public void detach(ImageView sprite) {
+        Integer index = indices.remove(sprite);
+        if (index == null) return;
+        int last = sprites.size() - 1;
+        ImageView moved = sprites.remove(last);
+        if (index != last) {
+            sprites.set(index, moved);
+            indices.put(moved, index);
+        }
+    }
+
+    @Override
+    public void clear() {
+        sprites.clear();
+        indices.clear();
+        batches.clear();
+        // Clearing the layer also took the canvas off it
+        if (canvas.getParent() != layer) {
+            layer.getChildren().add(canvas);
+        }
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    @Override
+    public void render() {
+        // Group visible sprites by texture
+        for (int i = 0, n = sprites.size(); i < n; i++) {
+            ImageView sprite = sprites.get(i);
+            Image image = sprite.getImage();
+            if (image == null || !sprite.isVisible() || sprite.getOpacity() <= 0) continue;
+
+            List<ImageView> batch = batches.get(image);
+            if (batch == null) {
+                batch = new ArrayList<>();
+                batches.put(image, batch);
+            }
+            if (batch.isEmpty()) {
+                activeBatches.add(batch);
+            }
+            batch.add(sprite);
+        }
+
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        int drawn = 0;
+        for (int b = 0, batchCount = activeBatches.size(); b < batchCount; b++) {
+            List<ImageView> batch = activeBatches.get(b);
+            for (int i = 0, n = batch.size(); i < n; i++) {
+                draw(batch.get(i));
+            }
+            drawn += batch.size();
+            batch.clear();
+        }
+        lastBatchCount = activeBatches.size();
+        lastDrawCount = drawn;
+        activeBatches.clear();
+
+        // Drop textures no sprite uses any more (finished animations, reset games)
+        if (batches.size() > 4 * Math.max(lastBatchCount, 16)) {
+            batches.clear();
+        }
+    }
+
+    private void draw(ImageView sprite) {
+        Image image = sprite.getImage();
+        Rectangle2D viewport = sprite.getViewport();
+        double sourceX = viewport != null ? viewport.getMinX() : 0;
+        double sourceY = viewport != null ? viewport.getMinY() : 0;
+        double sourceWidth = viewport != null ? viewport.getWidth() : image.getWidth();
+        double sourceHeight = viewport != null ? viewport.getHeight() : image.getHeight();
+        if (sourceWidth <= 0 || sourceHeight <= 0) return;
+
+        // Same sizing rules as ImageView's fitWidth/fitHeight/preserveRatio
+        double width = sprite.getFitWidth();
+        double height = sprite.getFitHeight();
+        if (width <= 0 && height <= 0) {
+            width = sourceWidth;
+            height = sourceHeight;
+        } else if (sprite.isPreserveRatio()) {
+            if (width <= 0) {
+                width = height * sourceWidth / sourceHeight;
+            } else if (height <= 0) {
+                height = width * sourceHeight / sourceWidth;
+            } else {
+                double fit = Math.min(width / sourceWidth, height / sourceHeight);
+                width = sourceWidth * fit;
+                height = sourceHeight * fit;
+            }
+        } else {
+            if (width <= 0) width = sourceWidth;
+            if (height <= 0) height = sourceHeight;
+        }
+
+        double left = sprite.getLayoutX() + sprite.getTranslateX() + sprite.getX();
+        double top = sprite.getLayoutY() + sprite.getTranslateY() + sprite.getY();
+        double rotation = sprite.getRotate();
+        double scaleX = sprite.getScaleX();
+        double scaleY = sprite.getScaleY();
+        double opacity = sprite.getOpacity();
+
+        if (opacity < 1) {
+            graphics.setGlobalAlpha(opacity);
+        }
+        if (rotation == 0 && scaleX == 1 && scaleY == 1) {
+            graphics.drawImage(image, sourceX, sourceY, sourceWidth, sourceHeight, left, top, width, height);
+        } else {
+            // Nodes rotate and scale about their centre. Setting the matrix directly
+            // avoids save()/restore(), which copy the whole graphics state per sprite.
+            double radians = Math.toRadians(rotation);
+            double cos = Math.cos(radians);
+            double sin = Math.sin(radians);
+            graphics.setTransform(cos * scaleX, sin * scaleX, -sin * scaleY, cos * scaleY,
+                    left + width / 2, top + height / 2);
+            graphics.drawImage(image, sourceX, sourceY, sourceWidth, sourceHeight,
+                    -width / 2, -height / 2, width, height);
+            graphics.setTransform(1, 0, 0, 1, 0, 0);
+        }
+        if (opacity < 1) {
+            graphics.setGlobalAlpha(1);
+        }
+    }
+
+    @Override
+    public int getSpriteCount() {
+        return sprites.size();
+    }
+
+    /**
+     * Distinct textures drawn in the last frame.
+     */
+    public int getBatchCount() {
+        return lastBatchCount;
+    }
+
+    /**
+     * Sprites actually drawn in the last frame (attached, visible and with an image).
+     */
+    public int getDrawCount() {
+        return lastDrawCount;
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+}
@@ -0,0 +1,196 @@
+package se233.asteroid.view;
+
+import javafx.scene.image.ImageView;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Character;
+import se233.asteroid.model.EnemyBullet;
+import se233.asteroid.model.PlayerShip;
+import se233.asteroid.model.SpecialAttack;
+import se233.asteroid.util.SpriteFrame;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The scene side of the entities. Entities own no nodes: they keep their frame, size,
+ * rotation, opacity and visibility as plain state, and this class gives each shown entity
+ * an {@link ImageView}, copies that state onto it once per rendered frame and hands the
+ * view to the {@link SpriteRenderer}.
+ *
+ * Views are recycled through a free list, so entities coming and going do not allocate
+ * nodes. Pooled projectiles are only hidden when they leave play and keep their view for
+ * the next shot, the way their sprites stayed attached before.
+ */
+public class EntitySprites {
+    private static final String ENEMY_BULLET_STYLE = "-fx-effect: dropshadow(gaussian, greenyellow, 10, 0.5, 0, 0);";
+    private static final String BOSS_BULLET_STYLE = "-fx-effect: dropshadow(gaussian, green, 10, 0.5, 0, 0);";
+    private static final String ENEMY_MISSILE_STYLE = "-fx-effect: dropshadow(gaussian, red, 15, 0.7, 0, 0);";
+    private static final String PLAYER_MISSILE_STYLE = "-fx-effect: dropshadow(gaussian, blue, 15, 0.7, 0, 0);";
+
+    private final SpriteRenderer renderer;
+
+    // Shown entities and their views, with each one's index for swap-removal
+    private final List<Character> entities = new ArrayList<>();
+    private final List<ImageView> views = new ArrayList<>();
+    private final Map<Character, Integer> indices = new IdentityHashMap<>();
+    private final Deque<ImageView> freeViews = new ArrayDeque<>();
+
+    // The player's thruster and muzzle flash, drawn while the player is shown
+    private final ImageView thrusterView = effectView();
+    private final ImageView shootEffectView = effectView();
+    private PlayerShip player;
+
+    public EntitySprites(SpriteRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Starts drawing the entity. Showing an entity that is already shown only refreshes
+     * its projectile style, since a pooled bullet may come back fired by the other side.
+     */
+    public void show(Character entity) {
+        Integer index = indices.get(entity);
+        ImageView view;
+        if (index != null) {
+            view = views.get(index);
+        } else {
+            view = freeViews.isEmpty() ? new ImageView() : freeViews.pop();
+            view.setPreserveRatio(true);
+            indices.put(entity, entities.size());
+            entities.add(entity);
+            views.add(view);
+            renderer.attach(view);
+        }
+        view.setStyle(styleOf(entity));
+
+        if (entity instanceof PlayerShip ship) {
+            player = ship;
+            renderer.attach(thrusterView);
+            renderer.attach(shootEffectView);
+        }
+    }
+
+    /**
+     * Takes a pooled projectile out of play. Its view stays attached and stops being drawn
+     * once the projectile is inactive.
+     */
+    public void hide(Character entity) {
+        Integer index = indices.get(entity);
+        if (index != null) {
+            views.get(index).setVisible(false);
+        }
+    }
+
+    /**
+     * Stops drawing the entity and keeps its view for the next one.
+     */
+    public void remove(Character entity) {
+        Integer index = indices.remove(entity);
+        if (index == null) return;
+
+        ImageView view = views.get(index);
+        int last = entities.size() - 1;
+        Character movedEntity = entities.remove(last);
+        ImageView movedView = views.remove(last);
+        if (index != last) {
+            entities.set(index, movedEntity);
+            views.set(index, movedView);
+            indices.put(movedEntity, index);
+        }
+        renderer.detach(view);
+        freeViews.push(view);
+
+        if (entity == player) {
+            renderer.detach(thrusterView);
+            renderer.detach(shootEffectView);
+            player = null;
+        }
+    }
+
+    /**
+     * Copies every shown entity's sprite state onto its view.
+     */
+    public void draw() {
+        for (int i = 0; i < entities.size(); i++) {
+            Character entity = entities.get(i);
+            ImageView view = views.get(i);
+            SpriteFrame frame = entity.getFrame();
+            boolean visible = frame != null && entity.isSpriteVisible();
+            view.setVisible(visible);
+            if (!visible) continue;
+
+            applyFrame(view, frame);
+            view.setFitWidth(entity.getSpriteWidth());
+            view.setFitHeight(entity.getSpriteHeight());
+            view.setOpacity(entity.getSpriteOpacity());
+            view.setTranslateX(entity.getX() - entity.getDisplayWidth() / 2);
+            view.setTranslateY(entity.getY() - entity.getDisplayHeight() / 2);
+            view.setRotate(entity.getSpriteRotation());
+        }
+        if (player != null) {
+            drawEffect(thrusterView, player.getThrusterFrame(), player.getThrusterX(), player.getThrusterY());
+            drawEffect(shootEffectView, player.getShootEffectFrame(), player.getShootEffectX(), player.getShootEffectY());
+        }
+    }
+
+    /**
+     * Forgets every entity, e.g. after the layer has been cleared for a new game.
+     */
+    public void clear() {
+        for (int i = 0; i < views.size(); i++) {
+            freeViews.push(views.get(i));
+        }
+        entities.clear();
+        views.clear();
+        indices.clear();
+        player = null;
+    }
+
+    public int getEntityCount() {
+        return entities.size();
+    }
+
+    private void drawEffect(ImageView view, SpriteFrame frame, double x, double y) {
+        boolean visible = frame != null && player.isSpriteVisible();
+        view.setVisible(visible);
+        if (!visible) return;
+
+        applyFrame(view, frame);
+        view.setTranslateX(x - PlayerShip.EFFECT_SIZE / 2);
+        view.setTranslateY(y - PlayerShip.EFFECT_SIZE / 2);
+        view.setRotate(player.getRotation());
+    }
+
+    // Frames change far less often than positions, so unchanged ones are not set again
+    private static void applyFrame(ImageView view, SpriteFrame frame) {
+        if (view.getImage() != frame.image() || view.getViewport() != frame.viewport()) {
+            frame.applyTo(view);
+        }
+    }
+
+    private static ImageView effectView() {
+        ImageView view = new ImageView();
+        view.setFitWidth(PlayerShip.EFFECT_SIZE);
+        view.setFitHeight(PlayerShip.EFFECT_SIZE);
+        view.setPreserveRatio(true);
+        view.setVisible(false);
+        return view;
+    }
+
+    private static String styleOf(Character entity) {
+        if (entity instanceof Bullet bullet) {
+            return bullet.isEnemyBullet() ? ENEMY_BULLET_STYLE : "";
+        }
+        if (entity instanceof EnemyBullet bullet) {
+            return bullet.isEnemyBullet() ? BOSS_BULLET_STYLE : "";
+        }
+        if (entity instanceof SpecialAttack missile) {
+            return missile.isEnemyBullet() ? ENEMY_MISSILE_STYLE : PLAYER_MISSILE_STYLE;
+        }
+        return "";
+    }
+}
@@ -0,0 +1,192 @@
+package se233.asteroid.view;
+
+import javafx.animation.FadeTransition;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.ParallelTransition;
+import javafx.animation.ScaleTransition;
+import javafx.animation.Timeline;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.util.Duration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+
+/**
+ * Fixed-size pool of explosion effects for {@link GameStage#showExplosion}.
+ * Every slot owns its ImageView and animation objects for the lifetime of the pool,
+ * so playing an explosion only repositions a node and restarts its animation.
+ *
+ * At most {@link #getCapacity()} explosions play at once. When all slots are busy
+ * the oldest running explosion is cut short and its slot is reused for the new one.
+ */
+public class ExplosionEffectPool {
+    private static final Logger logger = LogManager.getLogger(ExplosionEffectPool.class);
+
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("asteroid.explosionPool.size", 32);
+
+    private static final int FRAME_COUNT = 8;
+    private static final double FRAME_DURATION = 0.05; // 50ms per frame
+    private static final double EFFECT_DURATION = 0.4;
+    private static final double BASE_SIZE = 100;
+
+    // Viewports are immutable, so every slot can share them
+    private static final Rectangle2D[] FRAME_VIEWPORTS = new Rectangle2D[FRAME_COUNT];
+    static {
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            FRAME_VIEWPORTS[i] = new Rectangle2D(i * 100, 0, 30, 30);
+        }
+    }
+
+    private final Pane layer;
+    private final int capacity;
+    private final ArrayDeque<Slot> idleSlots;
+    private final ArrayDeque<Slot> activeSlots; // Oldest first
+
+    // Statistics
+    private long playedCount;
+    private long droppedCount;
+    private int peakActive;
+
+    public ExplosionEffectPool(Pane layer, Image explosionSheet, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Explosion pool capacity must be positive: " + capacity);
+        }
+        this.layer = layer;
+        this.capacity = capacity;
+        this.idleSlots = new ArrayDeque<>(capacity);
+        this.activeSlots = new ArrayDeque<>(capacity);
+
+        for (int i = 0; i < capacity; i++) {
+            Slot slot = new Slot(explosionSheet);
+            layer.getChildren().add(slot.view);
+            idleSlots.push(slot);
+        }
+        logger.debug("Explosion pool created with {} slots", capacity);
+    }
+
+    /**
+     * Plays one explosion centred on the given screen position.
+     *
+     * @param screenX  x in effect layer coordinates
+     * @param screenY  y in effect layer coordinates
+     * @param scaleX   current stage scale, applied like the other stage effects
+     * @param scaleY   current stage scale
+     */
+    public void play(double screenX, double screenY, double scaleX, double scaleY) {
+        Slot slot = idleSlots.poll();
+        if (slot == null) {
+            // Overloaded: recycle the explosion that is closest to finishing anyway
+            slot = activeSlots.poll();
+            slot.animation.stop();
+            droppedCount++;
+        }
+
+        slot.start(screenX, screenY, scaleX, scaleY);
+        activeSlots.add(slot);
+        playedCount++;
+        if (activeSlots.size() > peakActive) {
+            peakActive = activeSlots.size();
+        }
+    }
+
+    private void finish(Slot slot) {
+        slot.view.setVisible(false);
+        activeSlots.remove(slot);
+        idleSlots.push(slot);
+    }
+
+    /**
+     * Stops every running explosion and makes sure the slots are attached to the layer,
+     * e.g. after the layer was cleared on game reset.
+     */
+    public void reset() {
+        Slot slot;
+        while ((slot = activeSlots.poll()) != null) {
+            slot.animation.stop();
+            slot.view.setVisible(false);
+            idleSlots.push(slot);
+        }
+        for (Slot idle : idleSlots) {
+            if (idle.view.getParent() != layer) {
+                layer.getChildren().add(idle.view);
+            }
+        }
+    }
+
+    public void resetStats() {
+        playedCount = 0;
+        droppedCount = 0;
+        peakActive = activeSlots.size();
+    }
+
+    // Getters
+    public int getCapacity() { return capacity; }
+    public int getActiveCount() { return activeSlots.size(); }
+    public int getIdleCount() { return idleSlots.size(); }
+    public int getPeakActiveCount() { return peakActive; }
+    public long getPlayedCount() { return playedCount; }
+    public long getDroppedCount() { return droppedCount; }
+
+    public double getOccupancy() {
+        return activeSlots.size() / (double) capacity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExplosionEffectPool[active=%d/%d, peak=%d, played=%d, dropped=%d]",
+                activeSlots.size(), capacity, peakActive, playedCount, droppedCount);
+    }
+
+    private final class Slot {
+        private final ImageView view;
+        private final ScaleTransition scaleTransition;
+        private final ParallelTransition animation;
+
+        Slot(Image explosionSheet) {
+            view = new ImageView(explosionSheet);
+            view.setViewport(FRAME_VIEWPORTS[0]);
+            view.setVisible(false);
+            view.setMouseTransparent(true);
+
+            Timeline frames = new Timeline();
+            for (int i = 0; i < FRAME_COUNT; i++) {
+                frames.getKeyFrames().add(new KeyFrame(
+                        Duration.seconds(i * FRAME_DURATION),
+                        new KeyValue(view.viewportProperty(), FRAME_VIEWPORTS[i])
+                ));
+            }
+
+            scaleTransition = new ScaleTransition(Duration.seconds(EFFECT_DURATION), view);
+
+            FadeTransition fade = new FadeTransition(Duration.seconds(EFFECT_DURATION), view);
+            fade.setFromValue(1.0);
+            fade.setToValue(0.0);
+
+            animation = new ParallelTransition(frames, scaleTransition, fade);
+            animation.setOnFinished(e -> finish(this));
+        }
+
+        void start(double screenX, double screenY, double scaleX, double scaleY) {
+            double scaledSize = BASE_SIZE * scaleX;
+            view.setX(screenX - scaledSize / 2.2);
+            view.setY(screenY - scaledSize / 2);
+            view.setFitWidth(scaledSize);
+            view.setFitHeight(scaledSize);
+            view.setViewport(FRAME_VIEWPORTS[0]);
+            view.setOpacity(1.0);
+
+            scaleTransition.setFromX(0.5 * scaleX);
+            scaleTransition.setFromY(0.5 * scaleY);
+            scaleTransition.setToX(1.5 * scaleX);
+            scaleTransition.setToY(1.5 * scaleY);
+
+            view.setVisible(true);
+            animation.playFromStart();
+        }
+    }
+}
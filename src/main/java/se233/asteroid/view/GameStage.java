@@ -4,15 +4,14 @@ import javafx.animation.*;
 import javafx.application.Platform;
 import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.GaussianBlur;
 import javafx.scene.effect.Glow;
 import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
@@ -27,12 +26,20 @@ import javafx.util.Duration;
 import se233.asteroid.model.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 import se233.asteroid.model.Character;
+import se233.asteroid.util.AssetCache;
+import se233.asteroid.util.FrameMetrics;
+import se233.asteroid.util.GameEvents;
+import se233.asteroid.util.LogSampler;
 
 import java.util.Objects;
+import java.util.Random;
 
 public class GameStage extends Pane {
     private static final Logger logger = LogManager.getLogger(GameStage.class);
+    private static final LogSampler ADD_OBJECT_LOG = LogSampler.perSecond(2);
+    private static final LogSampler REMOVE_OBJECT_LOG = LogSampler.perSecond(2);
 
     // Constants
     public static double WINDOW_WIDTH = 800;
@@ -41,16 +48,22 @@ public class GameStage extends Pane {
     private static final String STYLE_NORMAL = "-fx-font-family: Arial; -fx-font-size: 24px; -fx-fill: white;";
     private static final double MIN_SCALE = 0.5;
     private static final double MAX_SCALE = 2.0;
+    private static final int EXPLOSION_SPARKS = 16;
     // Add these fields
     private Text missileCountText;
     private Text cooldownText;
 
     // Layers
-    private ImageView backgroundView;
+    private BackgroundRenderer background;
     private Pane gameLayer;
     private Pane effectLayer;
     private Pane uiLayer;
+    private MetricsOverlay metricsOverlay;
     private Pane particleLayer;
+    private SpriteRenderer spriteRenderer;
+    private EntitySprites entitySprites;
+    private ExplosionEffectPool explosionPool;
+    private ParticleSystem particles;
     private Score scoreSystem;
 
     // UI Elements
@@ -65,6 +78,8 @@ public class GameStage extends Pane {
     private Button resumeButton;
     private Button TryAgainButton;
     private VBox startMenuVBox;
+    private ProgressBar loadingBar;
+    private Text loadingText;
 
     // Game State
     private boolean isGameStarted;
@@ -86,6 +101,7 @@ public class GameStage extends Pane {
         initializeStage();
         setupLayers();
         setupBackground();
+        setupParticles();
         this.scoreSystem = new Score(this);
         setupUI();
         setupGameState();
@@ -118,6 +134,10 @@ public class GameStage extends Pane {
         particleLayer.setMouseTransparent(true);
 
         getChildren().addAll(gameLayer, particleLayer, effectLayer, uiLayer);
+        spriteRenderer = SpriteRenderer.create(gameLayer, WINDOW_WIDTH, WINDOW_HEIGHT);
+        logger.info("Sprite renderer: {}", spriteRenderer.getClass().getSimpleName());
+        entitySprites = new EntitySprites(spriteRenderer);
+        setupExplosionPool();
         logger.debug("Layers setup completed");
     }
 
@@ -146,70 +166,15 @@ public class GameStage extends Pane {
         logger.debug("Scaling setup completed with initial size: {}x{}", WINDOW_WIDTH, WINDOW_HEIGHT);
     }
 
+    // Decoded once; a reset only puts the canvas back under the sprites
     private void setupBackground() {
-        try {
-            Image backgroundImage = new Image(Objects.requireNonNull(
-                    getClass().getResourceAsStream("/se233/asteroid/assets/Backgrounds/SpaceBG.gif")
-            ));
-
-            if (backgroundImage.isError()) {
-                logger.error("Failed to load background image");
-                createGradientBackground();
-                return;
-            }
-
-            backgroundView = new ImageView(backgroundImage);
-            backgroundView.setFitWidth(WINDOW_WIDTH);
-            backgroundView.setFitHeight(WINDOW_HEIGHT);
-            backgroundView.setPreserveRatio(false);
-
-            gameLayer.getChildren().add(backgroundView);
-            createParallaxStars();
-
-            logger.info("Background setup completed");
-        } catch (Exception e) {
-            logger.error("Failed to setup background", e);
-            createGradientBackground();
-        }
-    }
-
-    private void createGradientBackground() {
-        gameLayer.setStyle("-fx-background-color: linear-gradient(to bottom, #000022, #000066);");
-        createParallaxStars();
-        logger.info("Created gradient background with stars as fallback");
-    }
-
-    private void createParallaxStars() {
-        for (int layer = 0; layer < 3; layer++) {
-            final int starCount = 20 - (layer * 5);
-            final double speed = (layer + 1) * 2;
-            createStarLayer(starCount, speed, layer);
-        }
-    }
-
-    private void createStarLayer(int count, double speed, int layer) {
-        for (int i = 0; i < count; i++) {
-            Text star = new Text("✦");
-            star.setFill(Color.WHITE);
-            star.setOpacity(0.5 + (layer * 0.2));
-            star.setFont(Font.font("Arial", 8 + (layer * 2)));
-
-            // Random initial position
-            star.setX(Math.random() * WINDOW_WIDTH);
-            star.setY(Math.random() * WINDOW_HEIGHT);
-
-            TranslateTransition move = new TranslateTransition(Duration.seconds(speed), star);
-            move.setFromY(-10);
-            move.setToY(WINDOW_HEIGHT + 10);
-            move.setCycleCount(TranslateTransition.INDEFINITE);
-            move.setInterpolator(Interpolator.LINEAR);
-
-            // Store animation reference for later adjustment
-            star.getProperties().put("animation", move);
-
-            particleLayer.getChildren().add(star);
-            move.play();
+        if (background == null) {
+            background = new BackgroundRenderer(gameLayer, WINDOW_WIDTH, WINDOW_HEIGHT,
+                    BackgroundRenderer.Mode.fromProperties());
+        } else {
+            background.attach();
         }
+        logger.info("Background setup completed");
     }
 
     public void setupUI() {
@@ -395,7 +360,14 @@ public class GameStage extends Pane {
 
         startButton = createStyledButton("Start Game");
 
-        startMenuVBox.getChildren().addAll(titleText, controlsText, startButton);
+        // Shown only while assets preload
+        loadingBar = new ProgressBar(0);
+        loadingBar.setPrefWidth(300);
+        loadingText = new Text();
+        loadingText.setStyle(STYLE_NORMAL);
+        setLoadingVisible(false);
+
+        startMenuVBox.getChildren().addAll(titleText, controlsText, loadingBar, loadingText, startButton);
         startMenuVBox.setLayoutX((WINDOW_WIDTH - 300) / 2);
         startMenuVBox.setLayoutY((WINDOW_HEIGHT - 400) / 2);
 
@@ -403,6 +375,29 @@ public class GameStage extends Pane {
         uiLayer.getChildren().add(startMenuGroup);
     }
 
+    /**
+     * Shows the preload progress in the start menu; the start button stays disabled
+     * until {@link #finishLoading()}.
+     */
+    public void showLoadingProgress(double fraction) {
+        setLoadingVisible(true);
+        startButton.setDisable(true);
+        loadingBar.setProgress(fraction);
+        loadingText.setText(String.format("Loading %d%%", Math.round(fraction * 100)));
+    }
+
+    public void finishLoading() {
+        setLoadingVisible(false);
+        startButton.setDisable(false);
+    }
+
+    private void setLoadingVisible(boolean visible) {
+        loadingBar.setVisible(visible);
+        loadingBar.setManaged(visible);
+        loadingText.setVisible(visible);
+        loadingText.setManaged(visible);
+    }
+
     private void setupPauseMenu() {
         pauseMenuGroup = new Group();
         VBox pauseMenuVBox = new VBox(20);
@@ -484,7 +479,6 @@ public class GameStage extends Pane {
 
         // Update UI elements
         updateUIElements();
-        updateBackgroundEffects();
 
         logger.debug("Game stage resized - Scale: {}", finalScale);
     }
@@ -501,35 +495,6 @@ public class GameStage extends Pane {
         updateMenuPositions();
     }
 
-    private void updateBackgroundEffects() {
-        // Update parallax star animations based on current scale
-        particleLayer.getChildren().forEach(node -> {
-            if (node.getProperties().containsKey("animation")) {
-                TranslateTransition tt = (TranslateTransition) node.getProperties().get("animation");
-                tt.stop();
-
-                // Adjust star motion speed based on current scale
-                double baseSpeed = tt.getDuration().toSeconds();
-                double scaledSpeed = baseSpeed / scale.getY(); // Faster at higher zoom levels
-                tt.setDuration(Duration.seconds(scaledSpeed));
-
-                // Adjust star path based on current height
-                tt.setFromY(-10 * scale.getY());
-                tt.setToY(WINDOW_HEIGHT * scale.getY() + 10);
-
-                tt.play();
-            }
-        });
-
-        // Update background image size if it exists
-        if (backgroundView != null) {
-            backgroundView.setFitWidth(WINDOW_WIDTH * scale.getX());
-            backgroundView.setFitHeight(WINDOW_HEIGHT * scale.getY());
-        }
-
-        logger.debug("Background effects updated with scale: ({}, {})", scale.getX(), scale.getY());
-    }
-
     private void updateMenuPositions() {
         if (startMenuVBox != null) {
             startMenuVBox.setLayoutX((getWidth() - 300 * scaleX) / 2);
@@ -560,7 +525,6 @@ public class GameStage extends Pane {
 
         // Update UI elements with new scale
         updateUIElements();
-        updateBackgroundEffects();
 
         logger.debug("Scale updated - new scale: {}", finalScale);
     }
@@ -582,28 +546,111 @@ public class GameStage extends Pane {
 
     // Game object management
     public void addGameObject(Character character) {
-        gameLayer.getChildren().add(character.getSprite());
+        entitySprites.show(character);
+        if (character instanceof Asteroid asteroid && asteroid.getType() == Asteroid.Type.METEOR) {
+            particles.attach(asteroid, ParticleSystem.Style.METEOR_TRAIL);
+        }
         if (character instanceof Boss) {
             showBossWarning();
         }
-        logger.debug("Added game object: {}", character.getClass().getSimpleName());
+        if (logger.isDebugEnabled() && ADD_OBJECT_LOG.allow()) {
+            logger.debug("Added game object: {} (+{} suppressed)",
+                    character.getClass().getSimpleName(), Unbox.box(ADD_OBJECT_LOG.takeSuppressed()));
+        }
     }
 
     public void removeGameObject(Character character) {
-        gameLayer.getChildren().remove(character.getSprite());
-        logger.debug("Removed game object: {}", character.getClass().getSimpleName());
+        entitySprites.remove(character);
+        particles.detach(character);
+        if (logger.isDebugEnabled() && REMOVE_OBJECT_LOG.allow()) {
+            logger.debug("Removed game object: {} (+{} suppressed)",
+                    character.getClass().getSimpleName(), Unbox.box(REMOVE_OBJECT_LOG.takeSuppressed()));
+        }
+    }
+
+    /**
+     * Moves every game object's sprite to where the last step left its entity.
+     */
+    public void drawEntities() {
+        entitySprites.draw();
+    }
+
+    /**
+     * Draws the game objects for this frame; only the canvas renderer has work to do.
+     */
+    public void renderSprites() {
+        spriteRenderer.render();
+    }
+
+    /**
+     * Advances the background and the particles by {@code dt} seconds and draws them;
+     * with 0 nothing moves.
+     */
+    public void updateEffects(double dt) {
+        background.update(dt);
+        background.render();
+        particles.update(dt);
+        particles.render();
     }
 
+    public BackgroundRenderer getBackgroundRenderer() {
+        return background;
+    }
+
+    /**
+     * Stops the trail behind {@code character}, e.g. once it starts exploding.
+     */
+    public void stopTrail(Character character) {
+        particles.detach(character);
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    public SpriteRenderer getSpriteRenderer() {
+        return spriteRenderer;
+    }
+
+    /**
+     * Shows or hides the F3 metrics panel. It is only built the first time it is shown.
+     */
+    public void setMetricsOverlayVisible(boolean visible) {
+        if (metricsOverlay == null) {
+            if (!visible) return;
+            metricsOverlay = new MetricsOverlay();
+            metricsOverlay.setLayoutX(WINDOW_WIDTH - 330);
+            metricsOverlay.setLayoutY(50);
+            uiLayer.getChildren().add(metricsOverlay);
+        }
+        metricsOverlay.setVisible(visible);
+        if (visible) {
+            metricsOverlay.toFront();
+        }
+    }
+
+    public boolean isMetricsOverlayVisible() {
+        return metricsOverlay != null && metricsOverlay.isVisible();
+    }
+
+    public void updateMetricsOverlay(FrameMetrics metrics) {
+        if (metricsOverlay != null && metricsOverlay.isVisible()) {
+            metricsOverlay.update(metrics);
+        }
+    }
+
+    // Pooled projectiles keep their sprite attached between uses
     public void addBullet(Bullet bullet) {
-        gameLayer.getChildren().add(bullet.getSprite());
+        entitySprites.show(bullet);
     }
 
     public void  addSpecialAttack(SpecialAttack specialattack){
-        if (specialattack != null && specialattack.getSprite() != null) {
-            gameLayer.getChildren().add(specialattack.getSprite());
+        if (specialattack != null) {
+            entitySprites.show(specialattack);
+            particles.attach(specialattack, ParticleSystem.Style.MISSILE_TRAIL);
             logger.debug("Added missile sprite to game layer");
         } else {
-            logger.error("Cannot add null missile or missile with null sprite");
+            logger.error("Cannot add null missile");
         }
     }
 
@@ -611,17 +658,18 @@ public class GameStage extends Pane {
 
 
     public void addEnemyBullet(EnemyBullet enemyBullet) {
-        gameLayer.getChildren().add(enemyBullet.getSprite());
+        entitySprites.show(enemyBullet);
     }
 
+    // Projectile sprites are only hidden, so the pooled node can be shown again without relayout
     public void removeBullet(Bullet bullet) {
-        gameLayer.getChildren().remove(bullet.getSprite());
+        entitySprites.hide(bullet);
     }
 
-    public void removeSpecialBullet(SpecialAttack specialbullet) {gameLayer.getChildren().remove(specialbullet.getSprite());}
+    public void removeSpecialBullet(SpecialAttack specialbullet) {entitySprites.hide(specialbullet);}
 
     public void removeEnemyBullet(EnemyBullet bullet) {
-        gameLayer.getChildren().remove(bullet.getSprite());
+        entitySprites.hide(bullet);
     }
 
     private void showBossWarning() {
@@ -654,50 +702,33 @@ public class GameStage extends Pane {
         blink.play();
     }
 
-    public void showExplosion(Point2D position) {
-        try {
-            // Load explosion sprite sheet
-            Image explosionImage = new Image(Objects.requireNonNull(
-                    getClass().getResourceAsStream("/se233/asteroid/assets/PlayerShip/Explosion.png")
-            ));
-
-            ImageView explosionView = new ImageView(explosionImage);
-
-            // Convert to screen coordinates and scale
-            Point2D screenPos = gameToScreen(position);
-            double scaledSize = 100 * scale.getX(); // Base size for explosion
-
-            explosionView.setX(screenPos.getX() - scaledSize/2.2);
-            explosionView.setY(screenPos.getY() - scaledSize/2);
-            explosionView.setFitWidth(scaledSize);
-            explosionView.setFitHeight(scaledSize);
-            explosionView.setViewport(new Rectangle2D(0,0,30,30));
-
-            effectLayer.getChildren().add(explosionView);
-
-            // Create explosion animation timeline
-            Timeline explosionAnimation = new Timeline();
-
-            // 8 frames of animation
-            for(int i = 0; i < 8; i++) {
-                KeyFrame frame = new KeyFrame(
-                        Duration.seconds(i * 0.05), // 50ms per frame
-                        new KeyValue(explosionView.viewportProperty(),
-                                new Rectangle2D(i * 100, 0, 30, 30))
-                );
-                explosionAnimation.getKeyFrames().add(frame);
-            }
+    // Above the background stars and sprites, under the explosion sprites
+    private void setupParticles() {
+        particles = new ParticleSystem(particleLayer, WINDOW_WIDTH, WINDOW_HEIGHT, ParticleSystem.DEFAULT_CAPACITY);
+    }
 
-            // Add scaling and fade effects
-            ParallelTransition animation = new ParallelTransition(
-                    explosionAnimation,
-                    createScaleTransition(explosionView, 0.5, 1.5, 0.4),
-                    createFadeTransition(explosionView, 1.0, 0.0, 0.4)
-            );
+    private void setupExplosionPool() {
+        Image explosionImage = AssetCache.getImage("/se233/asteroid/assets/PlayerShip/Explosion.png");
+        if (explosionImage == null) {
+            logger.warn("Explosion sprite missing, falling back to simple explosion effects");
+            return;
+        }
+        explosionPool = new ExplosionEffectPool(effectLayer, explosionImage, ExplosionEffectPool.DEFAULT_CAPACITY);
+    }
 
-            animation.setOnFinished(e -> effectLayer.getChildren().remove(explosionView));
-            animation.play();
+    public void showExplosion(Point2D position) {
+        GameEvents.explosion(position.getX(), position.getY());
+        particles.burst(ParticleSystem.Style.SPARK, position.getX(), position.getY(), EXPLOSION_SPARKS);
+        if (explosionPool == null) {
+            createSimpleExplosionEffect(position);
+            return;
+        }
 
+        try {
+            // Same mapping as gameToScreen, without the intermediate Point2D
+            double screenX = position.getX() * scale.getX() + getTranslateX();
+            double screenY = position.getY() * scale.getY() + getTranslateY();
+            explosionPool.play(screenX, screenY, scale.getX(), scale.getY());
         } catch (Exception e) {
             logger.error("Failed to show explosion effect", e);
             // Fallback to simple explosion effect
@@ -705,6 +736,10 @@ public class GameStage extends Pane {
         }
     }
 
+    public ExplosionEffectPool getExplosionPool() {
+        return explosionPool;
+    }
+
     private void createSimpleExplosionEffect(Point2D position) {
         Circle explosionCircle = new Circle();
         Point2D screenPos = gameToScreen(position);
@@ -854,30 +889,15 @@ public class GameStage extends Pane {
         }
     }
 
+    // A star rising from the bottom of the screen and drifting sideways as it fades
     private void createVictoryParticle() {
-        Text particle = new Text("★");
-        particle.setFill(Color.GOLD);
-        particle.setFont(Font.font("Arial", FontWeight.BOLD, 20 * scale.getX()));
-
-        // Random starting position at bottom of screen
-        double startX = Math.random() * WINDOW_WIDTH;
-        particle.setTranslateX(startX);
-        particle.setTranslateY(WINDOW_HEIGHT);
-
-        particleLayer.getChildren().add(particle);
-
-        // Create particle animation
-        double duration = 1 + Math.random() * 2;  // Random duration between 1-3 seconds
-        double targetX = startX + (Math.random() * 200 - 100);  // Random X movement
+        Random random = particles.getRandom();
+        double startX = random.nextDouble() * WINDOW_WIDTH;
+        double duration = particles.randomLife(ParticleSystem.Style.VICTORY_STAR);  // 1-3 seconds
+        double driftX = random.nextDouble() * 200 - 100;
 
-        ParallelTransition animation = new ParallelTransition(
-                createMoveTransition(particle, targetX, -100, duration),  // Move up and sideways
-                createFadeTransition(particle, 1.0, 0.0, duration),
-                createRotateTransition(particle, 360 * (Math.random() > 0.5 ? 1 : -1), duration)
-        );
-
-        animation.setOnFinished(e -> particleLayer.getChildren().remove(particle));
-        animation.play();
+        particles.spawn(ParticleSystem.Style.VICTORY_STAR, startX, WINDOW_HEIGHT,
+                driftX / duration, -(WINDOW_HEIGHT + 100) / duration, duration);
     }
 
     // Helper method สำหรับสร้าง animation การเคลื่อนที่
@@ -889,9 +909,16 @@ public class GameStage extends Pane {
     }
 
     public void updateWave(int wave) {
+        showWave(wave);
+        showWaveAnnouncement(wave);
+    }
+
+    /**
+     * Sets the wave counter without announcing it, e.g. after a replay seek.
+     */
+    public void showWave(int wave) {
         this.currentWave = wave;
         waveText.setText("Wave: " + wave);
-        showWaveAnnouncement(wave);
     }
 
     private void showWaveAnnouncement(int wave) {
@@ -988,12 +1015,6 @@ public class GameStage extends Pane {
         return scaleTransition;
     }
 
-    private RotateTransition createRotateTransition(Node node, double angle, double speed) {
-        RotateTransition rotate = new RotateTransition(Duration.seconds(speed), node);
-        rotate.setByAngle(angle);
-        return rotate;
-    }
-
     private void setupBossHealthBar() {
         // Create boss health bar container
         Group bossHealthGroup = new Group();
@@ -1135,11 +1156,17 @@ public class GameStage extends Pane {
 
         // Clear all layers
         gameLayer.getChildren().clear();
+        spriteRenderer.clear();
+        entitySprites.clear();
         effectLayer.getChildren().clear();
         particleLayer.getChildren().clear();
+        if (explosionPool != null) {
+            explosionPool.reset();
+        }
 
         // Reset background
         setupBackground();
+        particles.reset();
 
         // Reset menus
         startMenuGroup.setVisible(true);
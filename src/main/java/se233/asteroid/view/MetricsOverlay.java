@@ -0,0 +1,168 @@
+package se233.asteroid.view;
+
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import se233.asteroid.util.FrameMetrics;
+
+import java.util.List;
+
+/**
+ * F3 debug panel: per-phase p50/p99/max frame time, bytes allocated per frame, GC
+ * activity and live entity counts from a {@link FrameMetrics}. The text is rebuilt once
+ * per metrics window, into a reused buffer rather than with String.format, so the panel
+ * barely shows up in the allocation figure it displays.
+ */
+public class MetricsOverlay extends Group {
+    private static final double PADDING = 8;
+    private static final int NAME_WIDTH = 11;
+    private static final int COLUMN_WIDTH = 9;
+
+    private final Rectangle background;
+    private final Text text;
+    private final StringBuilder buffer = new StringBuilder(512);
+    private long shownWindow = -1;
+
+    public MetricsOverlay() {
+        background = new Rectangle();
+        background.setFill(Color.rgb(0, 0, 0, 0.6));
+        background.setArcWidth(8);
+        background.setArcHeight(8);
+
+        text = new Text();
+        text.setFont(Font.font("Monospaced", 12));
+        text.setFill(Color.LIME);
+        text.setX(PADDING);
+        text.setY(PADDING + 10);
+
+        getChildren().addAll(background, text);
+        setMouseTransparent(true);
+        setVisible(false);
+    }
+
+    /**
+     * Refreshes the text if {@code metrics} has published a new window since the last call.
+     */
+    public void update(FrameMetrics metrics) {
+        if (metrics.getWindowCount() == shownWindow) {
+            return;
+        }
+        shownWindow = metrics.getWindowCount();
+
+        StringBuilder sb = buffer;
+        sb.setLength(0);
+        pad(sb, "phase", NAME_WIDTH);
+        padLeft(sb, "p50", COLUMN_WIDTH);
+        padLeft(sb, "p99", COLUMN_WIDTH);
+        padLeft(sb, "max", COLUMN_WIDTH);
+        sb.append('\n');
+        appendTimer(sb, metrics.getFrameTimer());
+        List<FrameMetrics.Timer> timers = metrics.getTimers();
+        for (int i = 0, n = timers.size(); i < n; i++) {
+            appendTimer(sb, timers.get(i));
+        }
+
+        sb.append('\n');
+        pad(sb, "alloc", NAME_WIDTH);
+        if (metrics.getAllocationP50() < 0) {
+            sb.append("  n/a");
+        } else {
+            appendBytes(sb, metrics.getAllocationP50());
+            appendBytes(sb, metrics.getAllocationP99());
+            sb.append(" /frame");
+        }
+        sb.append('\n');
+        pad(sb, "gc", NAME_WIDTH);
+        sb.append(metrics.getWindowGcCount()).append(" runs, ")
+                .append(metrics.getWindowGcMillis()).append(" ms in ");
+        appendFixed(sb, metrics.getWindowSeconds(), 1);
+        sb.append(" s\n");
+
+        List<FrameMetrics.Gauge> gauges = metrics.getGauges();
+        for (int i = 0, n = gauges.size(); i < n; i++) {
+            FrameMetrics.Gauge gauge = gauges.get(i);
+            sb.append(i % 2 == 0 ? '\n' : ' ');
+            pad(sb, gauge.getName(), NAME_WIDTH);
+            padLeft(sb, gauge.getValue(), 6);
+        }
+
+        text.setText(sb.toString());
+        background.setWidth(text.getLayoutBounds().getWidth() + 2 * PADDING);
+        background.setHeight(text.getLayoutBounds().getHeight() + 2 * PADDING);
+    }
+
+    private static void appendTimer(StringBuilder sb, FrameMetrics.Timer timer) {
+        pad(sb, timer.getName(), NAME_WIDTH);
+        appendMillis(sb, timer.getP50());
+        appendMillis(sb, timer.getP99());
+        appendMillis(sb, timer.getMax());
+        sb.append('\n');
+    }
+
+    // Right-aligned "12.34ms"
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        int start = sb.length();
+        appendFixed(sb, nanos / 1_000_000.0, 2);
+        sb.append("ms");
+        alignRight(sb, start, COLUMN_WIDTH);
+    }
+
+    // Right-aligned "512 B", "34.5 KB" or "1.2 MB"
+    private static void appendBytes(StringBuilder sb, long bytes) {
+        int start = sb.length();
+        if (bytes < 1024) {
+            sb.append(bytes).append(" B");
+        } else if (bytes < 1024 * 1024) {
+            appendFixed(sb, bytes / 1024.0, 1);
+            sb.append(" KB");
+        } else {
+            appendFixed(sb, bytes / (1024.0 * 1024.0), 1);
+            sb.append(" MB");
+        }
+        alignRight(sb, start, COLUMN_WIDTH);
+    }
+
+    private static void appendFixed(StringBuilder sb, double value, int decimals) {
+        long scale = decimals == 1 ? 10 : 100;
+        long scaled = Math.round(value * scale);
+        sb.append(scaled / scale).append('.');
+        long fraction = scaled % scale;
+        if (decimals == 2 && fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    private static void pad(StringBuilder sb, String value, int width) {
+        sb.append(value);
+        for (int i = value.length(); i < width; i++) {
+            sb.append(' ');
+        }
+    }
+
+    private static void padLeft(StringBuilder sb, CharSequence value, int width) {
+        for (int i = value.length(); i < width; i++) {
+            sb.append(' ');
+        }
+        sb.append(value);
+    }
+
+    private static void padLeft(StringBuilder sb, long value, int width) {
+        int start = sb.length();
+        sb.append(value);
+        alignRight(sb, start, width);
+    }
+
+    private static void alignRight(StringBuilder sb, int start, int width) {
+        int written = sb.length() - start;
+        for (int i = written; i < width; i++) {
+            sb.insert(start, ' ');
+        }
+    }
+
+    public String getText() {
+        return text.getText();
+    }
+}
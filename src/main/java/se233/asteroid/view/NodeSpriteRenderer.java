@@ -0,0 +1,47 @@
+package se233.asteroid.view;
+
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+
+/**
+ * The original backend: every sprite is a child node of the game layer and JavaFX draws
+ * it. Rendering is the scene graph's pulse, so {@link #render()} has nothing to do.
+ */
+public class NodeSpriteRenderer implements SpriteRenderer {
+    private final Pane layer;
+    private int spriteCount;
+
+    public NodeSpriteRenderer(Pane layer) {
+        this.layer = layer;
+    }
+
+    @Override
+    public void attach(ImageView sprite) {
+        if (sprite.getParent() != layer) {
+            layer.getChildren().add(sprite);
+            spriteCount++;
+        }
+    }
+
+    @Override
+    public void detach(ImageView sprite) {
+        if (sprite.getParent() == layer) {
+            layer.getChildren().remove(sprite);
+            spriteCount--;
+        }
+    }
+
+    @Override
+    public void clear() {
+        spriteCount = 0;
+    }
+
+    @Override
+    public void render() {
+    }
+
+    @Override
+    public int getSpriteCount() {
+        return spriteCount;
+    }
+}
@@ -0,0 +1,378 @@
+package se233.asteroid.view;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se233.asteroid.model.Character;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Every short-lived visual particle in the game: meteor and missile trails, explosion
+ * sparks and the victory stars. Particles live in fixed-capacity parallel arrays
+ * (position, velocity, age, ...) rather than as objects or nodes, and the whole buffer is
+ * drawn in one pass onto a single Canvas on the particle layer.
+ *
+ * Trails come from emitters attached to an entity; an emitter follows its entity and
+ * detaches itself once the entity dies or its sprite is hidden. The buffer never grows:
+ * past half of its capacity emitters and bursts thin out in proportion to the load, and
+ * once it is full new particles are dropped, so the cost per frame stays bounded however
+ * many emitters are attached.
+ *
+ * Coordinates are game coordinates, like the sprite canvas. Particles draw from their
+ * own random generator so effects never touch the gameplay sequence replays depend on.
+ */
+public class ParticleSystem {
+    private static final Logger logger = LogManager.getLogger(ParticleSystem.class);
+
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("asteroid.particles.max", 2048);
+
+    // Load above which emission is scaled down, and the smallest scale it reaches
+    private static final double SOFT_LIMIT = 0.5;
+    private static final double MIN_EMISSION = 0.2;
+
+    // Entity velocities are per reference step, particle velocities per second
+    private static final double STEPS_PER_SECOND = 1.0 / Character.REFERENCE_STEP;
+
+    private static final String STAR = "★";
+
+    /**
+     * What a particle looks like and how it moves. {@code rate} is per second of an
+     * attached emitter; {@code speed} is the burst speed, or for trails the share of the
+     * entity's velocity the particle keeps, backwards.
+     */
+    public enum Style {
+        METEOR_TRAIL(Color.rgb(255, 100, 0), 0.8, 0.35, 0.1, 9, 0.3, 40, 0),
+        MISSILE_TRAIL(Color.rgb(140, 190, 255), 0.9, 0.25, 0.1, 5, 0.4, 60, 0),
+        SPARK(Color.rgb(255, 210, 90), 1.0, 0.45, 0.25, 3, 140, 0, 0),
+        VICTORY_STAR(Color.GOLD, 1.0, 2.0, 1.0, 20, 0, 0, 180);
+
+        final Color color;
+        final double alpha;
+        final double life;
+        final double lifeJitter;
+        final double size;
+        final double speed;
+        final double rate;
+        final double spin;
+
+        Style(Color color, double alpha, double life, double lifeJitter, double size,
+              double speed, double rate, double spin) {
+            this.color = color;
+            this.alpha = alpha;
+            this.life = life;
+            this.lifeJitter = lifeJitter;
+            this.size = size;
+            this.speed = speed;
+            this.rate = rate;
+            this.spin = spin;
+        }
+    }
+
+    private static final Style[] STYLES = Style.values();
+
+    private final Pane layer;
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final Random random = new Random(0x5EED);
+    private final int capacity;
+
+    // One slot per particle; live particles are packed into [0, count)
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] age;
+    private final double[] life;
+    private final double[] angle;
+    private final double[] spin;
+    private final byte[] style;
+    private int count;
+
+    private Font starFont;
+    private boolean drawnLastFrame; // The canvas still shows particles to clear
+
+    private final List<Emitter> emitters = new ArrayList<>();
+    private final Map<Character, Emitter> emitterIndex = new IdentityHashMap<>();
+
+    // Statistics
+    private long spawnedCount;
+    private long droppedCount;
+    private int peakCount;
+
+    public ParticleSystem(Pane layer, double width, double height, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Particle capacity must be positive: " + capacity);
+        }
+        this.layer = layer;
+        this.capacity = capacity;
+        this.canvas = new Canvas(width, height);
+        this.graphics = canvas.getGraphicsContext2D();
+        canvas.setMouseTransparent(true);
+        layer.getChildren().add(canvas);
+
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        age = new double[capacity];
+        life = new double[capacity];
+        angle = new double[capacity];
+        spin = new double[capacity];
+        style = new byte[capacity];
+        logger.debug("Particle system created with room for {} particles", capacity);
+    }
+
+    /**
+     * Starts a trail behind {@code target}. Attaching an entity that already has an
+     * emitter keeps the existing one.
+     */
+    public void attach(Character target, Style trail) {
+        if (emitterIndex.containsKey(target)) return;
+        Emitter emitter = new Emitter(target, trail);
+        emitterIndex.put(target, emitter);
+        emitters.add(emitter);
+    }
+
+    /**
+     * Stops the trail of {@code target}; particles already emitted fade out as usual.
+     */
+    public void detach(Character target) {
+        Emitter emitter = emitterIndex.remove(target);
+        if (emitter != null) {
+            emitters.remove(emitter);
+        }
+    }
+
+    /**
+     * Sprays up to {@code amount} particles outwards from a point, fewer when the buffer
+     * is busy.
+     */
+    public void burst(Style kind, double originX, double originY, int amount) {
+        int scaled = Math.max(1, (int) Math.round(amount * getEmissionScale()));
+        for (int i = 0; i < scaled; i++) {
+            double direction = random.nextDouble() * 2 * Math.PI;
+            double speed = kind.speed * (0.3 + random.nextDouble() * 0.7);
+            if (!spawn(kind, originX, originY, Math.cos(direction) * speed, Math.sin(direction) * speed,
+                    randomLife(kind))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds one particle with an explicit velocity (per second) and lifetime.
+     *
+     * @return false if the buffer was full and the particle was dropped
+     */
+    public boolean spawn(Style kind, double px, double py, double pvx, double pvy, double lifetime) {
+        if (count == capacity) {
+            droppedCount++;
+            return false;
+        }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        age[i] = 0;
+        life[i] = lifetime;
+        angle[i] = 0;
+        spin[i] = random.nextBoolean() ? kind.spin : -kind.spin;
+        style[i] = (byte) kind.ordinal();
+
+        spawnedCount++;
+        if (count > peakCount) {
+            peakCount = count;
+        }
+        return true;
+    }
+
+    /**
+     * A lifetime for {@code kind} with its jitter applied.
+     */
+    public double randomLife(Style kind) {
+        return kind.life + (random.nextDouble() * 2 - 1) * kind.lifeJitter;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Runs the emitters and ages and moves every particle by {@code dt} seconds.
+     */
+    public void update(double dt) {
+        if (dt <= 0) return;
+        updateEmitters(dt);
+
+        int i = 0;
+        while (i < count) {
+            age[i] += dt;
+            if (age[i] >= life[i]) {
+                // Swap the last live particle into this slot and look at it next
+                moveParticle(--count, i);
+                continue;
+            }
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            angle[i] += spin[i] * dt;
+            i++;
+        }
+    }
+
+    private void updateEmitters(double dt) {
+        double scale = getEmissionScale();
+        for (int i = emitters.size() - 1; i >= 0; i--) {
+            Emitter emitter = emitters.get(i);
+            Character target = emitter.target;
+            if (!target.isAlive() || !target.isSpriteVisible()) {
+                emitterIndex.remove(target);
+                Emitter last = emitters.remove(emitters.size() - 1);
+                if (last != emitter) {
+                    emitters.set(i, last);
+                }
+                continue;
+            }
+
+            emitter.pending += emitter.style.rate * scale * dt;
+            while (emitter.pending >= 1) {
+                emitter.pending -= 1;
+                emitTrail(emitter);
+            }
+        }
+    }
+
+    // One particle just behind the entity, drifting back along its path
+    private void emitTrail(Emitter emitter) {
+        Character target = emitter.target;
+        Style kind = emitter.style;
+        double jitter = kind.size * 0.5;
+        spawn(kind,
+                target.getX() + (random.nextDouble() - 0.5) * jitter,
+                target.getY() + (random.nextDouble() - 0.5) * jitter,
+                -target.getVelocityX() * STEPS_PER_SECOND * kind.speed,
+                -target.getVelocityY() * STEPS_PER_SECOND * kind.speed,
+                randomLife(kind));
+    }
+
+    private void moveParticle(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        age[to] = age[from];
+        life[to] = life[from];
+        angle[to] = angle[from];
+        spin[to] = spin[from];
+        style[to] = style[from];
+    }
+
+    /**
+     * Clears the canvas and draws every live particle, fading and shrinking with age.
+     */
+    public void render() {
+        if (count == 0 && !drawnLastFrame) return;
+        drawnLastFrame = count > 0;
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        int lastStyle = -1;
+        for (int i = 0; i < count; i++) {
+            Style kind = STYLES[style[i]];
+            if (style[i] != lastStyle) {
+                graphics.setFill(kind.color);
+                if (kind.spin != 0) {
+                    graphics.setFont(starFont());
+                }
+                lastStyle = style[i];
+            }
+            double remaining = 1 - age[i] / life[i];
+            graphics.setGlobalAlpha(kind.alpha * remaining);
+
+            if (kind.spin != 0) {
+                graphics.save();
+                graphics.translate(x[i], y[i]);
+                graphics.rotate(angle[i]);
+                graphics.fillText(STAR, -kind.size / 2, kind.size / 2);
+                graphics.restore();
+            } else {
+                double size = kind.size * (0.5 + 0.5 * remaining);
+                graphics.fillOval(x[i] - size / 2, y[i] - size / 2, size, size);
+            }
+        }
+        graphics.setGlobalAlpha(1);
+    }
+
+    // Only the victory stars are text, so the font is made on first use
+    private Font starFont() {
+        if (starFont == null) {
+            starFont = Font.font("Arial", FontWeight.BOLD, Style.VICTORY_STAR.size);
+        }
+        return starFont;
+    }
+
+    /**
+     * The share of requested particles actually emitted: 1 up to half the capacity,
+     * then falling linearly towards {@value #MIN_EMISSION} as the buffer fills.
+     */
+    public double getEmissionScale() {
+        double load = count / (double) capacity;
+        if (load <= SOFT_LIMIT) return 1;
+        return 1 - (load - SOFT_LIMIT) / (1 - SOFT_LIMIT) * (1 - MIN_EMISSION);
+    }
+
+    /**
+     * Drops every particle and emitter and makes sure the canvas is on the layer again,
+     * e.g. after the layer was cleared on game reset.
+     */
+    public void reset() {
+        count = 0;
+        drawnLastFrame = false;
+        emitters.clear();
+        emitterIndex.clear();
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (canvas.getParent() != layer) {
+            layer.getChildren().add(canvas);
+        }
+    }
+
+    public void resetStats() {
+        spawnedCount = 0;
+        droppedCount = 0;
+        peakCount = count;
+    }
+
+    // Getters
+    public Canvas getCanvas() { return canvas; }
+    public int getCapacity() { return capacity; }
+    public int getCount() { return count; }
+    public int getEmitterCount() { return emitters.size(); }
+    public int getPeakCount() { return peakCount; }
+    public long getSpawnedCount() { return spawnedCount; }
+    public long getDroppedCount() { return droppedCount; }
+
+    @Override
+    public String toString() {
+        return String.format("ParticleSystem[live=%d/%d, emitters=%d, peak=%d, spawned=%d, dropped=%d]",
+                count, capacity, emitters.size(), peakCount, spawnedCount, droppedCount);
+    }
+
+    private static final class Emitter {
+        private final Character target;
+        private final Style style;
+        private double pending; // Fractional particles carried over between frames
+
+        Emitter(Character target, Style style) {
+            this.target = target;
+            this.style = style;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package se233.asteroid.view;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Enemy;
+import se233.asteroid.model.EnemyBullet;
+import se233.asteroid.model.EntityRegistry;
+import se233.asteroid.model.EntityPool;
+import se233.asteroid.model.SpecialAttack;
+import se233.asteroid.model.Wingman;
+import se233.asteroid.util.AssetCache;
+import se233.asteroid.util.MetricsExporter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * What {@link GameView} exports to the soak-run metrics endpoint: frame and step time
+ * histograms, the length of each entity list, sprites, asset cache and pool figures, and
+ * the wave and score. Values are read on the FX thread and published once per frame; see
+ * {@link MetricsExporter} for how scrapes are kept off that thread.
+ */
+public class SoakMetrics {
+    private static final Logger logger = LogManager.getLogger(SoakMetrics.class);
+
+    private final MetricsExporter exporter;
+    private final EntityRegistry entities;
+    private final List<Wingman> wingmen;
+    private final GameStage gameStage;
+
+    private final MetricsExporter.Histogram frameSeconds;
+    private final MetricsExporter.Histogram stepSeconds;
+
+    private final MetricsExporter.Series rocks;
+    private final MetricsExporter.Series enemies;
+    private final MetricsExporter.Series bullets;
+    private final MetricsExporter.Series enemyBullets;
+    private final MetricsExporter.Series missiles;
+    private final MetricsExporter.Series wingmanCount;
+    private final MetricsExporter.Series sprites;
+
+    private final MetricsExporter.Series wave;
+    private final MetricsExporter.Series score;
+    private final MetricsExporter.Series running;
+    private final MetricsExporter.Series paused;
+
+    private final MetricsExporter.Series cacheUsedBytes;
+    private final MetricsExporter.Series cacheBudgetBytes;
+    private final MetricsExporter.Series cacheEntries;
+    private final MetricsExporter.Series cacheHits;
+    private final MetricsExporter.Series cacheMisses;
+    private final MetricsExporter.Series cacheEvictions;
+
+    private final List<EntityPool<?>> pools = List.of(Bullet.getPool(), EnemyBullet.getPool(), SpecialAttack.getPool(),
+            Asteroid.getPool(Asteroid.Type.ASTEROID), Asteroid.getPool(Asteroid.Type.METEOR),
+            Enemy.getPool(false), Enemy.getPool(true));
+    private final MetricsExporter.Series[] poolIdle;
+    private final MetricsExporter.Series[] poolInUse;
+    private final MetricsExporter.Series[] poolCreated;
+    private final MetricsExporter.Series explosionsActive;
+    private final MetricsExporter.Series explosionsCapacity;
+    private final MetricsExporter.Series explosionsDropped;
+
+    public SoakMetrics(MetricsExporter exporter, EntityRegistry entities, List<Wingman> wingmen, GameStage gameStage) {
+        this.exporter = exporter;
+        this.entities = entities;
+        this.wingmen = wingmen;
+        this.gameStage = gameStage;
+
+        frameSeconds = exporter.histogram("asteroid_frame_seconds", "Time between rendered frames",
+                MetricsExporter.FRAME_BUCKETS);
+        stepSeconds = exporter.histogram("asteroid_step_seconds", "Time taken by one fixed simulation step",
+                MetricsExporter.FRAME_BUCKETS);
+
+        String entityHelp = "Entities in each of the game's lists";
+        rocks = exporter.gauge("asteroid_entities", entityHelp, "list", "rocks");
+        enemies = exporter.gauge("asteroid_entities", entityHelp, "list", "enemies");
+        bullets = exporter.gauge("asteroid_entities", entityHelp, "list", "bullets");
+        enemyBullets = exporter.gauge("asteroid_entities", entityHelp, "list", "enemy_bullets");
+        missiles = exporter.gauge("asteroid_entities", entityHelp, "list", "missiles");
+        wingmanCount = exporter.gauge("asteroid_entities", entityHelp, "list", "wingmen");
+        sprites = exporter.gauge("asteroid_sprites", "Sprites attached to the renderer");
+
+        wave = exporter.gauge("asteroid_wave", "Current wave");
+        score = exporter.gauge("asteroid_score", "Current score");
+        running = exporter.gauge("asteroid_game_running", "1 while a game is in progress");
+        paused = exporter.gauge("asteroid_game_paused", "1 while the game is paused");
+
+        cacheUsedBytes = exporter.gauge("asteroid_asset_cache_bytes", "Decoded image bytes held by the asset cache", "kind", "used");
+        cacheBudgetBytes = exporter.gauge("asteroid_asset_cache_bytes", "Decoded image bytes held by the asset cache", "kind", "budget");
+        cacheEntries = exporter.gauge("asteroid_asset_cache_entries", "Images in the asset cache");
+        cacheHits = exporter.counter("asteroid_asset_cache_hits_total", "Asset cache lookups that found the image");
+        cacheMisses = exporter.counter("asteroid_asset_cache_misses_total", "Asset cache lookups that loaded the image");
+        cacheEvictions = exporter.counter("asteroid_asset_cache_evictions_total", "Images evicted to stay within the budget");
+
+        int n = pools.size();
+        poolIdle = new MetricsExporter.Series[n];
+        poolInUse = new MetricsExporter.Series[n];
+        poolCreated = new MetricsExporter.Series[n];
+        for (int i = 0; i < n; i++) {
+            String name = pools.get(i).getName();
+            poolIdle[i] = exporter.gauge("asteroid_pool_idle", "Pooled objects ready to be handed out", "pool", name);
+            poolInUse[i] = exporter.gauge("asteroid_pool_in_use", "Pooled objects currently handed out", "pool", name);
+            poolCreated[i] = exporter.counter("asteroid_pool_created_total", "Objects the pool has had to create", "pool", name);
+        }
+        explosionsActive = exporter.gauge("asteroid_pool_in_use", "Pooled objects currently handed out", "pool", "Explosion");
+        explosionsCapacity = exporter.gauge("asteroid_pool_capacity", "Fixed size of a bounded pool", "pool", "Explosion");
+        explosionsDropped = exporter.counter("asteroid_pool_dropped_total", "Requests a full bounded pool turned away", "pool", "Explosion");
+    }
+
+    /**
+     * Starts an endpoint if {@code -Dasteroid.metricsPort} is set. If it cannot be started
+     * the game runs without it.
+     *
+     * @return the running metrics, or null
+     */
+    public static SoakMetrics fromProperties(EntityRegistry entities, List<Wingman> wingmen, GameStage gameStage) {
+        MetricsExporter exporter = MetricsExporter.fromProperties();
+        if (exporter == null) {
+            return null;
+        }
+        SoakMetrics metrics = new SoakMetrics(exporter, entities, wingmen, gameStage);
+        try {
+            exporter.start();
+            return metrics;
+        } catch (IOException e) {
+            logger.error("Could not start the metrics endpoint on port {}", exporter.getPort(), e);
+            return null;
+        }
+    }
+
+    public void recordFrame(double seconds) {
+        frameSeconds.record(seconds);
+    }
+
+    public void recordStep(long nanos) {
+        stepSeconds.record(nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Reads the current figures and publishes them for the next scrape.
+     */
+    public void publish(int currentWave, boolean gameRunning, boolean gamePaused) {
+        rocks.set(entities.getRocks().size());
+        enemies.set(entities.getEnemies().size());
+        bullets.set(entities.getBullets().size());
+        enemyBullets.set(entities.getEnemyBullets().size());
+        missiles.set(entities.getMissiles().size());
+        wingmanCount.set(wingmen.size());
+        sprites.set(gameStage.getSpriteRenderer().getSpriteCount());
+
+        wave.set(currentWave);
+        score.set(gameStage.getScoreSystem().getCurrentScore());
+        running.set(gameRunning ? 1 : 0);
+        paused.set(gamePaused ? 1 : 0);
+
+        AssetCache cache = AssetCache.getInstance();
+        cacheUsedBytes.set(cache.getUsedBytes());
+        cacheBudgetBytes.set(cache.getBudgetBytes());
+        cacheEntries.set(cache.size());
+        cacheHits.set(cache.getHitCount());
+        cacheMisses.set(cache.getMissCount());
+        cacheEvictions.set(cache.getEvictionCount());
+
+        for (int i = 0; i < pools.size(); i++) {
+            EntityPool<?> pool = pools.get(i);
+            poolIdle[i].set(pool.getIdleCount());
+            poolInUse[i].set(pool.getCreatedCount() - pool.getIdleCount());
+            poolCreated[i].set(pool.getCreatedCount());
+        }
+        ExplosionEffectPool explosions = gameStage.getExplosionPool();
+        if (explosions != null) {
+            explosionsActive.set(explosions.getActiveCount());
+            explosionsCapacity.set(explosions.getCapacity());
+            explosionsDropped.set(explosions.getDroppedCount());
+        }
+
+        exporter.publish();
+    }
+
+    public MetricsExporter getExporter() {
+        return exporter;
+    }
+
+    public void stop() {
+        exporter.stop();
+    }
+}
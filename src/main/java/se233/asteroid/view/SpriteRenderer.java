@@ -0,0 +1,49 @@
+package se233.asteroid.view;
+
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+
+/**
+ * How entity sprites reach the screen. {@link EntitySprites} drives one {@link ImageView}
+ * per entity (image, position, rotation, visibility); the renderer decides whether those
+ * views live in the scene graph or are only read back and painted.
+ *
+ * EntitySprites attaches a view when its entity enters play and detaches it when the
+ * entity leaves; GameStage calls {@link #render()} once per frame.
+ */
+public interface SpriteRenderer {
+
+    String PROPERTY = "asteroid.renderer";
+
+    /**
+     * Starts drawing the sprite. Attaching a sprite that is already attached does nothing.
+     */
+    void attach(ImageView sprite);
+
+    void detach(ImageView sprite);
+
+    /**
+     * Forgets every sprite, e.g. after the layer has been cleared for a new game.
+     */
+    void clear();
+
+    /**
+     * Draws the current state of every attached sprite.
+     */
+    void render();
+
+    int getSpriteCount();
+
+    /**
+     * Creates the renderer selected by the {@code asteroid.renderer} system property:
+     * {@code nodes} (default) keeps one scene-graph node per sprite, {@code canvas}
+     * paints all sprites into a single Canvas on the layer.
+     */
+    static SpriteRenderer create(Pane layer, double width, double height) {
+        String type = System.getProperty(PROPERTY, "nodes");
+        if ("canvas".equalsIgnoreCase(type)) {
+            return new CanvasSpriteRenderer(layer, width, height);
+        }
+        return new NodeSpriteRenderer(layer);
+    }
+}
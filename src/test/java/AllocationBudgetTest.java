@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.core.GameRules;
+import se233.asteroid.core.HeadlessRunner;
+import se233.asteroid.core.PlayerInput;
+import se233.asteroid.core.Simulation;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the game loop against new per-tick garbage. Each scene is played by the headless
+ * bot and only {@link Simulation#step} is measured, on this thread. What a tick may
+ * legitimately allocate is the bodies it spawns (a bullet is about 100 bytes), which
+ * averages well under the budget; a copied list or a vector per body per tick does not.
+ */
+@DisplayName("Allocation Budget Tests")
+public class AllocationBudgetTest {
+    private static final long SEED = 233L;
+    private static final int WARM_UP_TICKS = 5000;
+    private static final int MEASURED_TICKS = 5000;
+
+    // Average bytes per tick, and the most any single tick (a wave starting) may take
+    private static final long AVERAGE_BUDGET = 96;
+    private static final long PEAK_BUDGET = 8 * 1024;
+
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeEach
+    void setUp() {
+        assertTrue(threadBean.isThreadAllocatedMemorySupported(), "This JVM cannot count per-thread allocation");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Wave 1 asteroids should stay within the per-tick budget")
+    void testFirstWaveRocks() {
+        assertWithinBudget(1);
+    }
+
+    @Test
+    @DisplayName("Wave 3 enemies should stay within the per-tick budget")
+    void testThirdWaveEnemies() {
+        assertWithinBudget(3);
+    }
+
+    @Test
+    @DisplayName("The boss and its escorts should stay within the per-tick budget")
+    void testBossWithEscorts() {
+        assertWithinBudget(GameRules.BOSS_WAVE);
+    }
+
+    private void assertWithinBudget(int wave) {
+        Simulation simulation = new Simulation(SEED);
+        simulation.start(wave);
+        PlayerInput input = new PlayerInput();
+
+        // Let the JIT compile the loop first, so escape analysis is what a real game sees
+        play(simulation, input, wave, WARM_UP_TICKS);
+        long[] result = play(simulation, input, wave, MEASURED_TICKS);
+        long total = result[0];
+        long peak = result[1];
+
+        double average = total / (double) MEASURED_TICKS;
+        assertTrue(average <= AVERAGE_BUDGET,
+                String.format("Wave %d allocated %.1f bytes per tick, budget %d", wave, average, AVERAGE_BUDGET));
+        assertTrue(peak <= PEAK_BUDGET,
+                String.format("Wave %d allocated %d bytes in one tick, budget %d", wave, peak, PEAK_BUDGET));
+    }
+
+    // Plays the scene, restarting it whenever the bot dies or clears it; returns total and peak bytes
+    private long[] play(Simulation simulation, PlayerInput input, int wave, int ticks) {
+        long total = 0;
+        long peak = 0;
+        for (int i = 0; i < ticks; i++) {
+            if (simulation.isGameOver() || simulation.getWave() != wave) {
+                simulation.start(wave);
+            }
+            HeadlessRunner.steerBot(simulation, input);
+
+            long before = threadBean.getCurrentThreadAllocatedBytes();
+            simulation.step(Simulation.REFERENCE_STEP, input);
+            long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+            total += allocated;
+            peak = Math.max(peak, allocated);
+        }
+        return new long[]{total, peak};
+    }
+}
@@ -0,0 +1,76 @@
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.util.AssetCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Asset Cache Tests")
+public class AssetCacheTest {
+    private static final String BULLET_PATH = "/se233/asteroid/assets/PlayerShip/Fx_01.png";
+    private static final String WINGMAN_PATH = "/se233/asteroid/assets/Wingman/wingman.png";
+    private static final String ENEMY_PATH = "/se233/asteroid/assets/Enemy/Enemy_ship.png";
+
+    private AssetCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AssetCache(64L * 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("Same path should return the same decoded image instance")
+    void testSharedInstance() {
+        Image first = cache.get(BULLET_PATH);
+        Image second = cache.get(BULLET_PATH);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Decode work should stop after warm-up")
+    void testNoDecodesAfterWarmUp() {
+        cache.get(BULLET_PATH);
+        cache.get(ENEMY_PATH);
+        long missesAfterWarmUp = cache.getMissCount();
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(BULLET_PATH);
+            cache.get(ENEMY_PATH);
+        }
+
+        assertEquals(missesAfterWarmUp, cache.getMissCount());
+        assertEquals(200, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Least recently used images should be evicted over budget")
+    void testLruEviction() {
+        Image bullet = cache.get(BULLET_PATH);
+        long bulletBytes = cache.getUsedBytes();
+        cache.setBudgetBytes(bulletBytes);
+
+        cache.get(WINGMAN_PATH);
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertFalse(cache.contains(BULLET_PATH));
+        assertTrue(cache.contains(WINGMAN_PATH));
+
+        // Reloading an evicted asset is a miss and yields a fresh decode
+        Image reloaded = cache.get(BULLET_PATH);
+        assertNotSame(bullet, reloaded);
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Missing resources should return null without caching")
+    void testMissingResource() {
+        assertNull(cache.get("/se233/asteroid/assets/missing.png"));
+        assertEquals(0, cache.size());
+    }
+}
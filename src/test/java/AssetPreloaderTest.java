@@ -0,0 +1,117 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Boss;
+import se233.asteroid.model.PlayerShip;
+import se233.asteroid.util.AssetCache;
+import se233.asteroid.util.AssetPreloader;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Asset Preloader Tests")
+public class AssetPreloaderTest {
+    private static final String FX_THREAD = "preload-test-fx";
+    private static final String SHIP_PATH = "/se233/asteroid/assets/PlayerShip/Spaceships.png";
+    private static final String MISSING_PATH = "/se233/asteroid/assets/does_not_exist.png";
+
+    // Stands in for the FX thread
+    private ExecutorService fx;
+    private AssetCache cache;
+
+    @BeforeEach
+    void setUp() {
+        fx = Executors.newSingleThreadExecutor(task -> new Thread(task, FX_THREAD));
+        cache = new AssetCache(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fx.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Every listed image should be decoded and progress should reach the total")
+    void testDecodesEveryImage() throws Exception {
+        AssetPreloader preloader = new AssetPreloader(cache)
+                .images(PlayerShip.ASSET_PATHS)
+                .images(Boss.ASSET_PATHS)
+                .images(PlayerShip.ASSET_PATHS);
+        AtomicInteger lastDone = new AtomicInteger();
+        AtomicBoolean offFxThread = new AtomicBoolean();
+
+        preloader.start(fx, (done, total) -> {
+            offFxThread.compareAndSet(false, !FX_THREAD.equals(Thread.currentThread().getName()));
+            lastDone.accumulateAndGet(done, Math::max);
+        }).get(10, TimeUnit.SECONDS);
+
+        int expected = PlayerShip.ASSET_PATHS.size() + Boss.ASSET_PATHS.size();
+        assertEquals(expected, preloader.getTaskCount());
+        assertEquals(expected, preloader.getDoneCount());
+        assertEquals(0, preloader.getFailedCount());
+        assertEquals(expected, cache.size());
+        for (String path : PlayerShip.ASSET_PATHS) {
+            assertTrue(cache.contains(path), path);
+        }
+        drain();
+        assertEquals(expected, lastDone.get());
+        assertFalse(offFxThread.get(), "Progress must be reported on the FX executor");
+    }
+
+    @Test
+    @DisplayName("FX bakes should run on the FX executor after every other task")
+    void testFxBakesRunLast() throws Exception {
+        AtomicBoolean baked = new AtomicBoolean();
+        AtomicBoolean decodedFirst = new AtomicBoolean();
+        AtomicBoolean bakedFirst = new AtomicBoolean();
+        AtomicBoolean onFxThread = new AtomicBoolean();
+
+        new AssetPreloader(cache)
+                .images(List.of(SHIP_PATH))
+                .bake("bake", () -> {
+                    decodedFirst.set(cache.contains(SHIP_PATH));
+                    baked.set(true);
+                })
+                .bakeOnFxThread("fx bake", () -> {
+                    bakedFirst.set(baked.get());
+                    onFxThread.set(FX_THREAD.equals(Thread.currentThread().getName()));
+                })
+                .start(fx, (done, total) -> {})
+                .get(10, TimeUnit.SECONDS);
+
+        assertTrue(decodedFirst.get());
+        assertTrue(bakedFirst.get());
+        assertTrue(onFxThread.get());
+    }
+
+    @Test
+    @DisplayName("A failing task should be counted without stopping the rest")
+    void testFailuresDoNotStopThePreload() throws Exception {
+        AtomicBoolean fxBakeRan = new AtomicBoolean();
+        AssetPreloader preloader = new AssetPreloader(cache)
+                .images(List.of(MISSING_PATH, SHIP_PATH))
+                .bake("broken", () -> {
+                    throw new IllegalStateException("broken bake");
+                })
+                .bakeOnFxThread("fx bake", () -> fxBakeRan.set(true));
+
+        preloader.start(fx, (done, total) -> {}).get(10, TimeUnit.SECONDS);
+
+        assertEquals(4, preloader.getDoneCount());
+        assertEquals(2, preloader.getFailedCount());
+        assertTrue(cache.contains(SHIP_PATH));
+        assertTrue(fxBakeRan.get());
+    }
+
+    // Waits for progress callbacks still queued on the FX executor
+    private void drain() throws Exception {
+        fx.submit(() -> {}).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -41,6 +41,13 @@ class AsteroidTest {
     void testHitTriggersExplosion() {
         asteroid.hit();
         assertTrue(asteroid.isExploding());
+        // The rock stays alive while its explosion plays, then dies once it has run out
+        assertTrue(asteroid.isAlive());
+
+        asteroid.simulate(0.25);
+        assertTrue(asteroid.isAlive());
+
+        asteroid.simulate(0.25);
         assertFalse(asteroid.isAlive());
     }
 
@@ -85,6 +92,6 @@ class AsteroidTest {
         asteroid.hit();
         asteroid.dispose();
         assertFalse(asteroid.isAlive());
-        assertNull(asteroid.getSprite().getImage());
+        assertFalse(asteroid.isSpriteVisible());
     }
 }
\ No newline at end of file
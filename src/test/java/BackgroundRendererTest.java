@@ -0,0 +1,89 @@
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.view.BackgroundRenderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Background Renderer Tests")
+public class BackgroundRendererTest {
+    private static final double WIDTH = 800;
+    private static final double HEIGHT = 625;
+
+    @Test
+    @DisplayName("The background should be one canvas at the bottom of the layer")
+    void testSingleCanvasUnderSprites() {
+        Pane layer = new Pane();
+        Pane sprite = new Pane();
+        layer.getChildren().add(sprite);
+        BackgroundRenderer background = new BackgroundRenderer(layer, WIDTH, HEIGHT, BackgroundRenderer.Mode.STARS);
+
+        assertEquals(2, layer.getChildren().size());
+        assertSame(background.getCanvas(), layer.getChildren().get(0));
+        assertEquals(3, background.getStarLayerCount());
+        assertEquals(0, background.getFrameCount());
+
+        layer.getChildren().clear();
+        background.attach();
+        background.attach();
+        assertEquals(1, layer.getChildren().size());
+        background.render();
+    }
+
+    @Test
+    @DisplayName("Star layers should scroll at their own speed, wrap, and stop when paused")
+    void testStarsFollowTheClock() {
+        BackgroundRenderer background = new BackgroundRenderer(new Pane(), WIDTH, HEIGHT, BackgroundRenderer.Mode.STARS);
+
+        background.update(1.0);
+        assertEquals(HEIGHT / 2, background.getStarOffset(0), 1e-9);
+        assertEquals(HEIGHT / 4, background.getStarOffset(1), 1e-9);
+        assertEquals(HEIGHT / 6, background.getStarOffset(2), 1e-9);
+
+        background.update(0);
+        assertEquals(HEIGHT / 2, background.getStarOffset(0), 1e-9);
+
+        background.update(1.0);
+        assertEquals(0.0, background.getStarOffset(0), 1e-9);
+        for (int layer = 0; layer < background.getStarLayerCount(); layer++) {
+            assertTrue(background.getStarOffset(layer) < HEIGHT);
+        }
+    }
+
+    @Test
+    @DisplayName("The GIF should decode into a downscaled ring stepped by the game clock")
+    void testFrameRing() {
+        String previous = System.getProperty(BackgroundRenderer.DOWNSCALE_PROPERTY);
+        System.setProperty(BackgroundRenderer.DOWNSCALE_PROPERTY, "8");
+        try {
+            BackgroundRenderer background = new BackgroundRenderer(new Pane(), WIDTH, HEIGHT, BackgroundRenderer.Mode.RING);
+            assertEquals(0, background.getFrameCount());
+            background.update(0.05);
+            background.loadRing();
+            background.loadRing();
+            int frames = background.getFrameCount();
+            assertTrue(frames > 1, "Expected an animated background, got " + frames + " frames");
+
+            Image first = background.getFrame(0);
+            assertEquals(400, first.getWidth());
+            assertEquals(225, first.getHeight());
+
+            // SpaceBG.gif shows each frame for 0.1 s
+            assertEquals(0, background.getFrameIndex());
+            background.update(0.25);
+            assertEquals(2, background.getFrameIndex());
+            background.update(0);
+            assertEquals(2, background.getFrameIndex());
+            background.update(0.1 * frames);
+            assertEquals(2, background.getFrameIndex());
+            background.render();
+        } finally {
+            if (previous == null) {
+                System.clearProperty(BackgroundRenderer.DOWNSCALE_PROPERTY);
+            } else {
+                System.setProperty(BackgroundRenderer.DOWNSCALE_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Character;
+import se233.asteroid.util.BruteForceBroadphase;
+import se233.asteroid.util.SpatialHashBroadphase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Broadphase Tests")
+public class BroadphaseTest {
+    private SpatialHashBroadphase spatialHash;
+    private final List<Character> candidates = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        spatialHash = new SpatialHashBroadphase(800, 600, 64);
+    }
+
+    private Bullet bulletAt(double x, double y) {
+        return new Bullet(new Point2D(x, y), new Point2D(1, 0), false);
+    }
+
+    @Test
+    @DisplayName("Only nearby entities should be reported as candidates")
+    void testNearbyCandidatesOnly() {
+        Bullet near = bulletAt(110, 100);
+        Bullet far = bulletAt(500, 400);
+        spatialHash.insert(near);
+        spatialHash.insert(far);
+
+        Bullet probe = bulletAt(100, 100);
+        spatialHash.query(probe, candidates);
+
+        assertTrue(candidates.contains(near));
+        assertFalse(candidates.contains(far));
+        assertEquals(1, spatialHash.getCandidatePairCount());
+    }
+
+    @Test
+    @DisplayName("Neighbour cells should wrap around the screen edges")
+    void testWrapAroundNeighbours() {
+        Bullet acrossEdge = bulletAt(795, 595);
+        spatialHash.insert(acrossEdge);
+
+        spatialHash.query(bulletAt(2, 2), candidates);
+
+        assertTrue(candidates.contains(acrossEdge));
+    }
+
+    @Test
+    @DisplayName("Every colliding pair found by brute force should also be a spatial hash candidate")
+    void testMatchesBruteForce() {
+        BruteForceBroadphase bruteForce = new BruteForceBroadphase();
+        Random random = new Random(42);
+        List<Bullet> targets = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Bullet target = bulletAt(random.nextDouble() * 800, random.nextDouble() * 600);
+            targets.add(target);
+            spatialHash.insert(target);
+            bruteForce.insert(target);
+        }
+
+        List<Character> bruteCandidates = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Bullet probe = bulletAt(random.nextDouble() * 800, random.nextDouble() * 600);
+            spatialHash.query(probe, candidates);
+            bruteForce.query(probe, bruteCandidates);
+            for (Character target : bruteCandidates) {
+                if (probe.collidesWith(target)) {
+                    assertTrue(candidates.contains(target));
+                }
+            }
+        }
+
+        assertTrue(spatialHash.getCandidatePairCount() < bruteForce.getCandidatePairCount());
+    }
+
+    @Test
+    @DisplayName("Clear should reset entities and statistics")
+    void testClear() {
+        spatialHash.insert(bulletAt(10, 10));
+        spatialHash.insert(bulletAt(12, 12));
+        assertEquals(2, spatialHash.getEntityCount());
+        assertEquals(1, spatialHash.getOccupiedCellCount());
+        assertEquals(2, spatialHash.getMaxCellOccupancy());
+
+        spatialHash.clear();
+
+        assertEquals(0, spatialHash.getEntityCount());
+        assertEquals(0, spatialHash.getOccupiedCellCount());
+        assertTrue(spatialHash.query(bulletAt(10, 10), candidates).isEmpty());
+    }
+}
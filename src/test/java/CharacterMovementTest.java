@@ -0,0 +1,75 @@
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Character;
+import se233.asteroid.util.MutableVector2D;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Character Movement Tests")
+public class CharacterMovementTest {
+    private static final String SPRITE = "/se233/asteroid/assets/PlayerShip/Spaceships.png";
+
+    private Character createCharacter(double x, double y) {
+        return new Character(SPRITE, new Point2D(x, y), 10) {};
+    }
+
+    @Test
+    @DisplayName("Position view should be reused until the character moves")
+    void testPositionViewCached() {
+        Character character = createCharacter(100, 200);
+        Point2D first = character.getPosition();
+
+        assertSame(first, character.getPosition());
+        assertEquals(100, character.getX());
+        assertEquals(200, character.getY());
+
+        character.setPosition(150, 250);
+        Point2D moved = character.getPosition();
+        assertNotSame(first, moved);
+        assertEquals(new Point2D(150, 250), moved);
+    }
+
+    @Test
+    @DisplayName("Update should apply friction, speed limit and screen wrap")
+    void testUpdateMovement() {
+        Character character = createCharacter(795, 300);
+        character.setVelocity(30, 0);
+        character.update();
+
+        // Friction first, then clamped to the maximum speed of 10
+        assertEquals(10.0, character.getVelocityX(), 1e-9);
+        assertEquals(0.0, character.getVelocityY(), 1e-9);
+        // 795 + 10 runs past the right edge and wraps to 0
+        assertEquals(0.0, character.getX(), 1e-9);
+        assertEquals(300.0, character.getY(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Squared-distance collision should match the radius sum")
+    void testCollision() {
+        Character a = createCharacter(100, 100);
+        Character b = createCharacter(119, 100);
+        Character c = createCharacter(121, 100);
+
+        assertTrue(a.collidesWith(b));
+        assertFalse(a.collidesWith(c));
+    }
+
+    @Test
+    @DisplayName("Mutable vector should normalize, limit and chain in place")
+    void testMutableVector() {
+        MutableVector2D v = new MutableVector2D(3, 4);
+        assertEquals(5.0, v.length(), 1e-9);
+
+        assertSame(v, v.normalize().scale(2));
+        assertEquals(1.2, v.x, 1e-9);
+        assertEquals(1.6, v.y, 1e-9);
+
+        v.set(30, 40).limit(10);
+        assertEquals(10.0, v.length(), 1e-9);
+        v.set(0, 0).normalize();
+        assertEquals(0.0, v.x);
+        assertEquals(0.0, v.y);
+    }
+}
@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.util.CommandBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Command Buffer Tests")
+public class CommandBufferTest {
+    private final List<String> applied = new ArrayList<>();
+    private CommandBuffer<String> commands;
+
+    @BeforeEach
+    void setUp() {
+        commands = new CommandBuffer<>(entity -> applied.add("+" + entity), entity -> applied.add("-" + entity));
+    }
+
+    @Test
+    @DisplayName("Commands should run at once outside a step and in record order when the step ends")
+    void testDeferredInOrder() {
+        commands.spawn("ship");
+        assertEquals(List.of("+ship"), applied);
+        assertFalse(commands.isDeferring());
+
+        commands.begin();
+        commands.spawn("rock");
+        commands.despawn("ship");
+        commands.spawn("bullet");
+        commands.despawn("rock");
+        assertEquals(List.of("+ship"), applied, "Nothing may change before the step is applied");
+        assertEquals(4, commands.getPendingCount());
+
+        assertEquals(4, commands.apply());
+        assertEquals(List.of("+ship", "+rock", "-ship", "+bullet", "-rock"), applied);
+        assertEquals(0, commands.getPendingCount());
+        assertFalse(commands.isDeferring());
+        assertEquals(4, commands.getAppliedCount());
+
+        // Growing past the initial capacity keeps the order
+        commands.begin();
+        for (int i = 0; i < 200; i++) {
+            commands.spawn("e" + i);
+        }
+        applied.clear();
+        assertEquals(200, commands.apply());
+        assertEquals("+e0", applied.get(0));
+        assertEquals("+e199", applied.get(199));
+    }
+
+    @Test
+    @DisplayName("Pending spawns should be despawnable, and commands issued while applying should run in the same pass")
+    void testPendingSpawnsAndChainedCommands() {
+        AtomicReference<CommandBuffer<String>> self = new AtomicReference<>();
+        CommandBuffer<String> chained = new CommandBuffer<>(entity -> {
+            applied.add("+" + entity);
+            if (entity.equals("asteroid")) {
+                self.get().spawn("fragment");
+            }
+        }, entity -> applied.add("-" + entity));
+        self.set(chained);
+
+        chained.begin();
+        chained.spawn("asteroid");
+        chained.spawn("shot");
+        chained.spawn("enemy");
+        chained.despawnPendingSpawns(entity -> !entity.equals("enemy"));
+        assertEquals(5, chained.getPendingCount());
+
+        assertEquals(6, chained.apply());
+        assertEquals(List.of("+asteroid", "+shot", "+enemy", "-asteroid", "-shot", "+fragment"), applied);
+
+        // Outside a step nothing is pending, so there is nothing to despawn
+        chained.despawnPendingSpawns(entity -> true);
+        assertEquals(0, chained.getPendingCount());
+    }
+}
@@ -0,0 +1,119 @@
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Enemy;
+import se233.asteroid.model.EnemyBullet;
+import se233.asteroid.model.EntityPool;
+import se233.asteroid.model.SpecialAttack;
+import se233.asteroid.util.GameContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Entity Pool Tests")
+public class EntityPoolTest {
+    private final Point2D origin = new Point2D(400, 300);
+    private final Point2D up = new Point2D(0, -1);
+
+    @Test
+    @DisplayName("Released projectiles should be reused instead of created")
+    void testReuseAfterRelease() {
+        EntityPool<Bullet> pool = new EntityPool<>("test",
+                () -> new Bullet(origin, up, false), 2);
+        assertEquals(2, pool.getIdleCount());
+
+        Bullet first = pool.acquire();
+        pool.release(first);
+        Bullet second = pool.acquire();
+
+        assertSame(first, second);
+        assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    @DisplayName("Pool should grow on demand and ignore double releases")
+    void testGrowAndDoubleRelease() {
+        EntityPool<Bullet> pool = new EntityPool<>("test",
+                () -> new Bullet(origin, up, false), 1);
+
+        Bullet first = pool.acquire();
+        Bullet second = pool.acquire();
+        assertNotSame(first, second);
+        assertEquals(2, pool.getCreatedCount());
+
+        pool.release(first);
+        pool.release(first);
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(1, pool.getReleasedCount());
+    }
+
+    @Test
+    @DisplayName("Obtained bullets should be reset to a fresh state")
+    void testObtainResetsState() {
+        Bullet bullet = Bullet.obtain(origin, up, true);
+        bullet.setDamage(15);
+        bullet.release();
+        assertFalse(bullet.isActive());
+        assertFalse(bullet.isSpriteVisible());
+
+        Bullet reused = Bullet.obtain(new Point2D(100, 100), new Point2D(1, 0), false);
+
+        assertSame(bullet, reused);
+        assertTrue(reused.isActive());
+        assertTrue(reused.isSpriteVisible());
+        assertFalse(reused.isEnemyBullet());
+        assertFalse(reused.isExpired());
+        assertEquals(10, reused.getDamage());
+        assertEquals(new Point2D(100, 100), reused.getPosition());
+        reused.release();
+    }
+
+    @Test
+    @DisplayName("Enemy bullets and missiles should come from their own pools")
+    void testOtherEntityPools() {
+        EnemyBullet enemyBullet = EnemyBullet.obtain(origin, up, true);
+        enemyBullet.release();
+        assertSame(enemyBullet, EnemyBullet.obtain(origin, up, true));
+
+        SpecialAttack missile = SpecialAttack.obtain(origin, up, false);
+        missile.release();
+        assertSame(missile, SpecialAttack.obtain(origin, up, false));
+        assertTrue(missile.isActive());
+    }
+
+    @Test
+    @DisplayName("Pooled rocks and enemies should come back alive and draw what a new one would")
+    void testRockAndEnemyPools() {
+        Asteroid rock = Asteroid.obtain(origin, Asteroid.Type.METEOR);
+        rock.hit();
+        rock.release();
+        assertFalse(rock.isAlive());
+
+        GameContext.reset(233L);
+        Asteroid fresh = new Asteroid(origin, Asteroid.Type.METEOR);
+        GameContext.reset(233L);
+        Asteroid reused = Asteroid.obtain(origin, Asteroid.Type.METEOR);
+
+        assertSame(rock, reused);
+        assertTrue(reused.isAlive());
+        assertFalse(reused.isExploding());
+        assertTrue(reused.isSpriteVisible());
+        assertEquals(fresh.getVelocityX(), reused.getVelocityX());
+        assertEquals(fresh.getVelocityY(), reused.getVelocityY());
+        assertEquals(fresh.getRotation(), reused.getRotation());
+        reused.release();
+
+        Enemy enemy = Enemy.obtain(origin, true);
+        enemy.hit();
+        enemy.release();
+        Enemy again = Enemy.obtain(new Point2D(100, 100), true);
+
+        assertSame(enemy, again);
+        assertTrue(again.isAlive());
+        assertFalse(again.isExploding());
+        assertTrue(again.isSecondTier());
+        assertEquals(new Point2D(100, 100), again.getPosition());
+        again.release();
+    }
+}
@@ -0,0 +1,94 @@
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Enemy;
+import se233.asteroid.model.EntityRegistry;
+import se233.asteroid.model.SpecialAttack;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Entity Registry Tests")
+public class EntityRegistryTest {
+    private final Point2D origin = new Point2D(400, 300);
+    private final Point2D up = new Point2D(0, -1);
+    private EntityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EntityRegistry();
+    }
+
+    @Test
+    @DisplayName("Entities should land in their kind's bucket and be counted by type")
+    void testBucketsAndCounts() {
+        Asteroid asteroid = new Asteroid(origin, Asteroid.Type.ASTEROID);
+        Asteroid meteor = new Asteroid(origin, Asteroid.Type.METEOR);
+        Enemy regular = new Enemy(origin, false);
+        Enemy secondTier = new Enemy(origin, true);
+        Bullet bullet = new Bullet(origin, up, false);
+        SpecialAttack missile = new SpecialAttack(origin, up, false);
+        registry.add(asteroid);
+        registry.add(meteor);
+        registry.add(regular);
+        registry.add(secondTier);
+        registry.add(new Enemy(origin, true));
+        registry.add(bullet);
+        registry.add(missile);
+
+        assertEquals(List.of(asteroid, meteor), registry.getRocks());
+        assertEquals(3, registry.getEnemies().size());
+        assertEquals(List.of(bullet), registry.getBullets());
+        assertEquals(List.of(missile), registry.getMissiles());
+        assertTrue(registry.getEnemyBullets().isEmpty());
+
+        assertEquals(1, registry.count(EntityRegistry.Type.ASTEROID));
+        assertEquals(1, registry.count(EntityRegistry.Type.METEOR));
+        assertEquals(1, registry.count(EntityRegistry.Type.ENEMY));
+        assertEquals(2, registry.count(EntityRegistry.Type.SECOND_TIER_ENEMY));
+        assertEquals(2, registry.getRockCount());
+        assertEquals(3, registry.getEnemyCount());
+        assertEquals(7, registry.size());
+
+        // Buckets are views; only the registry changes them
+        assertThrows(UnsupportedOperationException.class, () -> registry.getRocks().add(asteroid));
+    }
+
+    @Test
+    @DisplayName("Removal should keep the counts in step with the buckets")
+    void testRemoval() {
+        Asteroid first = new Asteroid(origin, Asteroid.Type.ASTEROID);
+        Asteroid second = new Asteroid(origin, Asteroid.Type.METEOR);
+        Asteroid third = new Asteroid(origin, Asteroid.Type.ASTEROID);
+        registry.add(first);
+        registry.add(second);
+        registry.add(third);
+
+        assertTrue(registry.remove(first));
+        assertFalse(registry.remove(first));
+        assertEquals(List.of(second, third), registry.getRocks());
+        assertEquals(1, registry.count(EntityRegistry.Type.ASTEROID));
+
+        // Dead entities are swept out in order, and the filter sees each one once
+        Enemy dead = new Enemy(origin, true);
+        Enemy live = new Enemy(origin, false);
+        registry.add(dead);
+        registry.add(live);
+        dead.setAlive(false);
+        assertEquals(1, registry.removeIf(registry.getEnemies(), enemy -> !enemy.isAlive()));
+        assertEquals(List.of(live), registry.getEnemies());
+        assertEquals(0, registry.count(EntityRegistry.Type.SECOND_TIER_ENEMY));
+        assertEquals(1, registry.getEnemyCount());
+
+        registry.clear(registry.getRocks());
+        assertEquals(0, registry.getRockCount());
+        assertEquals(1, registry.size());
+        registry.clear();
+        assertEquals(0, registry.getEnemyCount());
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,73 @@
+import javafx.geometry.Point2D;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.view.EntitySprites;
+import se233.asteroid.view.NodeSpriteRenderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Entity Sprites Tests")
+public class EntitySpritesTest {
+
+    @Test
+    @DisplayName("Drawing should put the entity's sprite state on its view, centred on it")
+    void testDrawCopiesSpriteState() {
+        Pane layer = new Pane();
+        EntitySprites sprites = new EntitySprites(new NodeSpriteRenderer(layer));
+        Asteroid rock = new Asteroid(new Point2D(400, 300), Asteroid.Type.ASTEROID);
+        rock.setRotation(30);
+
+        sprites.show(rock);
+        sprites.draw();
+
+        assertEquals(1, layer.getChildren().size());
+        ImageView view = (ImageView) layer.getChildren().get(0);
+        assertSame(rock.getFrame().image(), view.getImage());
+        assertTrue(view.isVisible());
+        assertEquals(400 - rock.getDisplayWidth() / 2, view.getTranslateX(), 1e-9);
+        assertEquals(300 - rock.getDisplayHeight() / 2, view.getTranslateY(), 1e-9);
+        assertEquals(30, view.getRotate());
+    }
+
+    @Test
+    @DisplayName("Removed entities should give their view to the next one")
+    void testRemoveRecyclesView() {
+        Pane layer = new Pane();
+        EntitySprites sprites = new EntitySprites(new NodeSpriteRenderer(layer));
+        Asteroid first = new Asteroid(new Point2D(100, 100), Asteroid.Type.METEOR);
+        Asteroid second = new Asteroid(new Point2D(200, 200), Asteroid.Type.METEOR);
+
+        sprites.show(first);
+        ImageView view = (ImageView) layer.getChildren().get(0);
+        sprites.remove(first);
+        assertTrue(layer.getChildren().isEmpty());
+
+        sprites.show(second);
+        assertSame(view, layer.getChildren().get(0));
+        assertEquals(1, sprites.getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Released projectiles should stay attached but stop being drawn")
+    void testHiddenProjectileStaysAttached() {
+        Pane layer = new Pane();
+        EntitySprites sprites = new EntitySprites(new NodeSpriteRenderer(layer));
+        Bullet bullet = Bullet.obtain(new Point2D(400, 300), new Point2D(0, -1), false);
+
+        sprites.show(bullet);
+        sprites.draw();
+        ImageView view = (ImageView) layer.getChildren().get(0);
+        assertTrue(view.isVisible());
+
+        bullet.release();
+        sprites.hide(bullet);
+        sprites.draw();
+        assertFalse(view.isVisible());
+        assertEquals(1, layer.getChildren().size());
+        sprites.remove(bullet);
+    }
+}
@@ -0,0 +1,146 @@
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.model.Character;
+import se233.asteroid.model.EntityStore;
+import se233.asteroid.util.EntityStoreBroadphase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Entity Store Tests")
+public class EntityStoreTest {
+    private EntityStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new EntityStore(16);
+    }
+
+    private int addRock(double x, double y, double vx, double vy) {
+        return store.add(EntityStore.TYPE_ASTEROID, EntityStore.FLAG_INTEGRATE | EntityStore.FLAG_COLLIDABLE,
+                x, y, vx, vy, 30, 1.0, 0);
+    }
+
+    @Test
+    @DisplayName("Handles should stay valid across swap-remove and go stale once removed")
+    void testStableHandles() {
+        int first = addRock(10, 10, 0, 0);
+        int second = addRock(20, 20, 0, 0);
+        int third = addRock(30, 30, 0, 0);
+
+        assertTrue(store.remove(first));
+        assertEquals(2, store.size());
+        assertFalse(store.contains(first));
+        assertFalse(store.remove(first));
+
+        // The last entry was moved into the hole, but its handle still finds it
+        assertEquals(30, store.getX(store.indexOf(third)));
+        assertEquals(20, store.getX(store.indexOf(second)));
+
+        // A reused slot must not revive the old handle
+        int fourth = addRock(40, 40, 0, 0);
+        assertNotEquals(first, fourth);
+        assertFalse(store.contains(first));
+        assertEquals(40, store.getX(store.indexOf(fourth)));
+    }
+
+    @Test
+    @DisplayName("Integrate should apply damping, speed cap and edge wrap")
+    void testIntegrate() {
+        int drifting = addRock(100, 100, 1, 2);
+        int wrapping = store.add(EntityStore.TYPE_BULLET, EntityStore.FLAG_INTEGRATE | EntityStore.FLAG_WRAP,
+                795, 300, 30, 0, 2, 0.98, 10);
+        int idle = store.add(EntityStore.TYPE_BULLET, 0, 50, 50, 5, 5, 2, 1.0, 0);
+
+        store.integrate(800, 600);
+
+        assertEquals(101, store.getX(store.indexOf(drifting)), 1e-9);
+        assertEquals(102, store.getY(store.indexOf(drifting)), 1e-9);
+        assertEquals(10, store.getVelocityX(store.indexOf(wrapping)), 1e-9);
+        assertEquals(0, store.getX(store.indexOf(wrapping)), 1e-9);
+        assertEquals(50, store.getX(store.indexOf(idle)), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Attached characters should be moved by the store and keep their state on detach")
+    void testAttachedOwner() {
+        Bullet bullet = new Bullet(new Point2D(100, 100), new Point2D(1, 0), false);
+        int handle = store.attach(bullet);
+
+        assertTrue(bullet.isStoreBacked());
+        assertEquals(handle, bullet.getStoreHandle());
+
+        bullet.setVelocity(5, 0);
+        store.integrate(800, 600);
+        store.syncOwners();
+        bullet.update();
+
+        // Friction applied once by the store, not again by update()
+        assertEquals(104.9, bullet.getX(), 1e-9);
+
+        store.detach(bullet);
+        assertFalse(bullet.isStoreBacked());
+        assertEquals(0, store.size());
+        assertEquals(104.9, bullet.getX(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Grid queries should match a brute-force overlap scan")
+    void testGridMatchesBruteForce() {
+        Random random = new Random(7);
+        List<Bullet> owners = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Bullet bullet = new Bullet(new Point2D(random.nextDouble() * 800, random.nextDouble() * 600),
+                    new Point2D(1, 0), true);
+            store.attach(bullet, EntityStore.TYPE_ENEMY_BULLET, EntityStore.FLAG_COLLIDABLE, 1.0, 0);
+            owners.add(bullet);
+        }
+        // Removing entries reorders the arrays; the next query must still see the rest
+        for (int i = 0; i < 50; i++) {
+            store.detach(owners.remove(owners.size() / 2));
+        }
+
+        EntityStoreBroadphase broadphase = new EntityStoreBroadphase(store, EntityStore.TYPE_ANY, 800, 600, 64);
+        broadphase.clear();
+        owners.forEach(broadphase::insert);
+        assertEquals(150, broadphase.getEntityCount());
+
+        List<Character> candidates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Bullet probe = new Bullet(new Point2D(random.nextDouble() * 800, random.nextDouble() * 600),
+                    new Point2D(1, 0), false);
+            broadphase.query(probe, candidates);
+
+            for (Bullet owner : owners) {
+                double reach = probe.getHitRadius() + owner.getHitRadius();
+                boolean overlaps = probe.getPosition().distance(owner.getPosition()) <= reach;
+                assertEquals(overlaps, candidates.contains(owner));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Grid cells should wrap at the playfield edges instead of clamping")
+    void testGridWrapsAtEdges() {
+        // Just past the left edge and just inside it: clamping would share column 0
+        int past = addRock(-20, 300, 0, 0);
+        addRock(10, 300, 0, 0);
+        store.buildGrid(800, 600, 64);
+
+        assertEquals(1, store.getMaxCellOccupancy());
+        assertEquals(2, store.getOccupiedCellCount());
+
+        // Probes reaching across the edge find it in the last column
+        List<Character> found = new ArrayList<>();
+        assertEquals(1, store.countOverlaps(-25, 300, 1, EntityStore.TYPE_ANY));
+        assertEquals(2, store.countOverlaps(-5, 300, 5, EntityStore.TYPE_ANY));
+        assertEquals(0, store.query(790, 300, 5, EntityStore.TYPE_ANY, -1, found));
+        assertEquals(-20, store.getX(store.indexOf(past)));
+    }
+}
@@ -0,0 +1,66 @@
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.view.ExplosionEffectPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Explosion Effect Pool Tests")
+public class ExplosionEffectPoolTest {
+    private static final int CAPACITY = 4;
+
+    private Pane layer;
+    private ExplosionEffectPool pool;
+
+    @BeforeEach
+    void setUp() {
+        layer = new Pane();
+        Image sheet = new WritableImage(800, 100);
+        pool = new ExplosionEffectPool(layer, sheet, CAPACITY);
+    }
+
+    @Test
+    @DisplayName("Pool should create all nodes up front")
+    void testPreallocatedNodes() {
+        assertEquals(CAPACITY, layer.getChildren().size());
+        assertEquals(CAPACITY, pool.getIdleCount());
+        assertEquals(0, pool.getActiveCount());
+
+        for (int i = 0; i < CAPACITY * 3; i++) {
+            pool.play(100, 100, 1, 1);
+        }
+
+        assertEquals(CAPACITY, layer.getChildren().size());
+    }
+
+    @Test
+    @DisplayName("Explosions beyond capacity should replace the oldest ones")
+    void testDropOldestWhenFull() {
+        for (int i = 0; i < CAPACITY + 2; i++) {
+            pool.play(i, i, 1, 1);
+        }
+
+        assertEquals(CAPACITY, pool.getActiveCount());
+        assertEquals(CAPACITY, pool.getPeakActiveCount());
+        assertEquals(CAPACITY + 2, pool.getPlayedCount());
+        assertEquals(2, pool.getDroppedCount());
+        assertEquals(1.0, pool.getOccupancy());
+    }
+
+    @Test
+    @DisplayName("Reset should free every slot and reattach cleared nodes")
+    void testReset() {
+        pool.play(10, 10, 1, 1);
+        pool.play(20, 20, 1, 1);
+        layer.getChildren().clear();
+
+        pool.reset();
+
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(CAPACITY, pool.getIdleCount());
+        assertEquals(CAPACITY, layer.getChildren().size());
+    }
+}
@@ -0,0 +1,80 @@
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Bullet;
+import se233.asteroid.util.FixedTimestep;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Fixed Timestep Tests")
+public class FixedTimestepTest {
+
+    private long runFrames(FixedTimestep timestep, double refreshRate, double seconds) {
+        long[] steps = {0};
+        int frames = (int) Math.round(refreshRate * seconds);
+        for (int i = 0; i < frames; i++) {
+            timestep.advance(1.0 / refreshRate, dt -> steps[0]++);
+        }
+        return steps[0];
+    }
+
+    @Test
+    @DisplayName("Simulation should step at the same rate on any refresh rate")
+    void testRefreshRateIndependence() {
+        assertEquals(60, runFrames(new FixedTimestep(), 144, 1.0), 1);
+        assertEquals(60, runFrames(new FixedTimestep(), 60, 1.0), 1);
+        assertEquals(60, runFrames(new FixedTimestep(), 30, 1.0), 1);
+    }
+
+    @Test
+    @DisplayName("A long stall should run at most the capped number of steps")
+    void testCatchUpCap() {
+        FixedTimestep timestep = new FixedTimestep(1.0 / 60.0, 5);
+        int steps = timestep.advance(2.0, dt -> {});
+
+        assertEquals(5, steps);
+        assertTrue(timestep.getDroppedSeconds() > 1.5);
+        assertTrue(timestep.getAlpha() >= 0 && timestep.getAlpha() < 1);
+    }
+
+    @Test
+    @DisplayName("Alpha should report the leftover fraction of a step")
+    void testAlpha() {
+        FixedTimestep timestep = new FixedTimestep(0.01, 5);
+        assertEquals(0, timestep.advance(0.0025, dt -> {}));
+        assertEquals(0.25, timestep.getAlpha(), 1e-9);
+
+        assertEquals(1, timestep.advance(0.01, dt -> assertEquals(0.01, dt)));
+        assertEquals(0.25, timestep.getAlpha(), 1e-9);
+
+        timestep.reset();
+        assertEquals(0, timestep.getAlpha());
+    }
+
+    @Test
+    @DisplayName("Entities should cover the same distance per second regardless of dt")
+    void testEntityDtScaling() {
+        Asteroid coarse = new Asteroid(new Point2D(400, 300), Asteroid.Type.ASTEROID);
+        Asteroid fine = new Asteroid(new Point2D(400, 300), Asteroid.Type.ASTEROID);
+        fine.setVelocity(coarse.getVelocityX(), coarse.getVelocityY());
+
+        for (int i = 0; i < 60; i++) coarse.update(1.0 / 60.0);
+        for (int i = 0; i < 144; i++) fine.update(1.0 / 144.0);
+
+        assertEquals(coarse.getX(), fine.getX(), 1e-6);
+        assertEquals(coarse.getY(), fine.getY(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Bullet lifetime should count real seconds")
+    void testBulletLifetime() {
+        Bullet bullet = new Bullet(new Point2D(400, 300), new Point2D(0, -1), false);
+        for (int i = 0; i < 60; i++) bullet.update(1.0 / 30.0);
+        assertTrue(bullet.isExpired());
+
+        Bullet other = new Bullet(new Point2D(400, 300), new Point2D(0, -1), false);
+        for (int i = 0; i < 59; i++) other.update(1.0 / 30.0);
+        assertFalse(other.isExpired());
+    }
+}
@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.util.FrameHistogram;
+import se233.asteroid.util.FrameMetrics;
+import se233.asteroid.view.MetricsOverlay;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Frame Metrics Tests")
+public class FrameMetricsTest {
+
+    @Test
+    @DisplayName("Histogram percentiles should be within bucket precision")
+    void testHistogramPercentiles() {
+        FrameHistogram histogram = new FrameHistogram(TimeUnit.SECONDS.toNanos(10));
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(10_000, histogram.getTotalCount());
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50), 5_000_000 * 0.07);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99), 9_900_000 * 0.07);
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(1000, histogram.getMinValue());
+
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    @DisplayName("Histogram should keep small values exact and clamp large ones")
+    void testHistogramEdges() {
+        FrameHistogram histogram = new FrameHistogram(1000);
+        histogram.record(3);
+        histogram.record(-5);
+        histogram.record(1_000_000);
+
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertEquals(3, histogram.getValueAtPercentile(50));
+        assertEquals(1000, histogram.getMaxValue());
+    }
+
+    @Test
+    @DisplayName("Disabled metrics should not read the clock or record anything")
+    void testDisabledIsInert() {
+        FrameMetrics metrics = new FrameMetrics(1);
+        FrameMetrics.Timer timer = metrics.timer("update");
+        metrics.setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            metrics.beginFrame();
+            long start = metrics.now();
+            assertEquals(0, start);
+            assertEquals(0, timer.stop(start));
+            metrics.endFrame();
+        }
+        assertEquals(0, metrics.getWindowCount());
+        assertEquals(0, timer.getP99());
+    }
+
+    @Test
+    @DisplayName("Each window should publish per-phase percentiles and reset")
+    void testWindowPublishesPhases() {
+        FrameMetrics metrics = new FrameMetrics(5);
+        FrameMetrics.Timer update = metrics.timer("update");
+        FrameMetrics.Timer idle = metrics.timer("idle");
+        FrameMetrics.Gauge bullets = metrics.gauge("bullets");
+        metrics.setEnabled(true);
+
+        for (int frame = 0; frame < 5; frame++) {
+            metrics.beginFrame();
+            // Two simulation steps in this frame
+            for (int step = 0; step < 2; step++) {
+                long start = metrics.now();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                update.stop(start);
+            }
+            bullets.set(frame);
+            metrics.endFrame();
+        }
+
+        assertEquals(1, metrics.getWindowCount());
+        assertTrue(update.getP50() >= TimeUnit.MILLISECONDS.toNanos(2) * 0.9,
+                "Both steps should be summed into the frame: " + update.getP50());
+        assertTrue(metrics.getFrameTimer().getP50() >= update.getP50() * 0.9);
+        assertEquals(0, idle.getP50());
+        assertEquals(4, bullets.getValue());
+        assertEquals(2, metrics.getTimers().size());
+    }
+
+    @Test
+    @DisplayName("Overlay should list every phase and gauge")
+    void testOverlayText() {
+        FrameMetrics metrics = new FrameMetrics(1);
+        FrameMetrics.Timer collisions = metrics.timer("collisions");
+        metrics.gauge("asteroids").set(42);
+        metrics.setEnabled(true);
+
+        metrics.beginFrame();
+        collisions.stop(metrics.now());
+        metrics.endFrame();
+
+        MetricsOverlay overlay = new MetricsOverlay();
+        overlay.update(metrics);
+        String text = overlay.getText();
+        assertTrue(text.contains("frame"));
+        assertTrue(text.contains("collisions"));
+        assertTrue(text.contains("asteroids"));
+        assertTrue(text.contains("42"));
+        assertTrue(text.contains("ms"));
+    }
+}
@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.util.FrameSetRegistry;
+import se233.asteroid.util.SpriteFrame;
+import se233.asteroid.util.SpriteSheet;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Frame Set Registry Tests")
+public class FrameSetRegistryTest {
+    private static final SpriteSheet EXPLOSION = SpriteSheet.row("/se233/asteroid/assets/PlayerShip/Explosion.png", 8);
+    private static final String SHIP_PATH = "/se233/asteroid/assets/PlayerShip/Spaceships.png";
+    private static final SpriteSheet MISSING = SpriteSheet.row("/se233/asteroid/assets/does_not_exist.png", 4);
+
+    @Test
+    @DisplayName("Same sheet should share one frame list")
+    void testSharedFrames() {
+        List<SpriteFrame> first = FrameSetRegistry.getSprites(EXPLOSION);
+        List<SpriteFrame> second = FrameSetRegistry.getSprites(SpriteSheet.row(EXPLOSION.path(), 8));
+
+        assertEquals(8, first.size());
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+        for (SpriteFrame frame : first) {
+            assertNotNull(frame.image());
+            assertTrue(frame.getWidth() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("A single sprite should be one shared frame")
+    void testSharedSprite() {
+        SpriteFrame first = FrameSetRegistry.getSprite(SHIP_PATH);
+
+        assertNotNull(first.image());
+        assertSame(first, FrameSetRegistry.getSprite(SHIP_PATH));
+        assertSame(first, FrameSetRegistry.getSprites(SpriteSheet.single(SHIP_PATH)).get(0));
+    }
+
+    @Test
+    @DisplayName("No frames should be baked after warm-up")
+    void testNoBakesAfterWarmUp() {
+        FrameSetRegistry.getSprites(EXPLOSION);
+        FrameSetRegistry.getSprite(SHIP_PATH);
+        long bakesAfterWarmUp = FrameSetRegistry.getBakeCount();
+        long hitsAfterWarmUp = FrameSetRegistry.getHitCount();
+
+        for (int i = 0; i < 50; i++) {
+            FrameSetRegistry.getSprites(EXPLOSION);
+            FrameSetRegistry.getSprite(SHIP_PATH);
+        }
+
+        assertEquals(bakesAfterWarmUp, FrameSetRegistry.getBakeCount());
+        assertEquals(hitsAfterWarmUp + 100, FrameSetRegistry.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Missing sheet should yield an empty frame list")
+    void testMissingSheet() {
+        assertTrue(FrameSetRegistry.getSprites(MISSING).isEmpty());
+    }
+}
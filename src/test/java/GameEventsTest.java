@@ -0,0 +1,82 @@
+import javafx.geometry.Point2D;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.util.GameEvents;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Flight Recorder Event Tests")
+public class GameEventsTest {
+    private static final List<String> EVENTS = List.of("TickPhase", "EntitySpawn", "EntityDespawn",
+            "AsteroidSplit", "BossPatternChange", "Explosion");
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    @DisplayName("Events should be off without the game's profile and on with it")
+    void testProfileEnablesEvents() throws Exception {
+        assertNull(GameEvents.beginPhase("update"), "No recording, no event object");
+
+        Map<String, String> settings = GameEvents.recordingSettings();
+        for (String name : EVENTS) {
+            assertEquals("true", settings.get("se233.asteroid." + name + "#enabled"), name);
+        }
+        // The stock settings are still there underneath
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled"));
+
+        try (Recording recording = new Recording()) {
+            recording.start();
+            assertNull(GameEvents.beginPhase("update"), "The stock settings leave the game's events off");
+        }
+    }
+
+    @Test
+    @DisplayName("A recording with the profile should capture phases, spawns, splits and explosions")
+    void testRecordsGameEvents() throws Exception {
+        Path file = outputDir.resolve("game.jfr");
+        Asteroid asteroid = new Asteroid(new Point2D(200, 150), Asteroid.Type.ASTEROID);
+
+        try (Recording recording = new Recording(GameEvents.recordingSettings())) {
+            recording.start();
+            GameEvents.TickPhase phase = GameEvents.beginPhase("collisions");
+            assertNotNull(phase);
+            GameEvents.spawned(asteroid);
+            asteroid.split();
+            GameEvents.explosion(200, 150);
+            GameEvents.despawned(asteroid);
+            GameEvents.endPhase(phase);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent tick = only(events, "TickPhase");
+        assertEquals("collisions", tick.getString("phase"));
+        assertFalse(tick.getDuration().isNegative());
+
+        RecordedEvent spawn = only(events, "EntitySpawn");
+        assertEquals("ASTEROID", spawn.getString("entityType"));
+        assertEquals(200, spawn.getDouble("x"));
+        assertEquals("ASTEROID", only(events, "EntityDespawn").getString("entityType"));
+        assertEquals(2, only(events, "AsteroidSplit").getInt("fragments"));
+        assertEquals(150, only(events, "Explosion").getDouble("y"));
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals("se233.asteroid." + name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -1,15 +1,20 @@
-import javafx.application.Platform;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
 
 @Suite
-@SelectClasses({AsteroidTest.class, BossTest.class, EnemyTest.class , PlayerShipTest.class , ScoreTest.class})
+@SelectClasses({AsteroidTest.class, BossTest.class, EnemyTest.class , PlayerShipTest.class , ScoreTest.class, AssetCacheTest.class,
+        FrameSetRegistryTest.class, ExplosionEffectPoolTest.class,
+        BroadphaseTest.class, EntityPoolTest.class, CharacterMovementTest.class,
+        EntityStoreTest.class, FixedTimestepTest.class, SimulationTest.class,
+        SpriteRendererTest.class, EntitySpritesTest.class,
+        LogSamplerTest.class, FrameMetricsTest.class, ReplayTest.class,
+        JobSystemTest.class, ParticleSystemTest.class, BackgroundRendererTest.class,
+        AssetPreloaderTest.class, SpriteAtlasTest.class, AllocationBudgetTest.class,
+        EntityRegistryTest.class,
+        CommandBufferTest.class,
+        GameEventsTest.class,
+        MetricsExporterTest.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class JUnitTestSuite {
-    @BeforeAll
-    public static void initJfxRuntime() {
-        Platform.startup(() -> {});
-    }
 }
\ No newline at end of file
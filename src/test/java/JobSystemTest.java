@@ -0,0 +1,158 @@
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Enemy;
+import se233.asteroid.util.GameContext;
+import se233.asteroid.util.JobSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Job System Tests")
+public class JobSystemTest {
+
+    @Test
+    @DisplayName("Every index should be visited exactly once across the workers")
+    void testParallelForCoversRange() {
+        JobSystem jobs = new JobSystem(4, 16);
+        try {
+            AtomicIntegerArray visits = new AtomicIntegerArray(10_000);
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            jobs.parallelFor(visits.length(), (from, to) -> {
+                threads.add(Thread.currentThread().getName());
+                for (int i = from; i < to; i++) {
+                    visits.incrementAndGet(i);
+                }
+            });
+
+            for (int i = 0; i < visits.length(); i++) {
+                assertEquals(1, visits.get(i), "Index " + i);
+            }
+            assertEquals(1, jobs.getParallelRuns());
+            assertTrue(threads.stream().anyMatch(name -> name.startsWith("asteroid-job-")));
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Small ranges and a disabled pool should run inline on the caller")
+    void testBelowThresholdRunsInline() {
+        JobSystem jobs = new JobSystem(4, 100);
+        JobSystem off = new JobSystem(0, 1);
+        try {
+            Thread caller = Thread.currentThread();
+            int[] ranges = new int[1];
+            JobSystem.RangeJob job = (from, to) -> {
+                assertSame(caller, Thread.currentThread());
+                assertEquals(0, from);
+                ranges[0]++;
+            };
+            jobs.parallelFor(99, job);
+            off.parallelFor(10_000, job);
+            jobs.parallelFor(0, job);
+
+            assertEquals(2, ranges[0]);
+            assertFalse(jobs.isParallel(99));
+            assertTrue(jobs.isParallel(100));
+            assertFalse(off.isParallel(10_000));
+            assertEquals(1, jobs.getInlineRuns());
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("An exception in a chunk should reach the caller")
+    void testExceptionPropagates() {
+        JobSystem jobs = new JobSystem(2, 4);
+        try {
+            assertThrows(IllegalStateException.class, () -> jobs.parallelFor(1000, (from, to) -> {
+                if (from <= 500 && 500 < to) {
+                    throw new IllegalStateException("boom");
+                }
+            }));
+        } finally {
+            jobs.shutdown();
+        }
+        assertFalse(jobs.isParallel(1000), "A shut down pool should fall back to inline runs");
+        assertThrows(IllegalArgumentException.class, () -> new JobSystem(-1, 10));
+    }
+
+    @Test
+    @DisplayName("Simulating on workers should match a plain update")
+    void testParallelSimulationMatchesUpdate() {
+        GameContext.reset(233);
+        List<Asteroid> serial = rocks(300);
+        List<Enemy> serialEnemies = enemies(40);
+        GameContext.reset(233);
+        List<Asteroid> parallel = rocks(300);
+        List<Enemy> parallelEnemies = enemies(40);
+
+        Point2D player = new Point2D(400, 300);
+        double dt = 1.0 / 60.0;
+        JobSystem jobs = new JobSystem(3, 8);
+        try {
+            for (int step = 0; step < 120; step++) {
+                for (Asteroid rock : serial) {
+                    rock.update(dt);
+                }
+                for (Enemy enemy : serialEnemies) {
+                    enemy.update(dt);
+                    enemy.updateAI(player);
+                }
+
+                jobs.parallelFor(parallel.size(), (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        parallel.get(i).simulate(dt);
+                    }
+                });
+                jobs.parallelFor(parallelEnemies.size(), (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        parallelEnemies.get(i).simulate(dt);
+                        parallelEnemies.get(i).updateAI(player);
+                    }
+                });
+            }
+        } finally {
+            jobs.shutdown();
+        }
+
+        for (int i = 0; i < serial.size(); i++) {
+            assertEquals(serial.get(i).getX(), parallel.get(i).getX());
+            assertEquals(serial.get(i).getY(), parallel.get(i).getY());
+            assertEquals(serial.get(i).getRotation(), parallel.get(i).getRotation());
+            assertSame(serial.get(i).getFrame(), parallel.get(i).getFrame());
+        }
+        for (int i = 0; i < serialEnemies.size(); i++) {
+            assertEquals(serialEnemies.get(i).getX(), parallelEnemies.get(i).getX());
+            assertEquals(serialEnemies.get(i).getY(), parallelEnemies.get(i).getY());
+            assertEquals(serialEnemies.get(i).getRotation(), parallelEnemies.get(i).getRotation());
+            // Read after the AI turned it, so the sprite shows this step's heading
+            assertEquals(parallelEnemies.get(i).getRotation(), parallelEnemies.get(i).getSpriteRotation());
+        }
+    }
+
+    private static List<Asteroid> rocks(int count) {
+        List<Asteroid> rocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Asteroid.Type type = i % 2 == 0 ? Asteroid.Type.ASTEROID : Asteroid.Type.METEOR;
+            rocks.add(new Asteroid(new Point2D(i % 800, i % 600), type));
+        }
+        return rocks;
+    }
+
+    private static List<Enemy> enemies(int count) {
+        List<Enemy> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            enemies.add(new Enemy(new Point2D(20 * i, 15 * i), i % 3 == 0));
+        }
+        return enemies;
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.util.LogSampler;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Log Sampler Tests")
+public class LogSamplerTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @AfterEach
+    void restoreSampling() {
+        LogSampler.setEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Should let one line through per interval and count the rest")
+    void testRateLimit() {
+        LogSampler sampler = LogSampler.perSecond(2);
+        long start = 1_000 * SECOND;
+
+        assertTrue(sampler.allow(start));
+        for (int i = 1; i < 30; i++) {
+            assertFalse(sampler.allow(start + i * SECOND / 60));
+        }
+        assertTrue(sampler.allow(start + SECOND / 2));
+
+        assertEquals(29, sampler.takeSuppressed());
+        assertEquals(0, sampler.takeSuppressed());
+    }
+
+    @Test
+    @DisplayName("First call should always be logged, whatever the clock reads")
+    void testFirstCallAllowed() {
+        assertTrue(LogSampler.perSecond(1).allow(Long.MIN_VALUE + 1));
+        assertTrue(LogSampler.perSecond(1).allow(-5 * SECOND));
+    }
+
+    @Test
+    @DisplayName("Disabling sampling should log every call")
+    void testDisabled() {
+        LogSampler sampler = new LogSampler(1, TimeUnit.HOURS);
+        LogSampler.setEnabled(false);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sampler.allow());
+        }
+        assertEquals(0, sampler.takeSuppressed());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive rates")
+    void testInvalidRates() {
+        assertThrows(IllegalArgumentException.class, () -> LogSampler.perSecond(0));
+        assertThrows(IllegalArgumentException.class, () -> new LogSampler(0, TimeUnit.MILLISECONDS));
+        assertEquals(SECOND / 4, LogSampler.perSecond(4).getIntervalNanos());
+    }
+}
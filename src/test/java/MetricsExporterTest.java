@@ -0,0 +1,107 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.util.MetricsExporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Metrics Exporter Tests")
+public class MetricsExporterTest {
+    private MetricsExporter exporter;
+    private MetricsExporter.Series rocks;
+    private MetricsExporter.Series bullets;
+    private MetricsExporter.Series hits;
+    private MetricsExporter.Histogram frames;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new MetricsExporter(0);
+        rocks = exporter.gauge("asteroid_entities", "Entities per list", "list", "rocks");
+        bullets = exporter.gauge("asteroid_entities", "Entities per list", "list", "bullets");
+        hits = exporter.counter("asteroid_asset_cache_hits_total", "Cache hits");
+        frames = exporter.histogram("asteroid_frame_seconds", "Frame time", new double[]{0.01, 0.02});
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.stop();
+    }
+
+    @Test
+    @DisplayName("Values should only become visible when published, in the Prometheus text format")
+    void testPublishedSnapshot() {
+        rocks.set(4);
+        frames.record(0.005);
+        assertTrue(exporter.render().contains("asteroid_entities{list=\"rocks\"} 0\n"), "Nothing is published yet");
+        assertTrue(exporter.render().contains("asteroid_snapshot_age_seconds NaN\n"));
+
+        bullets.set(12);
+        hits.set(31);
+        frames.record(0.015);
+        frames.record(0.5);
+        exporter.publish();
+        rocks.set(99);
+
+        String text = exporter.render();
+        assertTrue(text.contains("# TYPE asteroid_entities gauge\n"), text);
+        assertEquals(1, text.split("# HELP asteroid_entities ", -1).length - 1, "One header per metric name");
+        assertTrue(text.contains("asteroid_entities{list=\"rocks\"} 4\n"), text);
+        assertTrue(text.contains("asteroid_entities{list=\"bullets\"} 12\n"), text);
+        assertTrue(text.contains("# TYPE asteroid_asset_cache_hits_total counter\n"), text);
+        assertTrue(text.contains("asteroid_asset_cache_hits_total 31\n"), text);
+
+        // Buckets are cumulative
+        assertTrue(text.contains("# TYPE asteroid_frame_seconds histogram\n"), text);
+        assertTrue(text.contains("asteroid_frame_seconds_bucket{le=\"0.01\"} 1\n"), text);
+        assertTrue(text.contains("asteroid_frame_seconds_bucket{le=\"0.02\"} 2\n"), text);
+        assertTrue(text.contains("asteroid_frame_seconds_bucket{le=\"+Inf\"} 3\n"), text);
+        assertTrue(text.contains("asteroid_frame_seconds_sum 0.52\n"), text);
+        assertTrue(text.contains("asteroid_frame_seconds_count 3\n"), text);
+
+        assertTrue(text.contains("jvm_memory_heap_bytes{area=\"used\"} "), text);
+        assertTrue(text.contains("# TYPE jvm_gc_collections_total counter\n"), text);
+        assertEquals(1, exporter.getSnapshot().sequence());
+
+        assertThrows(IllegalStateException.class, () -> exporter.gauge("late", "Registered too late"));
+    }
+
+    @Test
+    @DisplayName("The endpoint should serve the latest snapshot on localhost")
+    void testServesOverHttp() throws Exception {
+        rocks.set(7);
+        exporter.publish();
+        exporter.start();
+        assertTrue(exporter.isRunning());
+        assertNotEquals(0, exporter.getPort());
+
+        URI uri = URI.create("http://127.0.0.1:" + exporter.getPort() + MetricsExporter.PATH);
+        HttpURLConnection get = (HttpURLConnection) uri.toURL().openConnection();
+        assertEquals(200, get.getResponseCode());
+        assertTrue(get.getContentType().startsWith("text/plain; version=0.0.4"), get.getContentType());
+        String body = read(get);
+        assertTrue(body.contains("asteroid_entities{list=\"rocks\"} 7\n"), body);
+
+        HttpURLConnection post = (HttpURLConnection) uri.toURL().openConnection();
+        post.setRequestMethod("POST");
+        assertEquals(405, post.getResponseCode());
+        post.disconnect();
+
+        exporter.stop();
+        assertFalse(exporter.isRunning());
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
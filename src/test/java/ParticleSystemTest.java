@@ -0,0 +1,108 @@
+import javafx.geometry.Point2D;
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.view.ParticleSystem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Particle System Tests")
+public class ParticleSystemTest {
+    private static final int CAPACITY = 100;
+    private static final double DT = 1.0 / 60.0;
+
+    private Pane layer;
+    private ParticleSystem particles;
+
+    @BeforeEach
+    void setUp() {
+        layer = new Pane();
+        particles = new ParticleSystem(layer, 800, 600, CAPACITY);
+    }
+
+    @Test
+    @DisplayName("The buffer should be one canvas and drop particles past its capacity")
+    void testHardBudget() {
+        for (int i = 0; i < CAPACITY + 25; i++) {
+            particles.spawn(ParticleSystem.Style.SPARK, 100, 100, 0, 0, 1.0);
+        }
+
+        assertEquals(CAPACITY, particles.getCount());
+        assertEquals(CAPACITY, particles.getPeakCount());
+        assertEquals(25, particles.getDroppedCount());
+        assertEquals(1, layer.getChildren().size());
+        assertSame(particles.getCanvas(), layer.getChildren().get(0));
+        particles.render();
+    }
+
+    @Test
+    @DisplayName("Bursts should thin out once the buffer is more than half full")
+    void testEmissionScalesWithLoad() {
+        assertEquals(1.0, particles.getEmissionScale());
+        particles.burst(ParticleSystem.Style.SPARK, 0, 0, 40);
+        assertEquals(40, particles.getCount());
+
+        particles.burst(ParticleSystem.Style.SPARK, 0, 0, 20);
+        assertEquals(60, particles.getCount());
+        double scale = particles.getEmissionScale();
+        assertTrue(scale < 1.0 && scale > 0.2, "Scale at 60% load: " + scale);
+
+        particles.burst(ParticleSystem.Style.SPARK, 0, 0, 20);
+        assertEquals(60 + Math.round(20 * scale), particles.getCount());
+    }
+
+    @Test
+    @DisplayName("Expired particles should be removed while the rest keep moving")
+    void testParticlesExpire() {
+        particles.spawn(ParticleSystem.Style.SPARK, 0, 0, 60, 0, 0.1);
+        particles.spawn(ParticleSystem.Style.SPARK, 0, 0, 60, 0, 1.0);
+        particles.spawn(ParticleSystem.Style.SPARK, 0, 0, 60, 0, 0.1);
+
+        for (int i = 0; i < 10; i++) {
+            particles.update(DT);
+        }
+        assertEquals(1, particles.getCount());
+
+        particles.update(1.0);
+        assertEquals(0, particles.getCount());
+        assertEquals(3, particles.getSpawnedCount());
+    }
+
+    @Test
+    @DisplayName("An emitter should follow its entity and detach once it leaves play")
+    void testEmitterLifecycle() {
+        Asteroid meteor = new Asteroid(new Point2D(400, 300), Asteroid.Type.METEOR);
+        particles.attach(meteor, ParticleSystem.Style.METEOR_TRAIL);
+        particles.attach(meteor, ParticleSystem.Style.METEOR_TRAIL);
+        assertEquals(1, particles.getEmitterCount());
+
+        for (int i = 0; i < 60; i++) {
+            particles.update(DT);
+        }
+        assertTrue(particles.getSpawnedCount() >= 30, "One second of trail: " + particles.getSpawnedCount());
+
+        meteor.release();
+        particles.update(DT);
+        assertEquals(0, particles.getEmitterCount());
+        long spawned = particles.getSpawnedCount();
+        particles.update(DT);
+        assertEquals(spawned, particles.getSpawnedCount());
+    }
+
+    @Test
+    @DisplayName("Reset should clear everything and put the canvas back on a cleared layer")
+    void testReset() {
+        Asteroid meteor = new Asteroid(new Point2D(400, 300), Asteroid.Type.METEOR);
+        particles.attach(meteor, ParticleSystem.Style.METEOR_TRAIL);
+        particles.burst(ParticleSystem.Style.SPARK, 0, 0, 10);
+
+        layer.getChildren().clear();
+        particles.reset();
+
+        assertEquals(0, particles.getCount());
+        assertEquals(0, particles.getEmitterCount());
+        assertSame(particles.getCanvas(), layer.getChildren().get(0));
+    }
+}
@@ -83,6 +83,24 @@ public class PlayerShipTest {
                 "Rotation should return to initial value after left and right rotation");
     }
 
+    @Test
+    void testInvulnerabilityRunsOnStepTime() {
+        playerShip.hit();
+        assertEquals(2, playerShip.getLives(), "A hit should cost one life");
+        assertTrue(playerShip.isInvulnerable(), "Ship should be invulnerable after a hit");
+
+        playerShip.hit();
+        assertEquals(2, playerShip.getLives(), "Hits while invulnerable should be ignored");
+
+        for (int i = 0; i < 179; i++) {
+            playerShip.updateTimers(1.0 / 60.0);
+        }
+        assertTrue(playerShip.isInvulnerable(), "Invulnerability should last three seconds of steps");
+        playerShip.updateTimers(1.0 / 60.0);
+        playerShip.updateTimers(1.0 / 60.0);
+        assertFalse(playerShip.isInvulnerable(), "Invulnerability should end after three seconds of steps");
+    }
+
     @Test
     void testShoot() {
         // Create a latch to wait for async operations
@@ -97,7 +115,7 @@ public class PlayerShipTest {
                 double radians = Math.toRadians(playerShip.getRotation() - 90);
                 Point2D direction = new Point2D(Math.cos(radians), Math.sin(radians));
                 Point2D expectedPosition = playerShip.getPosition()
-                        .add(direction.multiply(playerShip.sprite.getBoundsInLocal().getWidth() / 2));
+                        .add(direction.multiply(playerShip.getDisplayWidth() / 2));
                 assertEquals(expectedPosition, bullet.getPosition(),
                         "Bullet should start at the expected position based on ship rotation");
             } finally {
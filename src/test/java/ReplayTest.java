@@ -0,0 +1,305 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se233.asteroid.core.GameRules;
+import se233.asteroid.core.HeadlessRunner;
+import se233.asteroid.core.PlayerInput;
+import se233.asteroid.core.ReplayPlayer;
+import se233.asteroid.core.ReplayReader;
+import se233.asteroid.core.ReplayWriter;
+import se233.asteroid.core.Simulation;
+import se233.asteroid.core.SimulationListener;
+import se233.asteroid.model.Boss;
+import se233.asteroid.model.Character;
+import se233.asteroid.model.EntityRegistry;
+import se233.asteroid.util.GameContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Replay Tests")
+public class ReplayTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Simulation record(Path file, long seed, int ticks) throws IOException {
+        return record(file, seed, ticks, ReplayWriter.DEFAULT_KEYFRAME_SECONDS, null);
+    }
+
+    // hashes[t], if given, receives the state hash after t ticks
+    private Simulation record(Path file, long seed, int ticks, double keyframeSeconds, long[] hashes) throws IOException {
+        Simulation simulation = new Simulation(seed);
+        PlayerInput input = new PlayerInput();
+        try (ReplayWriter writer = new ReplayWriter(file, simulation, Simulation.REFERENCE_STEP, keyframeSeconds)) {
+            simulation.start();
+            for (int i = 0; i < ticks && !simulation.isGameOver(); i++) {
+                if (hashes != null) {
+                    hashes[i] = simulation.stateHash();
+                }
+                HeadlessRunner.steerBot(simulation, input);
+                writer.recordTick(input);
+                simulation.step(Simulation.REFERENCE_STEP, input);
+            }
+        }
+        return simulation;
+    }
+
+    @Test
+    @DisplayName("A recorded bot session should replay to the same state")
+    void testRecordAndReplay() throws IOException {
+        Path file = tempDir.resolve("bot.replay");
+        Simulation recorded = record(file, 233, 6000);
+
+        try (ReplayPlayer player = new ReplayPlayer(file)) {
+            assertTrue(player.playToEnd(), "Replay should match the recording");
+            assertEquals(recorded.getTick(), player.getTicks());
+            assertEquals(recorded.stateHash(), player.getSimulation().stateHash());
+            assertEquals(recorded.getWave(), player.getSimulation().getWave());
+            assertEquals(0, player.getMismatches());
+            assertFalse(player.step(), "Nothing should be left to play");
+        }
+    }
+
+    @Test
+    @DisplayName("A replay into a host's simulation should run every tick through the host's step")
+    void testReplayThroughHostStep() throws IOException {
+        Path file = tempDir.resolve("host.replay");
+        Simulation recorded = record(file, 233, 3000);
+
+        // What the game view does: its own simulation, built from some other seed, stepped by its own code
+        Simulation host = new Simulation(1);
+        long[] steps = new long[1];
+        ReplayPlayer.Stepper stepper = (dt, input) -> {
+            steps[0]++;
+            host.step(dt, input);
+        };
+        try (ReplayPlayer player = new ReplayPlayer(file, host, stepper)) {
+            assertSame(host, player.getSimulation());
+            assertEquals(233, host.getSeed());
+            assertTrue(player.playToEnd(), "Replay should match the recording");
+            assertEquals(recorded.getTick(), steps[0]);
+            assertEquals(recorded.stateHash(), host.stateHash());
+        }
+    }
+
+    @Test
+    @DisplayName("Held inputs should be run-length encoded")
+    void testFileIsCompact() throws IOException {
+        Path file = tempDir.resolve("compact.replay");
+        Simulation recorded = record(file, 7, 6000, 0, null);
+
+        long size = Files.size(file);
+        assertTrue(size < recorded.getTick(), "Expected under a byte per tick, got " + size
+                + " bytes for " + recorded.getTick() + " ticks");
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            assertEquals(7, reader.getSeed());
+            assertEquals(Simulation.REFERENCE_STEP, reader.getStepSeconds());
+            assertEquals(ReplayReader.Record.WAVE, reader.next());
+            assertEquals(0, reader.getWaveTick());
+            assertEquals(1, reader.getWave());
+
+            long ticks = 0;
+            ReplayReader.Record record;
+            while ((record = reader.next()) != ReplayReader.Record.END) {
+                assertNotNull(record, "File should end with an end record");
+                assertNotEquals(ReplayReader.Record.KEYFRAME, record, "Keyframes were turned off");
+                if (record == ReplayReader.Record.INPUT) {
+                    ticks += reader.getRunLength();
+                }
+            }
+            assertEquals(recorded.getTick(), ticks);
+            assertEquals(recorded.getScore(), reader.getEndScore());
+            assertEquals(recorded.stateHash(), reader.getEndHash());
+        }
+    }
+
+    @Test
+    @DisplayName("Seeking should restore a keyframe and land on the recorded state")
+    void testSeek() throws IOException {
+        Path file = tempDir.resolve("seek.replay");
+        long[] hashes = new long[6000];
+        Simulation recorded = record(file, 233, hashes.length, 2.0, hashes);
+        int last = (int) recorded.getTick();
+        assertTrue(last > 600, "Session should run past a few keyframes: " + last);
+
+        try (ReplayPlayer player = new ReplayPlayer(file)) {
+            assertTrue(player.getKeyframeCount() >= last / 120 - 1);
+
+            // Forward past several keyframes, between two of them
+            int target = last * 3 / 4 + 7;
+            assertEquals(target, player.seek(target));
+            assertEquals(hashes[target], player.getSimulation().stateHash());
+
+            // Back again, and to before the first keyframe
+            assertEquals(250, player.seek(250));
+            assertEquals(hashes[250], player.getSimulation().stateHash());
+            assertEquals(30, player.seek(30));
+            assertEquals(hashes[30], player.getSimulation().stateHash());
+
+            // Keyframe hashes and the end record still check out from here
+            assertTrue(player.playToEnd());
+            assertEquals(recorded.stateHash(), player.getSimulation().stateHash());
+
+            // Past the end stops at the end
+            assertEquals(last, player.seek(last + 1000));
+        }
+    }
+
+    // x and y of every projectile, bullets then enemy bullets then missiles
+    private static double[] projectilePositions(Simulation simulation) {
+        EntityRegistry entities = simulation.getEntities();
+        List<Character> projectiles = new ArrayList<>(entities.getBullets());
+        projectiles.addAll(entities.getEnemyBullets());
+        projectiles.addAll(entities.getMissiles());
+        double[] positions = new double[projectiles.size() * 2];
+        for (int i = 0; i < projectiles.size(); i++) {
+            positions[i * 2] = projectiles.get(i).getX();
+            positions[i * 2 + 1] = projectiles.get(i).getY();
+        }
+        return positions;
+    }
+
+    @Test
+    @DisplayName("Seeking into the boss wave should restore the boss's pattern, the projectiles and the score")
+    void testSeekRestoresBossWave() throws IOException {
+        Path file = tempDir.resolve("boss.replay");
+        int keyframeTick = (int) Math.round(2.0 / Simulation.REFERENCE_STEP);
+        Simulation recorded = new Simulation(233);
+        PlayerInput input = new PlayerInput();
+        double patternTimer = 0;
+        double sinceSpawn = 0;
+        Object pattern = null;
+        double[] projectiles = null;
+        int score = 0;
+        long hash = 0;
+        try (ReplayWriter writer = new ReplayWriter(file, recorded, Simulation.REFERENCE_STEP, 2.0)) {
+            recorded.start(GameRules.BOSS_WAVE);
+            for (int i = 0; i < keyframeTick * 3 && !recorded.isGameOver(); i++) {
+                // The second keyframe is written ahead of this tick's input
+                if (i == keyframeTick * 2) {
+                    Boss boss = recorded.getBoss();
+                    assertNotNull(boss, "Boss wave should have its boss");
+                    patternTimer = boss.getPatternTimer();
+                    sinceSpawn = boss.getTimeSinceLastSpawn();
+                    pattern = boss.getCurrentPattern();
+                    projectiles = projectilePositions(recorded);
+                    score = recorded.getScore();
+                    hash = recorded.stateHash();
+                }
+                HeadlessRunner.steerBot(recorded, input);
+                writer.recordTick(input);
+                recorded.step(Simulation.REFERENCE_STEP, input);
+            }
+        }
+        assertNotNull(projectiles, "Session should reach the second keyframe");
+        assertTrue(projectiles.length > 0, "Boss fight should have projectiles in flight");
+
+        // Replayed into a host as the game view does, which also sees the restore
+        Simulation host = new Simulation(1);
+        long[] steps = new long[1];
+        int[] restoredWave = new int[1];
+        host.addListener(new SimulationListener() {
+            @Override
+            public void onRestored() {
+                restoredWave[0] = host.getWave();
+            }
+        });
+        ReplayPlayer.Stepper stepper = (dt, in) -> {
+            steps[0]++;
+            host.step(dt, in);
+        };
+        try (ReplayPlayer player = new ReplayPlayer(file, host, stepper)) {
+            assertEquals(GameRules.BOSS_WAVE, host.getWave(), "Replay should start at the recorded wave");
+            assertEquals(keyframeTick * 2, player.seek(keyframeTick * 2));
+            assertEquals(0, steps[0], "Seek should restore the keyframe, not play up to it");
+            assertEquals(GameRules.BOSS_WAVE, restoredWave[0]);
+
+            Boss boss = host.getBoss();
+            assertNotNull(boss);
+            assertEquals(pattern, boss.getCurrentPattern());
+            assertEquals(patternTimer, boss.getPatternTimer());
+            assertEquals(sinceSpawn, boss.getTimeSinceLastSpawn());
+            assertArrayEquals(projectiles, projectilePositions(host));
+            assertEquals(score, host.getScore());
+            assertEquals(hash, host.stateHash());
+
+            // Back to the start, which is the boss wave again, and through to the end
+            assertEquals(10, player.seek(10));
+            assertTrue(player.playToEnd(), "Replay should match the recording");
+            assertEquals(recorded.stateHash(), host.stateHash());
+        }
+    }
+
+    @Test
+    @DisplayName("Keyframes should be checked during normal playback")
+    void testKeyframesVerifiedWhilePlaying() throws IOException {
+        Path file = tempDir.resolve("keyframes.replay");
+        Simulation recorded = record(file, 5, 3000, 1.0, null);
+
+        try (ReplayPlayer player = new ReplayPlayer(file)) {
+            assertTrue(player.getKeyframeCount() > 0);
+            assertTrue(player.playToEnd());
+            assertEquals(recorded.getTick(), player.getTicks());
+        }
+    }
+
+    @Test
+    @DisplayName("A tampered input should be reported as a mismatch")
+    void testDivergenceIsDetected() throws IOException {
+        Path file = tempDir.resolve("tampered.replay");
+        record(file, 11, 3000);
+
+        // Flip the bits of the first input run (header is 21 bytes, then the wave 1 record)
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer bits = ByteBuffer.allocate(1);
+            channel.read(bits, 25);
+            bits.put(0, (byte) (bits.get(0) ^ PlayerInput.UP));
+            bits.rewind();
+            channel.write(bits, 25);
+        }
+
+        try (ReplayPlayer player = new ReplayPlayer(file)) {
+            assertFalse(player.playToEnd());
+            assertTrue(player.getMismatches() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Input bits should round-trip through a bitmask")
+    void testInputBits() {
+        PlayerInput input = new PlayerInput();
+        input.left = true;
+        input.rotateRight = true;
+        input.special = true;
+
+        PlayerInput copy = new PlayerInput();
+        copy.setBits(input.toBits());
+        assertEquals(PlayerInput.LEFT | PlayerInput.ROTATE_RIGHT | PlayerInput.SPECIAL, input.toBits());
+        assertTrue(copy.left && copy.rotateRight && copy.special);
+        assertFalse(copy.right || copy.up || copy.down || copy.rotateLeft || copy.shoot);
+    }
+
+    @Test
+    @DisplayName("Game context should repeat its random sequence and clock after a reset")
+    void testGameContextReset() {
+        GameContext.reset(99);
+        double first = GameContext.random().nextDouble();
+        GameContext.advance(0.5);
+        assertEquals(500_000_000L, GameContext.nanoTime());
+
+        GameContext.reset(99);
+        assertEquals(0, GameContext.nanoTime());
+        assertEquals(first, GameContext.random().nextDouble());
+        assertEquals(99, GameContext.getSeed());
+    }
+}
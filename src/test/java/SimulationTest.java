@@ -0,0 +1,188 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.core.GameRules;
+import se233.asteroid.core.HeadlessRunner;
+import se233.asteroid.core.PlayerInput;
+import se233.asteroid.core.ScoreKeeper;
+import se233.asteroid.core.Simulation;
+import se233.asteroid.core.SimulationListener;
+import se233.asteroid.model.Asteroid;
+import se233.asteroid.model.Character;
+import se233.asteroid.model.EntityRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Headless Simulation Tests")
+public class SimulationTest {
+
+    private long runBot(Simulation simulation, int ticks) {
+        PlayerInput input = new PlayerInput();
+        for (int i = 0; i < ticks && !simulation.isGameOver(); i++) {
+            HeadlessRunner.steerBot(simulation, input);
+            simulation.step(Simulation.REFERENCE_STEP, input);
+        }
+        return simulation.stateHash();
+    }
+
+    private static List<Character> liveEntities(Simulation simulation) {
+        List<Character> live = new ArrayList<>();
+        live.add(simulation.getPlayer());
+        live.addAll(simulation.getWingmen());
+        if (simulation.getBoss() != null) {
+            live.add(simulation.getBoss());
+        }
+        EntityRegistry entities = simulation.getEntities();
+        live.addAll(entities.getRocks());
+        live.addAll(entities.getEnemies());
+        live.addAll(entities.getBullets());
+        live.addAll(entities.getEnemyBullets());
+        live.addAll(entities.getMissiles());
+        return live;
+    }
+
+    @Test
+    @DisplayName("Same seed and inputs should give the same game")
+    void testDeterminism() {
+        Simulation first = new Simulation(42);
+        Simulation second = new Simulation(42);
+        first.start();
+        second.start();
+
+        assertEquals(runBot(first, 3000), runBot(second, 3000));
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getWave(), second.getWave());
+
+        // Restarting reseeds, so the replay matches too
+        first.start();
+        assertEquals(runBot(first, 3000), second.stateHash());
+    }
+
+    @Test
+    @DisplayName("Wave 1 should spawn two asteroids and two meteors")
+    void testFirstWave() {
+        Simulation simulation = new Simulation(1);
+        simulation.start();
+
+        assertEquals(1, simulation.getWave());
+        assertEquals(4, simulation.getRockCount());
+        assertEquals(0, simulation.getEnemyCount());
+        assertEquals(GameRules.PLAYER_LIVES, simulation.getLives());
+        List<Asteroid> rocks = simulation.getEntities().getRocks();
+        assertEquals(2, rocks.stream().filter(rock -> rock.getType() == Asteroid.Type.ASTEROID).count());
+        assertEquals(2, rocks.stream().filter(rock -> rock.getType() == Asteroid.Type.METEOR).count());
+    }
+
+    @Test
+    @DisplayName("A game can start at a later wave")
+    void testStartAtWave() {
+        Simulation simulation = new Simulation(1);
+        simulation.start(3);
+        assertEquals(3, simulation.getWave());
+        assertEquals(GameRules.LATER_WAVE_ROCKS, simulation.getRockCount());
+        assertEquals(GameRules.INITIAL_ENEMIES, simulation.getEnemyCount());
+        assertEquals(0, simulation.getScore());
+
+        simulation.start(GameRules.BOSS_WAVE);
+        assertNotNull(simulation.getBoss());
+        assertEquals(0, simulation.getRockCount());
+        assertThrows(IllegalArgumentException.class, () -> simulation.start(GameRules.BOSS_WAVE + 1));
+    }
+
+    @Test
+    @DisplayName("Shooting rocks should score and advance the wave")
+    void testScoringAndWaves() {
+        Simulation simulation = new Simulation(7);
+        List<Integer> waves = new ArrayList<>();
+        int[] awarded = {0};
+        simulation.addListener(new SimulationListener() {
+            @Override
+            public void onWaveStarted(int wave) {
+                waves.add(wave);
+            }
+
+            @Override
+            public void onScore(int points, int total) {
+                awarded[0] += points;
+            }
+        });
+        simulation.start();
+        runBot(simulation, 20_000);
+
+        assertTrue(simulation.getScore() > 0);
+        assertEquals(simulation.getScore(), awarded[0]);
+        assertTrue(waves.size() >= 2, "the bot should clear at least the first wave");
+        assertEquals(1, (int) waves.get(0));
+    }
+
+    @Test
+    @DisplayName("Spawn and remove notifications should match the live entities")
+    void testListenerBookkeeping() {
+        Simulation simulation = new Simulation(3);
+        List<Character> tracked = new ArrayList<>();
+        simulation.addListener(new SimulationListener() {
+            @Override
+            public void onSpawn(Character entity) {
+                tracked.add(entity);
+            }
+
+            @Override
+            public void onRemove(Character entity) {
+                assertTrue(tracked.remove(entity));
+            }
+        });
+        simulation.start();
+        runBot(simulation, 2000);
+
+        List<Character> live = liveEntities(simulation);
+        assertEquals(live.size(), tracked.size());
+        assertTrue(tracked.containsAll(live));
+    }
+
+    @Test
+    @DisplayName("Game rules should match the original wave logic")
+    void testGameRules() {
+        assertTrue(GameRules.isWaveComplete(1, true, false, false));
+        assertFalse(GameRules.isWaveComplete(1, false, true, false));
+        assertTrue(GameRules.isWaveComplete(3, false, true, false));
+        assertFalse(GameRules.isWaveComplete(5, true, true, false));
+        assertTrue(GameRules.isWaveComplete(5, false, true, true));
+
+        Random random = new Random(0);
+        assertFalse(GameRules.isSecondTierEnemy(2, random));
+        assertTrue(GameRules.isSecondTierEnemy(3, random));
+
+        assertFalse(GameRules.canUnlockWingman(0, 4));
+        assertTrue(GameRules.canUnlockWingman(0, 5));
+        assertFalse(GameRules.canUnlockWingman(1, 9));
+        assertTrue(GameRules.canUnlockWingman(1, 10));
+        assertFalse(GameRules.canUnlockWingman(2, 100));
+
+        ScoreKeeper keeper = new ScoreKeeper();
+        keeper.addAsteroid();
+        keeper.addSecondTierEnemy();
+        keeper.addBoss();
+        assertEquals(14, keeper.getScore());
+    }
+
+    @Test
+    @DisplayName("The simulation should run far faster than real time")
+    void testThroughput() {
+        Simulation simulation = new Simulation(11);
+        simulation.start();
+        PlayerInput idle = new PlayerInput();
+        int ticks = 6000;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks && !simulation.isGameOver(); i++) {
+            simulation.step(Simulation.REFERENCE_STEP, idle);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // 6000 ticks is 100 s of game time; allow a generous margin for slow CI machines
+        assertTrue(seconds < 5.0, "6000 ticks took " + seconds + " s");
+    }
+}
@@ -0,0 +1,135 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se233.asteroid.util.AtlasPacker;
+import se233.asteroid.util.FrameSetRegistry;
+import se233.asteroid.util.SpriteAtlas;
+import se233.asteroid.util.SpriteFrame;
+import se233.asteroid.util.SpriteSheet;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sprite Atlas Tests")
+public class SpriteAtlasTest {
+    private static final SpriteSheet BOSS_EXPLOSION = new SpriteSheet("/se233/asteroid/assets/Boss/Explosion_Boss.png", 8, false, 10);
+    private static final SpriteSheet THRUSTER = SpriteSheet.row("/se233/asteroid/assets/PlayerShip/Thruster_01.png", 4);
+    private static final SpriteSheet WINGMAN = SpriteSheet.single("/se233/asteroid/assets/Wingman/wingman.png");
+    private static final SpriteSheet MISSING = SpriteSheet.row("/se233/asteroid/assets/does_not_exist.png", 4);
+
+    @TempDir
+    Path outputDir;
+
+    private Path resourceRoot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // The classpath root the game's assets were copied to
+        resourceRoot = Path.of(SpriteAtlasTest.class.getResource("/se233/asteroid/assets").toURI()).getParent().getParent().getParent();
+    }
+
+    @Test
+    @DisplayName("Packed frames should match the runtime slicing pixel for pixel")
+    void testFramesMatchSlicing() throws Exception {
+        AtlasPacker.Summary summary = AtlasPacker.pack(resourceRoot, List.of(BOSS_EXPLOSION, THRUSTER, WINGMAN, MISSING), outputDir);
+        assertEquals(3, summary.sheets());
+        assertEquals(13, summary.frames());
+        assertEquals(1, summary.pages());
+        assertEquals(1, summary.skipped());
+
+        SpriteAtlas atlas = read();
+        assertNull(atlas.find(MISSING));
+        assertFalse(atlas.covers(MISSING.path()));
+        assertTrue(atlas.covers(WINGMAN.path()));
+
+        BufferedImage sheet = ImageIO.read(resourceRoot.resolve(BOSS_EXPLOSION.path().substring(1)).toFile());
+        List<SpriteFrame> frames = atlas.find(BOSS_EXPLOSION);
+        assertEquals(8, frames.size());
+        for (int i = 0; i < frames.size(); i++) {
+            SpriteFrame frame = frames.get(i);
+            Rectangle2D viewport = frame.viewport();
+            assertEquals(32, viewport.getWidth());
+            assertEquals(32, viewport.getHeight());
+
+            PixelReader page = frame.image().getPixelReader();
+            for (int y = 0; y < 32; y++) {
+                for (int x = 0; x < 32; x++) {
+                    int expected = sheet.getRGB(i * 32 + x, y);
+                    if (expected >>> 24 < BOSS_EXPLOSION.alphaThreshold()) {
+                        expected = 0;
+                    }
+                    assertEquals(expected, page.getArgb((int) viewport.getMinX() + x, (int) viewport.getMinY() + y),
+                            "Frame " + i + " pixel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("All frames should share one page without overlapping")
+    void testSharedPageWithoutOverlap() throws IOException {
+        AtlasPacker.pack(resourceRoot, AtlasPacker.gameSheets(), outputDir);
+        SpriteAtlas atlas = read();
+
+        List<SpriteFrame> frames = new ArrayList<>();
+        for (SpriteSheet sheet : AtlasPacker.gameSheets()) {
+            List<SpriteFrame> found = atlas.find(sheet);
+            if (found != null) {
+                frames.addAll(found);
+            }
+        }
+        assertTrue(frames.size() > 30, "Frames packed: " + frames.size());
+        for (int i = 0; i < frames.size(); i++) {
+            assertSame(frames.get(0).image(), frames.get(i).image());
+            for (int j = i + 1; j < frames.size(); j++) {
+                assertFalse(frames.get(i).viewport().intersects(frames.get(j).viewport()),
+                        frames.get(i).viewport() + " overlaps " + frames.get(j).viewport());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("The registry should hand out the build's atlas regions and slice only unpacked sheets")
+    void testRegistryUsesBuildAtlas() {
+        assertFalse(SpriteAtlas.getInstance().isEmpty(), "The build should have packed the atlas into the classpath");
+
+        List<SpriteFrame> thruster = FrameSetRegistry.getSprites(THRUSTER);
+        SpriteFrame wingman = FrameSetRegistry.getSprite(WINGMAN.path());
+        assertEquals(4, thruster.size());
+        assertNotNull(thruster.get(0).viewport());
+        assertSame(thruster.get(0).image(), wingman.image());
+        assertSame(thruster, FrameSetRegistry.getSprites(THRUSTER));
+
+        long bakes = FrameSetRegistry.getBakeCount();
+        assertTrue(FrameSetRegistry.getSprites(MISSING).isEmpty());
+        assertEquals(bakes + 1, FrameSetRegistry.getBakeCount());
+    }
+
+    private SpriteAtlas read() throws IOException {
+        try (InputStream index = Files.newInputStream(outputDir.resolve(SpriteAtlas.INDEX_NAME))) {
+            Map<String, Image> pages = new HashMap<>();
+            return SpriteAtlas.read(index, outputDir + "/", path -> pages.computeIfAbsent(path, p -> {
+                try (InputStream in = Files.newInputStream(Path.of(p))) {
+                    return new Image(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+}
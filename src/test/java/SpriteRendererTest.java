@@ -0,0 +1,111 @@
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se233.asteroid.util.AssetCache;
+import se233.asteroid.view.CanvasSpriteRenderer;
+import se233.asteroid.view.NodeSpriteRenderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sprite Renderer Tests")
+public class SpriteRendererTest {
+    private static final String METEOR = "/se233/asteroid/assets/Astroides/meteor.png";
+    private static final String ASTEROID = "/se233/asteroid/assets/Astroides/Asteroid_Base.png";
+
+    private ImageView spriteOf(String path) {
+        Image image = AssetCache.getImage(path);
+        assertNotNull(image);
+        return new ImageView(image);
+    }
+
+    @Test
+    @DisplayName("Canvas renderer should keep sprites out of the scene graph")
+    void testCanvasKeepsSingleNode() {
+        Pane layer = new Pane();
+        CanvasSpriteRenderer renderer = new CanvasSpriteRenderer(layer, 800, 600);
+
+        for (int i = 0; i < 50; i++) {
+            renderer.attach(spriteOf(METEOR));
+        }
+
+        assertEquals(50, renderer.getSpriteCount());
+        assertEquals(1, layer.getChildren().size());
+        assertSame(renderer.getCanvas(), layer.getChildren().get(0));
+    }
+
+    @Test
+    @DisplayName("Canvas renderer should draw one batch per texture and skip hidden sprites")
+    void testCanvasBatchesByTexture() {
+        CanvasSpriteRenderer renderer = new CanvasSpriteRenderer(new Pane(), 800, 600);
+        for (int i = 0; i < 6; i++) {
+            ImageView sprite = spriteOf(i % 2 == 0 ? METEOR : ASTEROID);
+            sprite.setRotate(i * 30);
+            renderer.attach(sprite);
+        }
+        ImageView hidden = spriteOf(METEOR);
+        hidden.setVisible(false);
+        renderer.attach(hidden);
+
+        renderer.render();
+
+        assertEquals(2, renderer.getBatchCount());
+        assertEquals(6, renderer.getDrawCount());
+    }
+
+    @Test
+    @DisplayName("Attach should be idempotent and detach should swap-remove")
+    void testCanvasAttachDetach() {
+        CanvasSpriteRenderer renderer = new CanvasSpriteRenderer(new Pane(), 800, 600);
+        ImageView first = spriteOf(METEOR);
+        ImageView second = spriteOf(METEOR);
+        ImageView third = spriteOf(METEOR);
+
+        renderer.attach(first);
+        renderer.attach(first);
+        renderer.attach(second);
+        renderer.attach(third);
+        assertEquals(3, renderer.getSpriteCount());
+
+        renderer.detach(first);
+        renderer.detach(first);
+        assertEquals(2, renderer.getSpriteCount());
+
+        // The sprite moved into the freed slot must still be removable
+        renderer.detach(third);
+        renderer.render();
+        assertEquals(1, renderer.getDrawCount());
+    }
+
+    @Test
+    @DisplayName("Clearing the layer should not lose the canvas")
+    void testCanvasSurvivesLayerClear() {
+        Pane layer = new Pane();
+        CanvasSpriteRenderer renderer = new CanvasSpriteRenderer(layer, 800, 600);
+        renderer.attach(spriteOf(METEOR));
+
+        layer.getChildren().clear();
+        renderer.clear();
+
+        assertEquals(0, renderer.getSpriteCount());
+        assertTrue(layer.getChildren().contains(renderer.getCanvas()));
+    }
+
+    @Test
+    @DisplayName("Node renderer should add each sprite to the layer once")
+    void testNodeRenderer() {
+        Pane layer = new Pane();
+        NodeSpriteRenderer renderer = new NodeSpriteRenderer(layer);
+        ImageView sprite = spriteOf(METEOR);
+
+        renderer.attach(sprite);
+        renderer.attach(sprite);
+        assertEquals(1, layer.getChildren().size());
+        assertEquals(1, renderer.getSpriteCount());
+
+        renderer.detach(sprite);
+        assertTrue(layer.getChildren().isEmpty());
+        assertEquals(0, renderer.getSpriteCount());
+    }
+}